@@ -45,7 +45,7 @@ create table club_member (
     primary key (id)
 );
 
-create table comment (
+create table comments (
     id bigint not null,
     club_id bigint,
     club_member_id bigint,
@@ -82,7 +82,7 @@ create table invite_code (
     primary key (id)
 );
 
-create table lock (
+create table locks (
     id bigserial not null,
     resource_id bigint,
     message varchar(255),
@@ -164,17 +164,18 @@ create table reservation (
     return_message varchar(255),
     created_date timestamp(6),
     last_modified_date timestamp(6),
+    version bigint default 0 not null,
     primary key (id)
 );
 
 create table reservation_invitee (
-    id bigint not null,
+    id bigserial not null,
     club_member_id bigint,
     reservation_id bigint,
     primary key (id)
 );
 
-create table resource (
+create table resources (
     id bigserial not null,
     club_id bigint,
     name varchar(255),
@@ -200,6 +201,68 @@ create table club_member_block (
     primary key (blocked_club_member_id, club_member_id)
 );
 
+create table tombstone (
+    id bigserial not null,
+    target_type varchar(255) check (target_type in ('RESERVATION','LOCK')),
+    target_id bigint,
+    resource_id bigint,
+    created_date timestamp(6),
+    last_modified_date timestamp(6),
+    primary key (id)
+);
+
+create index idx_tombstone_resource_created on tombstone (resource_id, created_date);
+create index idx_reservation_resource_modified on reservation (resource_id, last_modified_date);
+create index idx_lock_resource_modified on locks (resource_id, last_modified_date);
+create index idx_reservation_member_start on reservation (club_member_id, start_date_time, id);
+create index idx_reservation_invitee_member on reservation_invitee (club_member_id, reservation_id);
+create index idx_reservation_status_start on reservation (status, start_date_time, id);
+alter table if exists locks add column version bigint default 0 not null;
+alter table if exists resources add column capacity integer;
+alter table if exists club_member add column calendar_token_version bigint default 0 not null;
+
+create table resource_usage (
+    id bigserial not null,
+    club_id bigint,
+    resource_id bigint,
+    usage_date date,
+    usage_hour integer not null,
+    reserved_minutes bigint not null,
+    reservation_count bigint not null,
+    returned_count bigint not null,
+    primary key (id),
+    constraint uk_resource_usage unique (resource_id, usage_date, usage_hour)
+);
+
+create table member_usage (
+    id bigserial not null,
+    club_id bigint,
+    resource_id bigint,
+    usage_date date,
+    club_member_id bigint,
+    reserved_minutes bigint not null,
+    reservation_count bigint not null,
+    returned_count bigint not null,
+    primary key (id),
+    constraint uk_member_usage unique (resource_id, usage_date, club_member_id)
+);
+
+create table reservation_usage (
+    reservation_id bigint not null,
+    club_member_id bigint,
+    returned boolean not null,
+    primary key (reservation_id)
+);
+
+create table redis_fallback_lease (
+    id bigint not null,
+    degraded_until timestamp(6),
+    primary key (id)
+);
+
+create index idx_resource_usage_club_date on resource_usage (club_id, usage_date);
+create index idx_member_usage_club_date on member_usage (club_id, usage_date);
+
 -- Add Constraints
 alter table if exists attachment
     drop constraint if exists UK_ofevfnbd2scd80rbeciujvcts;
@@ -0,0 +1,64 @@
+package com.dp.dplanner.adapter.controller;
+
+import com.dp.dplanner.adapter.dto.AvailabilityDto;
+import com.dp.dplanner.adapter.dto.CommonResponse;
+import com.dp.dplanner.config.security.PrincipalDetails;
+import com.dp.dplanner.domain.ResourceType;
+import com.dp.dplanner.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class AvailabilityController {
+    private final AvailabilityService availabilityService;
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @GetMapping(value = "/resources/{resourceId}/availability", params = {"start", "end"})
+    public CommonResponse<AvailabilityDto.Response> getAvailability(@AuthenticationPrincipal PrincipalDetails principal,
+                                                                    @PathVariable Long resourceId,
+                                                                    @RequestParam String start,
+                                                                    @RequestParam String end) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        AvailabilityDto.Response response = availabilityService.getAvailability(
+                clubMemberId, resourceId, LocalDateTime.parse(start, formatter), LocalDateTime.parse(end, formatter));
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    @GetMapping(value = "/resources/availability", params = {"start", "end"})
+    public CommonResponse<List<AvailabilityDto.Response>> getClubAvailability(@AuthenticationPrincipal PrincipalDetails principal,
+                                                                              @RequestParam String start,
+                                                                              @RequestParam String end) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        Long clubId = principal.getClubId();
+        List<AvailabilityDto.Response> response = availabilityService.getClubAvailability(
+                clubMemberId, clubId, LocalDateTime.parse(start, formatter), LocalDateTime.parse(end, formatter));
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    @GetMapping(value = "/resources/free", params = {"start", "end"})
+    public CommonResponse<List<AvailabilityDto.FreeResource>> searchFreeResources(@AuthenticationPrincipal PrincipalDetails principal,
+                                                                                  @RequestParam String start,
+                                                                                  @RequestParam String end,
+                                                                                  @RequestParam(required = false) ResourceType resourceType) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        Long clubId = principal.getClubId();
+        List<AvailabilityDto.FreeResource> response = availabilityService.searchFreeResources(
+                clubMemberId, clubId, LocalDateTime.parse(start, formatter), LocalDateTime.parse(end, formatter), resourceType);
+
+        return CommonResponse.createSuccess(response);
+    }
+}
@@ -0,0 +1,78 @@
+package com.dp.dplanner.adapter.controller;
+
+import com.dp.dplanner.adapter.dto.CalendarFeedDto;
+import com.dp.dplanner.adapter.dto.CommonResponse;
+import com.dp.dplanner.config.security.PrincipalDetails;
+import com.dp.dplanner.service.CalendarFeedService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+public class CalendarFeedController {
+    private final CalendarFeedService calendarFeedService;
+    private static final String CONTENT_TYPE = "text/calendar;charset=UTF-8";
+
+    @GetMapping(value = "/calendar/feed")
+    public CommonResponse<CalendarFeedDto.Response> getFeed(@AuthenticationPrincipal PrincipalDetails principal) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        CalendarFeedDto.Response response = calendarFeedService.getFeed(clubMemberId);
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    @PostMapping(value = "/calendar/feed/reissue")
+    public CommonResponse<CalendarFeedDto.Response> reissueFeed(@AuthenticationPrincipal PrincipalDetails principal) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        CalendarFeedDto.Response response = calendarFeedService.reissueFeed(clubMemberId);
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    /**
+     * 캘린더 앱이 직접 구독하는 주소 (인증은 토큰으로 대신한다)
+     */
+    @GetMapping(value = "/ics/{token}/reservations.ics")
+    public void getMemberCalendar(@PathVariable String token,
+                                  ServletWebRequest webRequest,
+                                  HttpServletResponse response) throws IOException {
+
+        Long clubMemberId = calendarFeedService.authenticate(token);
+        if (webRequest.checkNotModified(calendarFeedService.getMemberFeedTag(clubMemberId))) {
+            return;
+        }
+        prepare(response);
+        calendarFeedService.writeMemberFeed(clubMemberId, response.getWriter());
+    }
+
+    @GetMapping(value = "/ics/{token}/resources/{resourceId}.ics")
+    public void getResourceCalendar(@PathVariable String token,
+                                    @PathVariable Long resourceId,
+                                    ServletWebRequest webRequest,
+                                    HttpServletResponse response) throws IOException {
+
+        Long clubMemberId = calendarFeedService.authenticate(token);
+        if (webRequest.checkNotModified(calendarFeedService.getResourceFeedTag(clubMemberId, resourceId))) {
+            return;
+        }
+        prepare(response);
+        calendarFeedService.writeResourceFeed(clubMemberId, resourceId, response.getWriter());
+    }
+
+    private static void prepare(HttpServletResponse response) {
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+    }
+}
@@ -2,9 +2,11 @@ package com.dp.dplanner.adapter.controller;
 
 import com.dp.dplanner.adapter.dto.CommonResponse;
 import com.dp.dplanner.exception.BaseException;
+import com.dp.dplanner.exception.ErrorResult;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -36,6 +38,10 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             var e = (BaseException) throwable;
             response.setStatus(e.getErrorCode());
             return this.makeErrorResponseEntity(e.getMessage());
+        } else if (throwable instanceof OptimisticLockingFailureException) {
+            // 재시도하지 않는 요청에서 발생한 동시 수정 충돌
+            response.setStatus(ErrorResult.RESERVATION_CONFLICT.getHttpStatus().value());
+            return this.makeErrorResponseEntity(ErrorResult.RESERVATION_CONFLICT.getMessage());
         }else{
             var e = throwable;
             response.setStatus(500);
@@ -35,6 +35,16 @@ public class LockController {
 
     }
 
+    @PostMapping(value = "/locks/resources")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CommonResponse<List<Response>> createLocks(@AuthenticationPrincipal PrincipalDetails principal,
+                                                      @RequestBody CreateBulk createDto) {
+        Long clubMemberId = principal.getClubMemberId();
+        List<Response> response = lockService.createLocks(clubMemberId, createDto);
+
+        return CommonResponse.createSuccess(response);
+    }
+
     @GetMapping(value = "/locks/resources/{resourceId}", params = {"startDateTime","endDateTime"})
     public CommonResponse<List<Response>> getLocks(@AuthenticationPrincipal PrincipalDetails principal,
                                                    @RequestParam String startDateTime,
@@ -8,6 +8,7 @@ import com.dp.dplanner.config.security.PrincipalDetails;
 import com.dp.dplanner.domain.ReservationStatus;
 import com.dp.dplanner.exception.ErrorResult;
 import com.dp.dplanner.service.ReservationService;
+import com.dp.dplanner.service.cache.SlotStoreWarmer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -26,7 +27,9 @@ import static com.dp.dplanner.adapter.dto.ReservationDto.*;
 @RequiredArgsConstructor
 public class ReservationController {
     private final ReservationService reservationService;
+    private final SlotStoreWarmer slotStoreWarmer;
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter watermarkFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
 
     @PostMapping(value = "/reservations", name="create")
     public CommonResponse<Response> createReservation(@AuthenticationPrincipal PrincipalDetails principal,
@@ -42,6 +45,47 @@ public class ReservationController {
         return CommonResponse.createSuccess(response);
     }
 
+    @PostMapping(value = "/reservations/series", name = "createSeries")
+    public CommonResponse<List<Response>> createReservationSeries(@AuthenticationPrincipal PrincipalDetails principal,
+                                                                  @RequestBody CreateSeries createDto) {
+        Long clubMemberId = principal.getClubMemberId();
+
+        if (createDto.getReservationOwnerId() == null) {
+            createDto.setReservationOwnerId(principal.getClubMemberId());
+        }
+        List<Response> response = reservationService.createReservationSeries(clubMemberId, createDto);
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    @PostMapping(value = "/reservations/slot-store/warm-up", name = "warmUpSlotStore")
+    public CommonResponse<Integer> warmUpSlotStore(@AuthenticationPrincipal PrincipalDetails principal) {
+        Long clubMemberId = principal.getClubMemberId();
+        int count = slotStoreWarmer.warmUp(clubMemberId);
+
+        return CommonResponse.createSuccess(count);
+    }
+
+    @PostMapping(value = "/reservations/holds", name = "hold")
+    public CommonResponse<HoldResponse> holdReservation(@AuthenticationPrincipal PrincipalDetails principal,
+                                                        @RequestBody HoldRequest holdDto) {
+        Long clubMemberId = principal.getClubMemberId();
+        HoldResponse response = reservationService.holdReservation(clubMemberId, holdDto);
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    @DeleteMapping(value = "/reservations/holds/{holdId}", name = "releaseHold")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public CommonResponse releaseReservationHold(@AuthenticationPrincipal PrincipalDetails principal,
+                                                 @PathVariable String holdId,
+                                                 @RequestParam Long resourceId) {
+        Long clubMemberId = principal.getClubMemberId();
+        reservationService.releaseReservationHold(clubMemberId, resourceId, holdId);
+
+        return CommonResponse.createSuccessWithNoContent();
+    }
+
     @PutMapping(value = "/reservations/{reservationId}/update", name = "update")
     public CommonResponse<Response> updateReservations(@AuthenticationPrincipal PrincipalDetails principal,
                                                        @PathVariable Long reservationId,
@@ -135,7 +179,7 @@ public class ReservationController {
         return CommonResponse.createSuccess(response);
     }
 
-    @GetMapping(value = "/reservations/scheduler", params = {"resourceId", "start", "end"})
+    @GetMapping(value = "/reservations/scheduler", params = {"resourceId", "start", "end", "!since"})
     public CommonResponse<List<Response>> getReservations(@AuthenticationPrincipal PrincipalDetails principal,
                                                      @RequestParam Long resourceId,
                                                      @RequestParam String start,
@@ -152,7 +196,20 @@ public class ReservationController {
         return CommonResponse.createSuccess(response);
     }
 
-    @GetMapping(value = "/reservations/admin", params = {"clubId", "status"})
+    @GetMapping(value = "/reservations/scheduler", params = {"resourceId", "since"})
+    public CommonResponse<DeltaResponse> getReservationsSince(@AuthenticationPrincipal PrincipalDetails principal,
+                                                              @RequestParam Long resourceId,
+                                                              @RequestParam String since) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        Request requestDto = Request.builder().resourceId(resourceId).build();
+        DeltaResponse response = reservationService.findAllReservationsForSchedulerSince(
+                clubMemberId, requestDto, LocalDateTime.parse(since, watermarkFormatter));
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    @GetMapping(value = "/reservations/admin", params = {"clubId", "status", "!cursor"})
     public CommonResponse<SliceResponse> getReservationsAdmin(@AuthenticationPrincipal PrincipalDetails principal,
                                                   @RequestParam Long clubId,
                                                   @RequestParam String status,
@@ -178,7 +235,7 @@ public class ReservationController {
         return CommonResponse.createSuccess(response);
     }
 
-    @GetMapping(value = "reservations/my-reservations",params = "status")
+    @GetMapping(value = "reservations/my-reservations",params = {"status", "!cursor"})
     public CommonResponse<ReservationDto.SliceResponse> getMyReservations(@AuthenticationPrincipal PrincipalDetails principalDetails,
                                                             @RequestParam(name = "status") String status,
                                                             @PageableDefault Pageable pageable) {
@@ -201,4 +258,55 @@ public class ReservationController {
         return CommonResponse.createSuccess(response);
 
     }
+
+    @GetMapping(value = "/reservations/admin", params = {"clubId", "status", "cursor"})
+    public CommonResponse<CursorResponse> getReservationsAdminByCursor(@AuthenticationPrincipal PrincipalDetails principal,
+                                                                       @RequestParam Long clubId,
+                                                                       @RequestParam String status,
+                                                                       @RequestParam String cursor,
+                                                                       @RequestParam(defaultValue = "100") int size) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        if (!clubId.equals(principal.getClubId())) {
+            throw new ApiException(ErrorResult.REQUEST_IS_INVALID);
+        }
+
+        Request requestDto = Request.builder().clubId(clubId).build();
+
+        CursorResponse response;
+        ReservationStatus reservationStatus = ReservationStatus.valueOf(status);
+        if (reservationStatus.equals(ReservationStatus.REQUEST)) {
+            response = reservationService.findAllReservationsRequest(clubMemberId, requestDto, cursor, size);
+        } else if (reservationStatus.equals(ReservationStatus.CONFIRMED)) {
+            response = reservationService.findAllReservationsConfirmed(clubMemberId, requestDto, cursor, size);
+        } else if (reservationStatus.equals(ReservationStatus.REJECTED)) {
+            response = reservationService.findAllReservationsRejected(clubMemberId, requestDto, cursor, size);
+        } else {
+            throw new ApiException(ErrorResult.REQUEST_IS_INVALID);
+        }
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    @GetMapping(value = "reservations/my-reservations", params = {"status", "cursor"})
+    public CommonResponse<CursorResponse> getMyReservationsByCursor(@AuthenticationPrincipal PrincipalDetails principalDetails,
+                                                                    @RequestParam(name = "status") String status,
+                                                                    @RequestParam String cursor,
+                                                                    @RequestParam(defaultValue = "100") int size) {
+
+        Long clubMemberId = principalDetails.getClubMemberId();
+
+        CursorResponse response;
+        if (status.equals("previous")) {
+            response = reservationService.findMyReservationsPrevious(clubMemberId, cursor, size);
+        } else if (status.equals("upcoming")) {
+            response = reservationService.findMyReservationsUpComing(clubMemberId, cursor, size);
+        } else if (status.equals("reject")) {
+            response = reservationService.findMyReservationsReject(clubMemberId, cursor, size);
+        } else {
+            throw new ApiException(ErrorResult.REQUEST_IS_INVALID);
+        }
+
+        return CommonResponse.createSuccess(response);
+    }
 }
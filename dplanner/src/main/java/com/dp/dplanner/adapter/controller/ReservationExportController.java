@@ -0,0 +1,44 @@
+package com.dp.dplanner.adapter.controller;
+
+import com.dp.dplanner.config.security.PrincipalDetails;
+import com.dp.dplanner.domain.ReservationStatus;
+import com.dp.dplanner.service.ReservationExportService;
+import com.dp.dplanner.service.export.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+@RestController
+@RequiredArgsConstructor
+public class ReservationExportController {
+    private final ReservationExportService reservationExportService;
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @GetMapping(value = "/reservations/admin/export", params = {"from", "to"})
+    public void exportReservations(@AuthenticationPrincipal PrincipalDetails principal,
+                                   @RequestParam String from,
+                                   @RequestParam String to,
+                                   @RequestParam(required = false) ReservationStatus status,
+                                   @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                   HttpServletResponse response) throws IOException {
+
+        Long clubMemberId = principal.getClubMemberId();
+        String fileName = "reservations_" + from + "_" + to + "." + format.getExtension();
+
+        reservationExportService.exportReservations(clubMemberId, LocalDate.parse(from, formatter), LocalDate.parse(to, formatter), status, format,
+                exportFormat -> {
+                    response.setContentType(exportFormat.getContentType());
+                    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+                    return response.getOutputStream();
+                });
+    }
+}
@@ -0,0 +1,30 @@
+package com.dp.dplanner.adapter.controller;
+
+import com.dp.dplanner.config.security.PrincipalDetails;
+import com.dp.dplanner.service.push.SchedulerPushService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+public class SchedulerPushController {
+    private final SchedulerPushService schedulerPushService;
+
+    @GetMapping(value = "/reservations/scheduler/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@AuthenticationPrincipal PrincipalDetails principal,
+                                @RequestParam(required = false) Long resourceId,
+                                HttpServletResponse response) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        // nginx 가 이벤트를 모아서 보내지 않도록 한다.
+        response.setHeader("X-Accel-Buffering", "no");
+
+        return schedulerPushService.subscribe(clubMemberId, resourceId);
+    }
+}
@@ -0,0 +1,34 @@
+package com.dp.dplanner.adapter.controller;
+
+import com.dp.dplanner.adapter.dto.CommonResponse;
+import com.dp.dplanner.adapter.dto.UsageStatsDto;
+import com.dp.dplanner.config.security.PrincipalDetails;
+import com.dp.dplanner.service.UsageStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class UsageStatsController {
+    private final UsageStatsService usageStatsService;
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @GetMapping(value = "/resources/stats", params = {"from", "to"})
+    public CommonResponse<List<UsageStatsDto.Response>> getUsageStats(@AuthenticationPrincipal PrincipalDetails principal,
+                                                                      @RequestParam String from,
+                                                                      @RequestParam String to) {
+
+        Long clubMemberId = principal.getClubMemberId();
+        List<UsageStatsDto.Response> response = usageStatsService.getUsageStats(
+                clubMemberId, LocalDate.parse(from, formatter), LocalDate.parse(to, formatter));
+
+        return CommonResponse.createSuccess(response);
+    }
+}
@@ -0,0 +1,37 @@
+package com.dp.dplanner.adapter.controller;
+
+import com.dp.dplanner.adapter.dto.CommonResponse;
+import com.dp.dplanner.adapter.dto.ReservationDto;
+import com.dp.dplanner.adapter.dto.WaitlistDto;
+import com.dp.dplanner.config.security.PrincipalDetails;
+import com.dp.dplanner.service.waitlist.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+public class WaitlistController {
+    private final WaitlistService waitlistService;
+
+    @PostMapping(value = "/reservations/waitlist", name = "joinWaitlist")
+    public CommonResponse<WaitlistDto.Response> joinWaitlist(@AuthenticationPrincipal PrincipalDetails principal,
+                                                             @RequestBody ReservationDto.Create createDto) {
+        Long clubMemberId = principal.getClubMemberId();
+        WaitlistDto.Response response = waitlistService.joinWaitlist(clubMemberId, createDto);
+
+        return CommonResponse.createSuccess(response);
+    }
+
+    @DeleteMapping(value = "/reservations/waitlist/{waitId}", name = "leaveWaitlist")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public CommonResponse leaveWaitlist(@AuthenticationPrincipal PrincipalDetails principal,
+                                        @PathVariable String waitId,
+                                        @RequestParam Long resourceId) {
+        Long clubMemberId = principal.getClubMemberId();
+        waitlistService.leaveWaitlist(clubMemberId, resourceId, waitId);
+
+        return CommonResponse.createSuccessWithNoContent();
+    }
+}
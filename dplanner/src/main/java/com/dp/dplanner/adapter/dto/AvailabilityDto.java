@@ -0,0 +1,77 @@
+package com.dp.dplanner.adapter.dto;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.ResourceType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AvailabilityDto {
+
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Response {
+        private Long resourceId;
+        private String resourceName;
+        @Builder.Default
+        private List<Interval> freeIntervals = new ArrayList<>();
+
+        public static Response of(Resource resource, List<Period> freePeriods) {
+            return Response.builder()
+                    .resourceId(resource.getId())
+                    .resourceName(resource.getName())
+                    .freeIntervals(freePeriods.stream().map(Interval::of).toList())
+                    .build();
+        }
+    }
+
+    /**
+     * 요청한 시간에 비어 있는 리소스. freeInterval 은 요청 시간을 포함하는 빈 구간이며
+     * slackMinutes(빈 구간 - 요청 시간)가 작을수록 요청 시간에 꼭 맞는 리소스다.
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class FreeResource {
+        private Long resourceId;
+        private String resourceName;
+        private ResourceType resourceType;
+        private Interval freeInterval;
+        private long slackMinutes;
+
+        public static FreeResource of(Resource resource, Period freePeriod, long slackMinutes) {
+            return FreeResource.builder()
+                    .resourceId(resource.getId())
+                    .resourceName(resource.getName())
+                    .resourceType(resource.getResourceType())
+                    .freeInterval(Interval.of(freePeriod))
+                    .slackMinutes(slackMinutes)
+                    .build();
+        }
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Interval {
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime startDateTime;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime endDateTime;
+
+        public static Interval of(Period period) {
+            return new Interval(period.getStartDateTime(), period.getEndDateTime());
+        }
+    }
+}
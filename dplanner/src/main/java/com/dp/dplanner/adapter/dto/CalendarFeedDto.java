@@ -0,0 +1,21 @@
+package com.dp.dplanner.adapter.dto;
+
+import lombok.*;
+
+public class CalendarFeedDto {
+
+    /**
+     * 캘린더 앱에 등록할 ICS 구독 주소
+     * resourceFeedPath 의 {resourceId} 는 구독할 리소스 id 로 바꾸어 사용한다.
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Response {
+        private String token;
+        private String memberFeedPath;
+        private String resourceFeedPath;
+    }
+}
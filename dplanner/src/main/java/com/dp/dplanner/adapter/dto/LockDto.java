@@ -36,6 +36,35 @@ public class LockDto{
         }
     }
 
+    /**
+     * 여러 리소스에 락 일괄 생성
+     * startDateTime, endDateTime : 첫 번째 락 기간
+     * recurrence : RRULE 형식의 반복 규칙 (없으면 한 번)
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CreateBulk{
+
+        List<Long> resourceIds;
+        String message;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        LocalDateTime startDateTime;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        LocalDateTime endDateTime;
+        String recurrence;
+
+        public Lock toEntity(Resource resource, Period period) {
+            return Lock.builder()
+                    .resource(resource)
+                    .period(period)
+                    .message(message)
+                    .build();
+        }
+    }
+
     @Getter
     @Setter
     @Builder
@@ -5,6 +5,7 @@ import com.dp.dplanner.domain.Period;
 import com.dp.dplanner.domain.Reservation;
 import com.dp.dplanner.domain.Resource;
 import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ReservationRowView;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.*;
 import org.springframework.data.domain.Pageable;
@@ -35,6 +36,8 @@ public class ReservationDto {
         private LocalDateTime endDateTime;
         @Builder.Default
         private List<Long> reservationInvitees = new ArrayList<>();
+        // 예약 입력 전에 잡아 둔 hold, 있으면 hold 를 예약으로 전환한다.
+        private String holdId;
 
         public Reservation toEntity(ClubMember clubMember, Resource resource) {
             return Reservation.builder()
@@ -49,6 +52,74 @@ public class ReservationDto {
         }
     }
 
+    /**
+     * 예약 입력 중 잠시 잡아 두는 시간
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class HoldRequest {
+        private Long resourceId;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime startDateTime;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime endDateTime;
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    public static class HoldResponse {
+        private String holdId;
+        private Long resourceId;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime startDateTime;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime endDateTime;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime expiresAt;
+    }
+
+    /**
+     * 반복 예약 생성
+     * startDateTime, endDateTime : 첫 번째 예약 시간
+     * recurrence : RRULE 형식의 반복 규칙 (ex. FREQ=WEEKLY;BYDAY=MO,WE;COUNT=16)
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CreateSeries {
+        private Long reservationOwnerId;
+        private Long resourceId;
+        private String title;
+        private String usage;
+        private boolean sharing;
+        @Builder.Default
+        private String color = "A294DB";
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime startDateTime;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime endDateTime;
+        private String recurrence;
+
+        public Reservation toEntity(ClubMember clubMember, Resource resource, Period period) {
+            return Reservation.builder()
+                    .clubMember(clubMember)
+                    .resource(resource)
+                    .period(period)
+                    .title(title)
+                    .usage(usage)
+                    .sharing(sharing)
+                    .color(color)
+                    .build();
+        }
+    }
+
     @Getter
     @Setter
     @Builder
@@ -125,6 +196,7 @@ public class ReservationDto {
     @Setter
     @Builder
     @AllArgsConstructor
+    @NoArgsConstructor
     public static class Response {
 
         private Long reservationId;
@@ -189,6 +261,54 @@ public class ReservationDto {
             return reservations.stream().map(Response::of).toList();
         }
 
+        public static Response of(ReservationRowView row, List<String> attachmentsUrl, List<ReservationInviteeDto> invitees) {
+            return Response.builder()
+                    .reservationId(row.getReservationId())
+                    .clubMemberId(row.getClubMemberId())
+                    .clubMemberName(row.getClubMemberName())
+                    .clubMemberIsDeleted(row.getClubMemberIsDeleted())
+                    .resourceId(row.getResourceId())
+                    .resourceName(row.getResourceName())
+                    .title(row.getTitle())
+                    .usage(row.getUsage())
+                    .sharing(row.getSharing())
+                    .status(row.getStatus().name())
+                    .startDateTime(row.getStartDateTime())
+                    .endDateTime(row.getEndDateTime())
+                    .createDate(row.getCreatedDate())
+                    .lastModifiedDate(row.getLastModifiedDate())
+                    .isReturned(row.getReturned())
+                    .returnMessage(row.getReturnMessage())
+                    .rejectMessage(row.getRejectMessage())
+                    .color(row.getColor())
+                    .attachmentsUrl(attachmentsUrl)
+                    .invitees(invitees)
+                    .build();
+        }
+
+    }
+
+    /**
+     * 스케줄러 변경분 동기화 응답
+     * watermark : 다음 요청의 since 로 사용
+     * resetRequired : since 가 삭제 기록 보관 기간보다 오래되어 전체를 다시 받아야 하는 경우 true
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    public static class DeltaResponse {
+        @Builder.Default
+        private List<Response> reservations = new ArrayList<>();
+        @Builder.Default
+        private List<LockDto.Response> locks = new ArrayList<>();
+        @Builder.Default
+        private List<Long> deletedReservationIds = new ArrayList<>();
+        @Builder.Default
+        private List<Long> deletedLockIds = new ArrayList<>();
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS", timezone = "Asia/Seoul")
+        private LocalDateTime watermark;
+        private boolean resetRequired;
     }
 
     @Getter
@@ -201,6 +321,19 @@ public class ReservationDto {
         private boolean hasNext;
     }
 
+    /**
+     * keyset 페이지네이션 응답. 다음 페이지는 nextCursor 로 요청한다.
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    public static class CursorResponse {
+        private List<Response> content;
+        private String nextCursor;
+        private boolean hasNext;
+    }
+
 
     @Getter
     @Setter
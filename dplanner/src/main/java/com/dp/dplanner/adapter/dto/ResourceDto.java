@@ -23,6 +23,7 @@ public class ResourceDto {
         private String notice;
         private boolean returnMessageRequired;
         private Long bookableSpan;
+        private Integer capacity;
 
         public Resource toEntity(Club club) {
             return Resource.builder()
@@ -33,6 +34,7 @@ public class ResourceDto {
                     .resourceType(ResourceType.valueOf(resourceType))
                     .returnMessageRequired(returnMessageRequired)
                     .bookableSpan(bookableSpan)
+                    .capacity(capacity)
                     .build();
         }
 
@@ -68,6 +70,7 @@ public class ResourceDto {
         private String notice;
         private Long clubId;
         private Long bookableSpan;
+        private Integer capacity;
 
 
         public static Response of(Resource resource) {
@@ -80,6 +83,7 @@ public class ResourceDto {
                     .notice(resource.getNotice())
                     .resourceType(resource.getResourceType().toString())
                     .bookableSpan((resource.getBookableSpan()))
+                    .capacity(resource.getCapacity())
                     .build();
         }
 
@@ -0,0 +1,47 @@
+package com.dp.dplanner.adapter.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UsageStatsDto {
+
+    /**
+     * 리소스 이용 통계 (승인된 예약 기준)
+     * utilization : 조회 기간 전체 시간 중 예약된 시간의 비율
+     * noShowRate  : 어제까지 시작한 예약 중 반납되지 않은 예약의 비율
+     * peakHours   : 예약 시간이 가장 많은 시간대(0~23), 많은 순
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Response {
+        private Long resourceId;
+        private String resourceName;
+        private long reservedMinutes;
+        private double utilization;
+        private long reservationCount;
+        private long returnedCount;
+        private double noShowRate;
+        @Builder.Default
+        private List<Integer> peakHours = new ArrayList<>();
+        @Builder.Default
+        private List<MemberStats> topMembers = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class MemberStats {
+        private Long clubMemberId;
+        private String clubMemberName;
+        private long reservedMinutes;
+        private long reservationCount;
+        private long returnedCount;
+    }
+}
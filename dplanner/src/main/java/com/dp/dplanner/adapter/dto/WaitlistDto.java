@@ -0,0 +1,27 @@
+package com.dp.dplanner.adapter.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+public class WaitlistDto {
+
+    /**
+     * 예약 대기 등록 결과. position : 1 부터 시작하는 대기 순서
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Response {
+        private String waitId;
+        private Long resourceId;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime startDateTime;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+        private LocalDateTime endDateTime;
+        private Long position;
+    }
+}
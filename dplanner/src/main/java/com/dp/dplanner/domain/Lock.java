@@ -18,6 +18,10 @@ public class Lock extends BaseEntity{
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // 낙관적 락. 동시에 수정되면 커밋 시점에 ObjectOptimisticLockingFailureException
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "resource_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Resource resource;
@@ -0,0 +1,45 @@
+package com.dp.dplanner.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 리소스별 일자/클럽 회원 단위 이용 통계. 예약 수와 반납 수는 예약이 시작한 날짜에 집계한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"resource_id", "usage_date", "club_member_id"}))
+public class MemberUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long clubId;
+    @Column(name = "resource_id")
+    private Long resourceId;
+    @Column(name = "usage_date")
+    private LocalDate usageDate;
+    @Column(name = "club_member_id")
+    private Long clubMemberId;
+    private long reservedMinutes;
+    private long reservationCount;
+    private long returnedCount;
+
+    @Builder
+    public MemberUsage(Long clubId, Long resourceId, LocalDate usageDate, Long clubMemberId, long reservedMinutes, long reservationCount, long returnedCount) {
+        this.clubId = clubId;
+        this.resourceId = resourceId;
+        this.usageDate = usageDate;
+        this.clubMemberId = clubMemberId;
+        this.reservedMinutes = reservedMinutes;
+        this.reservationCount = reservationCount;
+        this.returnedCount = returnedCount;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dp.dplanner.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Redis 없이 DB 락으로 예약을 점유하는 서버가 있다는 표시. 모든 서버가 같은 row 하나를 읽는다.
+ * degradedUntil 이 지나지 않았으면 모든 서버가 리소스 row 락을 잡고 DB 에서 다시 검사한다. (RedisFallback)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RedisFallbackLease {
+
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    private LocalDateTime degradedUntil;
+
+    public RedisFallbackLease(LocalDateTime degradedUntil) {
+        this.id = ID;
+        this.degradedUntil = degradedUntil;
+    }
+}
@@ -0,0 +1,37 @@
+package com.dp.dplanner.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이용 통계에 반영된 예약의 마지막 상태.
+ * 예약 상태가 바뀌면 이 값만큼 통계에서 빼고 새 상태를 더한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReservationUsage {
+
+    @Id
+    private Long reservationId;
+    private Long clubMemberId;
+    private boolean returned;
+
+    public ReservationUsage(Long reservationId, Long clubMemberId, boolean returned) {
+        this.reservationId = reservationId;
+        this.clubMemberId = clubMemberId;
+        this.returned = returned;
+    }
+
+    public boolean isSame(Long clubMemberId, boolean returned) {
+        return this.clubMemberId.equals(clubMemberId) && this.returned == returned;
+    }
+
+    public void update(Long clubMemberId, boolean returned) {
+        this.clubMemberId = clubMemberId;
+        this.returned = returned;
+    }
+}
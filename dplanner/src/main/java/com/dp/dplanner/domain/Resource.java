@@ -29,6 +29,8 @@ public class Resource extends BaseEntity{
     @Enumerated(EnumType.STRING)
     private ResourceType resourceType;
     private Long bookableSpan;
+    // 같은 시간에 받을 수 있는 예약 수. null 이면 한 시간에 한 예약만 받는다.
+    private Integer capacity;
 
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "club_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
@@ -41,7 +43,7 @@ public class Resource extends BaseEntity{
     private List<Lock> locks = new ArrayList();
 
     @Builder
-    public Resource(String name, String info, Club club,boolean returnMessageRequired,String notice,ResourceType resourceType,Long bookableSpan) {
+    public Resource(String name, String info, Club club,boolean returnMessageRequired,String notice,ResourceType resourceType,Long bookableSpan,Integer capacity) {
         this.name = name;
         this.info = info;
         this.club = club; // 양방향 연관관계는 아니기 때문에 연관관계 메서드 사용 X
@@ -49,6 +51,7 @@ public class Resource extends BaseEntity{
         this.notice = notice;
         this.resourceType = resourceType;
         this.bookableSpan = bookableSpan;
+        this.capacity = capacity;
     }
 
     public void update(String name, String info, boolean returnMessageRequired,String notice, ResourceType resourceType,Long bookableSpan) {
@@ -59,4 +62,11 @@ public class Resource extends BaseEntity{
         this.resourceType = resourceType;
         this.bookableSpan = bookableSpan;
     }
+
+    /**
+     * 정원이 2 이상이면 겹치는 예약을 정원까지 받는다.
+     */
+    public boolean isShared() {
+        return capacity != null && capacity > 1;
+    }
 }
@@ -0,0 +1,47 @@
+package com.dp.dplanner.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 리소스별 일자/시간(0~23) 단위 이용 통계. 승인된 예약만 집계하며 예약 상태가 바뀔 때마다 증감한다.
+ * - reservedMinutes  : 해당 시간에 걸친 예약 시간(분)
+ * - reservationCount, returnedCount : 해당 시간에 시작한 예약 수, 그중 반납된 예약 수
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"resource_id", "usage_date", "usage_hour"}))
+public class ResourceUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long clubId;
+    @Column(name = "resource_id")
+    private Long resourceId;
+    @Column(name = "usage_date")
+    private LocalDate usageDate;
+    @Column(name = "usage_hour")
+    private int usageHour;
+    private long reservedMinutes;
+    private long reservationCount;
+    private long returnedCount;
+
+    @Builder
+    public ResourceUsage(Long clubId, Long resourceId, LocalDate usageDate, int usageHour, long reservedMinutes, long reservationCount, long returnedCount) {
+        this.clubId = clubId;
+        this.resourceId = resourceId;
+        this.usageDate = usageDate;
+        this.usageHour = usageHour;
+        this.reservedMinutes = reservedMinutes;
+        this.reservationCount = reservationCount;
+        this.returnedCount = returnedCount;
+    }
+}
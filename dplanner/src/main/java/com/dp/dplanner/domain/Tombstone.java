@@ -0,0 +1,33 @@
+package com.dp.dplanner.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 삭제된 예약/락 기록. 변경분 동기화(since) 조회 시 삭제된 id 를 알려주기 위해 보관하며 일정 기간 후 삭제한다.
+ * 삭제 시각은 createdDate
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Tombstone extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private TombstoneType targetType;
+    private Long targetId;
+    private Long resourceId;
+
+    @Builder
+    public Tombstone(TombstoneType targetType, Long targetId, Long resourceId) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.resourceId = resourceId;
+    }
+}
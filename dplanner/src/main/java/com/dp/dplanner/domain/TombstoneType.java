@@ -0,0 +1,5 @@
+package com.dp.dplanner.domain;
+
+public enum TombstoneType {
+    RESERVATION, LOCK
+}
@@ -43,6 +43,9 @@ public class ClubMember {
     private Boolean isConfirmed;
     private String url;
     private Boolean isDeleted;
+    // 캘린더 피드 토큰 서명에 포함. 올리면 이전에 발급한 토큰은 사용할 수 없다.
+    @Column(nullable = false)
+    private long calendarTokenVersion;
 
     @Builder
     public ClubMember(Member member, Club club, String name, String info) {
@@ -65,6 +68,9 @@ public class ClubMember {
                 .build();
     }
 
+    public void rotateCalendarToken() {
+        this.calendarTokenVersion++;
+    }
     public void confirm() {
         this.isConfirmed = true;
     }
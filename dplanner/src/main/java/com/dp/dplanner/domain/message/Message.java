@@ -25,6 +25,8 @@ public class Message {
     public static final String RESERVATION_CANCELED = "예약이 관리자에 의해 취소되었습니다!";
     public static final String RESERVATION_INVITED = "예약에 초대되었습니다!";
     public static final String RESERVATION_REQUEST = "새로운 예약 요청이 있습니다!";
+    public static final String RESERVATION_WAITLIST_PROMOTED = "대기하던 시간에 예약을 신청했습니다!";
+    public static final String RESERVATION_WAITLIST_LOCKED = "대기하던 시간이 잠겨 대기가 취소되었습니다!";
     public static final String RESERVATION_ALERT = "오늘 신청한 예약이 있어요!";
     public static final String RESERVATION_ABOUT_TO_START = "예약이 곧 시작됩니다!";
     public static final String RESERVATION_ABOUT_TO_FINISH = "예약이 곧 종료됩니다!";
@@ -171,6 +173,62 @@ public class Message {
                 .build();
     }
 
+    /**
+     * 반복 예약 요청. start : 첫 예약 시작 시간, end : 마지막 예약 종료 시간
+     */
+    public static Message requestSeriesMessage(MessageContentBuildDto contentDto, int count) {
+        String startDate = contentDto.getStart().format(DateTimeFormatter.ofPattern("M월 d일", Locale.KOREAN));
+        String endDate = contentDto.getEnd().format(DateTimeFormatter.ofPattern("M월 d일", Locale.KOREAN));
+
+        return Message.builder()
+                .title(RESERVATION_REQUEST)
+                .content(String.format("%s님이 %s ~ %s %s 반복 예약 %d건을 요청했습니다.",
+                        contentDto.getClubMemberName(), startDate, endDate, contentDto.getResourceName(), count))
+                .redirectUrl("/reservation_list")
+                .infoType(RESERVATION)
+                .type(MessageType.REQUEST)
+                .info(contentDto.info)
+                .build();
+    }
+
+    /**
+     * 대기열에서 차례가 되어 예약을 신청한 회원에게 보내는 메시지
+     */
+    public static Message waitlistPromotedMessage(MessageContentBuildDto contentDto) {
+        String date = contentDto.getStart().format(DateTimeFormatter.ofPattern("M월 d일", Locale.KOREAN));
+        String startTime = contentDto.getStart().format(DateTimeFormatter.ofPattern("H시 m분"));
+        String endTime = contentDto.getEnd().format(DateTimeFormatter.ofPattern("H시 m분"));
+
+        return Message.builder()
+                .title(RESERVATION_WAITLIST_PROMOTED)
+                .content(String.format("%s님이 대기하던 %s %s ~ %s %s 예약을 신청했습니다.",
+                        contentDto.getClubMemberName(), date, startTime, endTime, contentDto.getResourceName()))
+                .redirectUrl("/my_reservation")
+                .infoType(RESERVATION)
+                .type(MessageType.INFO)
+                .info(contentDto.info)
+                .build();
+    }
+
+    /**
+     * 대기하던 시간에 락이 걸려 대기가 취소된 회원에게 보내는 메시지
+     */
+    public static Message waitlistLockedMessage(MessageContentBuildDto contentDto) {
+        String date = contentDto.getStart().format(DateTimeFormatter.ofPattern("M월 d일", Locale.KOREAN));
+        String startTime = contentDto.getStart().format(DateTimeFormatter.ofPattern("H시 m분"));
+        String endTime = contentDto.getEnd().format(DateTimeFormatter.ofPattern("H시 m분"));
+
+        return Message.builder()
+                .title(RESERVATION_WAITLIST_LOCKED)
+                .content(String.format("%s님이 대기하던 %s %s ~ %s %s 시간이 잠겨 대기가 취소되었습니다.",
+                        contentDto.getClubMemberName(), date, startTime, endTime, contentDto.getResourceName()))
+                .redirectUrl("/my_reservation")
+                .infoType(RESERVATION)
+                .type(MessageType.INFO)
+                .info(contentDto.info)
+                .build();
+    }
+
     public static Message confirmMessage(MessageContentBuildDto contentDto) {
         String date = contentDto.getStart().format(DateTimeFormatter.ofPattern("M월 d일", Locale.KOREAN));
         String startTime = contentDto.getStart().format(DateTimeFormatter.ofPattern("H시 m분"));
@@ -187,6 +245,39 @@ public class Message {
                 .build();
     }
 
+    /**
+     * 한 번에 여러 예약이 승인된 회원에게 보내는 메시지
+     */
+    public static Message confirmAllMessage(int count) {
+        return Message.builder()
+                .title(RESERVATION_REQUEST_APPROVED)
+                .content(String.format("예약 %d건이 승인되었습니다.", count))
+                .redirectUrl("/my_reservation")
+                .infoType(RESERVATION)
+                .type(MessageType.ACCEPT)
+                .build();
+    }
+
+    public static Message rejectAllMessage(int count) {
+        return Message.builder()
+                .title(RESERVATION_REJECTED)
+                .content(String.format("예약 %d건이 거절되었습니다.", count))
+                .redirectUrl("/my_reservation")
+                .infoType(RESERVATION)
+                .type(MessageType.REJECT)
+                .build();
+    }
+
+    public static Message invitedAllMessage(int count) {
+        return Message.builder()
+                .title(RESERVATION_INVITED)
+                .content(String.format("예약 %d건에 초대되었습니다.", count))
+                .redirectUrl("/my_reservation")
+                .infoType(RESERVATION)
+                .type(MessageType.INFO)
+                .build();
+    }
+
     public static Message rejectMessage(MessageContentBuildDto contentDto) {
         String date = contentDto.getStart().format(DateTimeFormatter.ofPattern("M월 d일", Locale.KOREAN));
         String startTime = contentDto.getStart().format(DateTimeFormatter.ofPattern("H시 m분"));
@@ -53,10 +53,22 @@ public enum ErrorResult {
     FCMTOKEN_NOT_FOUND(HttpStatus.NOT_FOUND, "fcmtoken is invalid"),
 
 
+    /**
+     * 409 - 동시 수정 충돌
+     */
+    RESERVATION_CONFLICT(HttpStatus.CONFLICT, "다른 요청에 의해 변경되었습니다. 다시 시도해주세요."),
+
+
     /**
      * 500 - 서버 에러
      */
     FILE_EXCEPTION(HttpStatus.INTERNAL_SERVER_ERROR, "file upload fail"),
+
+
+    /**
+     * 503 - 일시적으로 처리할 수 없음
+     */
+    RESERVATION_TEMPORARILY_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "일시적으로 예약할 수 없습니다. 잠시 후 다시 시도해주세요."),
     ;
 
     private final HttpStatus httpStatus;
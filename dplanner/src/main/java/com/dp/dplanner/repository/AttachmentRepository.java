@@ -2,7 +2,10 @@ package com.dp.dplanner.repository;
 
 import com.dp.dplanner.domain.Attachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +16,12 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     Optional<Attachment> findByUrl(String url);
 
     void deleteByUrl(String url);
+
+    @Query("""
+            SELECT a.reservation.id AS reservationId, a.url AS url
+            FROM Attachment a
+            WHERE a.reservation.id in :reservationIds
+            ORDER BY a.id ASC
+            """)
+    List<AttachmentUrlView> findUrlsByReservationIdIn(@Param("reservationIds") Collection<Long> reservationIds);
 }
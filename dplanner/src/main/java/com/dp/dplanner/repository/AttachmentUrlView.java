@@ -0,0 +1,9 @@
+package com.dp.dplanner.repository;
+
+/**
+ * 여러 예약의 첨부파일 url 을 한 번에 조회하기 위한 projection
+ */
+public interface AttachmentUrlView {
+    Long getReservationId();
+    String getUrl();
+}
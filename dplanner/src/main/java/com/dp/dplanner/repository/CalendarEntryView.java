@@ -0,0 +1,17 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * ICS 피드에 내보낼 예약 정보만 조회하기 위한 projection
+ */
+public interface CalendarEntryView extends PeriodView {
+    Long getVersion();
+    String getTitle();
+    String getUsage();
+    ReservationStatus getStatus();
+    LocalDateTime getLastModifiedDate();
+    String getResourceName();
+}
@@ -0,0 +1,12 @@
+package com.dp.dplanner.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * ICS 피드의 ETag 를 만들기 위한 projection
+ * 예약이 추가/삭제되면 count 가, 수정되면 lastModifiedDate 가 바뀐다.
+ */
+public interface CalendarVersionView {
+    Long getCount();
+    LocalDateTime getLastModifiedDate();
+}
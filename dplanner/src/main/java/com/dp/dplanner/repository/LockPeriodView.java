@@ -0,0 +1,8 @@
+package com.dp.dplanner.repository;
+
+/**
+ * 락의 기간과 메시지만 조회하기 위한 projection
+ */
+public interface LockPeriodView extends PeriodView {
+    String getMessage();
+}
@@ -1,14 +1,19 @@
 package com.dp.dplanner.repository;
 
 import com.dp.dplanner.domain.Lock;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface LockRepository extends JpaRepository<Lock, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface LockRepository extends JpaRepository<Lock, Long>, LockRepositoryCustom {
 
     @Query("select l " +
             "from Lock l " +
@@ -26,4 +31,60 @@ public interface LockRepository extends JpaRepository<Lock, Long> {
             "or (:start <= l.period.startDateTime and l.period.startDateTime < :end))"
     )
     boolean existsBetween(@Param(value = "start") LocalDateTime start, @Param(value = "end") LocalDateTime end,@Param(value = "resourceId") Long resourceId);
+
+    @Query("""
+            SELECT l
+            FROM Lock l
+            WHERE l.resource.id = :resourceId and l.lastModifiedDate > :since
+            ORDER BY l.period.startDateTime
+            """)
+    List<Lock> findAllModifiedSince(@Param("resourceId") Long resourceId, @Param("since") LocalDateTime since);
+
+    @Query("""
+            SELECT l.id AS id, l.period.startDateTime AS startDateTime, l.period.endDateTime AS endDateTime, l.message AS message
+            FROM Lock l
+            WHERE l.resource.id = :resourceId and l.period.endDateTime > :from
+            ORDER BY l.period.startDateTime
+            """)
+    List<LockPeriodView> findPeriodsAfter(@Param("resourceId") Long resourceId, @Param("from") LocalDateTime from);
+
+    @Query("""
+            SELECT l.id AS id, l.period.startDateTime AS startDateTime, l.period.endDateTime AS endDateTime
+            FROM Lock l
+            WHERE l.resource.id = :resourceId and l.period.startDateTime < :end and l.period.endDateTime > :start
+            ORDER BY l.period.startDateTime
+            """)
+    List<PeriodView> findPeriodsBetween(@Param("resourceId") Long resourceId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT l.resource.id AS resourceId, l.id AS id, l.period.startDateTime AS startDateTime, l.period.endDateTime AS endDateTime
+            FROM Lock l
+            WHERE l.resource.club.id = :clubId and l.period.startDateTime < :end and l.period.endDateTime > :start
+            """)
+    List<ResourcePeriodView> findPeriodsBetweenByClubId(@Param("clubId") Long clubId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT l.resource.id AS resourceId, l.id AS id, l.period.startDateTime AS startDateTime, l.period.endDateTime AS endDateTime
+            FROM Lock l
+            WHERE l.resource.id in :resourceIds and l.period.startDateTime < :end and l.period.endDateTime > :start
+            """)
+    List<ResourcePeriodView> findPeriodsBetweenByResourceIds(@Param("resourceIds") List<Long> resourceIds, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT l
+            FROM Lock l
+            JOIN FETCH l.resource res
+            WHERE res.id in :resourceIds and l.period.startDateTime in :starts
+            ORDER BY res.id, l.period.startDateTime
+            """)
+    List<Lock> findAllByResourceIdInAndStartDateTimeIn(@Param("resourceIds") List<Long> resourceIds, @Param("starts") List<LocalDateTime> starts);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT l.resource.id AS resourceId, l.id AS id, l.period.startDateTime AS startDateTime, l.period.endDateTime AS endDateTime
+            FROM Lock l
+            WHERE (:clubId is null or l.resource.club.id = :clubId)
+            and l.period.startDateTime < :end and l.period.endDateTime > :start
+            """)
+    Stream<ResourcePeriodView> streamPeriodsBetween(@Param("clubId") Long clubId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,16 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.Lock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LockRepositoryCustom {
+
+    /**
+     * JDBC batch 로 락을 한 번에 저장한다.
+     * 영속성 컨텍스트를 거치지 않으므로 저장된 엔티티가 필요하면 다시 조회해야 한다.
+     * @param createdDate : 생성/수정 시각. auditing 을 거치지 않으므로 호출한 쪽의 Clock 으로 넘긴다.
+     */
+    void insertAllInBatch(List<Lock> locks, LocalDateTime createdDate);
+}
@@ -0,0 +1,52 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.Lock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 여러 리소스에 반복 락을 한 번에 거는 경우처럼 여러 건을 저장할 때는 JDBC batch 를 사용한다. (ReservationRepositoryImpl 참고)
+ */
+@RequiredArgsConstructor
+public class LockRepositoryImpl implements LockRepositoryCustom {
+
+    private static final String INSERT_SQL = """
+            insert into locks (resource_id, start_date_time, end_date_time, message, created_date, last_modified_date, version)
+            values (?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAllInBatch(List<Lock> locks, LocalDateTime createdDate) {
+        if (locks.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(createdDate);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Lock lock = locks.get(i);
+                ps.setLong(1, lock.getResource().getId());
+                ps.setTimestamp(2, Timestamp.valueOf(lock.getPeriod().getStartDateTime()));
+                ps.setTimestamp(3, Timestamp.valueOf(lock.getPeriod().getEndDateTime()));
+                ps.setString(4, lock.getMessage());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return locks.size();
+            }
+        });
+    }
+}
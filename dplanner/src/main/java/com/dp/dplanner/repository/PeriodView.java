@@ -0,0 +1,12 @@
+package com.dp.dplanner.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약/락의 기간만 조회하기 위한 projection
+ */
+public interface PeriodView {
+    Long getId();
+    LocalDateTime getStartDateTime();
+    LocalDateTime getEndDateTime();
+}
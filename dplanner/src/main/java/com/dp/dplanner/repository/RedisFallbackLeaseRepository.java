@@ -0,0 +1,33 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.RedisFallbackLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RedisFallbackLeaseRepository extends JpaRepository<RedisFallbackLease, Long> {
+
+    @Query("""
+            SELECT l.degradedUntil
+            FROM RedisFallbackLease l
+            WHERE l.id = :id
+            """)
+    Optional<LocalDateTime> findDegradedUntil(@Param("id") Long id);
+
+    /**
+     * 다른 서버가 더 늦게 연장했으면 줄이지 않는다. 변경된 row 수를 반환한다. (row 가 없으면 0)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE RedisFallbackLease l
+            SET l.degradedUntil = :until
+            WHERE l.id = :id and (l.degradedUntil is null or l.degradedUntil < :until)
+            """)
+    int extend(@Param("id") Long id, @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,28 @@
+package com.dp.dplanner.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 내보내기 한 줄. 엔티티를 거치지 않고 JDBC 커서에서 바로 만든다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationExportRow {
+    private Long id;
+    private String resourceName;
+    private String clubMemberName;
+    private String title;
+    private String usage;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+    private String status;
+    private boolean sharing;
+    private boolean returned;
+    private String returnMessage;
+    private String rejectMessage;
+    private long inviteeCount;
+    private LocalDateTime createdDate;
+}
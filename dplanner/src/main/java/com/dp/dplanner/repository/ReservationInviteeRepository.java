@@ -2,12 +2,15 @@ package com.dp.dplanner.repository;
 
 import com.dp.dplanner.domain.ReservationInvitee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 
 
-public interface ReservationInviteeRepository extends JpaRepository<ReservationInvitee,Long> {
+public interface ReservationInviteeRepository extends JpaRepository<ReservationInvitee,Long>, ReservationInviteeRepositoryCustom {
 
 //    @Modifying
 //    @Query(value =
@@ -22,5 +25,15 @@ public interface ReservationInviteeRepository extends JpaRepository<ReservationI
 
     int deleteReservationInviteeByReservationId(Long reservationId);
 
+    @Query("""
+            SELECT ri.reservation.id AS reservationId, cm.id AS clubMemberId, cm.name AS clubMemberName,
+            cm.url AS profileImageUrl, cm.isDeleted AS clubMemberIsDeleted
+            FROM ReservationInvitee ri
+            JOIN ri.clubMember cm
+            WHERE ri.reservation.id in :reservationIds
+            ORDER BY ri.id ASC
+            """)
+    List<ReservationInviteeView> findViewsByReservationIdIn(@Param("reservationIds") Collection<Long> reservationIds);
+
 
 }
@@ -0,0 +1,14 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.ReservationInvitee;
+
+import java.util.List;
+
+public interface ReservationInviteeRepositoryCustom {
+
+    /**
+     * JDBC batch 로 초대 회원을 한 번에 저장한다.
+     * 영속성 컨텍스트를 거치지 않으므로 저장된 엔티티의 id 는 채워지지 않는다.
+     */
+    void insertAllInBatch(List<ReservationInvitee> reservationInvitees);
+}
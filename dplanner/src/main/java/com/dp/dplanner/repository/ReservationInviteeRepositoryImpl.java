@@ -0,0 +1,26 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.ReservationInvitee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReservationInviteeRepositoryImpl implements ReservationInviteeRepositoryCustom {
+
+    private static final String INSERT_SQL = "insert into reservation_invitee (reservation_id, club_member_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAllInBatch(List<ReservationInvitee> reservationInvitees) {
+        if (reservationInvitees.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, reservationInvitees, reservationInvitees.size(), (ps, invitee) -> {
+            ps.setLong(1, invitee.getReservation().getId());
+            ps.setLong(2, invitee.getClubMember().getId());
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.dp.dplanner.repository;
+
+/**
+ * 여러 예약의 초대 회원을 한 번에 조회하기 위한 projection
+ */
+public interface ReservationInviteeView {
+    Long getReservationId();
+    Long getClubMemberId();
+    String getClubMemberName();
+    String getProfileImageUrl();
+    Boolean getClubMemberIsDeleted();
+}
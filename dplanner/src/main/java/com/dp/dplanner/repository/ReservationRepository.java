@@ -2,18 +2,25 @@ package com.dp.dplanner.repository;
 
 import com.dp.dplanner.domain.Reservation;
 import com.dp.dplanner.domain.ReservationStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
 
     @Query(
             "select exists (" +
@@ -28,6 +35,25 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     boolean existsBetween(@Param("start") LocalDateTime startDateTime, @Param("end") LocalDateTime endDateTime, @Param("resourceId") Long resourceId);
 
 
+    /**
+     * 구간 안에서 동시에 겹치는 예약 수의 최댓값
+     * 겹치는 예약 수는 구간 시작 시각이나 구간 안에서 시작하는 예약의 시작 시각에서만 늘어나므로 그 시각들에서만 센다.
+     */
+    @Query("""
+            SELECT coalesce(max(c.overlaps), 0)
+            FROM (
+                SELECT count(o.id) AS overlaps
+                FROM Reservation p, Reservation o
+                WHERE p.resource.id = :resourceId and p.status != 'REJECTED'
+                and p.period.startDateTime < :end and p.period.endDateTime > :start
+                and o.resource.id = :resourceId and o.status != 'REJECTED'
+                and o.period.startDateTime <= (case when p.period.startDateTime > :start then p.period.startDateTime else :start end)
+                and o.period.endDateTime > (case when p.period.startDateTime > :start then p.period.startDateTime else :start end)
+                GROUP BY p.id
+            ) c
+            """)
+    long countMaxOverlapBetween(@Param("resourceId") Long resourceId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     @Query(
             "select exists (" +
                     "select r " +
@@ -45,6 +71,110 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                                 @Param("reservationId") Long reservationId);
 
 
+    @Query("""
+            SELECT r.id AS id, r.period.startDateTime AS startDateTime, r.period.endDateTime AS endDateTime
+            FROM Reservation r
+            WHERE r.resource.id = :resourceId and r.status != 'REJECTED' and r.period.endDateTime > :from
+            ORDER BY r.period.startDateTime
+            """)
+    List<PeriodView> findPeriodsAfter(@Param("resourceId") Long resourceId, @Param("from") LocalDateTime from);
+
+    @Query("""
+            SELECT r.id AS id, r.period.startDateTime AS startDateTime, r.period.endDateTime AS endDateTime
+            FROM Reservation r
+            WHERE r.resource.id = :resourceId and r.status != 'REJECTED'
+            and r.period.startDateTime < :end and r.period.endDateTime > :start
+            ORDER BY r.period.startDateTime
+            """)
+    List<PeriodView> findPeriodsBetween(@Param("resourceId") Long resourceId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT r.resource.id AS resourceId, r.id AS id, r.period.startDateTime AS startDateTime, r.period.endDateTime AS endDateTime
+            FROM Reservation r
+            WHERE r.resource.club.id = :clubId and r.status != 'REJECTED'
+            and r.period.startDateTime < :end and r.period.endDateTime > :start
+            """)
+    List<ResourcePeriodView> findPeriodsBetweenByClubId(@Param("clubId") Long clubId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT r.resource.id AS resourceId, r.id AS id, r.period.startDateTime AS startDateTime, r.period.endDateTime AS endDateTime
+            FROM Reservation r
+            WHERE r.resource.id in :resourceIds and r.status != 'REJECTED'
+            and r.period.startDateTime < :end and r.period.endDateTime > :start
+            """)
+    List<ResourcePeriodView> findPeriodsBetweenByResourceIds(@Param("resourceIds") List<Long> resourceIds, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT r.resource.id AS resourceId, r.id AS id, r.period.startDateTime AS startDateTime, r.period.endDateTime AS endDateTime
+            FROM Reservation r
+            WHERE (:clubId is null or r.resource.club.id = :clubId) and r.status != 'REJECTED'
+            and r.period.startDateTime < :end and r.period.endDateTime > :start
+            """)
+    Stream<ResourcePeriodView> streamPeriodsBetween(@Param("clubId") Long clubId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT r.id AS reservationId, cm.id AS clubMemberId, cm.name AS clubMemberName, cm.isDeleted AS clubMemberIsDeleted,
+            res.id AS resourceId, res.name AS resourceName, r.title AS title, r.usage AS usage, r.sharing AS sharing,
+            r.status AS status, r.isReturned AS returned, r.returnMessage AS returnMessage, r.rejectMessage AS rejectMessage,
+            r.color AS color, r.period.startDateTime AS startDateTime, r.period.endDateTime AS endDateTime,
+            r.createdDate AS createdDate, r.lastModifiedDate AS lastModifiedDate
+            FROM Reservation r
+            JOIN r.clubMember cm
+            JOIN r.resource res
+            WHERE r.id in :ids
+            """)
+    List<ReservationRowView> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT r.id AS id, r.version AS version, r.title AS title, r.usage AS usage, r.status AS status,
+            r.period.startDateTime AS startDateTime, r.period.endDateTime AS endDateTime,
+            r.lastModifiedDate AS lastModifiedDate, r.resource.name AS resourceName
+            FROM Reservation r
+            WHERE (r.clubMember.id = :clubMemberId or r.id in (SELECT ri.reservation.id FROM ReservationInvitee ri WHERE ri.clubMember.id = :clubMemberId))
+            and r.period.endDateTime > :from and r.status != 'REJECTED'
+            ORDER BY r.period.startDateTime ASC, r.id ASC
+            """)
+    Stream<CalendarEntryView> streamMemberCalendar(@Param("clubMemberId") Long clubMemberId, @Param("from") LocalDateTime from);
+
+    @Query("""
+            SELECT count(r) AS count, max(r.lastModifiedDate) AS lastModifiedDate
+            FROM Reservation r
+            WHERE (r.clubMember.id = :clubMemberId or r.id in (SELECT ri.reservation.id FROM ReservationInvitee ri WHERE ri.clubMember.id = :clubMemberId))
+            and r.period.endDateTime > :from and r.status != 'REJECTED'
+            """)
+    CalendarVersionView findMemberCalendarVersion(@Param("clubMemberId") Long clubMemberId, @Param("from") LocalDateTime from);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT r.id AS id, r.version AS version, r.title AS title, r.usage AS usage, r.status AS status,
+            r.period.startDateTime AS startDateTime, r.period.endDateTime AS endDateTime,
+            r.lastModifiedDate AS lastModifiedDate, r.resource.name AS resourceName
+            FROM Reservation r
+            WHERE r.resource.id = :resourceId and r.period.endDateTime > :from and r.status != 'REJECTED'
+            ORDER BY r.period.startDateTime ASC, r.id ASC
+            """)
+    Stream<CalendarEntryView> streamResourceCalendar(@Param("resourceId") Long resourceId, @Param("from") LocalDateTime from);
+
+    @Query("""
+            SELECT count(r) AS count, max(r.lastModifiedDate) AS lastModifiedDate
+            FROM Reservation r
+            WHERE r.resource.id = :resourceId and r.period.endDateTime > :from and r.status != 'REJECTED'
+            """)
+    CalendarVersionView findResourceCalendarVersion(@Param("resourceId") Long resourceId, @Param("from") LocalDateTime from);
+
+    @Query("""
+            SELECT r
+            FROM Reservation r
+            JOIN FETCH r.clubMember cm
+            JOIN FETCH r.resource res
+            WHERE res.id = :resourceId and cm.id = :clubMemberId and r.createdDate = :createdDate and r.period.startDateTime in :starts
+            ORDER BY r.period.startDateTime
+            """)
+    List<Reservation> findAllInsertedInBatch(@Param("resourceId") Long resourceId, @Param("clubMemberId") Long clubMemberId,
+                                             @Param("createdDate") LocalDateTime createdDate, @Param("starts") List<LocalDateTime> starts);
+
     @Query("select r " +
             "from Reservation r " +
             "join fetch r.clubMember cm " +
@@ -84,6 +214,19 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                                               @Param("end") LocalDateTime endDateTime,
                                               @Param("resourceId") Long resourceId);
 
+    /**
+     * 변경분 동기화용. 거절된 예약도 포함
+     */
+    @Query("""
+            SELECT r
+            FROM Reservation r
+            JOIN FETCH r.clubMember cm
+            JOIN FETCH r.resource res
+            WHERE res.id = :resourceId and r.lastModifiedDate > :since
+            ORDER BY r.period.startDateTime
+            """)
+    List<Reservation> findAllModifiedSince(@Param("resourceId") Long resourceId, @Param("since") LocalDateTime since);
+
     @Query("select r " +
             "from Reservation r " +
             "join fetch r.clubMember cm " +
@@ -93,6 +236,26 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "order by r.period.startDateTime asc, r.period.endDateTime asc")
     List<Reservation> findAllNotConfirmed(@Param("resourceId") Long resourceId);
 
+    /**
+     * 예약 일괄 승인/거절용 set-based 상태 변경. 영속성 컨텍스트의 엔티티는 갱신되지 않으며,
+     *  같은 예약을 동시에 수정하던 트랜잭션이 충돌을 감지할 수 있도록 version 을 올린다.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Reservation r
+            SET r.status = :status, r.lastModifiedDate = :now, r.version = r.version + 1
+            WHERE r.id in :reservationIds
+            """)
+    int updateStatusAll(@Param("reservationIds") List<Long> reservationIds, @Param("status") ReservationStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE Reservation r
+            SET r.status = 'REJECTED', r.rejectMessage = :rejectMessage, r.lastModifiedDate = :now, r.version = r.version + 1
+            WHERE r.id in :reservationIds
+            """)
+    int rejectAll(@Param("reservationIds") List<Long> reservationIds, @Param("rejectMessage") String rejectMessage, @Param("now") LocalDateTime now);
+
     @Query("""
             SELECT r
             FROM Reservation r
@@ -126,6 +289,78 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             """)
     Slice<Reservation> findMyReservationsStatus(@Param("clubMemberId") Long clubMemberId,@Param("status") ReservationStatus status, Pageable pageable);
 
+    /**
+     *  keyset 페이지네이션 메서드. (시작 시간, id) 순으로 커서 다음 위치부터 조회하며 개수는 pageable 로 제한한다.
+     *  본인 예약과 초대된 예약은 각각 (club_member_id, start_date_time) 인덱스 순서로 읽은 뒤 서비스에서 병합한다.
+     */
+    @Query("""
+            SELECT r
+            FROM Reservation r
+            JOIN FETCH r.clubMember cm
+            JOIN FETCH r.resource res
+            WHERE cm.id = :clubMemberId and r.status != 'REJECTED'
+            and (r.period.startDateTime > :cursorStart or (r.period.startDateTime = :cursorStart and r.id > :cursorId))
+            ORDER BY r.period.startDateTime ASC, r.id ASC
+            """)
+    List<Reservation> findOwnedAfterCursor(@Param("clubMemberId") Long clubMemberId, @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query("""
+            SELECT r
+            FROM ReservationInvitee ri
+            JOIN ri.reservation r
+            JOIN FETCH r.clubMember cm
+            JOIN FETCH r.resource res
+            WHERE ri.clubMember.id = :clubMemberId and r.status != 'REJECTED'
+            and (r.period.startDateTime > :cursorStart or (r.period.startDateTime = :cursorStart and r.id > :cursorId))
+            ORDER BY r.period.startDateTime ASC, r.id ASC
+            """)
+    List<Reservation> findInvitedAfterCursor(@Param("clubMemberId") Long clubMemberId, @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query("""
+            SELECT r
+            FROM Reservation r
+            JOIN FETCH r.clubMember cm
+            JOIN FETCH r.resource res
+            WHERE cm.id = :clubMemberId and r.status != 'REJECTED'
+            and (r.period.startDateTime < :cursorStart or (r.period.startDateTime = :cursorStart and r.id < :cursorId))
+            ORDER BY r.period.startDateTime DESC, r.id DESC
+            """)
+    List<Reservation> findOwnedBeforeCursor(@Param("clubMemberId") Long clubMemberId, @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query("""
+            SELECT r
+            FROM ReservationInvitee ri
+            JOIN ri.reservation r
+            JOIN FETCH r.clubMember cm
+            JOIN FETCH r.resource res
+            WHERE ri.clubMember.id = :clubMemberId and r.status != 'REJECTED'
+            and (r.period.startDateTime < :cursorStart or (r.period.startDateTime = :cursorStart and r.id < :cursorId))
+            ORDER BY r.period.startDateTime DESC, r.id DESC
+            """)
+    List<Reservation> findInvitedBeforeCursor(@Param("clubMemberId") Long clubMemberId, @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query("""
+            SELECT r
+            FROM Reservation r
+            JOIN FETCH r.clubMember cm
+            JOIN FETCH r.resource res
+            WHERE cm.id = :clubMemberId and r.status = :status
+            and (r.period.startDateTime < :cursorStart or (r.period.startDateTime = :cursorStart and r.id < :cursorId))
+            ORDER BY r.period.startDateTime DESC, r.id DESC
+            """)
+    List<Reservation> findOwnedStatusBeforeCursor(@Param("clubMemberId") Long clubMemberId, @Param("status") ReservationStatus status, @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query("""
+            SELECT r
+            FROM Reservation r
+            JOIN FETCH r.clubMember cm
+            JOIN FETCH r.resource res
+            WHERE res.club.id = :clubId and r.status = :status
+            and (r.period.startDateTime < :cursorStart or (r.period.startDateTime = :cursorStart and r.id < :cursorId))
+            ORDER BY r.period.startDateTime DESC, r.id DESC
+            """)
+    List<Reservation> findAdminBeforeCursor(@Param("clubId") Long clubId, @Param("status") ReservationStatus status, @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") Long cursorId, Pageable pageable);
+
 
     /**
      *  스케줄링 관련 메서드
@@ -0,0 +1,24 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.ReservationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ReservationRepositoryCustom {
+
+    /**
+     * JDBC batch 로 예약을 한 번에 저장한다.
+     * 영속성 컨텍스트를 거치지 않으므로 저장된 엔티티가 필요하면 createdDate 로 이번에 저장한 행만 다시 조회해야 한다.
+     * @param createdDate : 생성/수정 시각. 호출한 쪽의 Clock 으로 넘기며, 컬럼 정밀도(timestamp(6)) 보다 세밀하면 다시 조회되지 않는다.
+     */
+    void insertAllInBatch(List<Reservation> reservations, LocalDateTime createdDate);
+
+    /**
+     * 기간과 겹치는 클럽 예약을 시작 시간 순으로 forward-only 커서에서 한 줄씩 읽어 consumer 에 넘긴다.
+     * status 가 null 이면 모든 상태
+     */
+    void exportReservations(Long clubId, ReservationStatus status, LocalDateTime start, LocalDateTime end, Consumer<ReservationExportRow> consumer);
+}
@@ -0,0 +1,111 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.ReservationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * IDENTITY 전략에서는 Hibernate 가 insert 를 batch 로 묶지 않기 때문에 반복 예약처럼 여러 건을 저장할 때는 JDBC batch 를 사용한다.
+ * (Oracle 드라이버는 batch 에서 생성된 key 를 돌려주지 않으므로 id 는 반환하지 않는다)
+ */
+@RequiredArgsConstructor
+public class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    private static final String INSERT_SQL = """
+            insert into reservation (resource_id, club_member_id, start_date_time, end_date_time, title, usage, color,
+                                     sharing, is_returned, status, created_date, last_modified_date, version)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String EXPORT_SQL = """
+            select r.id, res.name as resource_name, cm.name as club_member_name, r.title, r.usage,
+                   r.start_date_time, r.end_date_time, r.status, r.sharing, r.is_returned, r.return_message, r.reject_message,
+                   (select count(*) from reservation_invitee ri where ri.reservation_id = r.id) as invitee_count,
+                   r.created_date
+            from reservation r
+            join resources res on res.id = r.resource_id
+            left join club_member cm on cm.id = r.club_member_id
+            where res.club_id = ? and r.start_date_time < ? and r.end_date_time > ?
+            """;
+    private static final String EXPORT_STATUS_CONDITION = " and r.status = ?";
+    private static final String EXPORT_ORDER = " order by r.start_date_time, r.id";
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAllInBatch(List<Reservation> reservations, LocalDateTime createdDate) {
+        Timestamp now = Timestamp.valueOf(createdDate);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Reservation reservation = reservations.get(i);
+                ps.setLong(1, reservation.getResource().getId());
+                ps.setLong(2, reservation.getClubMember().getId());
+                ps.setTimestamp(3, Timestamp.valueOf(reservation.getPeriod().getStartDateTime()));
+                ps.setTimestamp(4, Timestamp.valueOf(reservation.getPeriod().getEndDateTime()));
+                ps.setString(5, reservation.getTitle());
+                ps.setString(6, reservation.getUsage());
+                ps.setString(7, reservation.getColor());
+                ps.setBoolean(8, reservation.isSharing());
+                ps.setBoolean(9, reservation.isReturned());
+                ps.setString(10, reservation.getStatus().name());
+                ps.setTimestamp(11, now);
+                ps.setTimestamp(12, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return reservations.size();
+            }
+        });
+    }
+
+    @Override
+    public void exportReservations(Long clubId, ReservationStatus status, LocalDateTime start, LocalDateTime end, Consumer<ReservationExportRow> consumer) {
+        String sql = EXPORT_SQL.stripTrailing() + (status == null ? "" : EXPORT_STATUS_CONDITION) + EXPORT_ORDER;
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            ps.setLong(1, clubId);
+            ps.setTimestamp(2, Timestamp.valueOf(end));
+            ps.setTimestamp(3, Timestamp.valueOf(start));
+            if (status != null) {
+                ps.setString(4, status.name());
+            }
+            return ps;
+        }, rs -> {
+            consumer.accept(new ReservationExportRow(
+                    rs.getLong("id"),
+                    rs.getString("resource_name"),
+                    rs.getString("club_member_name"),
+                    rs.getString("title"),
+                    rs.getString("usage"),
+                    toLocalDateTime(rs.getTimestamp("start_date_time")),
+                    toLocalDateTime(rs.getTimestamp("end_date_time")),
+                    rs.getString("status"),
+                    rs.getBoolean("sharing"),
+                    rs.getBoolean("is_returned"),
+                    rs.getString("return_message"),
+                    rs.getString("reject_message"),
+                    rs.getLong("invitee_count"),
+                    toLocalDateTime(rs.getTimestamp("created_date"))));
+        });
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
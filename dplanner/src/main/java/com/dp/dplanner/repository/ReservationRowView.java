@@ -0,0 +1,29 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 목록 응답에 필요한 예약/예약자/리소스 컬럼만 한 번에 조회하기 위한 projection
+ */
+public interface ReservationRowView {
+    Long getReservationId();
+    Long getClubMemberId();
+    String getClubMemberName();
+    Boolean getClubMemberIsDeleted();
+    Long getResourceId();
+    String getResourceName();
+    String getTitle();
+    String getUsage();
+    boolean getSharing();
+    ReservationStatus getStatus();
+    boolean getReturned();
+    String getReturnMessage();
+    String getRejectMessage();
+    String getColor();
+    LocalDateTime getStartDateTime();
+    LocalDateTime getEndDateTime();
+    LocalDateTime getCreatedDate();
+    LocalDateTime getLastModifiedDate();
+}
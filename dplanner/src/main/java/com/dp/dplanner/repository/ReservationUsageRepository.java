@@ -0,0 +1,7 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.ReservationUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReservationUsageRepository extends JpaRepository<ReservationUsage, Long> {
+}
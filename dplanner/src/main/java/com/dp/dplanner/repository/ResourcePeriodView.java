@@ -0,0 +1,8 @@
+package com.dp.dplanner.repository;
+
+/**
+ * 클럽 단위로 예약/락 기간을 조회할 때 리소스 id 를 함께 조회하기 위한 projection
+ */
+public interface ResourcePeriodView extends PeriodView {
+    Long getResourceId();
+}
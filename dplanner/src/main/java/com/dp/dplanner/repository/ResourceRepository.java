@@ -1,11 +1,14 @@
 package com.dp.dplanner.repository;
 
 import com.dp.dplanner.domain.Resource;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ResourceRepository extends JpaRepository<Resource,Long> {
 
@@ -17,4 +20,15 @@ public interface ResourceRepository extends JpaRepository<Resource,Long> {
             """)
     List<Resource> findByClubId(@Param(value = "clubId") Long clubId);
 
+    /**
+     * select ... for update. 트랜잭션이 끝날 때까지 같은 리소스에 대한 다른 요청은 기다린다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT r
+            FROM Resource r
+            WHERE r.id = :resourceId
+            """)
+    Optional<Resource> findByIdForUpdate(@Param(value = "resourceId") Long resourceId);
+
 }
@@ -0,0 +1,34 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.ResourceUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResourceUsageRepository extends JpaRepository<ResourceUsage, Long> {
+
+    /**
+     * 통계 행이 있으면 값을 더하고 변경된 행 수를 반환한다. 0 이면 새 행을 저장해야 한다.
+     */
+    @Modifying
+    @Query("""
+            UPDATE ResourceUsage u
+            SET u.reservedMinutes = u.reservedMinutes + :minutes,
+                u.reservationCount = u.reservationCount + :count,
+                u.returnedCount = u.returnedCount + :returned
+            WHERE u.resourceId = :resourceId and u.usageDate = :date and u.usageHour = :hour
+            """)
+    int increment(@Param("resourceId") Long resourceId, @Param("date") LocalDate date, @Param("hour") int hour,
+                  @Param("minutes") long minutes, @Param("count") long count, @Param("returned") long returned);
+
+    @Query("""
+            SELECT u
+            FROM ResourceUsage u
+            WHERE u.clubId = :clubId and u.usageDate between :from and :to
+            """)
+    List<ResourceUsage> findByClubIdBetween(@Param("clubId") Long clubId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,27 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    @Query("""
+            SELECT t
+            FROM Tombstone t
+            WHERE t.resourceId = :resourceId and t.createdDate > :since
+            """)
+    List<Tombstone> findAllByResourceIdSince(@Param("resourceId") Long resourceId, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("""
+            DELETE FROM Tombstone t
+            WHERE t.createdDate < :before
+            """)
+    int deleteAllCreatedBefore(@Param("before") LocalDateTime before);
+}
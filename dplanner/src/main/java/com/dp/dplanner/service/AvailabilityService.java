@@ -0,0 +1,167 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.AvailabilityDto;
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.ResourceType;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.*;
+import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.index.OccupancyBitmap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.dp.dplanner.exception.ErrorResult.*;
+
+/**
+ * 리소스의 예약 가능한 빈 시간대 조회
+ * 예약, 락, 과거 시간, bookableSpan 이후 시간을 하나의 점유 bitmap 에 합친 뒤 빈 구간을 반환한다.
+ * 정원이 있는 리소스는 겹치는 예약 수가 정원에 닿은 시간만 점유로 본다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AvailabilityService {
+
+    private static final long MAX_RANGE_DAYS = 31;
+
+    private final ClubMemberRepository clubMemberRepository;
+    private final ResourceRepository resourceRepository;
+    private final ReservationRepository reservationRepository;
+    private final LockRepository lockRepository;
+    private final Clock clock;
+
+    // 빈 시간대 조회 단위(분), 하루(1440분)의 약수여야 함. 일부만 점유된 단위는 점유로 표시한다.
+    @Value("${reservation.availability.slot-minutes:1}")
+    private int slotWidth;
+
+    public AvailabilityDto.Response getAvailability(Long clubMemberId, Long resourceId, LocalDateTime start, LocalDateTime end) {
+        checkRange(start, end);
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+        checkIsSameClub(clubMember, resource.getClub().getId());
+
+        OccupancyBitmap bitmap = newBitmap(resource, start, end);
+        reservationRepository.findPeriodsBetween(resourceId, start, end)
+                .forEach(period -> bitmap.reserve(period.getStartDateTime(), period.getEndDateTime()));
+        lockRepository.findPeriodsBetween(resourceId, start, end)
+                .forEach(period -> bitmap.occupy(period.getStartDateTime(), period.getEndDateTime()));
+
+        return AvailabilityDto.Response.of(resource, bitmap.freePeriods());
+    }
+
+    /**
+     * 클럽의 모든 리소스를 예약/락 각각 한 번의 조회로 계산
+     */
+    public List<AvailabilityDto.Response> getClubAvailability(Long clubMemberId, Long clubId, LocalDateTime start, LocalDateTime end) {
+        checkRange(start, end);
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        checkIsSameClub(clubMember, clubId);
+
+        List<Resource> resources = resourceRepository.findByClubId(clubId);
+        Map<Long, OccupancyBitmap> bitmaps = new HashMap<>();
+        resources.forEach(resource -> bitmaps.put(resource.getId(), newBitmap(resource, start, end)));
+
+        reserve(bitmaps, reservationRepository.findPeriodsBetweenByClubId(clubId, start, end));
+        occupy(bitmaps, lockRepository.findPeriodsBetweenByClubId(clubId, start, end));
+
+        return resources.stream()
+                .map(resource -> AvailabilityDto.Response.of(resource, bitmaps.get(resource.getId()).freePeriods()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 클럽 리소스 중 [start, end) 에 비어 있는 리소스를 찾는다.
+     * 요청 시간이 속한 날짜 전체를 예약/락 각각 한 번의 조회로 계산하고,
+     * 요청 시간을 포함하는 빈 구간이 짧은 리소스(요청 시간에 꼭 맞는 리소스)부터 반환한다.
+     */
+    public List<AvailabilityDto.FreeResource> searchFreeResources(Long clubMemberId, Long clubId, LocalDateTime start, LocalDateTime end, ResourceType resourceType) {
+        checkRange(start, end);
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        checkIsSameClub(clubMember, clubId);
+
+        LocalDateTime from = start.toLocalDate().atStartOfDay();
+        LocalDateTime to = end.toLocalDate().plusDays(1).atStartOfDay();
+
+        List<Resource> resources = resourceRepository.findByClubId(clubId).stream()
+                .filter(resource -> resourceType == null || resource.getResourceType() == resourceType)
+                .toList();
+        Map<Long, OccupancyBitmap> bitmaps = new HashMap<>();
+        resources.forEach(resource -> bitmaps.put(resource.getId(), newBitmap(resource, from, to)));
+
+        reserve(bitmaps, reservationRepository.findPeriodsBetweenByClubId(clubId, from, to));
+        occupy(bitmaps, lockRepository.findPeriodsBetweenByClubId(clubId, from, to));
+
+        long requestedMinutes = Duration.between(start, end).toMinutes();
+        List<AvailabilityDto.FreeResource> freeResources = new ArrayList<>();
+        for (Resource resource : resources) {
+            Period freePeriod = bitmaps.get(resource.getId()).freePeriodContaining(start, end);
+            if (freePeriod != null) {
+                long slackMinutes = Duration.between(freePeriod.getStartDateTime(), freePeriod.getEndDateTime()).toMinutes() - requestedMinutes;
+                freeResources.add(AvailabilityDto.FreeResource.of(resource, freePeriod, slackMinutes));
+            }
+        }
+        // 정렬이 안정적이므로 slack 이 같으면 이름 순서가 유지된다.
+        freeResources.sort(Comparator.comparingLong(AvailabilityDto.FreeResource::getSlackMinutes));
+        return freeResources;
+    }
+
+    private OccupancyBitmap newBitmap(Resource resource, LocalDateTime start, LocalDateTime end) {
+        OccupancyBitmap bitmap = OccupancyBitmap.of(start, end, slotWidth, resource.getCapacity());
+        bitmap.occupyUntil(LocalDateTime.now(clock));
+
+        Long bookableSpan = resource.getBookableSpan();
+        if (bookableSpan != null) {
+            // 예약 종료일이 (오늘 + bookableSpan) 일까지인 예약만 가능
+            bitmap.occupyFrom(LocalDate.now(clock).plusDays(bookableSpan + 1).atStartOfDay());
+        }
+        return bitmap;
+    }
+
+    private static void reserve(Map<Long, OccupancyBitmap> bitmaps, List<ResourcePeriodView> periods) {
+        periods.forEach(period -> {
+            OccupancyBitmap bitmap = bitmaps.get(period.getResourceId());
+            if (bitmap != null) {
+                bitmap.reserve(period.getStartDateTime(), period.getEndDateTime());
+            }
+        });
+    }
+
+    private static void occupy(Map<Long, OccupancyBitmap> bitmaps, List<ResourcePeriodView> periods) {
+        periods.forEach(period -> {
+            OccupancyBitmap bitmap = bitmaps.get(period.getResourceId());
+            if (bitmap != null) {
+                bitmap.occupy(period.getStartDateTime(), period.getEndDateTime());
+            }
+        });
+    }
+
+    private static void checkRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end) || Duration.between(start, end).toDays() > MAX_RANGE_DAYS) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+    }
+
+    private static void checkIsSameClub(ClubMember clubMember, Long targetClubId) {
+        if (!clubMember.isSameClub(targetClubId)) {
+            throw new ServiceException(DIFFERENT_CLUB_EXCEPTION);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.CalendarFeedDto;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.ReservationStatus;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.CalendarEntryView;
+import com.dp.dplanner.repository.CalendarVersionView;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static com.dp.dplanner.exception.ErrorResult.*;
+
+/**
+ * 캘린더 앱 구독용 ICS 피드
+ * - 캘린더 앱은 Authorization 헤더를 보낼 수 없으므로 주소에 회원별 서명 토큰을 넣는다. (재발급하면 이전 토큰은 폐기)
+ * - 예약 목록을 메모리에 모으지 않고 DB 커서에서 읽는 대로 응답에 쓴다.
+ * - ETag 는 예약 개수와 마지막 수정 시각만 조회해서 만든다. 바뀐 것이 없으면 피드를 만들지 않고 304 를 돌려준다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CalendarFeedService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter UTC_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final ClubMemberRepository clubMemberRepository;
+    private final ResourceRepository resourceRepository;
+    private final ReservationRepository reservationRepository;
+    private final Clock clock;
+
+    @Value("${calendar.feed.secret}")
+    private String secret;
+
+    @Value("${calendar.feed.past-days:30}")
+    private long pastDays;
+
+    public CalendarFeedDto.Response getFeed(Long clubMemberId) {
+        return feed(getConfirmedClubMember(clubMemberId));
+    }
+
+    /**
+     * 기존 토큰을 폐기하고 새 토큰으로 주소를 다시 발급한다. (주소가 유출된 경우)
+     */
+    @Transactional
+    public CalendarFeedDto.Response reissueFeed(Long clubMemberId) {
+        ClubMember clubMember = getConfirmedClubMember(clubMemberId);
+        clubMember.rotateCalendarToken();
+        return feed(clubMember);
+    }
+
+    private CalendarFeedDto.Response feed(ClubMember clubMember) {
+        String token = clubMember.getId() + "." + sign(clubMember);
+
+        return CalendarFeedDto.Response.builder()
+                .token(token)
+                .memberFeedPath("/ics/" + token + "/reservations.ics")
+                .resourceFeedPath("/ics/" + token + "/resources/{resourceId}.ics")
+                .build();
+    }
+
+    /**
+     * 토큰을 검증하고 토큰 주인의 clubMemberId 를 반환한다.
+     * 클럽을 탈퇴하는 등 승인된 회원이 아니게 되면 기존 토큰도 더 이상 사용할 수 없다.
+     */
+    public Long authenticate(String token) {
+        int index = token == null ? -1 : token.indexOf('.');
+        if (index <= 0) {
+            throw new ServiceException(INVALID_TOKEN);
+        }
+
+        Long clubMemberId;
+        try {
+            clubMemberId = Long.valueOf(token.substring(0, index));
+        } catch (NumberFormatException e) {
+            throw new ServiceException(INVALID_TOKEN);
+        }
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(INVALID_TOKEN));
+        byte[] expected = sign(clubMember).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(index + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual) || !clubMember.getIsConfirmed()) {
+            throw new ServiceException(INVALID_TOKEN);
+        }
+        return clubMemberId;
+    }
+
+    public String getMemberFeedTag(Long clubMemberId) {
+        LocalDateTime from = feedStart();
+        CalendarVersionView version = reservationRepository.findMemberCalendarVersion(clubMemberId, from);
+        return eTag("m" + clubMemberId, from, version);
+    }
+
+    public String getResourceFeedTag(Long clubMemberId, Long resourceId) {
+        Resource resource = getResource(clubMemberId, resourceId);
+        LocalDateTime from = feedStart();
+        CalendarVersionView version = reservationRepository.findResourceCalendarVersion(resource.getId(), from);
+        return eTag("r" + resourceId, from, version);
+    }
+
+    /**
+     * 본인이 등록했거나 초대된 예약
+     */
+    public void writeMemberFeed(Long clubMemberId, Writer writer) throws IOException {
+        ClubMember clubMember = getConfirmedClubMember(clubMemberId);
+        try (Stream<CalendarEntryView> entries = reservationRepository.streamMemberCalendar(clubMemberId, feedStart())) {
+            write(writer, "dplanner - " + clubMember.getName(), entries.iterator());
+        }
+    }
+
+    /**
+     * 리소스의 전체 예약
+     */
+    public void writeResourceFeed(Long clubMemberId, Long resourceId, Writer writer) throws IOException {
+        Resource resource = getResource(clubMemberId, resourceId);
+        try (Stream<CalendarEntryView> entries = reservationRepository.streamResourceCalendar(resourceId, feedStart())) {
+            write(writer, "dplanner - " + resource.getName(), entries.iterator());
+        }
+    }
+
+    private void write(Writer writer, String calendarName, Iterator<CalendarEntryView> entries) throws IOException {
+        writeLine(writer, "BEGIN:VCALENDAR");
+        writeLine(writer, "VERSION:2.0");
+        writeLine(writer, "PRODID:-//dplanner//reservation//KO");
+        writeLine(writer, "CALSCALE:GREGORIAN");
+        writeLine(writer, "METHOD:PUBLISH");
+        writeLine(writer, "X-WR-CALNAME:" + escape(calendarName));
+        writeLine(writer, "REFRESH-INTERVAL;VALUE=DURATION:PT15M");
+        writeLine(writer, "X-PUBLISHED-TTL:PT15M");
+
+        String now = toUtc(LocalDateTime.now(clock));
+        while (entries.hasNext()) {
+            CalendarEntryView entry = entries.next();
+            String summary = entry.getTitle() == null || entry.getTitle().isBlank()
+                    ? entry.getResourceName()
+                    : entry.getTitle() + " (" + entry.getResourceName() + ")";
+
+            writeLine(writer, "BEGIN:VEVENT");
+            writeLine(writer, "UID:reservation-" + entry.getId() + "@dplanner");
+            writeLine(writer, "SEQUENCE:" + Objects.requireNonNullElse(entry.getVersion(), 0L));
+            writeLine(writer, "DTSTAMP:" + (entry.getLastModifiedDate() == null ? now : toUtc(entry.getLastModifiedDate())));
+            writeLine(writer, "DTSTART:" + toUtc(entry.getStartDateTime()));
+            writeLine(writer, "DTEND:" + toUtc(entry.getEndDateTime()));
+            writeLine(writer, "SUMMARY:" + escape(summary));
+            writeLine(writer, "LOCATION:" + escape(entry.getResourceName()));
+            if (entry.getUsage() != null && !entry.getUsage().isBlank()) {
+                writeLine(writer, "DESCRIPTION:" + escape(entry.getUsage()));
+            }
+            writeLine(writer, "STATUS:" + (entry.getStatus() == ReservationStatus.CONFIRMED ? "CONFIRMED" : "TENTATIVE"));
+            writeLine(writer, "END:VEVENT");
+        }
+        writeLine(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    /**
+     * RFC 5545 3.1 : 한 줄이 75 octet 을 넘으면 CRLF + 공백으로 이어 쓴다.
+     */
+    private static void writeLine(Writer writer, String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int length = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + length > MAX_LINE_OCTETS) {
+                writer.write(CRLF);
+                writer.write(' ');
+                octets = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        writer.write(CRLF);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    private static String toUtc(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(UTC_FORMATTER);
+    }
+
+    /**
+     * 피드 시작 시각은 날짜 단위로 바뀌므로 같은 날 안에서는 ETag 가 유지된다.
+     */
+    private LocalDateTime feedStart() {
+        return LocalDate.now(clock).minusDays(pastDays).atStartOfDay();
+    }
+
+    private static String eTag(String scope, LocalDateTime from, CalendarVersionView version) {
+        long count = version == null || version.getCount() == null ? 0 : version.getCount();
+        LocalDateTime lastModified = version == null ? null : version.getLastModifiedDate();
+        String modified = lastModified == null ? "0" : Long.toString(lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return "\"" + scope + "-" + from.toLocalDate() + "-" + count + "-" + modified + "\"";
+    }
+
+    private ClubMember getConfirmedClubMember(Long clubMemberId) {
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        if (!clubMember.getIsConfirmed()) {
+            throw new ServiceException(CLUBMEMBER_NOT_CONFIRMED);
+        }
+        return clubMember;
+    }
+
+    private Resource getResource(Long clubMemberId, Long resourceId) {
+        ClubMember clubMember = getConfirmedClubMember(clubMemberId);
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+        if (!clubMember.isSameClub(resource.getClub().getId())) {
+            throw new ServiceException(DIFFERENT_CLUB_EXCEPTION);
+        }
+        return resource;
+    }
+
+    /**
+     * 회원별 토큰 버전을 함께 서명하므로 버전을 올리면 이전 토큰은 더 이상 맞지 않는다.
+     */
+    private String sign(ClubMember clubMember) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            String payload = "calendar:" + clubMember.getId() + ":" + clubMember.getCalendarTokenVersion();
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
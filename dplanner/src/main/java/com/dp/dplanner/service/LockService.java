@@ -1,22 +1,33 @@
 package com.dp.dplanner.service;
 
 import com.dp.dplanner.domain.club.ClubAuthority;
+import com.dp.dplanner.repository.PeriodView;
 import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourcePeriodView;
 import com.dp.dplanner.service.aop.annotation.RequiredAuthority;
+import com.dp.dplanner.service.aop.annotation.RetryOnConflict;
 import com.dp.dplanner.domain.Lock;
 import com.dp.dplanner.domain.Period;
 import com.dp.dplanner.domain.Resource;
 import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.service.event.LockEvent;
+import com.dp.dplanner.service.event.LocksCreatedEvent;
 import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.index.ResourceTimeline;
+import com.dp.dplanner.service.index.ResourceTimelineIndex;
+import com.dp.dplanner.util.RecurrenceRule;
 import com.dp.dplanner.repository.ClubMemberRepository;
 import com.dp.dplanner.repository.LockRepository;
 import com.dp.dplanner.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.dp.dplanner.domain.club.ClubAuthorityType.*;
@@ -32,6 +43,9 @@ public class LockService {
     private final LockRepository lockRepository;
     private final ResourceRepository resourceRepository;
     private final ClubMemberRepository clubMemberRepository;
+    private final ResourceTimelineIndex resourceTimelineIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
 
     @RequiredAuthority(authority = SCHEDULE_ALL)
@@ -41,15 +55,51 @@ public class LockService {
         ClubMember clubMember = getClubMember(clubMemberId);
         checkIsSameClub(clubMember, resource.getClub().getId());
 
+        checkIsLockedIndex(createDto.getResourceId(), createDto.getStartDateTime(), createDto.getEndDateTime());
         checkIfThereExistsLocksDuringPeriod(createDto.getStartDateTime(), createDto.getEndDateTime(), createDto.getResourceId(), null);
         checkIsReserved(createDto.getResourceId(), createDto.getStartDateTime(), createDto.getEndDateTime());
 
 
         Lock lock = lockRepository.save(createDto.toEntity(resource));
+        eventPublisher.publishEvent(LockEvent.of(LockEvent.Type.CREATED, lock));
 
         return Response.of(lock);
     }
 
+    /**
+     * 여러 리소스에 (반복) 락을 한 번에 생성한다.
+     * 겹치는 락/예약은 전체 기간을 한 번씩 조회해서 검사하고, JDBC batch 로 저장한다. 하나라도 겹치면 전체가 실패한다.
+     */
+    @RequiredAuthority(authority = SCHEDULE_ALL)
+    @Transactional
+    public List<Response> createLocks(Long clubMemberId, CreateBulk createDto) {
+        if (createDto.getResourceIds() == null || createDto.getResourceIds().isEmpty()) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+        List<Long> resourceIds = createDto.getResourceIds().stream().distinct().toList();
+        List<Resource> resources = resourceRepository.findAllById(resourceIds);
+        if (resources.size() != resourceIds.size()) {
+            throw new ServiceException(RESOURCE_NOT_FOUND);
+        }
+        ClubMember clubMember = getClubMember(clubMemberId);
+        resources.forEach(resource -> checkIsSameClub(clubMember, resource.getClub().getId()));
+
+        Period first = new Period(createDto.getStartDateTime(), createDto.getEndDateTime());
+        List<Period> periods = createDto.getRecurrence() == null ? List.of(first) : RecurrenceRule.parse(createDto.getRecurrence()).expand(first);
+        checkIsLockedOrReserved(resourceIds, periods);
+
+        List<Lock> locks = resources.stream()
+                .flatMap(resource -> periods.stream().map(period -> createDto.toEntity(resource, period)))
+                .toList();
+        lockRepository.insertAllInBatch(locks, LocalDateTime.now(clock));
+
+        List<Lock> savedLocks = lockRepository.findAllByResourceIdInAndStartDateTimeIn(
+                resourceIds, periods.stream().map(Period::getStartDateTime).toList());
+        eventPublisher.publishEvent(LocksCreatedEvent.of(savedLocks));
+
+        return Response.ofList(savedLocks);
+    }
+
     public Response getLock(Long clubMemberId, Long lockId) {
         Lock lock = getLock(lockId);
         ClubMember clubMember = getClubMember(clubMemberId);
@@ -66,9 +116,11 @@ public class LockService {
         ClubMember clubMember = getClubMember(clubMemberId);
         checkIsSameClub(clubMember, resource.getClub().getId());
 
+        eventPublisher.publishEvent(LockEvent.of(LockEvent.Type.DELETED, lock));
         lockRepository.delete(lock);
     }
 
+    @RetryOnConflict
     @RequiredAuthority(authority = SCHEDULE_ALL)
     @Transactional
     public Response updateLock(Long clubMemberId, Update updateDto) {
@@ -79,7 +131,9 @@ public class LockService {
         ClubMember clubMember = getClubMember(clubMemberId);
         checkIsSameClub(clubMember, resource.getClub().getId());
 
+        Period previousPeriod = lock.getPeriod();
         lock.update(new Period(updateDto.getStartDateTime(), updateDto.getEndDateTime()), updateDto.getMessage());
+        eventPublisher.publishEvent(LockEvent.updated(lock, previousPeriod));
 
         return Response.of(lock);
     }
@@ -89,17 +143,19 @@ public class LockService {
         ClubMember clubMember = getClubMember(clubMemberId);
         checkIsSameClub(clubMember, resource.getClub().getId());
 
-        List<Lock> locks = lockRepository.findBetween(period.getStartDateTime(), period.getEndDateTime(), resourceId);
-
         //todo 임시방편 코드 추후 락 관련  논의 필요
-        if (!clubMember.hasAuthority(SCHEDULE_ALL)) {
-            LocalDateTime cutoffDate = LocalDateTime.now().plusDays(resource.getBookableSpan()+1).toLocalDate().atStartOfDay();
-            List<Lock> filteredLock = locks.stream()
-                    .filter(lock -> !(lock.getPeriod().getStartDateTime().isAfter(cutoffDate) || lock.getPeriod().getEndDateTime().isAfter(cutoffDate)))
-                    .collect(Collectors.toList());
-            return Response.ofList(filteredLock);
+        // 관리자가 아니면 예약 가능 기간 이후에 끝나는 락은 보여주지 않는다.
+        LocalDateTime cutoffDate = clubMember.hasAuthority(SCHEDULE_ALL)
+                ? null
+                : LocalDateTime.now(clock).plusDays(resource.getBookableSpan()+1).toLocalDate().atStartOfDay();
+        List<Response> locks = resourceTimelineIndex.getLocks(resourceId, period.getStartDateTime(), period.getEndDateTime(), cutoffDate);
+        if (locks != null) {
+            return locks;
         }
-        return Response.ofList(locks);
+        return lockRepository.findBetween(period.getStartDateTime(), period.getEndDateTime(), resourceId).stream()
+                .filter(lock -> cutoffDate == null || !lock.getPeriod().getEndDateTime().isAfter(cutoffDate))
+                .map(Response::of)
+                .toList();
     }
 
 
@@ -124,10 +180,49 @@ public class LockService {
     }
 
     /**
-     * 데이터베이스에 이미 예약이 있는지 검사
+     * 리소스들의 전체 기간과 겹치는 락/예약을 한 번씩 조회해서 리소스별 타임라인으로 검사
+     */
+    private void checkIsLockedOrReserved(List<Long> resourceIds, List<Period> periods) {
+        LocalDateTime envelopeStart = periods.get(0).getStartDateTime();
+        LocalDateTime envelopeEnd = periods.get(periods.size() - 1).getEndDateTime();
+
+        Map<Long, List<PeriodView>> locked = groupByResource(lockRepository.findPeriodsBetweenByResourceIds(resourceIds, envelopeStart, envelopeEnd));
+        Map<Long, List<PeriodView>> reserved = groupByResource(reservationRepository.findPeriodsBetweenByResourceIds(resourceIds, envelopeStart, envelopeEnd));
+
+        for (Long resourceId : resourceIds) {
+            ResourceTimeline timeline = ResourceTimeline.of(envelopeStart, clock.millis(),
+                    reserved.getOrDefault(resourceId, List.of()), locked.getOrDefault(resourceId, List.of()));
+            for (Period period : periods) {
+                if (timeline.hasLockBetween(period.getStartDateTime(), period.getEndDateTime())) {
+                    throw new ServiceException(PERIOD_OVERLAPPED_EXCEPTION);
+                }
+                if (timeline.hasReservationBetween(period.getStartDateTime(), period.getEndDateTime())) {
+                    throw new ServiceException("reservation is already reserved. Can not lock that request time.",400);
+                }
+            }
+        }
+    }
+
+    private static Map<Long, List<PeriodView>> groupByResource(List<ResourcePeriodView> periods) {
+        return periods.stream().collect(Collectors.groupingBy(ResourcePeriodView::getResourceId,
+                Collectors.mapping(period -> (PeriodView) period, Collectors.toList())));
+    }
+
+    /**
+     * 인메모리 인덱스 기준으로 이미 락이 있는지 검사
+     */
+    private void checkIsLockedIndex(Long resourceId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (resourceTimelineIndex.hasLockBetween(resourceId, startDateTime, endDateTime)) {
+            throw new ServiceException(PERIOD_OVERLAPPED_EXCEPTION);
+        }
+    }
+
+    /**
+     * 이미 예약이 있는지 검사 (인메모리 인덱스 -> DB 순)
      */
     private void checkIsReserved(Long resourceId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        if (reservationRepository.existsBetween(startDateTime, endDateTime, resourceId)) {
+        if (resourceTimelineIndex.hasReservationBetween(resourceId, startDateTime, endDateTime)
+                || reservationRepository.existsBetween(startDateTime, endDateTime, resourceId)) {
             throw new ServiceException("reservation is already reserved. Can not lock that request time.",400);
         }
     }
@@ -103,6 +103,32 @@ public class MessageService {
         fcmService.sendNotification(clubMemberIds, fcmDtos);
     }
 
+    /**
+     * 회원마다 다른 메시지를 한 번에 저장하고 전송한다. clubMembers 와 messages 는 같은 순서여야 한다.
+     */
+    @Async
+    @Transactional
+    public void createPrivateMessages(List<ClubMember> clubMembers, List<Message> messages) {
+        if (clubMembers.isEmpty()) {
+            return;
+        }
+        List<PrivateMessage> privateMessages = new ArrayList<>(clubMembers.size());
+        List<Long> clubMemberIds = new ArrayList<>(clubMembers.size());
+        List<FCMDto.Send> fcmDtos = new ArrayList<>(clubMembers.size());
+
+        for (int i = 0; i < clubMembers.size(); i++) {
+            ClubMember clubMember = clubMembers.get(i);
+            privateMessages.add(createPrivateMessage(clubMember, messages.get(i)));
+            fcmDtos.add(createFcmDto(clubMember, messages.get(i)));
+            clubMemberIds.add(clubMember.getId());
+        }
+
+        List<PrivateMessage> savedPrivateMessages = messageRepository.saveAll(privateMessages);
+        updateFcmDtosWithIds(savedPrivateMessages, fcmDtos);
+
+        fcmService.sendNotification(clubMemberIds, fcmDtos);
+    }
+
     // Helper method to create a private message
     private PrivateMessage createPrivateMessage(ClubMember clubMember, Message message) {
         return PrivateMessage.builder()
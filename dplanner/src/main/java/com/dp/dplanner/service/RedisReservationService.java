@@ -1,89 +1,662 @@
 package com.dp.dplanner.service;
 
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.service.event.LockEvent;
+import com.dp.dplanner.service.event.LocksCreatedEvent;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * 리소스별/일자별 Redis bitmap 으로 예약 슬롯을 관리한다.
+ * 하루를 1분 단위 슬롯으로 나누고 (1440 bit), 예약 구간의 슬롯 확인/점유/해제를
+ * Lua 스크립트 한 번으로 원자적으로 처리한다.
+ * 예약 입력 중인 구간은 리소스별 hold zset (score : 만료 시간) 으로 잠시 잡아 두며,
+ * 슬롯 점유 시 다른 회원의 살아 있는 hold 와 겹치면 실패한다.
+ * 일자별 key 는 그날이 끝날 때까지 유지하며, 시작 시 SlotStoreWarmer 가 DB 의 예약/락으로 채운다.
+ * 정원이 있는 리소스는 bitmap 대신 일자별 hash (field : 슬롯 번호, value : 점유 수) 로 슬롯마다 점유 수를 센다.
+ * 만료 시간은 점유/적재 스크립트 안에서 함께 설정하고, 여러 스크립트를 실행해야 하는 해제는 pipeline 으로 한 번에 보낸다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RedisReservationService {
+
+    private static final String KEY_PREFIX = "slot:";
+    private static final String HOLD_KEY_PREFIX = "hold:";
+    private static final String LOCK_KEY_PREFIX = "lockslot:";
+    private static final String COUNT_KEY_PREFIX = "slotcount:";
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MINUTES_OF_DAY = 24 * 60;
+
+    /**
+     * KEYS : [1] 리소스 hold zset key, [2..] 일자별 bitmap key
+     * ARGV : ttl(ms), 현재 시간(ms), 전환할 hold member (없으면 ""), 예약 구간 수 n,
+     *        n 개의 [시작, 끝) epoch 분, 이후 bitmap key 마다 [시작 슬롯, 끝 슬롯) 쌍
+     * 다른 회원의 hold 와 겹치지 않고 모든 슬롯이 비어 있을 때만 점유하고 1 반환, 아니면 0 반환.
+     * 전환할 hold 가 주어지면 그 hold 가 살아 있어야 하며 점유 후 hold 를 지운다.
+     */
+    private static final RedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local ttl = tonumber(ARGV[1])
+            local ownHold = ARGV[3]
+            local periodCount = tonumber(ARGV[4])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2])
+            local ownFound = ownHold == ''
+            for _, hold in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+                if hold == ownHold then
+                    ownFound = true
+                else
+                    local holdStart, holdEnd = string.match(hold, '[^:]+:[^:]+:([^:]+):([^:]+)')
+                    for p = 0, periodCount - 1 do
+                        if tonumber(holdStart) < tonumber(ARGV[6 + p * 2]) and tonumber(ARGV[5 + p * 2]) < tonumber(holdEnd) then
+                            return 0
+                        end
+                    end
+                end
+            end
+            if not ownFound then
+                return 0
+            end
+            local offset = 4 + periodCount * 2
+            for i = 2, #KEYS do
+                for slot = tonumber(ARGV[offset + i * 2 - 3]), tonumber(ARGV[offset + i * 2 - 2]) - 1 do
+                    if redis.call('GETBIT', KEYS[i], slot) == 1 then
+                        return 0
+                    end
+                end
+            end
+            for i = 2, #KEYS do
+                for slot = tonumber(ARGV[offset + i * 2 - 3]), tonumber(ARGV[offset + i * 2 - 2]) - 1 do
+                    redis.call('SETBIT', KEYS[i], slot, 1)
+                end
+                if redis.call('PTTL', KEYS[i]) < ttl then
+                    redis.call('PEXPIRE', KEYS[i], ttl)
+                end
+            end
+            if ownHold ~= '' then
+                redis.call('ZREM', KEYS[1], ownHold)
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS : CLAIM_SCRIPT 와 동일
+     * ARGV : hold 만료 시간(ms), 현재 시간(ms), hold member, hold [시작, 끝) epoch 분, 이후 bitmap key 마다 [시작 슬롯, 끝 슬롯) 쌍
+     * 다른 hold 와 겹치지 않고 슬롯이 모두 비어 있으면 hold 를 추가하고 1 반환. 슬롯은 점유하지 않는다.
+     */
+    private static final RedisScript<Long> HOLD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2])
+            for _, hold in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+                local holdStart, holdEnd = string.match(hold, '[^:]+:[^:]+:([^:]+):([^:]+)')
+                if tonumber(holdStart) < tonumber(ARGV[5]) and tonumber(ARGV[4]) < tonumber(holdEnd) then
+                    return 0
+                end
+            end
+            for i = 2, #KEYS do
+                for slot = tonumber(ARGV[i * 2 + 2]), tonumber(ARGV[i * 2 + 3]) - 1 do
+                    if redis.call('GETBIT', KEYS[i], slot) == 1 then
+                        return 0
+                    end
+                end
+            end
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[3])
+            if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[1]) - tonumber(ARGV[2]) then
+                redis.call('PEXPIRE', KEYS[1], tonumber(ARGV[1]) - tonumber(ARGV[2]))
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS : [1] 리소스 hold zset key
+     * ARGV : hold member prefix (holdId:clubMemberId:)
+     */
+    private static final RedisScript<Long> RELEASE_HOLD_SCRIPT = new DefaultRedisScript<>("""
+            for _, hold in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+                if string.sub(hold, 1, string.len(ARGV[1])) == ARGV[1] then
+                    return redis.call('ZREM', KEYS[1], hold)
+                end
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS : 일자별 bitmap key
+     * ARGV : 사용하지 않는 값 하나, 이후 key 마다 [시작 슬롯, 끝 슬롯) 쌍
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            for i, key in ipairs(KEYS) do
+                for slot = tonumber(ARGV[i * 2]), tonumber(ARGV[i * 2 + 1]) - 1 do
+                    redis.call('SETBIT', key, slot, 0)
+                end
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS : 일자별 bitmap key
+     * ARGV : key 마다 [시작 슬롯, 끝 슬롯), ttl(ms) 세 값
+     * 이미 DB 에 저장된 예약/락을 적재하는 용도로, 점유 여부를 확인하지 않고 슬롯을 채운다.
+     */
+    private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+            for i, key in ipairs(KEYS) do
+                for slot = tonumber(ARGV[i * 3 - 2]), tonumber(ARGV[i * 3 - 1]) - 1 do
+                    redis.call('SETBIT', key, slot, 1)
+                end
+                if redis.call('PTTL', key) < tonumber(ARGV[i * 3]) then
+                    redis.call('PEXPIRE', key, ARGV[i * 3])
+                end
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS, ARGV 는 RELEASE_SCRIPT 와 동일
+     * 하나라도 점유된 슬롯이 있으면 1 반환
+     */
+    private static final RedisScript<Long> EXISTS_SCRIPT = new DefaultRedisScript<>("""
+            for i, key in ipairs(KEYS) do
+                for slot = tonumber(ARGV[i * 2]), tonumber(ARGV[i * 2 + 1]) - 1 do
+                    if redis.call('GETBIT', key, slot) == 1 then
+                        return 1
+                    end
+                end
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS : 일자별 counting slot hash key
+     * ARGV : ttl(ms), 정원, 이후 key 마다 [시작 슬롯, 끝 슬롯) 쌍
+     * 모든 슬롯의 점유 수가 정원보다 작을 때만 점유 수를 1씩 늘리고 1 반환, 아니면 0 반환.
+     */
+    private static final RedisScript<Long> CLAIM_COUNT_SCRIPT = new DefaultRedisScript<>("""
+            local ttl = tonumber(ARGV[1])
+            local capacity = tonumber(ARGV[2])
+            for i, key in ipairs(KEYS) do
+                for slot = tonumber(ARGV[i * 2 + 1]), tonumber(ARGV[i * 2 + 2]) - 1 do
+                    if tonumber(redis.call('HGET', key, slot) or '0') >= capacity then
+                        return 0
+                    end
+                end
+            end
+            for i, key in ipairs(KEYS) do
+                for slot = tonumber(ARGV[i * 2 + 1]), tonumber(ARGV[i * 2 + 2]) - 1 do
+                    redis.call('HINCRBY', key, slot, 1)
+                end
+                if redis.call('PTTL', key) < ttl then
+                    redis.call('PEXPIRE', key, ttl)
+                end
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS, ARGV 는 RELEASE_SCRIPT 와 동일
+     * 슬롯마다 점유 수를 1씩 줄이고, 0 이 된 슬롯은 지운다.
+     */
+    private static final RedisScript<Long> RELEASE_COUNT_SCRIPT = new DefaultRedisScript<>("""
+            for i, key in ipairs(KEYS) do
+                for slot = tonumber(ARGV[i * 2]), tonumber(ARGV[i * 2 + 1]) - 1 do
+                    if redis.call('HINCRBY', key, slot, -1) <= 0 then
+                        redis.call('HDEL', key, slot)
+                    end
+                end
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS : 일자별 counting slot hash key (같은 key 가 여러 번 올 수 있음)
+     * ARGV : key 마다 [시작 슬롯, 끝 슬롯), 점유 수, ttl(ms) 네 값
+     * 기존 점유 수보다 클 때만 덮어쓰므로 여러 번 적재해도 점유 수가 늘어나지 않는다.
+     */
+    private static final RedisScript<Long> FILL_COUNT_SCRIPT = new DefaultRedisScript<>("""
+            for i, key in ipairs(KEYS) do
+                local count = tonumber(ARGV[i * 4 - 1])
+                for slot = tonumber(ARGV[i * 4 - 3]), tonumber(ARGV[i * 4 - 2]) - 1 do
+                    if tonumber(redis.call('HGET', key, slot) or '0') < count then
+                        redis.call('HSET', key, slot, count)
+                    end
+                end
+                if redis.call('PTTL', key) < tonumber(ARGV[i * 4]) then
+                    redis.call('PEXPIRE', key, ARGV[i * 4])
+                end
+            end
+            return 1
+            """, Long.class);
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final Clock clock;
 
     @Value("${expire.defaultTime}")
     private int defaultTime;
-    //예약은 정시 기준으로만 가능. 13:00 ~ 17:00 예약이면 -> 13,14,15,16 시간 예약
+
+    @Value("${reservation.hold.ttl-seconds:300}")
+    private long holdSeconds;
+
+    /**
+     * 예약 구간의 슬롯이 모두 비어 있고 다른 회원의 hold 와 겹치지 않으면 점유하고 true, 아니면 false
+     */
     public Boolean saveReservation(LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
+        return claim(List.of(new Period(startDateTime, endDateTime)), resourceId, "");
+    }
+
+    /**
+     * 여러 예약 구간을 스크립트 한 번으로 점유한다. 하나라도 점유되어 있으면 아무것도 점유하지 않고 false
+     */
+    public Boolean saveReservations(List<Period> periods, Long resourceId) {
+        return claim(periods, resourceId, "");
+    }
+
+    /**
+     * 회원의 hold 를 실제 예약 슬롯으로 전환한다. hold 가 만료되었거나 구간이 다르면 false
+     */
+    public Boolean convertHold(String holdId, Long clubMemberId, LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
+        return claim(List.of(new Period(startDateTime, endDateTime)), resourceId, holdMember(holdId, clubMemberId, startDateTime, endDateTime));
+    }
 
-        int startHour = startDateTime.getHour();
-        int endHour = endDateTime.getHour() ;
+    /**
+     * 예약 입력 중인 구간을 holdSeconds 동안 잡아 둔다. 다른 hold 나 예약과 겹치면 null
+     * @return hold id
+     */
+    public String hold(Long clubMemberId, LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
+        String holdId = UUID.randomUUID().toString();
+        long now = clock.millis();
+        List<SlotRange> ranges = slotRanges(startDateTime, endDateTime, resourceId);
 
-        if(endHour == 0){
-            endHour = 24;
+        List<String> keys = new ArrayList<>();
+        keys.add(holdKey(resourceId));
+        keys.addAll(keys(ranges));
+        List<String> args = new ArrayList<>(List.of(
+                String.valueOf(now + holdSeconds * 1000L),
+                String.valueOf(now),
+                holdMember(holdId, clubMemberId, startDateTime, endDateTime),
+                String.valueOf(epochMinute(startDateTime)),
+                String.valueOf(epochMinute(endDateTime))));
+        addSlotArgs(args, ranges);
+
+        Long result = redisTemplate.execute(HOLD_SCRIPT, keys, args.toArray());
+        return Long.valueOf(1L).equals(result) ? holdId : null;
+    }
+
+    public void releaseHold(String holdId, Long clubMemberId, Long resourceId) {
+        redisTemplate.execute(RELEASE_HOLD_SCRIPT, List.of(holdKey(resourceId)), holdId + ":" + clubMemberId + ":");
+    }
+
+    public LocalDateTime holdExpiresAt() {
+        return LocalDateTime.now(clock).plusSeconds(holdSeconds);
+    }
+
+    private Boolean claim(List<Period> periods, Long resourceId, String ownHold) {
+        List<SlotRange> ranges = new ArrayList<>();
+        periods.forEach(period -> ranges.addAll(slotRanges(period.getStartDateTime(), period.getEndDateTime(), resourceId)));
+
+        List<String> keys = new ArrayList<>();
+        keys.add(holdKey(resourceId));
+        keys.addAll(keys(ranges));
+        long now = clock.millis();
+        List<String> args = new ArrayList<>(List.of(
+                String.valueOf(ttlMillis(ranges, now)),
+                String.valueOf(now),
+                ownHold,
+                String.valueOf(periods.size())));
+        periods.forEach(period -> {
+            args.add(String.valueOf(epochMinute(period.getStartDateTime())));
+            args.add(String.valueOf(epochMinute(period.getEndDateTime())));
+        });
+        addSlotArgs(args, ranges);
+
+        Long result = redisTemplate.execute(CLAIM_SCRIPT, keys, args.toArray());
+        return Long.valueOf(1L).equals(result);
+    }
+
+    public void deleteReservation(LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
+        List<SlotRange> ranges = slotRanges(startDateTime, endDateTime, resourceId);
+        redisTemplate.execute(RELEASE_SCRIPT, keys(ranges), args(ranges, 0));
+    }
+
+    /**
+     * 여러 리소스의 예약 구간을 스크립트 한 번으로 해제한다.
+     */
+    public void deleteReservations(Map<Long, List<Period>> periodsByResource) {
+        List<SlotRange> ranges = new ArrayList<>();
+        periodsByResource.forEach((resourceId, periods) -> periods.forEach(period ->
+                ranges.addAll(slotRanges(period.getStartDateTime(), period.getEndDateTime(), resourceId))));
+        if (ranges.isEmpty()) {
+            return;
         }
-        Map<String, String> map = new HashMap<>();
-        for (int i = 0; i < (endHour - startHour); i++) {
-            String key = generateKey(startDateTime.plusHours(i),resourceId);
-            String value = "r"; // reserved
-            map.put(key, value);
+        redisTemplate.execute(RELEASE_SCRIPT, keys(ranges), args(ranges, 0));
+    }
+
+    /**
+     * 정원이 없는 리소스와 있는 리소스의 예약 구간을 함께 해제한다. 둘 다 있으면 두 스크립트를 pipeline 으로 한 번에 보낸다.
+     */
+    public void releaseSlots(Map<Long, List<Period>> exclusivePeriods, Map<Long, List<Period>> sharedPeriods) {
+        List<SlotRange> exclusive = new ArrayList<>();
+        exclusivePeriods.forEach((resourceId, periods) -> periods.forEach(period ->
+                exclusive.addAll(slotRanges(period.getStartDateTime(), period.getEndDateTime(), resourceId))));
+        List<SlotRange> shared = new ArrayList<>();
+        sharedPeriods.forEach((resourceId, periods) -> periods.forEach(period ->
+                shared.addAll(slotRanges(COUNT_KEY_PREFIX, period.getStartDateTime(), period.getEndDateTime(), resourceId))));
+
+        List<ScriptCall> calls = new ArrayList<>();
+        if (!exclusive.isEmpty()) {
+            calls.add(new ScriptCall(RELEASE_SCRIPT, keys(exclusive), args(exclusive, 0)));
         }
+        if (!shared.isEmpty()) {
+            calls.add(new ScriptCall(RELEASE_COUNT_SCRIPT, keys(shared), args(shared, 0)));
+        }
+        executePipelined(calls);
+    }
 
-        Boolean ret = redisTemplate.opsForValue()
-                .multiSetIfAbsent(map);
+    /**
+     * 정원이 있는 리소스의 예약 구간들을 스크립트 한 번으로 점유한다.
+     * 하나라도 정원이 찬 슬롯이 있으면 아무것도 점유하지 않고 false
+     */
+    public Boolean saveSharedReservations(List<Period> periods, Long resourceId, int capacity) {
+        List<SlotRange> ranges = new ArrayList<>();
+        periods.forEach(period -> ranges.addAll(slotRanges(COUNT_KEY_PREFIX, period.getStartDateTime(), period.getEndDateTime(), resourceId)));
+        if (ranges.isEmpty()) {
+            return true;
+        }
 
-        if(ret){
-            expireReservation(startDateTime, endDateTime, resourceId);
+        List<String> args = new ArrayList<>(List.of(
+                String.valueOf(ttlMillis(ranges, clock.millis())),
+                String.valueOf(capacity)));
+        addSlotArgs(args, ranges);
+
+        Long result = redisTemplate.execute(CLAIM_COUNT_SCRIPT, keys(ranges), args.toArray());
+        return Long.valueOf(1L).equals(result);
+    }
+
+    /**
+     * 정원이 있는 리소스의 예약 구간을 여러 리소스에 걸쳐 스크립트 한 번으로 해제한다.
+     */
+    public void deleteSharedReservations(Map<Long, List<Period>> periodsByResource) {
+        List<SlotRange> ranges = new ArrayList<>();
+        periodsByResource.forEach((resourceId, periods) -> periods.forEach(period ->
+                ranges.addAll(slotRanges(COUNT_KEY_PREFIX, period.getStartDateTime(), period.getEndDateTime(), resourceId))));
+        if (ranges.isEmpty()) {
+            return;
         }
+        redisTemplate.execute(RELEASE_COUNT_SCRIPT, keys(ranges), args(ranges, 0));
+    }
 
-        return ret;
+    /**
+     * DB 에 저장된 정원이 있는 리소스의 예약 구간을 슬롯별 점유 수로 세어 채운다. (warm-up 용)
+     * 같은 리소스의 구간은 한 번에 넘겨야 점유 수가 맞다.
+     */
+    public void fillSharedReservations(Map<Long, List<Period>> periodsByResource) {
+        Map<String, SlotRange> days = new LinkedHashMap<>();
+        Map<String, int[]> counts = new HashMap<>();
+        periodsByResource.forEach((resourceId, periods) -> periods.forEach(period -> {
+            for (SlotRange range : slotRanges(COUNT_KEY_PREFIX, period.getStartDateTime(), period.getEndDateTime(), resourceId)) {
+                days.putIfAbsent(range.getKey(), range);
+                int[] slots = counts.computeIfAbsent(range.getKey(), key -> new int[MINUTES_OF_DAY]);
+                for (int slot = range.getFromSlot(); slot < range.getToSlot(); slot++) {
+                    slots[slot]++;
+                }
+            }
+        }));
 
+        long now = clock.millis();
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        days.forEach((key, range) -> {
+            int[] slots = counts.get(key);
+            String ttl = String.valueOf(ttlMillis(List.of(range), now));
+            // 점유 수가 같은 연속 슬롯은 한 구간으로 묶는다.
+            int from = 0;
+            for (int slot = 1; slot <= slots.length; slot++) {
+                if (slot < slots.length && slots[slot] == slots[from]) {
+                    continue;
+                }
+                if (slots[from] > 0) {
+                    keys.add(key);
+                    args.addAll(List.of(String.valueOf(from), String.valueOf(slot), String.valueOf(slots[from]), ttl));
+                }
+                from = slot;
+            }
+        });
+        if (keys.isEmpty()) {
+            return;
+        }
+        redisTemplate.execute(FILL_COUNT_SCRIPT, keys, args.toArray());
+    }
+
+    /**
+     * DB 에 저장된 예약 구간을 여러 리소스에 걸쳐 스크립트 한 번으로 채운다. (warm-up 용)
+     */
+    public void fillReservations(Map<Long, List<Period>> periodsByResource) {
+        fill(KEY_PREFIX, periodsByResource);
     }
 
-    public void expireReservation(LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
-        int startHour = startDateTime.getHour();
-        int endHour = endDateTime.getHour();
+    /**
+     * 락 구간은 예약 슬롯과 별도의 bitmap 으로 관리한다. (관리자는 락과 겹치는 예약을 만들 수 있으므로)
+     */
+    public void fillLocks(Map<Long, List<Period>> periodsByResource) {
+        fill(LOCK_KEY_PREFIX, periodsByResource);
+    }
 
-        if(endHour == 0){
-            endHour = 24;
+    /**
+     * 락 bitmap 에 겹치는 구간이 있으면 true. false 는 락이 없다는 뜻이 아니다. (만료되었거나 적재되지 않았을 수 있음)
+     */
+    public boolean isLocked(LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
+        List<SlotRange> ranges = slotRanges(LOCK_KEY_PREFIX, startDateTime, endDateTime, resourceId);
+        if (ranges.isEmpty()) {
+            return false;
         }
+        return Long.valueOf(1L).equals(redisTemplate.execute(EXISTS_SCRIPT, keys(ranges), args(ranges, 0)));
+    }
 
-        for (int i = 0; i < (endHour - startHour); i++) {
-            String key = generateKey(startDateTime.plusHours(i),resourceId);
-            redisTemplate.expire(key, Duration.ofSeconds(defaultTime));
+    /**
+     * 락 변경은 이전 구간 해제와 새 구간 적재를 pipeline 으로 한 번에 보낸다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLockEvent(LockEvent event) {
+        Long resourceId = event.getResourceId();
+        List<ScriptCall> calls = new ArrayList<>();
+        if (event.getType() != LockEvent.Type.CREATED) {
+            LocalDateTime start = event.getType() == LockEvent.Type.UPDATED ? event.getPreviousStartDateTime() : event.getStartDateTime();
+            LocalDateTime end = event.getType() == LockEvent.Type.UPDATED ? event.getPreviousEndDateTime() : event.getEndDateTime();
+            List<SlotRange> ranges = slotRanges(LOCK_KEY_PREFIX, start, end, resourceId);
+            if (!ranges.isEmpty()) {
+                calls.add(new ScriptCall(RELEASE_SCRIPT, keys(ranges), args(ranges, 0)));
+            }
+        }
+        if (event.getType() != LockEvent.Type.DELETED) {
+            ScriptCall fill = fillCall(LOCK_KEY_PREFIX, Map.of(resourceId, List.of(new Period(event.getStartDateTime(), event.getEndDateTime()))));
+            if (fill != null) {
+                calls.add(fill);
+            }
         }
+        executePipelined(calls);
     }
 
-    public void deleteReservation(LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
-        int startHour = startDateTime.getHour();
-        int endHour = endDateTime.getHour();
+    /**
+     * 한 번에 생성된 락은 리소스에 상관없이 스크립트 한 번으로 채운다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocksCreated(LocksCreatedEvent event) {
+        fillLocks(event.getPeriodsByResource());
+    }
 
-        if(endHour == 0){
-            endHour = 24;
+    private void fill(String prefix, Map<Long, List<Period>> periodsByResource) {
+        ScriptCall call = fillCall(prefix, periodsByResource);
+        if (call != null) {
+            redisTemplate.execute(call.script(), call.keys(), call.args());
         }
+    }
+
+    private ScriptCall fillCall(String prefix, Map<Long, List<Period>> periodsByResource) {
+        long now = clock.millis();
         List<String> keys = new ArrayList<>();
-        for (int i = 0; i < (endHour - startHour); i++) {
-            String key = generateKey(startDateTime.plusHours(i),resourceId);
-            keys.add(key);
+        List<String> args = new ArrayList<>();
+        periodsByResource.forEach((resourceId, periods) -> periods.forEach(period -> {
+            for (SlotRange range : slotRanges(prefix, period.getStartDateTime(), period.getEndDateTime(), resourceId)) {
+                keys.add(range.getKey());
+                args.add(String.valueOf(range.getFromSlot()));
+                args.add(String.valueOf(range.getToSlot()));
+                args.add(String.valueOf(ttlMillis(List.of(range), now)));
+            }
+        }));
+        if (keys.isEmpty()) {
+            return null;
+        }
+        return new ScriptCall(FILL_SCRIPT, keys, args.toArray());
+    }
+
+    /**
+     * 스크립트 여러 개를 pipeline 으로 한 번에 보낸다. 하나면 그냥 실행한다.
+     * pipeline 안에서는 EVALSHA 가 NOSCRIPT 로 실패해도 다시 보낼 수 없으므로 스크립트 본문을 EVAL 로 보낸다.
+     */
+    private void executePipelined(List<ScriptCall> calls) {
+        if (calls.isEmpty()) {
+            return;
+        }
+        if (calls.size() == 1) {
+            redisTemplate.execute(calls.get(0).script(), calls.get(0).keys(), calls.get(0).args());
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ScriptCall call : calls) {
+                connection.scriptingCommands().eval(bytes(call.script().getScriptAsString()), ReturnType.INTEGER,
+                        call.keys().size(), call.keysAndArgs());
+            }
+            return null;
+        });
+    }
+
+    private static byte[] bytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 일자별 key 는 그날이 끝날 때까지 유지한다. 이미 지난 날짜라도 최소 expire.defaultTime 초는 유지한다.
+     */
+    private long ttlMillis(List<SlotRange> ranges, long now) {
+        long expireAt = ranges.stream().mapToLong(SlotRange::getExpireAt).max().orElse(now);
+        return Math.max(defaultTime * 1000L, expireAt - now);
+    }
+
+    List<SlotRange> slotRanges(LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
+        return slotRanges(KEY_PREFIX, startDateTime, endDateTime, resourceId);
+    }
+
+    /**
+     * 예약 구간을 일자별 [시작 분, 끝 분) 슬롯으로 나눈다.
+     * 슬롯을 넓히면 경계에 맞지 않는 구간이 이웃 슬롯까지 점유해 겹치지 않는 예약을 막으므로 1분 단위로만 나눈다.
+     * 분 경계에 맞지 않는 구간은 바깥쪽으로 넓혀, 1분보다 짧은 구간도 최소 한 슬롯은 점유한다.
+     */
+    private List<SlotRange> slotRanges(String prefix, LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
+        List<SlotRange> ranges = new ArrayList<>();
+        LocalDate day = startDateTime.toLocalDate();
+        while (day.atStartOfDay().isBefore(endDateTime)) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            LocalDateTime from = startDateTime.isAfter(dayStart) ? startDateTime : dayStart;
+            LocalDateTime nextDayStart = day.plusDays(1).atStartOfDay();
+
+            int fromSlot = minuteOfDay(from);
+            int toSlot = endDateTime.isBefore(nextDayStart) ? ceilMinuteOfDay(endDateTime) : MINUTES_OF_DAY;
+            if (fromSlot < toSlot) {
+                ranges.add(new SlotRange(generateKey(prefix, day, resourceId), fromSlot, toSlot,
+                        nextDayStart.atZone(clock.getZone()).toInstant().toEpochMilli()));
+            }
+            day = day.plusDays(1);
         }
-        redisTemplate.delete(keys);
+        return ranges;
+    }
+
+    private static List<String> keys(List<SlotRange> ranges) {
+        return ranges.stream().map(SlotRange::getKey).toList();
+    }
+
+    private static Object[] args(List<SlotRange> ranges, long ttlMillis) {
+        Object[] args = new Object[ranges.size() * 2 + 1];
+        args[0] = String.valueOf(ttlMillis);
+        for (int i = 0; i < ranges.size(); i++) {
+            args[i * 2 + 1] = String.valueOf(ranges.get(i).getFromSlot());
+            args[i * 2 + 2] = String.valueOf(ranges.get(i).getToSlot());
+        }
+        return args;
+    }
+
+    private static void addSlotArgs(List<String> args, List<SlotRange> ranges) {
+        ranges.forEach(range -> {
+            args.add(String.valueOf(range.getFromSlot()));
+            args.add(String.valueOf(range.getToSlot()));
+        });
+    }
+
+    private static long epochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
     }
 
+    /**
+     * hold zset member : holdId:clubMemberId:시작 epoch 분:끝 epoch 분
+     */
+    private static String holdMember(String holdId, Long clubMemberId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return holdId + ":" + clubMemberId + ":" + epochMinute(startDateTime) + ":" + epochMinute(endDateTime);
+    }
+
+    private static String holdKey(Long resourceId) {
+        return HOLD_KEY_PREFIX + resourceId;
+    }
 
-    private String generateKey(LocalDateTime reservedTime, Long resourceId) {
+    private static int minuteOfDay(LocalDateTime dateTime) {
+        return dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    private static int ceilMinuteOfDay(LocalDateTime dateTime) {
+        return dateTime.getSecond() == 0 && dateTime.getNano() == 0 ? minuteOfDay(dateTime) : minuteOfDay(dateTime) + 1;
+    }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-        String formattedTime = reservedTime.format(formatter);
-        return resourceId.toString() + ":" + formattedTime;
+    private static String generateKey(String prefix, LocalDate day, Long resourceId) {
+        return prefix + resourceId + ":" + day.format(DAY_FORMATTER);
     }
 
+    @Getter
+    @RequiredArgsConstructor
+    static class SlotRange {
+        private final String key;
+        private final int fromSlot;
+        private final int toSlot;
+        // key 가 가리키는 날짜가 끝나는 시간(ms)
+        private final long expireAt;
+    }
+
+    private record ScriptCall(RedisScript<Long> script, List<String> keys, Object[] args) {
+
+        byte[][] keysAndArgs() {
+            byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+            for (int i = 0; i < keys.size(); i++) {
+                keysAndArgs[i] = bytes(keys.get(i));
+            }
+            for (int i = 0; i < args.length; i++) {
+                keysAndArgs[keys.size() + i] = bytes(args[i]);
+            }
+            return keysAndArgs;
+        }
+    }
 }
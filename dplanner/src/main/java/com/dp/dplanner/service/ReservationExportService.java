@@ -0,0 +1,96 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.ReservationStatus;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.ReservationExportRow;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.service.aop.annotation.RequiredAuthority;
+import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.export.ExportFormat;
+import com.dp.dplanner.service.export.ExportTarget;
+import com.dp.dplanner.service.export.TableWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.dp.dplanner.domain.club.ClubAuthorityType.SCHEDULE_ALL;
+import static com.dp.dplanner.exception.ErrorResult.CLUBMEMBER_NOT_FOUND;
+import static com.dp.dplanner.exception.ErrorResult.REQUEST_IS_INVALID;
+
+/**
+ * 관리자용 클럽 예약 내보내기
+ * 엔티티/DTO 를 만들지 않고 JDBC 커서에서 읽은 줄을 바로 CSV/XLSX 로 쓰므로 건수와 관계없이 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationExportService {
+
+    private static final List<String> HEADER = List.of(
+            "예약 id", "리소스", "예약자", "제목", "용도", "시작", "종료", "상태", "공유", "반납", "반납 메시지", "거절 메시지", "초대 인원", "등록일");
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final ClubMemberRepository clubMemberRepository;
+    private final ReservationRepository reservationRepository;
+
+    /**
+     * from ~ to (포함) 기간과 겹치는 예약을 내보내고 내보낸 건수를 반환한다. status 가 null 이면 모든 상태
+     */
+    @RequiredAuthority(authority = SCHEDULE_ALL)
+    public int exportReservations(Long clubMemberId, LocalDate from, LocalDate to, ReservationStatus status,
+                                  ExportFormat format, ExportTarget target) throws IOException {
+        if (from.isAfter(to)) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+
+        AtomicInteger count = new AtomicInteger();
+        try (OutputStream out = target.open(format); TableWriter writer = format.open(out)) {
+            writer.writeRow(HEADER);
+            reservationRepository.exportReservations(clubMember.getClub().getId(), status,
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay(), row -> {
+                        try {
+                            writer.writeRow(toValues(row));
+                            count.incrementAndGet();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count.get();
+    }
+
+    private static List<Object> toValues(ReservationExportRow row) {
+        return Arrays.asList(
+                row.getId(),
+                row.getResourceName(),
+                row.getClubMemberName(),
+                row.getTitle(),
+                row.getUsage(),
+                formatDateTime(row.getStartDateTime()),
+                formatDateTime(row.getEndDateTime()),
+                row.getStatus(),
+                row.isSharing() ? "Y" : "N",
+                row.isReturned() ? "Y" : "N",
+                row.getReturnMessage(),
+                row.getRejectMessage(),
+                row.getInviteeCount(),
+                formatDateTime(row.getCreatedDate()));
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.format(formatter);
+    }
+}
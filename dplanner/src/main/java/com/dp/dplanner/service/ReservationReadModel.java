@@ -0,0 +1,81 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.ReservationDto;
+import com.dp.dplanner.adapter.dto.ReservationInviteeDto;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.repository.AttachmentRepository;
+import com.dp.dplanner.repository.AttachmentUrlView;
+import com.dp.dplanner.repository.ReservationInviteeRepository;
+import com.dp.dplanner.repository.ReservationInviteeView;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ReservationRowView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 예약 목록 응답 조회 전용 경로
+ * ReservationDto.Response.of 는 예약마다 첨부파일/초대 회원/초대 회원의 ClubMember 를 지연 로딩하므로,
+ * 목록 응답은 예약 id 목록으로 예약 컬럼, 초대 회원, 첨부파일 url 을 각각 projection 쿼리 한 번씩 조회해서 만든다.
+ * (Oracle in 절 제한 때문에 id 가 IN_CLAUSE_LIMIT 개를 넘으면 나누어 조회한다)
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReservationReadModel {
+
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationInviteeRepository reservationInviteeRepository;
+    private final AttachmentRepository attachmentRepository;
+
+    public List<ReservationDto.Response> toResponses(List<Reservation> reservations) {
+        return findResponses(reservations.stream().map(Reservation::getId).toList());
+    }
+
+    /**
+     * ids 순서대로 응답을 만든다. 존재하지 않는 id 는 건너뛴다.
+     */
+    public List<ReservationDto.Response> findResponses(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ReservationRowView> rows = new HashMap<>();
+        Map<Long, List<ReservationInviteeDto>> invitees = new HashMap<>();
+        Map<Long, List<String>> attachmentsUrl = new HashMap<>();
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinctIds.size()));
+
+            reservationRepository.findRowsByIdIn(chunk).forEach(row -> rows.put(row.getReservationId(), row));
+            for (ReservationInviteeView view : reservationInviteeRepository.findViewsByReservationIdIn(chunk)) {
+                invitees.computeIfAbsent(view.getReservationId(), id -> new ArrayList<>()).add(
+                        ReservationInviteeDto.builder()
+                                .clubMemberId(view.getClubMemberId())
+                                .clubMemberName(view.getClubMemberName())
+                                .profileImageUrl(view.getProfileImageUrl())
+                                .clubMemberIsDeleted(view.getClubMemberIsDeleted())
+                                .build());
+            }
+            for (AttachmentUrlView view : attachmentRepository.findUrlsByReservationIdIn(chunk)) {
+                attachmentsUrl.computeIfAbsent(view.getReservationId(), id -> new ArrayList<>()).add(view.getUrl());
+            }
+        }
+
+        List<ReservationDto.Response> responses = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ReservationRowView row = rows.get(id);
+            if (row == null) {
+                continue;
+            }
+            responses.add(ReservationDto.Response.of(row,
+                    attachmentsUrl.getOrDefault(id, new ArrayList<>()),
+                    invitees.getOrDefault(id, new ArrayList<>())));
+        }
+        return responses;
+    }
+}
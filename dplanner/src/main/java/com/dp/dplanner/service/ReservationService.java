@@ -1,29 +1,49 @@
 package com.dp.dplanner.service;
 
 import com.dp.dplanner.adapter.dto.AttachmentDto;
+import com.dp.dplanner.adapter.dto.LockDto;
 import com.dp.dplanner.adapter.dto.ReservationDto;
 import com.dp.dplanner.domain.*;
 import com.dp.dplanner.domain.club.ClubMember;
 import com.dp.dplanner.domain.message.Message;
 import com.dp.dplanner.repository.*;
 import com.dp.dplanner.service.aop.annotation.RequiredAuthority;
+import com.dp.dplanner.service.aop.annotation.RetryOnConflict;
+import com.dp.dplanner.service.cache.SchedulerCache;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker;
+import com.dp.dplanner.service.concurrency.ReservationConcurrencyStrategy;
+import com.dp.dplanner.service.event.ReservationEvent;
 import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.index.ResourceTimeline;
+import com.dp.dplanner.service.index.ResourceTimelineIndex;
+import com.dp.dplanner.util.RecurrenceRule;
+import com.dp.dplanner.util.ReservationCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 import static com.dp.dplanner.domain.club.ClubAuthorityType.RETURN_MSG_READ;
@@ -34,6 +54,11 @@ import static com.dp.dplanner.exception.ErrorResult.*;
 @RequiredArgsConstructor
 @Slf4j
 public class ReservationService {
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final Comparator<Reservation> ASCENDING =
+            Comparator.comparing((Reservation r) -> r.getPeriod().getStartDateTime()).thenComparing(Reservation::getId);
+
     private final RedisReservationService redisReservationService;
     private final MessageService messageService;
     private final ClubMemberRepository clubMemberRepository;
@@ -42,8 +67,18 @@ public class ReservationService {
     private final LockRepository lockRepository;
     private final AttachmentService attachmentService;
     private final ReservationInviteeRepository reservationInviteeRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final ResourceTimelineIndex resourceTimelineIndex;
+    private final SchedulerCache schedulerCache;
+    private final ReservationReadModel reservationReadModel;
+    private final ReservationConcurrencyStrategy reservationConcurrencyStrategy;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
 
+    @Value("${reservation.tombstone.retention-days:7}")
+    private long tombstoneRetentionDays;
+
     @Transactional
     public ReservationDto.Response createReservation(Long clubMemberId, ReservationDto.Create createDto) {
         Long resourceId = createDto.getResourceId();
@@ -58,8 +93,18 @@ public class ReservationService {
 
         checkIsConfirmed(clubMember);
         checkIsSameClub(clubMember, resource.getClub().getId());
-        checkIsReserved(resourceId, startDateTime, endDateTime);
-        checkIsReservedCache(resourceId, startDateTime, endDateTime);
+        Period period = new Period(startDateTime, endDateTime);
+        if (resource.isShared()) {
+            // 정원이 있는 리소스는 hold 없이 정원이 남았는지만 검사합니다.
+            checkIsOverCapacity(resource, startDateTime, endDateTime);
+            reservationConcurrencyStrategy.acquire(resource, List.of(period));
+        } else if (createDto.getHoldId() != null && reservationConcurrencyStrategy.supportsHold()) {
+            // hold 생성 시 이미 검사한 시간이므로 DB 를 다시 조회하지 않고 hold 를 슬롯으로 전환합니다.
+            reservationConcurrencyStrategy.convertHold(createDto.getHoldId(), clubMemberId, resource, period);
+        } else {
+            checkIsReserved(resourceId, startDateTime, endDateTime);
+            reservationConcurrencyStrategy.acquire(resource, List.of(period));
+        }
 
         if (!clubMember.hasAuthority(SCHEDULE_ALL)) {
             //일반 사용자 요청 처리
@@ -69,6 +114,7 @@ public class ReservationService {
             checkIsPastReservation(startDateTime, endDateTime);
             // 예약을 생성합니다.
             reservation = reservationRepository.save(createDto.toEntity(clubMember, resource));
+            eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.CREATED, reservation));
             // 관리자에게 메시지를 전송합니다.
             List<ClubMember> adminClubMembers = clubMemberRepository.findClubMemberByClubIdAndClubAuthorityTypesContaining(resource.getClub().getId(), SCHEDULE_ALL);
             messageService.createPrivateMessage(adminClubMembers,
@@ -92,6 +138,7 @@ public class ReservationService {
             reservation = createDto.toEntity(reservationOwner, resource);
             reservation.confirm();
             reservationRepository.save(reservation);
+            eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.CONFIRMED, reservation));
             List<ReservationInvitee> invitees = createReservationInvitee(createDto.getReservationInvitees(), reservationOwner, reservation);
             messageService.createPrivateMessage(invitees.stream().map(ReservationInvitee::getClubMember).toList(),
                     Message.invitedMessage(
@@ -108,6 +155,139 @@ public class ReservationService {
         return ReservationDto.Response.of(reservation);
     }
 
+    /**
+     * 대기열에서 차례가 된 예약 요청을 생성한다.
+     * 슬롯을 해제한 트랜잭션이 커밋된 뒤에 호출되므로 새 트랜잭션에서 생성한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ReservationDto.Response createReservationFromWaitlist(Long clubMemberId, ReservationDto.Create createDto) {
+        return createReservation(clubMemberId, createDto);
+    }
+
+    /**
+     * 예약 입력 중인 시간을 잠시 잡아 둔다.
+     * 다른 회원은 hold 가 만료되거나 해제되기 전까지 같은 시간을 예약할 수 없다.
+     */
+    @Transactional(readOnly = true)
+    public ReservationDto.HoldResponse holdReservation(Long clubMemberId, ReservationDto.HoldRequest holdDto) {
+        Long resourceId = holdDto.getResourceId();
+        LocalDateTime startDateTime = holdDto.getStartDateTime();
+        LocalDateTime endDateTime = holdDto.getEndDateTime();
+
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+
+        checkIsConfirmed(clubMember);
+        checkIsSameClub(clubMember, resource.getClub().getId());
+        if (resource.isShared() || !reservationConcurrencyStrategy.supportsHold()) {
+            // 정원이 있는 리소스는 예약끼리 겹칠 수 있으므로 시간을 잡아 둘 필요가 없다.
+            // hold 는 Redis 슬롯에 잡아 두므로 다른 동시성 전략에서는 사용할 수 없다.
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+        checkIsPastReservation(startDateTime, endDateTime);
+        if (!clubMember.hasAuthority(SCHEDULE_ALL)) {
+            checkIsLocked(resourceId, startDateTime, endDateTime);
+            checkIsInBookableSpan(resource, endDateTime);
+        }
+        checkIsReserved(resourceId, startDateTime, endDateTime);
+
+        String holdId = redisReservationService.hold(clubMemberId, startDateTime, endDateTime, resourceId);
+        if (holdId == null) {
+            throw new ServiceException(RESERVATION_UNAVAILABLE);
+        }
+        return ReservationDto.HoldResponse.builder()
+                .holdId(holdId)
+                .resourceId(resourceId)
+                .startDateTime(startDateTime)
+                .endDateTime(endDateTime)
+                .expiresAt(redisReservationService.holdExpiresAt())
+                .build();
+    }
+
+    /**
+     * 예약 입력을 취소한 경우 hold 를 바로 해제한다. 본인의 hold 만 해제된다.
+     */
+    public void releaseReservationHold(Long clubMemberId, Long resourceId, String holdId) {
+        redisReservationService.releaseHold(holdId, clubMemberId, resourceId);
+    }
+
+    /**
+     * 반복 예약 생성
+     * 모든 예약을 리소스당 한 번의 조회로 검사하고, JDBC batch 로 저장한 뒤 관리자에게 한 번만 메시지를 보낸다.
+     * 하나라도 예약할 수 없는 시간이 있으면 전체가 실패한다.
+     */
+    @Transactional
+    public List<ReservationDto.Response> createReservationSeries(Long clubMemberId, ReservationDto.CreateSeries createDto) {
+        Long resourceId = createDto.getResourceId();
+
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+
+        checkIsConfirmed(clubMember);
+        checkIsSameClub(clubMember, resource.getClub().getId());
+
+        List<Period> periods = RecurrenceRule.parse(createDto.getRecurrence())
+                .expand(new Period(createDto.getStartDateTime(), createDto.getEndDateTime()));
+        Period first = periods.get(0);
+        Period last = periods.get(periods.size() - 1);
+        boolean isManager = clubMember.hasAuthority(SCHEDULE_ALL);
+
+        ClubMember reservationOwner;
+        if (isManager) {
+            reservationOwner = clubMemberRepository.findById(createDto.getReservationOwnerId())
+                    .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+            checkIsSameClub(clubMember, reservationOwner.getClub().getId());
+        } else {
+            checkIsSameClubMember(clubMemberId, createDto.getReservationOwnerId());
+            checkIsInBookableSpan(resource, last.getEndDateTime());
+            checkIsPastReservation(first.getStartDateTime(), first.getEndDateTime());
+            reservationOwner = clubMember;
+        }
+
+        checkIsReservedOrLocked(resource, periods, !isManager);
+        reservationConcurrencyStrategy.acquire(resource, periods);
+
+        List<Reservation> reservations = periods.stream()
+                .map(period -> {
+                    Reservation reservation = createDto.toEntity(reservationOwner, resource, period);
+                    if (isManager) {
+                        reservation.confirm();
+                    }
+                    return reservation;
+                })
+                .toList();
+        // 컬럼 정밀도(timestamp(6))에 맞춰 잘라야 같은 시각으로 다시 조회할 수 있다.
+        LocalDateTime createdDate = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        reservationRepository.insertAllInBatch(reservations, createdDate);
+
+        // 정원이 있는 리소스에는 같은 시간에 다른 회원의 예약이 있을 수 있으므로 이번에 저장한 행만 다시 조회한다.
+        List<Reservation> savedReservations = reservationRepository.findAllInsertedInBatch(
+                resourceId, reservationOwner.getId(), createdDate, periods.stream().map(Period::getStartDateTime).toList());
+        ReservationEvent.Type type = isManager ? ReservationEvent.Type.CONFIRMED : ReservationEvent.Type.CREATED;
+        savedReservations.forEach(reservation -> eventPublisher.publishEvent(ReservationEvent.of(type, reservation)));
+
+        if (!isManager) {
+            List<ClubMember> adminClubMembers = clubMemberRepository.findClubMemberByClubIdAndClubAuthorityTypesContaining(resource.getClub().getId(), SCHEDULE_ALL);
+            messageService.createPrivateMessage(adminClubMembers,
+                    Message.requestSeriesMessage(
+                            Message.MessageContentBuildDto.builder().
+                                    clubMemberName(clubMember.getName()).
+                                    start(first.getStartDateTime()).
+                                    end(last.getEndDateTime()).
+                                    resourceName(resource.getName()).
+                                    info(savedReservations.isEmpty() ? null : String.valueOf(savedReservations.get(0).getId())).
+                                    build(),
+                            savedReservations.size()));
+        }
+
+        return ReservationDto.Response.ofList(savedReservations);
+    }
+
+    @RetryOnConflict
     @Transactional
     public ReservationDto.Response updateReservation(Long clubMemberId, ReservationDto.Update updateDto) {
         Long reservationId = updateDto.getReservationId();
@@ -134,20 +314,19 @@ public class ReservationService {
                     updateDto.isSharing(),
                     updateDto.getColor()
             );
-            // 양방향 관계 reservation.invitees clear 필요
-            reservation.clearInvitee();
-            reservationInviteeRepository.deleteReservationInviteeByReservationId(reservationId);
-            createReservationInvitee(updateDto.getReservationInvitees(), reservation.getClubMember(), reservation);
+            updateReservationInvitee(updateDto.getReservationInvitees(), reservation.getClubMember(), reservation);
         } else {
             // 예약 시간 수정 불가능
             throw new ServiceException(REQUEST_IS_INVALID);
         }
 
         confirmIfAuthorized(reservation.getClubMember(), reservation);
+        eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.UPDATED, reservation));
 
         return ReservationDto.Response.of(reservation);
     }
 
+    @RetryOnConflict
     @Transactional
     @RequiredAuthority(authority = SCHEDULE_ALL)
     public ReservationDto.Response updateReservationOwner(Long clubMemberId, ReservationDto.UpdateOwner updateDto) {
@@ -166,6 +345,7 @@ public class ReservationService {
         checkIsSameClub(mananger, newReservationOwner.getClub().getId());
 
         reservation.updateOwner(newReservationOwner);
+        eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.UPDATED, reservation));
 
         return ReservationDto.Response.of(reservation);
 
@@ -177,7 +357,8 @@ public class ReservationService {
         Reservation reservation = reservationRepository.findById(deleteDto.getReservationId())
                 .orElseThrow(() -> new ServiceException(RESERVATION_NOT_FOUND));
         checkIsReservationOwner(clubMemberId, reservation);
-        redisReservationService.deleteReservation(reservation.getPeriod().getStartDateTime(), reservation.getPeriod().getEndDateTime(), reservation.getResource().getId());
+        reservationConcurrencyStrategy.release(List.of(reservation));
+        eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.DELETED, reservation));
         reservationRepository.delete(reservation);
 
     }
@@ -202,82 +383,83 @@ public class ReservationService {
                                 resourceName(reservation.getResource().getName()).
                                 build()));
 
-        redisReservationService.deleteReservation(reservation.getPeriod().getStartDateTime(), reservation.getPeriod().getEndDateTime(), reservation.getResource().getId());
+        reservationConcurrencyStrategy.release(List.of(reservation));
+        eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.DELETED, reservation));
         reservationRepository.delete(reservation);
     }
 
+    /**
+     * 예약 일괄 승인
+     * 배치 전체를 한 번에 검증한 뒤 상태를 한 번의 update 로 변경하고, 알림은 받는 회원별로 묶어서 보낸다.
+     */
     @Transactional
     @RequiredAuthority(authority = SCHEDULE_ALL)
     public void confirmAllReservations(Long managerId, List<ReservationDto.Request> requestDto) {
         ClubMember manager = clubMemberRepository.findById(managerId)
                 .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        if (requestDto.isEmpty()) {
+            return;
+        }
 
         List<Long> reservationIds = requestDto.stream()
                 .map(ReservationDto.Request::getReservationId)
                 .toList();
 
         List<Reservation> reservations = reservationRepository.findAllById(reservationIds);
+        checkCanConfirmAll(manager, reservations);
 
-        reservations.forEach(reservation -> {
-            checkIsSameClub(manager, reservation.getResource().getClub().getId());
-            reservation.confirm();
-        });
+        reservationRepository.updateStatusAll(reservationIds, ReservationStatus.CONFIRMED, LocalDateTime.now(clock));
+        reservations.forEach(reservation ->
+                eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.CONFIRMED, reservation)));
 
+        Notifications confirmed = new Notifications(Message::confirmMessage, Message::confirmAllMessage);
+        Notifications invited = new Notifications(Message::invitedMessage, Message::invitedAllMessage);
         for (Reservation reservation : reservations) {
-            messageService.createPrivateMessage(List.of(reservation.getClubMember()),
-                    Message.confirmMessage(
-                            Message.MessageContentBuildDto.builder().
-                                    clubMemberName(reservation.getClubMember().getName()).
-                                    start(reservation.getPeriod().getStartDateTime()).
-                                    end(reservation.getPeriod().getEndDateTime()).
-                                    resourceName(reservation.getResource().getName()).
-                                    info(String.valueOf(reservation.getId())).
-                                    build()));
-
-            List<ClubMember> invitees = reservation.getReservationInvitees().stream()
-                    .map(ReservationInvitee::getClubMember)
-                    .collect(Collectors.toList());
-            messageService.createPrivateMessage(invitees,
-                    Message.invitedMessage(
-                            Message.MessageContentBuildDto.builder().
-                                    clubMemberName(reservation.getClubMember().getName()).
-                                    start(reservation.getPeriod().getStartDateTime()).
-                                    end(reservation.getPeriod().getEndDateTime()).
-                                    resourceName(reservation.getResource().getName()).
-                                    info(String.valueOf(reservation.getId())).
-                                    build()));
+            confirmed.add(reservation.getClubMember(), reservation);
+            reservation.getReservationInvitees().forEach(invitee -> invited.add(invitee.getClubMember(), reservation));
         }
+
+        List<ClubMember> recipients = new ArrayList<>();
+        List<Message> messages = new ArrayList<>();
+        confirmed.collect(recipients, messages);
+        invited.collect(recipients, messages);
+        messageService.createPrivateMessages(recipients, messages);
     }
 
+    /**
+     * 예약 일괄 거절
+     * 상태를 한 번의 update 로 변경하고 슬롯은 한 번에 해제한다.
+     */
     @Transactional
     @RequiredAuthority(authority = SCHEDULE_ALL)
     public void rejectAllReservations(Long managerId, List<ReservationDto.Request> requestDto) {
         ClubMember manager = clubMemberRepository.findById(managerId)
                 .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        if (requestDto.isEmpty()) {
+            return;
+        }
 
         List<Long> reservationIds = requestDto.stream()
                 .map(ReservationDto.Request::getReservationId)
                 .toList();
 
         List<Reservation> reservations = reservationRepository.findAllById(reservationIds);
-
-        reservations.forEach(reservation -> {
-            checkIsSameClub(manager, reservation.getResource().getClub().getId());
-            reservation.reject(requestDto.get(0).getRejectMessage());
-            redisReservationService.deleteReservation(reservation.getPeriod().getStartDateTime(), reservation.getPeriod().getEndDateTime(), reservation.getResource().getId());
-        });
-
-        for (Reservation reservation : reservations) {
-            messageService.createPrivateMessage(List.of(reservation.getClubMember()),
-                    Message.rejectMessage(
-                            Message.MessageContentBuildDto.builder().
-                                    clubMemberName(reservation.getClubMember().getName()).
-                                    start(reservation.getPeriod().getStartDateTime()).
-                                    end(reservation.getPeriod().getEndDateTime()).
-                                    resourceName(reservation.getResource().getName()).
-                                    info(String.valueOf(reservation.getId())).
-                                    build()));
-        }
+        reservations.forEach(reservation -> checkIsSameClub(manager, reservation.getResource().getClub().getId()));
+
+        reservationRepository.rejectAll(reservationIds, requestDto.get(0).getRejectMessage(), LocalDateTime.now(clock));
+        reservationConcurrencyStrategy.release(reservations.stream()
+                .filter(reservation -> reservation.getStatus() != ReservationStatus.REJECTED)
+                .toList());
+        reservations.forEach(reservation ->
+                eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.REJECTED, reservation)));
+
+        Notifications rejected = new Notifications(Message::rejectMessage, Message::rejectAllMessage);
+        reservations.forEach(reservation -> rejected.add(reservation.getClubMember(), reservation));
+
+        List<ClubMember> recipients = new ArrayList<>();
+        List<Message> messages = new ArrayList<>();
+        rejected.collect(recipients, messages);
+        messageService.createPrivateMessages(recipients, messages);
     }
 
     public ReservationDto.SliceResponse findMyReservationsUpComing(Long clubMemberId, Pageable pageable) {
@@ -288,7 +470,7 @@ public class ReservationService {
 
         Slice<Reservation> reservations = reservationRepository.findMyReservationsAfter(clubMember.getId(), now, upComing);
 
-        return new ReservationDto.SliceResponse(ReservationDto.Response.ofList(reservations.getContent()), upComing, reservations.hasNext());
+        return new ReservationDto.SliceResponse(reservationReadModel.toResponses(reservations.getContent()), upComing, reservations.hasNext());
     }
 
     public ReservationDto.SliceResponse findMyReservationsPrevious(Long clubMemberId, Pageable pageable) {
@@ -299,7 +481,7 @@ public class ReservationService {
 
         Slice<Reservation> reservations = reservationRepository.findMyReservationsBefore(clubMember.getId(), now, previous);
 
-        return new ReservationDto.SliceResponse(ReservationDto.Response.ofList(reservations.getContent()), previous, reservations.hasNext());
+        return new ReservationDto.SliceResponse(reservationReadModel.toResponses(reservations.getContent()), previous, reservations.hasNext());
 
     }
 
@@ -310,8 +492,142 @@ public class ReservationService {
 
         Slice<Reservation> reservations = reservationRepository.findMyReservationsStatus(clubMember.getId(), ReservationStatus.REJECTED, pageRequest);
 
-        return new ReservationDto.SliceResponse(ReservationDto.Response.ofList(reservations.getContent()), pageRequest, reservations.hasNext());
+        return new ReservationDto.SliceResponse(reservationReadModel.toResponses(reservations.getContent()), pageRequest, reservations.hasNext());
+
+    }
+
+
+    /**
+     * 다가오는 예약 keyset 페이지네이션. cursor 가 비어 있으면 현재 시간부터 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public ReservationDto.CursorResponse findMyReservationsUpComing(Long clubMemberId, String cursor, int size) {
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        ReservationCursor position = ObjectUtils.isEmpty(cursor)
+                ? ReservationCursor.firstAscending(LocalDateTime.now(clock))
+                : ReservationCursor.decode(cursor);
+        int limit = pageSize(size);
+        Pageable pageable = PageRequest.of(0, limit + 1);
+
+        List<Reservation> owned = reservationRepository.findOwnedAfterCursor(clubMember.getId(), position.getStartDateTime(), position.getId(), pageable);
+        List<Reservation> invited = reservationRepository.findInvitedAfterCursor(clubMember.getId(), position.getStartDateTime(), position.getId(), pageable);
+
+        return mergePages(owned, invited, limit, ASCENDING);
+    }
+
+    /**
+     * 지난 예약 keyset 페이지네이션. cursor 가 비어 있으면 현재 시간 이전부터 최신순으로 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public ReservationDto.CursorResponse findMyReservationsPrevious(Long clubMemberId, String cursor, int size) {
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        ReservationCursor position = ObjectUtils.isEmpty(cursor)
+                ? ReservationCursor.firstDescending(LocalDateTime.now(clock))
+                : ReservationCursor.decode(cursor);
+        int limit = pageSize(size);
+        Pageable pageable = PageRequest.of(0, limit + 1);
+
+        List<Reservation> owned = reservationRepository.findOwnedBeforeCursor(clubMember.getId(), position.getStartDateTime(), position.getId(), pageable);
+        List<Reservation> invited = reservationRepository.findInvitedBeforeCursor(clubMember.getId(), position.getStartDateTime(), position.getId(), pageable);
+
+        return mergePages(owned, invited, limit, ASCENDING.reversed());
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationDto.CursorResponse findMyReservationsReject(Long clubMemberId, String cursor, int size) {
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        ReservationCursor position = ObjectUtils.isEmpty(cursor) ? ReservationCursor.firstDescending(null) : ReservationCursor.decode(cursor);
+        int limit = pageSize(size);
+
+        List<Reservation> reservations = reservationRepository.findOwnedStatusBeforeCursor(
+                clubMember.getId(), ReservationStatus.REJECTED, position.getStartDateTime(), position.getId(), PageRequest.of(0, limit + 1));
 
+        return toCursorResponse(reservations, limit);
+    }
+
+    @RequiredAuthority(authority = SCHEDULE_ALL)
+    @Transactional(readOnly = true)
+    public ReservationDto.CursorResponse findAllReservationsRequest(Long managerId, ReservationDto.Request requestDto, String cursor, int size) {
+        return findReservationsAdmin(requestDto.getClubId(), ReservationStatus.REQUEST, cursor, size);
+    }
+
+    @RequiredAuthority(authority = SCHEDULE_ALL)
+    @Transactional(readOnly = true)
+    public ReservationDto.CursorResponse findAllReservationsRejected(Long managerId, ReservationDto.Request requestDto, String cursor, int size) {
+        return findReservationsAdmin(requestDto.getClubId(), ReservationStatus.REJECTED, cursor, size);
+    }
+
+    @RequiredAuthority(authority = {RETURN_MSG_READ, SCHEDULE_ALL})
+    @Transactional(readOnly = true)
+    public ReservationDto.CursorResponse findAllReservationsConfirmed(Long managerId, ReservationDto.Request requestDto, String cursor, int size) {
+        return findReservationsAdmin(requestDto.getClubId(), ReservationStatus.CONFIRMED, cursor, size);
+    }
+
+    private ReservationDto.CursorResponse findReservationsAdmin(Long clubId, ReservationStatus status, String cursor, int size) {
+        ReservationCursor position = ObjectUtils.isEmpty(cursor) ? ReservationCursor.firstDescending(null) : ReservationCursor.decode(cursor);
+        int limit = pageSize(size);
+
+        List<Reservation> reservations = reservationRepository.findAdminBeforeCursor(
+                clubId, status, position.getStartDateTime(), position.getId(), PageRequest.of(0, limit + 1));
+
+        return toCursorResponse(reservations, limit);
+    }
+
+    /**
+     * 본인 예약과 초대된 예약을 정렬 순서대로 병합한다. 두 목록 모두 limit + 1 개까지 조회되었으므로,
+     * 잘린 목록의 마지막 원소 이후는 다른 목록과 비교할 수 없어 그 이전까지만 결과로 사용한다.
+     */
+    private ReservationDto.CursorResponse mergePages(List<Reservation> owned, List<Reservation> invited, int limit, Comparator<Reservation> order) {
+        Map<Long, Reservation> distinct = new LinkedHashMap<>();
+        owned.forEach(reservation -> distinct.put(reservation.getId(), reservation));
+        invited.forEach(reservation -> distinct.putIfAbsent(reservation.getId(), reservation));
+
+        Reservation boundary = null;
+        for (List<Reservation> page : List.of(owned, invited)) {
+            if (page.size() > limit) {
+                Reservation last = page.get(page.size() - 1);
+                boundary = boundary == null || order.compare(last, boundary) < 0 ? last : boundary;
+            }
+        }
+
+        Reservation cutoff = boundary;
+        List<Reservation> merged = distinct.values().stream()
+                .filter(reservation -> cutoff == null || order.compare(reservation, cutoff) <= 0)
+                .sorted(order)
+                .toList();
+        if (cutoff != null && merged.size() <= limit) {
+            // 병합 결과가 limit 이하여도 잘린 목록에 남은 예약이 있으므로 다음 페이지가 있다.
+            return cursorResponse(merged, true);
+        }
+        return toCursorResponse(merged, limit);
+    }
+
+    /**
+     * limit + 1 개 조회된 목록으로 다음 페이지 여부와 커서를 만든다.
+     */
+    private ReservationDto.CursorResponse toCursorResponse(List<Reservation> reservations, int limit) {
+        boolean hasNext = reservations.size() > limit;
+        return cursorResponse(hasNext ? reservations.subList(0, limit) : reservations, hasNext);
+    }
+
+    private ReservationDto.CursorResponse cursorResponse(List<Reservation> content, boolean hasNext) {
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            Reservation last = content.get(content.size() - 1);
+            nextCursor = ReservationCursor.of(last.getPeriod().getStartDateTime(), last.getId()).encode();
+        }
+        return ReservationDto.CursorResponse.builder()
+                .content(reservationReadModel.toResponses(content))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
     }
 
 
@@ -339,7 +655,7 @@ public class ReservationService {
 
         reservations.forEach(reservation -> checkIsSameClub(clubMember, reservation.getResource().getClub().getId()));
 
-        return ReservationDto.Response.ofList(reservations);
+        return reservationReadModel.toResponses(reservations);
     }
 
     @Transactional(readOnly = true)
@@ -352,11 +668,52 @@ public class ReservationService {
 
         checkIsSameClub(clubMember, resource.getClub().getId());
 
-        LocalDateTime start = requestDto.getStartDateTime();
-        LocalDateTime end = requestDto.getEndDateTime();
-        List<Reservation> reservations = reservationRepository.findAllBetweenForScheduler(start, end, requestDto.getResourceId());
+        Long resourceId = requestDto.getResourceId();
+        return schedulerCache.get(resourceId, requestDto.getStartDateTime(), requestDto.getEndDateTime(),
+                (weekStart, weekEnd) -> reservationReadModel.toResponses(reservationRepository.findAllBetweenForScheduler(weekStart, weekEnd, resourceId)));
+    }
 
-        return ReservationDto.Response.ofList(reservations);
+    /**
+     * since 이후 생성/수정/삭제된 예약과 락만 반환한다. (거절된 예약은 삭제로 취급)
+     * 커밋이 늦은 트랜잭션을 놓치지 않도록 watermark 는 조회 시각보다 SYNC_OVERLAP_SECONDS 만큼 이전으로 돌려주며,
+     * 그만큼 중복 전달될 수 있다.
+     */
+    @Transactional(readOnly = true)
+    public ReservationDto.DeltaResponse findAllReservationsForSchedulerSince(Long clubMemberId, ReservationDto.Request requestDto, LocalDateTime since) {
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+
+        Resource resource = resourceRepository.findById(requestDto.getResourceId())
+                .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+
+        checkIsSameClub(clubMember, resource.getClub().getId());
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime watermark = now.minusSeconds(SYNC_OVERLAP_SECONDS);
+        if (since.isBefore(now.minusDays(tombstoneRetentionDays))) {
+            return ReservationDto.DeltaResponse.builder().watermark(watermark).resetRequired(true).build();
+        }
+
+        Long resourceId = resource.getId();
+        Map<Boolean, List<Reservation>> reservations = reservationRepository.findAllModifiedSince(resourceId, since).stream()
+                .collect(Collectors.partitioningBy(reservation -> reservation.getStatus() == ReservationStatus.REJECTED));
+        List<Long> deletedReservationIds = new ArrayList<>(reservations.get(true).stream().map(Reservation::getId).toList());
+        List<Long> deletedLockIds = new ArrayList<>();
+        tombstoneRepository.findAllByResourceIdSince(resourceId, since).forEach(tombstone -> {
+            if (tombstone.getTargetType() == TombstoneType.RESERVATION) {
+                deletedReservationIds.add(tombstone.getTargetId());
+            } else {
+                deletedLockIds.add(tombstone.getTargetId());
+            }
+        });
+
+        return ReservationDto.DeltaResponse.builder()
+                .reservations(reservationReadModel.toResponses(reservations.get(false)))
+                .locks(LockDto.Response.ofList(lockRepository.findAllModifiedSince(resourceId, since)))
+                .deletedReservationIds(deletedReservationIds)
+                .deletedLockIds(deletedLockIds)
+                .watermark(watermark)
+                .build();
     }
 
     @RequiredAuthority(authority = SCHEDULE_ALL)
@@ -366,7 +723,7 @@ public class ReservationService {
 
         Slice<Reservation> reservations = reservationRepository.findReservationsAdmin(requestDto.getClubId(), ReservationStatus.REQUEST, pageableAmin);
 
-        return new ReservationDto.SliceResponse(ReservationDto.Response.ofList(reservations.getContent()), pageableAmin, reservations.hasNext());
+        return new ReservationDto.SliceResponse(reservationReadModel.toResponses(reservations.getContent()), pageableAmin, reservations.hasNext());
     }
 
     @RequiredAuthority(authority = SCHEDULE_ALL)
@@ -376,7 +733,7 @@ public class ReservationService {
 
         Slice<Reservation> reservations = reservationRepository.findReservationsAdmin(requestDto.getClubId(), ReservationStatus.REJECTED, pageableAmin);
 
-        return new ReservationDto.SliceResponse(ReservationDto.Response.ofList(reservations.getContent()), pageableAmin, reservations.hasNext());
+        return new ReservationDto.SliceResponse(reservationReadModel.toResponses(reservations.getContent()), pageableAmin, reservations.hasNext());
     }
 
     @RequiredAuthority(authority = {RETURN_MSG_READ, SCHEDULE_ALL})
@@ -386,7 +743,7 @@ public class ReservationService {
 
         Slice<Reservation> reservations = reservationRepository.findReservationsAdmin(requestDto.getClubId(), ReservationStatus.CONFIRMED, pageableAmin);
         System.out.println(reservations.getContent().size());
-        return new ReservationDto.SliceResponse(ReservationDto.Response.ofList(reservations.getContent()), pageableAmin, reservations.hasNext());
+        return new ReservationDto.SliceResponse(reservationReadModel.toResponses(reservations.getContent()), pageableAmin, reservations.hasNext());
     }
 
     @Transactional
@@ -408,6 +765,7 @@ public class ReservationService {
                                 .build());
             }
             reservation.returned(returnDto.getReturnMessage());
+            eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.UPDATED, reservation));
 
             List<ClubMember> managers = clubMemberRepository.findClubMemberByClubIdAndClubAuthorityTypesContaining(clubMember.getClub().getId(), RETURN_MSG_READ);
             messageService.createPrivateMessage(managers,
@@ -463,32 +821,92 @@ public class ReservationService {
     }
 
     /**
-     * 락 여부 검사
+     * 락 여부 검사 (인메모리 인덱스 -> Redis -> DB 순). Redis 장애 중에는 Redis 를 건너뛴다.
      */
     private void checkIsLocked(Long resourceId, LocalDateTime start, LocalDateTime end) {
-        if (lockRepository.existsBetween(start, end, resourceId)) {
+        if (resourceTimelineIndex.hasLockBetween(resourceId, start, end)
+                || redisCircuitBreaker.call(() -> redisReservationService.isLocked(start, end, resourceId), () -> false)
+                || lockRepository.existsBetween(start, end, resourceId)) {
             throw new ServiceException(RESERVATION_UNAVAILABLE);
         }
     }
 
     /**
-     * 데이터베이스에 이미 예약이 있는지 검사
+     * 이미 예약이 있는지 검사 (인메모리 인덱스 -> DB 순)
      */
     private void checkIsReserved(Long resourceId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        if (reservationRepository.existsBetween(startDateTime, endDateTime, resourceId)) {
+        if (resourceTimelineIndex.hasReservationBetween(resourceId, startDateTime, endDateTime)
+                || reservationRepository.existsBetween(startDateTime, endDateTime, resourceId)) {
             throw new ServiceException(RESERVATION_UNAVAILABLE);
         }
     }
 
     /**
-     * 캐시에 이미 예약이 있는지 검사
+     * 정원이 있는 리소스에서 구간 안에 동시에 겹치는 예약 수가 이미 정원만큼 있는지 검사
      */
-    private void checkIsReservedCache(Long resourceId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        if (!redisReservationService.saveReservation(startDateTime, endDateTime, resourceId)) {
+    private void checkIsOverCapacity(Resource resource, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (reservationRepository.countMaxOverlapBetween(resource.getId(), startDateTime, endDateTime) >= resource.getCapacity()) {
             throw new ServiceException(RESERVATION_UNAVAILABLE);
         }
     }
 
+    /**
+     * 반복 예약 전체 구간을 덮는 범위의 예약/락을 한 번씩만 조회한 뒤 메모리에서 각 예약 시간과 겹치는지 검사
+     * 정원이 있는 리소스는 각 예약 시간에 동시에 겹치는 예약 수가 정원보다 작은지 검사한다.
+     */
+    private void checkIsReservedOrLocked(Resource resource, List<Period> periods, boolean checkLock) {
+        Long resourceId = resource.getId();
+        LocalDateTime envelopeStart = periods.get(0).getStartDateTime();
+        LocalDateTime envelopeEnd = periods.get(periods.size() - 1).getEndDateTime();
+
+        List<PeriodView> reserved = reservationRepository.findPeriodsBetween(resourceId, envelopeStart, envelopeEnd);
+        ResourceTimeline timeline = ResourceTimeline.of(
+                envelopeStart,
+                clock.millis(),
+                resource.isShared() ? List.of() : reserved,
+                checkLock ? lockRepository.findPeriodsBetween(resourceId, envelopeStart, envelopeEnd) : List.of());
+
+        for (Period period : periods) {
+            if (timeline.hasReservationBetween(period.getStartDateTime(), period.getEndDateTime())
+                    || timeline.hasLockBetween(period.getStartDateTime(), period.getEndDateTime())) {
+                throw new ServiceException(RESERVATION_UNAVAILABLE);
+            }
+            if (resource.isShared() && countMaxOverlap(reserved, period) >= resource.getCapacity()) {
+                throw new ServiceException(RESERVATION_UNAVAILABLE);
+            }
+        }
+    }
+
+    /**
+     * ReservationRepository.countMaxOverlapBetween 와 같은 값을 메모리에서 센다.
+     * 구간과 겹치는 예약의 시작/끝 시각을 정렬해 한 번 훑으며, 같은 시각에는 끝나는 예약을 먼저 뺀다.
+     */
+    private static long countMaxOverlap(List<PeriodView> reserved, Period period) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        List<LocalDateTime> ends = new ArrayList<>();
+        for (PeriodView point : reserved) {
+            if (point.getStartDateTime().isBefore(period.getEndDateTime()) && point.getEndDateTime().isAfter(period.getStartDateTime())) {
+                starts.add(point.getStartDateTime().isAfter(period.getStartDateTime()) ? point.getStartDateTime() : period.getStartDateTime());
+                ends.add(point.getEndDateTime());
+            }
+        }
+        Collections.sort(starts);
+        Collections.sort(ends);
+
+        long max = 0;
+        long overlaps = 0;
+        int ended = 0;
+        for (LocalDateTime start : starts) {
+            while (ended < ends.size() && !ends.get(ended).isAfter(start)) {
+                ended++;
+                overlaps--;
+            }
+            overlaps++;
+            max = Math.max(max, overlaps);
+        }
+        return max;
+    }
+
     /**
      * 예약 주인인지 검사
      */
@@ -537,26 +955,130 @@ public class ReservationService {
     }
 
     /**
+     * 일괄 승인 검증. 다른 클럽의 예약, 이미 거절되어 슬롯이 해제된 예약,
+     * 같은 리소스에서 서로 겹치는 예약이 배치에 있으면 예외 (정원이 있는 리소스는 생성 시 정원을 검사했으므로 제외)
+     */
+    private void checkCanConfirmAll(ClubMember manager, List<Reservation> reservations) {
+        Map<Long, List<Period>> periodsByResource = new HashMap<>();
+        for (Reservation reservation : reservations) {
+            checkIsSameClub(manager, reservation.getResource().getClub().getId());
+            if (reservation.getStatus() == ReservationStatus.REJECTED) {
+                throw new ServiceException(RESERVATION_UNAVAILABLE);
+            }
+            if (reservation.getResource().isShared()) {
+                continue;
+            }
+            periodsByResource.computeIfAbsent(reservation.getResource().getId(), id -> new ArrayList<>()).add(reservation.getPeriod());
+        }
+
+        for (List<Period> periods : periodsByResource.values()) {
+            periods.sort(Comparator.comparing(Period::getStartDateTime));
+            for (int i = 1; i < periods.size(); i++) {
+                if (periods.get(i).getStartDateTime().isBefore(periods.get(i - 1).getEndDateTime())) {
+                    throw new ServiceException(RESERVATION_UNAVAILABLE);
+                }
+            }
+        }
+    }
+
+    /**
+     * 받는 회원별로 예약 알림을 모은다. 한 건이면 기존 상세 메시지, 여러 건이면 건수 메시지를 만든다.
+     */
+    @RequiredArgsConstructor
+    private static class Notifications {
+        private final Function<Message.MessageContentBuildDto, Message> singleMessage;
+        private final IntFunction<Message> multipleMessage;
+        private final Map<Long, ClubMember> recipients = new LinkedHashMap<>();
+        private final Map<Long, List<Reservation>> reservations = new HashMap<>();
+
+        void add(ClubMember recipient, Reservation reservation) {
+            if (recipient == null) {
+                return;
+            }
+            recipients.putIfAbsent(recipient.getId(), recipient);
+            reservations.computeIfAbsent(recipient.getId(), id -> new ArrayList<>()).add(reservation);
+        }
+
+        void collect(List<ClubMember> clubMembers, List<Message> messages) {
+            recipients.forEach((id, recipient) -> {
+                List<Reservation> grouped = reservations.get(id);
+                clubMembers.add(recipient);
+                messages.add(grouped.size() == 1
+                        ? singleMessage.apply(contentOf(grouped.get(0)))
+                        : multipleMessage.apply(grouped.size()));
+            });
+        }
+
+        private static Message.MessageContentBuildDto contentOf(Reservation reservation) {
+            return Message.MessageContentBuildDto.builder().
+                    clubMemberName(reservation.getClubMember().getName()).
+                    start(reservation.getPeriod().getStartDateTime()).
+                    end(reservation.getPeriod().getEndDateTime()).
+                    resourceName(reservation.getResource().getName()).
+                    info(String.valueOf(reservation.getId())).
+                    build();
+        }
+    }
+
+    /**
+     * 초대 회원을 한 번의 조회로 확인하고 JDBC batch 로 저장한다.
      * @param clubMemberIds : invitee ids
      * @param inviter       : inviter
      * @param reservation   : reservation
      */
     private List<ReservationInvitee> createReservationInvitee(List<Long> clubMemberIds, ClubMember inviter, Reservation reservation) {
-        List<ReservationInvitee> reservationInvitees = new ArrayList<>();
-        clubMemberIds
-                .forEach(inviteeId -> {
-                    Optional<ClubMember> inviteeOptional = clubMemberRepository.findById(inviteeId);
-                    if (inviteeOptional.isPresent()) {
-                        ClubMember invitee = inviteeOptional.get();
-                        if (invitee.isSameClub(inviter.getClub().getId())) {
-                            ReservationInvitee reservationInvitee = ReservationInvitee.builder()
-                                    .clubMember(invitee)
-                                    .reservation(reservation)
-                                    .build();
-                            reservationInvitees.add(reservationInvitee);
-                        }
-                    }
-                });
-        return reservationInviteeRepository.saveAll(reservationInvitees);
+        List<ReservationInvitee> reservationInvitees = findInvitees(clubMemberIds, inviter).stream()
+                .map(invitee -> ReservationInvitee.builder()
+                        .clubMember(invitee)
+                        .reservation(reservation)
+                        .build())
+                .toList();
+        reservationInviteeRepository.insertAllInBatch(reservationInvitees);
+        return reservationInvitees;
+    }
+
+    /**
+     * 기존 초대 회원과 비교해 빠진 회원만 삭제하고 추가된 회원만 저장한다.
+     */
+    private void updateReservationInvitee(List<Long> clubMemberIds, ClubMember inviter, Reservation reservation) {
+        Map<Long, ClubMember> invitees = findInvitees(clubMemberIds, inviter).stream()
+                .collect(Collectors.toMap(ClubMember::getId, invitee -> invitee, (a, b) -> a, LinkedHashMap::new));
+
+        List<ReservationInvitee> removed = new ArrayList<>();
+        for (ReservationInvitee reservationInvitee : reservation.getReservationInvitees()) {
+            ClubMember invitee = reservationInvitee.getClubMember();
+            if (invitee == null || invitees.remove(invitee.getId()) == null) {
+                removed.add(reservationInvitee);
+            }
+        }
+        if (!removed.isEmpty()) {
+            reservation.getReservationInvitees().removeAll(removed);
+            reservationInviteeRepository.deleteAllInBatch(removed);
+        }
+
+        List<ReservationInvitee> added = invitees.values().stream()
+                .map(invitee -> ReservationInvitee.builder()
+                        .clubMember(invitee)
+                        .reservation(reservation)
+                        .build())
+                .toList();
+        reservationInviteeRepository.insertAllInBatch(added);
+    }
+
+    /**
+     * 중복을 제거한 초대 회원 중 초대한 회원과 같은 클럽 회원만 요청 순서대로 반환한다.
+     */
+    private List<ClubMember> findInvitees(List<Long> clubMemberIds, ClubMember inviter) {
+        if (ObjectUtils.isEmpty(clubMemberIds)) {
+            return List.of();
+        }
+        List<Long> distinctIds = clubMemberIds.stream().distinct().toList();
+        Map<Long, ClubMember> found = clubMemberRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(ClubMember::getId, clubMember -> clubMember));
+
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(invitee -> invitee != null && invitee.isSameClub(inviter.getClub().getId()))
+                .toList();
     }
 }
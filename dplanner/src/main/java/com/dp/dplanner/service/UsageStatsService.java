@@ -0,0 +1,136 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.UsageStatsDto;
+import com.dp.dplanner.domain.MemberUsage;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.ResourceUsage;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.MemberUsageRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.repository.ResourceUsageRepository;
+import com.dp.dplanner.service.aop.annotation.RequiredAuthority;
+import com.dp.dplanner.service.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.dp.dplanner.domain.club.ClubAuthorityType.RESOURCE_ALL;
+import static com.dp.dplanner.exception.ErrorResult.CLUBMEMBER_NOT_FOUND;
+import static com.dp.dplanner.exception.ErrorResult.REQUEST_IS_INVALID;
+
+/**
+ * 리소스 이용 통계 조회. reservation 테이블 대신 UsageRollupRecorder 가 쌓은 집계 테이블만 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UsageStatsService {
+
+    private static final int MAX_DAYS = 366;
+    private static final int PEAK_HOUR_COUNT = 3;
+    private static final int TOP_MEMBER_COUNT = 5;
+
+    private final ClubMemberRepository clubMemberRepository;
+    private final ResourceRepository resourceRepository;
+    private final ResourceUsageRepository resourceUsageRepository;
+    private final MemberUsageRepository memberUsageRepository;
+    private final Clock clock;
+
+    @RequiredAuthority(authority = RESOURCE_ALL)
+    public List<UsageStatsDto.Response> getUsageStats(Long clubMemberId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        Long clubId = clubMember.getClub().getId();
+
+        Map<Long, List<ResourceUsage>> resourceUsages = resourceUsageRepository.findByClubIdBetween(clubId, from, to).stream()
+                .collect(Collectors.groupingBy(ResourceUsage::getResourceId));
+        Map<Long, List<MemberUsage>> memberUsages = memberUsageRepository.findByClubIdBetween(clubId, from, to).stream()
+                .collect(Collectors.groupingBy(MemberUsage::getResourceId));
+        List<Long> clubMemberIds = memberUsages.values().stream()
+                .flatMap(List::stream)
+                .map(MemberUsage::getClubMemberId)
+                .distinct()
+                .toList();
+        Map<Long, String> memberNames = clubMemberRepository.findAllById(clubMemberIds).stream()
+                .collect(Collectors.toMap(ClubMember::getId, ClubMember::getName));
+
+        long totalMinutes = (ChronoUnit.DAYS.between(from, to) + 1) * 24 * 60;
+        LocalDate today = LocalDate.now(clock);
+
+        return resourceRepository.findByClubId(clubId).stream()
+                .map(resource -> toResponse(
+                        resource,
+                        resourceUsages.getOrDefault(resource.getId(), List.of()),
+                        memberUsages.getOrDefault(resource.getId(), List.of()),
+                        memberNames,
+                        totalMinutes,
+                        today))
+                .toList();
+    }
+
+    private static UsageStatsDto.Response toResponse(Resource resource, List<ResourceUsage> usages, List<MemberUsage> memberUsages,
+                                                     Map<Long, String> memberNames, long totalMinutes, LocalDate today) {
+        long reservedMinutes = 0;
+        long reservationCount = 0;
+        long returnedCount = 0;
+        long endedCount = 0;
+        long endedReturnedCount = 0;
+        long[] minutesByHour = new long[24];
+        for (ResourceUsage usage : usages) {
+            reservedMinutes += usage.getReservedMinutes();
+            reservationCount += usage.getReservationCount();
+            returnedCount += usage.getReturnedCount();
+            if (usage.getUsageDate().isBefore(today)) {
+                endedCount += usage.getReservationCount();
+                endedReturnedCount += usage.getReturnedCount();
+            }
+            minutesByHour[usage.getUsageHour()] += usage.getReservedMinutes();
+        }
+
+        List<Integer> peakHours = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            if (minutesByHour[hour] > 0) {
+                peakHours.add(hour);
+            }
+        }
+        peakHours.sort(Comparator.comparingLong((Integer hour) -> minutesByHour[hour]).reversed());
+
+        return UsageStatsDto.Response.builder()
+                .resourceId(resource.getId())
+                .resourceName(resource.getName())
+                .reservedMinutes(reservedMinutes)
+                .utilization((double) reservedMinutes / totalMinutes)
+                .reservationCount(reservationCount)
+                .returnedCount(returnedCount)
+                .noShowRate(endedCount == 0 ? 0 : (double) (endedCount - endedReturnedCount) / endedCount)
+                .peakHours(peakHours.subList(0, Math.min(PEAK_HOUR_COUNT, peakHours.size())))
+                .topMembers(topMembers(memberUsages, memberNames))
+                .build();
+    }
+
+    private static List<UsageStatsDto.MemberStats> topMembers(List<MemberUsage> memberUsages, Map<Long, String> memberNames) {
+        Map<Long, UsageStatsDto.MemberStats> stats = new HashMap<>();
+        for (MemberUsage usage : memberUsages) {
+            UsageStatsDto.MemberStats memberStats = stats.computeIfAbsent(usage.getClubMemberId(), id ->
+                    UsageStatsDto.MemberStats.builder().clubMemberId(id).clubMemberName(memberNames.get(id)).build());
+            memberStats.setReservedMinutes(memberStats.getReservedMinutes() + usage.getReservedMinutes());
+            memberStats.setReservationCount(memberStats.getReservationCount() + usage.getReservationCount());
+            memberStats.setReturnedCount(memberStats.getReturnedCount() + usage.getReturnedCount());
+        }
+        return stats.values().stream()
+                .filter(memberStats -> memberStats.getReservedMinutes() > 0)
+                .sorted(Comparator.comparingLong(UsageStatsDto.MemberStats::getReservedMinutes).reversed())
+                .limit(TOP_MEMBER_COUNT)
+                .toList();
+    }
+}
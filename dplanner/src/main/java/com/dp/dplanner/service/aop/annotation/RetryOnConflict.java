@@ -0,0 +1,21 @@
+package com.dp.dplanner.service.aop.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌이 발생하면 트랜잭션 전체를 다시 실행한다.
+ * 여러 번 실행되어도 결과가 같은(멱등) 메서드에만 사용해야 함
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    // 최초 실행을 포함한 최대 실행 횟수
+    int maxAttempts() default 3;
+
+    // 재시도 대기 시간의 기준값(ms). n 번째 재시도는 [0, backoffMillis * 2^(n-1)) 사이에서 무작위로 대기한다.
+    long backoffMillis() default 50;
+}
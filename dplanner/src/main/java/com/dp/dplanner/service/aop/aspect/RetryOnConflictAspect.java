@@ -0,0 +1,60 @@
+package com.dp.dplanner.service.aop.aspect;
+
+import com.dp.dplanner.service.aop.annotation.RetryOnConflict;
+import com.dp.dplanner.service.exception.ServiceException;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.dp.dplanner.exception.ErrorResult.RESERVATION_CONFLICT;
+
+/**
+ * 충돌은 커밋 시점에 발생하므로 트랜잭션 advice 보다 바깥에서 실행되어야 한다.
+ * (@Transactional 의 기본 order 는 LOWEST_PRECEDENCE)
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryOnConflictAspect {
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    log.warn("optimistic lock conflict. method : {}, attempts : {}", joinPoint.getSignature().toShortString(), attempt);
+                    throw new ServiceException(RESERVATION_CONFLICT);
+                }
+                sleep(backoff(retryOnConflict.backoffMillis(), attempt));
+            }
+        }
+    }
+
+    /**
+     * full jitter : [0, base * 2^(attempt-1))
+     */
+    static long backoff(long baseMillis, int attempt) {
+        long bound = baseMillis << Math.min(attempt - 1, 10);
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(RESERVATION_CONFLICT);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.dp.dplanner.service.cache;
+
+import com.dp.dplanner.adapter.dto.ReservationDto;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * 스케줄러 화면 조회 결과를 (리소스, 주) 단위로 Redis 에 캐싱한다.
+ * - data key    : scheduler:{resourceId}:{주 시작일}:{version}
+ * - version key : scheduler:{resourceId}:{주 시작일}:version
+ * 예약 이벤트가 발생하면 해당 주의 version 만 올려서 이전 데이터를 무효화한다. (이전 데이터는 ttl 로 만료)
+ * 조회 도중 무효화가 일어나면 저장하지 않으므로 오래된 데이터가 다시 읽히지 않는다.
+ * version key 는 저장할 때마다 만료 시간을 데이터보다 길게 늘린다. version key 가 만료되어 0 부터 다시 올라가더라도
+ * 그때는 이전 version 의 데이터가 모두 만료된 뒤이므로 같은 version 의 오래된 데이터를 읽지 않는다.
+ * Redis 장애 시에는 DB 에서 직접 조회한다.
+ */
+@Slf4j
+@Component
+public class SchedulerCache {
+
+    private static final String KEY_PREFIX = "scheduler:";
+    private static final DateTimeFormatter WEEK_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * KEYS : version key, ARGV : ttl(ms)
+     * 예약이 걸친 주의 version 을 올리고 만료 시간을 함께 설정한다. (한 번의 왕복으로, 만료 없는 version key 가 남지 않도록)
+     */
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            for _, key in ipairs(KEYS) do
+                redis.call('INCR', key)
+                redis.call('PEXPIRE', key, ARGV[1])
+            end
+            return #KEYS
+            """, Long.class);
+
+    /**
+     * KEYS : version key, data key
+     * ARGV : 조회 시작 시 읽은 version, 데이터, 데이터 ttl(ms), version ttl(ms)
+     * version 이 그대로일 때만 저장하고, version key 가 데이터보다 먼저 만료되지 않도록 만료 시간을 늘린다.
+     */
+    private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('GET', KEYS[1]) or '0'
+            if version ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            if version ~= '0' and redis.call('PTTL', KEYS[1]) < tonumber(ARGV[4]) then
+                redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            end
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JavaType responseListType;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter errorCounter;
+
+    @Value("${reservation.scheduler-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    public SchedulerCache(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.responseListType = objectMapper.getTypeFactory().constructCollectionType(List.class, ReservationDto.Response.class);
+        this.hitCounter = meterRegistry.counter("reservation.scheduler.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("reservation.scheduler.cache", "result", "miss");
+        this.errorCounter = meterRegistry.counter("reservation.scheduler.cache", "result", "error");
+    }
+
+    /**
+     * [start, end) 와 겹치는 예약 목록. 요청 기간이 걸친 주마다 캐시를 조회하고 없으면 loader 로 한 주를 조회한다.
+     * @param loader : (주 시작 시간, 다음 주 시작 시간) -> 그 주와 겹치는 예약 목록
+     */
+    public List<ReservationDto.Response> get(Long resourceId, LocalDateTime start, LocalDateTime end,
+                                             BiFunction<LocalDateTime, LocalDateTime, List<ReservationDto.Response>> loader) {
+        Map<Long, ReservationDto.Response> responses = new LinkedHashMap<>();
+        for (LocalDate weekStart : weeks(start, end)) {
+            getWeek(resourceId, weekStart, loader).stream()
+                    .filter(response -> response.getStartDateTime().isBefore(end) && response.getEndDateTime().isAfter(start))
+                    .forEach(response -> responses.putIfAbsent(response.getReservationId(), response));
+        }
+        return responses.values().stream()
+                .sorted(Comparator.comparing(ReservationDto.Response::getStartDateTime)
+                        .thenComparing(ReservationDto.Response::getEndDateTime))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationEvent(ReservationEvent event) {
+        try {
+            List<String> versionKeys = weeks(event.getStartDateTime(), event.getEndDateTime()).stream()
+                    .map(weekStart -> versionKey(event.getResourceId(), weekStart))
+                    .toList();
+            if (versionKeys.isEmpty()) {
+                return;
+            }
+            redisTemplate.execute(INVALIDATE_SCRIPT, versionKeys, versionTtlMillis());
+        } catch (RuntimeException e) {
+            errorCounter.increment();
+            log.warn("scheduler cache invalidation failed. resourceId : {}", event.getResourceId(), e);
+        }
+    }
+
+    private List<ReservationDto.Response> getWeek(Long resourceId, LocalDate weekStart,
+                                                  BiFunction<LocalDateTime, LocalDateTime, List<ReservationDto.Response>> loader) {
+        LocalDateTime from = weekStart.atStartOfDay();
+        LocalDateTime to = weekStart.plusWeeks(1).atStartOfDay();
+
+        String versionKey = versionKey(resourceId, weekStart);
+        String version;
+        String dataKey;
+        String cached;
+        try {
+            String current = redisTemplate.opsForValue().get(versionKey);
+            version = current == null ? "0" : current;
+            dataKey = dataKey(resourceId, weekStart, version);
+            cached = redisTemplate.opsForValue().get(dataKey);
+        } catch (RuntimeException e) {
+            errorCounter.increment();
+            log.warn("scheduler cache read failed. resourceId : {}", resourceId, e);
+            return loader.apply(from, to);
+        }
+
+        if (cached != null) {
+            try {
+                List<ReservationDto.Response> responses = objectMapper.readValue(cached, responseListType);
+                hitCounter.increment();
+                return responses;
+            } catch (JsonProcessingException e) {
+                log.warn("scheduler cache deserialize failed. key : {}", dataKey, e);
+            }
+        }
+
+        missCounter.increment();
+        List<ReservationDto.Response> loaded = loader.apply(from, to);
+        try {
+            redisTemplate.execute(FILL_SCRIPT, List.of(versionKey, dataKey), version, objectMapper.writeValueAsString(loaded),
+                    String.valueOf(Duration.ofSeconds(ttlSeconds).toMillis()), versionTtlMillis());
+        } catch (JsonProcessingException | RuntimeException e) {
+            errorCounter.increment();
+            log.warn("scheduler cache write failed. key : {}", dataKey, e);
+        }
+        return loaded;
+    }
+
+    private String versionTtlMillis() {
+        return String.valueOf(Duration.ofSeconds(ttlSeconds * 2).toMillis());
+    }
+
+    /**
+     * [start, end) 가 걸친 주의 시작일(월요일) 목록
+     */
+    private static List<LocalDate> weeks(LocalDateTime start, LocalDateTime end) {
+        List<LocalDate> weeks = new ArrayList<>();
+        LocalDate weekStart = start.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        while (weekStart.atStartOfDay().isBefore(end)) {
+            weeks.add(weekStart);
+            weekStart = weekStart.plusWeeks(1);
+        }
+        return weeks;
+    }
+
+    private static String versionKey(Long resourceId, LocalDate weekStart) {
+        return KEY_PREFIX + resourceId + ":" + weekStart.format(WEEK_FORMATTER) + ":version";
+    }
+
+    private static String dataKey(Long resourceId, LocalDate weekStart, String version) {
+        return KEY_PREFIX + resourceId + ":" + weekStart.format(WEEK_FORMATTER) + ":" + version;
+    }
+}
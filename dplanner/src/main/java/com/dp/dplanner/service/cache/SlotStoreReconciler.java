@@ -0,0 +1,91 @@
+package com.dp.dplanner.service.cache;
+
+import com.dp.dplanner.service.RedisReservationService;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker.DeferredSlots;
+import com.dp.dplanner.service.concurrency.RedisFallback;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 장애 동안 DB 락으로 점유할 수 있도록 fallback lease 를 연장하고,
+ * Redis 가 복구되면 장애 동안 DB 로 점유한 구간을 채우고 보내지 못한 슬롯 해제를 다시 보낸 뒤 circuit breaker 를 닫는다.
+ * key 를 지우고 DB 기준으로 다시 채우지 않는다. 다른 서버가 점유하고 아직 커밋하지 않은 슬롯은 DB 에 없기 때문이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotStoreReconciler {
+
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final RedisFallback redisFallback;
+    private final RedisReservationService redisReservationService;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Scheduled(fixedDelayString = "${reservation.redis.breaker.recover-millis:5000}")
+    public void reconcile() {
+        if (redisCircuitBreaker.isOpen() || redisFallback.hasUnflushedClaims()) {
+            redisFallback.renew();
+        }
+        if (redisCircuitBreaker.isRecoveryDue()) {
+            recover();
+        } else if (!redisCircuitBreaker.isOpen()) {
+            // 복구한 뒤에 커밋된 DB 점유
+            DeferredSlots claims = redisFallback.drainClaims();
+            if (!claims.isEmpty()) {
+                redisCircuitBreaker.run(() -> fill(claims), () -> redisFallback.addClaims(claims));
+            }
+        }
+    }
+
+    /**
+     * DB 로 점유한 구간을 먼저 채워야, 장애 동안 점유하고 해제한 구간이 해제된 채로 남는다.
+     */
+    private void recover() {
+        DeferredSlots releases = redisCircuitBreaker.startRecovery();
+        try {
+            redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+        } catch (RuntimeException e) {
+            log.warn("redis is still unavailable", e);
+            redisCircuitBreaker.reopen(releases);
+            return;
+        }
+        DeferredSlots claims = redisFallback.drainClaims();
+        try {
+            fill(claims);
+        } catch (RuntimeException e) {
+            // 다시 채워도 슬롯을 더 막을 뿐이므로 되돌린다. 해제는 아직 보내지 않았다.
+            log.warn("db claims could not be filled", e);
+            redisFallback.addClaims(claims);
+            redisCircuitBreaker.reopen(releases);
+            return;
+        }
+        try {
+            redisReservationService.releaseSlots(releases.exclusivePeriods(), releases.sharedPeriods());
+            redisCircuitBreaker.close();
+            log.info("slot store reconciled. claimed resources : {}, released resources : {}",
+                    claims.exclusivePeriods().size() + claims.sharedPeriods().size(),
+                    releases.exclusivePeriods().size() + releases.sharedPeriods().size());
+        } catch (RuntimeException e) {
+            // 일부가 실행되었을 수 있으므로 다시 보내지 않는다. 남은 슬롯은 예약을 막을 뿐이다.
+            log.warn("deferred slot release failed", e);
+            redisCircuitBreaker.reopen(DeferredSlots.empty());
+        }
+    }
+
+    /**
+     * 정원이 있는 리소스는 점유 수를 더하므로, 정원 검사 없이 더한다. (DB 에서 이미 정원을 검사했다.)
+     */
+    private void fill(DeferredSlots claims) {
+        if (!claims.exclusivePeriods().isEmpty()) {
+            redisReservationService.fillReservations(claims.exclusivePeriods());
+        }
+        claims.sharedPeriods().forEach((resourceId, periods) ->
+                redisReservationService.saveSharedReservations(periods, resourceId, Integer.MAX_VALUE));
+    }
+}
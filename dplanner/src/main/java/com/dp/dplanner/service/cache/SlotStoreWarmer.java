@@ -0,0 +1,170 @@
+package com.dp.dplanner.service.cache;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.LockRepository;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourcePeriodView;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.RedisReservationService;
+import com.dp.dplanner.service.aop.annotation.RequiredAuthority;
+import com.dp.dplanner.service.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.dp.dplanner.domain.club.ClubAuthorityType.SCHEDULE_ALL;
+import static com.dp.dplanner.exception.ErrorResult.CLUBMEMBER_NOT_FOUND;
+
+/**
+ * DB 에 저장된 앞으로의 예약/락을 Redis 슬롯 저장소에 채운다.
+ * Redis 가 재시작되었거나 key 가 만료된 뒤에도 Redis 검사에서 겹침을 걸러낼 수 있도록 하기 위함이다.
+ * - 서버 시작 시 전체 클럽, 요청 시 해당 클럽만 적재
+ * - 각 리소스의 bookableSpan 이내의 예약/락만 적재
+ * - batchSize 개 구간마다 스크립트 한 번으로 적재
+ * - 정원이 있는 리소스의 예약은 슬롯별 점유 수를 세어야 하므로 리소스별로 모아 마지막에 한 번에 적재
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotStoreWarmer {
+
+    private final ReservationRepository reservationRepository;
+    private final LockRepository lockRepository;
+    private final ResourceRepository resourceRepository;
+    private final ClubMemberRepository clubMemberRepository;
+    private final RedisReservationService redisReservationService;
+    private final Clock clock;
+
+    @Value("${reservation.warm-up.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reservation.warm-up.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUpOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int count = warmUpClub(null);
+            log.info("slot store warmed up. periods : {}", count);
+        } catch (RuntimeException e) {
+            // 적재에 실패해도 DB 검사로 동작하므로 서버 시작을 막지 않는다.
+            log.warn("slot store warm up failed", e);
+        }
+    }
+
+    /**
+     * 요청한 회원의 클럽 예약/락을 다시 적재하고 적재한 구간 수를 반환한다.
+     */
+    @RequiredAuthority(authority = SCHEDULE_ALL)
+    @Transactional(readOnly = true)
+    public int warmUp(Long clubMemberId) {
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        return warmUpClub(clubMember.getClub().getId());
+    }
+
+    /**
+     * clubId 가 null 이면 전체 클럽
+     */
+    private int warmUpClub(Long clubId) {
+        List<Resource> resources = clubId == null ? resourceRepository.findAll() : resourceRepository.findByClubId(clubId);
+        return warmUp(clubId, resources);
+    }
+
+    private int warmUp(Long clubId, List<Resource> resources) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<Long, LocalDateTime> limits = new HashMap<>();
+        Set<Long> sharedIds = new HashSet<>();
+        LocalDateTime until = now;
+        for (Resource resource : resources) {
+            if (resource.getBookableSpan() == null) {
+                continue;
+            }
+            if (resource.isShared()) {
+                sharedIds.add(resource.getId());
+            }
+            LocalDateTime limit = bookableLimit(now.toLocalDate(), resource.getBookableSpan());
+            limits.put(resource.getId(), limit);
+            until = limit.isAfter(until) ? limit : until;
+        }
+        if (limits.isEmpty()) {
+            return 0;
+        }
+
+        int count;
+        try (Stream<ResourcePeriodView> periods = reservationRepository.streamPeriodsBetween(clubId, now, until)) {
+            count = load(periods, limits, sharedIds, redisReservationService::fillReservations);
+        }
+        try (Stream<ResourcePeriodView> periods = lockRepository.streamPeriodsBetween(clubId, now, until)) {
+            count += load(periods, limits, Set.of(), redisReservationService::fillLocks);
+        }
+        return count;
+    }
+
+    private int load(Stream<ResourcePeriodView> periods, Map<Long, LocalDateTime> limits, Set<Long> sharedIds, Consumer<Map<Long, List<Period>>> writer) {
+        Map<Long, List<Period>> shared = new HashMap<>();
+        Map<Long, List<Period>> batch = new HashMap<>();
+        int batchCount = 0;
+        int count = 0;
+        Iterator<ResourcePeriodView> iterator = periods.iterator();
+        while (iterator.hasNext()) {
+            ResourcePeriodView view = iterator.next();
+            LocalDateTime limit = limits.get(view.getResourceId());
+            if (limit == null || !view.getStartDateTime().isBefore(limit)) {
+                continue;
+            }
+            if (sharedIds.contains(view.getResourceId())) {
+                shared.computeIfAbsent(view.getResourceId(), id -> new ArrayList<>())
+                        .add(new Period(view.getStartDateTime(), view.getEndDateTime()));
+                count++;
+                continue;
+            }
+            batch.computeIfAbsent(view.getResourceId(), id -> new ArrayList<>())
+                    .add(new Period(view.getStartDateTime(), view.getEndDateTime()));
+            count++;
+            if (++batchCount == batchSize) {
+                writer.accept(batch);
+                batch = new HashMap<>();
+                batchCount = 0;
+            }
+        }
+        if (batchCount > 0) {
+            writer.accept(batch);
+        }
+        if (!shared.isEmpty()) {
+            redisReservationService.fillSharedReservations(shared);
+        }
+        return count;
+    }
+
+    /**
+     * 예약 종료일이 오늘 + bookableSpan 일까지 허용되므로 그 다음 날 0시 이전에 시작하는 구간까지 적재한다.
+     */
+    private static LocalDateTime bookableLimit(LocalDate today, Long bookableSpan) {
+        return today.plusDays(bookableSpan + 1).atStartOfDay();
+    }
+}
@@ -0,0 +1,48 @@
+package com.dp.dplanner.service.concurrency;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.dp.dplanner.exception.ErrorResult.RESERVATION_CONFLICT;
+import static com.dp.dplanner.exception.ErrorResult.RESOURCE_NOT_FOUND;
+
+/**
+ * 리소스 row 에 select ... for update 로 락을 잡고 DB 에서 다시 검사한다.
+ * 락은 트랜잭션이 끝날 때 풀리므로 같은 리소스의 예약 생성은 커밋 순서대로 직렬화된다. Redis 가 필요 없다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.concurrency.strategy", havingValue = "db-pessimistic")
+public class PessimisticLockConcurrencyStrategy implements ReservationConcurrencyStrategy {
+
+    private final ResourceRepository resourceRepository;
+    private final ReservationRepository reservationRepository;
+
+    @Override
+    public void acquire(Resource resource, List<Period> periods) {
+        try {
+            resourceRepository.findByIdForUpdate(resource.getId())
+                    .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+        } catch (PessimisticLockingFailureException e) {
+            throw new ServiceException(RESERVATION_CONFLICT);
+        }
+        ReservedPeriods.checkIsAvailable(reservationRepository, resource, periods);
+    }
+
+    /**
+     * DB 의 예약이 곧 점유이므로 따로 해제할 것이 없다.
+     */
+    @Override
+    public void release(List<Reservation> reservations) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.dp.dplanner.service.concurrency;
+
+import com.dp.dplanner.domain.Period;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 예약 쓰기 경로의 Redis 호출을 감싸는 circuit breaker
+ * - Redis 명령은 spring.data.redis.timeout 으로 짧게 끊고, 연속 failureThreshold 번 실패하면 열린다.
+ * - 열려 있는 동안은 Redis 를 호출하지 않고 fallback 으로 처리한다.
+ * - 상태는 서버마다 따로 가지므로, 열린 서버가 DB 락으로 점유하려면 다른 서버도 알 수 있게 RedisFallback 의 lease 를 먼저 연장해야 한다.
+ * - 열려 있는 동안 보내지 못한 슬롯 해제는 모아 두었다가 openSeconds 뒤 SlotStoreReconciler 가 다시 보내고 닫는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisCircuitBreaker {
+
+    private final Clock clock;
+    private final AtomicInteger failures = new AtomicInteger();
+    private DeferredSlots deferredReleases = DeferredSlots.empty();
+    private volatile boolean open;
+    private volatile long retryAt;
+
+    @Value("${reservation.redis.breaker.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${reservation.redis.breaker.open-seconds:10}")
+    private long openSeconds;
+
+    /**
+     * 열려 있거나 Redis 연결/타임아웃 오류가 나면 fallback 결과를 반환한다. 그 외 예외는 그대로 던진다.
+     */
+    public <T> T call(Supplier<T> command, Supplier<T> fallback) {
+        if (open) {
+            return fallback.get();
+        }
+        try {
+            T result = command.get();
+            failures.set(0);
+            return result;
+        } catch (DataAccessException e) {
+            recordFailure(e);
+            return fallback.get();
+        }
+    }
+
+    public void run(Runnable command, Runnable fallback) {
+        call(() -> {
+            command.run();
+            return null;
+        }, () -> {
+            fallback.run();
+            return null;
+        });
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * 보내지 못한 슬롯 해제를 모아 둔다. 명령이 실행되지 않은 것이 확실한 경우만 넘겨야 한다.
+     * (실행되었을 수도 있는 해제를 다시 보내면 그 사이 다른 예약이 점유한 슬롯까지 지운다.)
+     */
+    public synchronized void deferRelease(Map<Long, List<Period>> exclusivePeriods, Map<Long, List<Period>> sharedPeriods) {
+        deferredReleases = deferredReleases.merge(new DeferredSlots(exclusivePeriods, sharedPeriods));
+    }
+
+    /**
+     * 열린 뒤 openSeconds 가 지났거나, 닫힌 뒤에 보내지 못한 해제가 남아 있으면 복구할 차례
+     */
+    public synchronized boolean isRecoveryDue() {
+        return open ? clock.millis() >= retryAt : !deferredReleases.isEmpty();
+    }
+
+    /**
+     * 복구하는 동안 이 서버에서 Redis 로 점유하지 않도록 열어 두고, 다시 보낼 해제를 꺼낸다.
+     */
+    public synchronized DeferredSlots startRecovery() {
+        open = true;
+        DeferredSlots releases = deferredReleases;
+        deferredReleases = DeferredSlots.empty();
+        return releases;
+    }
+
+    public synchronized void close() {
+        if (open) {
+            log.info("redis circuit closed");
+        }
+        failures.set(0);
+        open = false;
+    }
+
+    /**
+     * 복구에 실패하면 보내지 않은 해제를 되돌리고 다시 openSeconds 동안 연다.
+     */
+    public synchronized void reopen(DeferredSlots unsent) {
+        deferredReleases = deferredReleases.merge(unsent);
+        open = true;
+        retryAt = clock.millis() + openSeconds * 1000L;
+    }
+
+    private synchronized void recordFailure(DataAccessException e) {
+        if (failures.incrementAndGet() < failureThreshold || open) {
+            log.warn("redis command failed. failures : {}", failures.get(), e);
+            return;
+        }
+        log.error("redis circuit opened for {} seconds", openSeconds, e);
+        open = true;
+        retryAt = clock.millis() + openSeconds * 1000L;
+    }
+
+    /**
+     * 나중에 Redis 에 보낼 리소스별 슬롯 구간 (보내지 못한 해제, Redis 에 채우지 않은 DB 점유)
+     */
+    public record DeferredSlots(Map<Long, List<Period>> exclusivePeriods, Map<Long, List<Period>> sharedPeriods) {
+
+        public static DeferredSlots empty() {
+            return new DeferredSlots(Map.of(), Map.of());
+        }
+
+        public boolean isEmpty() {
+            return exclusivePeriods.isEmpty() && sharedPeriods.isEmpty();
+        }
+
+        DeferredSlots merge(DeferredSlots other) {
+            return new DeferredSlots(merge(exclusivePeriods, other.exclusivePeriods), merge(sharedPeriods, other.sharedPeriods));
+        }
+
+        private static Map<Long, List<Period>> merge(Map<Long, List<Period>> left, Map<Long, List<Period>> right) {
+            Map<Long, List<Period>> merged = new HashMap<>();
+            left.forEach((resourceId, periods) -> merged.computeIfAbsent(resourceId, id -> new ArrayList<>()).addAll(periods));
+            right.forEach((resourceId, periods) -> merged.computeIfAbsent(resourceId, id -> new ArrayList<>()).addAll(periods));
+            return merged;
+        }
+    }
+}
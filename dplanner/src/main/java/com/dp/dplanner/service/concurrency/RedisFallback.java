@@ -0,0 +1,159 @@
+package com.dp.dplanner.service.concurrency;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.RedisFallbackLease;
+import com.dp.dplanner.repository.RedisFallbackLeaseRepository;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker.DeferredSlots;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis 가 응답하지 않는 동안 DB 락으로 예약을 점유하기 위한 서버 간 약속
+ * - circuit breaker 가 열린 서버는 DB 의 lease (RedisFallbackLease) 를 leaseSeconds 만큼씩 연장한다.
+ * - lease 가 살아 있으면 모든 서버가 리소스 row 락을 잡고 DB 에서 다시 검사한다. (정상 서버는 Redis 점유도 함께 한다.)
+ *   그래서 열린 서버가 DB 만으로 점유해도 다른 서버의 점유와 row 락에서 직렬화된다.
+ * - 다른 서버가 lease 를 보기 전에 시작한 (Redis 만으로 점유한) 트랜잭션이 끝날 때까지 fenceSeconds 동안은 DB 만으로 점유하지 않는다.
+ *   fenceSeconds 는 cacheMillis + 예약 트랜잭션이 걸리는 최대 시간 + 서버 간 시계 차이보다 커야 한다.
+ * - DB 만으로 점유한 구간은 커밋된 뒤 모아 두었다가 Redis 가 복구되면 SlotStoreReconciler 가 채운다.
+ *   다 채울 때까지 lease 를 연장하므로, lease 가 끝난 뒤 Redis 만으로 점유하는 서버도 그 구간을 본다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisFallback {
+
+    private final RedisFallbackLeaseRepository redisFallbackLeaseRepository;
+    private final Clock clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private DeferredSlots claims = DeferredSlots.empty();
+    private volatile long cachedUntil;
+    private volatile long cacheExpiresAt;
+    private volatile long leaseUntil;
+    private volatile long fencedAt = Long.MAX_VALUE;
+
+    @Value("${reservation.redis.fallback.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Value("${reservation.redis.fallback.fence-seconds:15}")
+    private long fenceSeconds;
+
+    @Value("${reservation.redis.fallback.cache-millis:1000}")
+    private long cacheMillis;
+
+    /**
+     * 어느 서버든 DB 만으로 점유하고 있을 수 있으면 true. cacheMillis 동안은 다시 읽지 않는다.
+     */
+    public boolean isActive() {
+        long now = clock.millis();
+        if (now >= cacheExpiresAt) {
+            try {
+                cachedUntil = redisFallbackLeaseRepository.findDegradedUntil(RedisFallbackLease.ID).map(this::toMillis).orElse(0L);
+                cacheExpiresAt = now + cacheMillis;
+            } catch (DataAccessException e) {
+                log.warn("redis fallback lease could not be read", e);
+                return true;
+            }
+        }
+        return now < cachedUntil;
+    }
+
+    /**
+     * 이 서버가 연장한 lease 가 다른 서버에 보인 지 fenceSeconds 가 지났고, 지금 점유해도 트랜잭션이 끝날 때까지 lease 가 남아 있으면 true
+     */
+    public boolean isFenced() {
+        long now = clock.millis();
+        return now >= fencedAt && leaseUntil >= now + fenceSeconds * 1000L;
+    }
+
+    /**
+     * lease 를 연장한다. 이전 lease 가 다른 서버가 다시 읽기 전에 끝났을 수 있으면 fence 부터 다시 기다린다.
+     */
+    public synchronized void renew() {
+        long until = clock.millis() + leaseSeconds * 1000L;
+        try {
+            extend(LocalDateTime.ofInstant(Instant.ofEpochMilli(until), clock.getZone()));
+        } catch (DataAccessException e) {
+            log.warn("redis fallback lease could not be renewed", e);
+            return;
+        }
+        long written = clock.millis();
+        if (leaseUntil < written + cacheMillis) {
+            fencedAt = written + fenceSeconds * 1000L;
+            log.info("redis fallback lease started. db claims allowed after {} seconds", fenceSeconds);
+        }
+        leaseUntil = until;
+    }
+
+    /**
+     * DB 만으로 점유한 구간을 기록한다. 커밋되면 Redis 에 채울 목록에 넣고, 롤백되면 버린다.
+     */
+    public void claim(Long resourceId, List<Period> periods, boolean shared) {
+        DeferredSlots claimed = shared
+                ? new DeferredSlots(Map.of(), Map.of(resourceId, periods))
+                : new DeferredSlots(Map.of(resourceId, periods), Map.of());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addClaims(claimed);
+            return;
+        }
+        inFlight.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    addClaims(claimed);
+                }
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * 아직 끝나지 않았거나 Redis 에 채우지 않은 DB 점유가 있으면 true. 그동안은 lease 를 연장해야 한다.
+     */
+    public synchronized boolean hasUnflushedClaims() {
+        return inFlight.get() > 0 || !claims.isEmpty();
+    }
+
+    public synchronized DeferredSlots drainClaims() {
+        DeferredSlots drained = claims;
+        claims = DeferredSlots.empty();
+        return drained;
+    }
+
+    /**
+     * Redis 에 채우지 못한 점유를 되돌린다. 다시 채워도 슬롯을 더 막을 뿐 겹치게 하지는 않는다.
+     */
+    public synchronized void addClaims(DeferredSlots unflushed) {
+        claims = claims.merge(unflushed);
+    }
+
+    private void extend(LocalDateTime until) {
+        if (redisFallbackLeaseRepository.extend(RedisFallbackLease.ID, until) > 0
+                || redisFallbackLeaseRepository.existsById(RedisFallbackLease.ID)) {
+            return;
+        }
+        try {
+            redisFallbackLeaseRepository.save(new RedisFallbackLease(until));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 먼저 만들었다.
+            redisFallbackLeaseRepository.extend(RedisFallbackLease.ID, until);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,193 @@
+package com.dp.dplanner.service.concurrency;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.RedisReservationService;
+import com.dp.dplanner.service.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static com.dp.dplanner.exception.ErrorResult.RESERVATION_CONFLICT;
+import static com.dp.dplanner.exception.ErrorResult.RESERVATION_TEMPORARILY_UNAVAILABLE;
+import static com.dp.dplanner.exception.ErrorResult.RESERVATION_UNAVAILABLE;
+import static com.dp.dplanner.exception.ErrorResult.RESOURCE_NOT_FOUND;
+
+/**
+ * Redis 슬롯 비트맵 (정원이 있는 리소스는 슬롯별 점유 수) 을 Lua 스크립트 한 번으로 검사하고 점유한다.
+ * 서버가 여러 대여도 Redis 하나에서 직렬화되고, 평소에는 DB 락을 잡지 않는다.
+ * Redis 가 응답하지 않으면 (circuit breaker 가 열리면) 리소스 row 락을 잡고 DB 에서 다시 검사해 점유한다. (RedisFallback)
+ * - DB 로 점유하는 서버가 있는 동안에는 다른 서버도 row 락을 잡고 DB 에서 검사한 뒤 Redis 로 점유한다.
+ * - 다른 서버가 이를 알기 전 (fence) 에는 거절한다. (RESERVATION_TEMPORARILY_UNAVAILABLE)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.concurrency.strategy", havingValue = "redis", matchIfMissing = true)
+public class RedisSlotConcurrencyStrategy implements ReservationConcurrencyStrategy {
+
+    private final RedisReservationService redisReservationService;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final RedisFallback redisFallback;
+    private final ResourceRepository resourceRepository;
+    private final ReservationRepository reservationRepository;
+
+    @Override
+    public void acquire(Resource resource, List<Period> periods) {
+        Long resourceId = resource.getId();
+        if (redisCircuitBreaker.isOpen()) {
+            claimWithoutRedis(resource, periods);
+            return;
+        }
+        if (redisFallback.isActive()) {
+            lockAndCheck(resource, periods);
+        }
+        claim(resource, periods, resource.isShared(), () -> {
+            if (resource.isShared()) {
+                return redisReservationService.saveSharedReservations(periods, resourceId, resource.getCapacity());
+            }
+            if (periods.size() == 1) {
+                return redisReservationService.saveReservation(periods.get(0).getStartDateTime(), periods.get(0).getEndDateTime(), resourceId);
+            }
+            return redisReservationService.saveReservations(periods, resourceId);
+        });
+    }
+
+    /**
+     * 예약들의 슬롯을 리소스 종류별 스크립트로 나누어 한 번의 왕복으로 해제한다.
+     */
+    @Override
+    public void release(List<Reservation> reservations) {
+        Map<Boolean, Map<Long, List<Period>>> periods = reservations.stream()
+                .collect(Collectors.partitioningBy(reservation -> reservation.getResource().isShared(),
+                        Collectors.groupingBy(reservation -> reservation.getResource().getId(),
+                                Collectors.mapping(Reservation::getPeriod, Collectors.toList()))));
+        release(periods.get(false), periods.get(true), false);
+    }
+
+    /**
+     * hold 는 Redis 에만 있으므로 장애 중에는 받지 않는다.
+     */
+    @Override
+    public boolean supportsHold() {
+        return !redisCircuitBreaker.isOpen();
+    }
+
+    /**
+     * 호출한 쪽은 hold 를 믿고 겹침 검사를 생략하므로, Redis 가 응답하지 않으면 거절한다.
+     * DB 로 점유하는 서버가 있으면 그 점유는 hold 와 겹칠 수 있으므로 row 락을 잡고 DB 에서도 검사한다.
+     */
+    @Override
+    public void convertHold(String holdId, Long clubMemberId, Resource resource, Period period) {
+        if (!redisCircuitBreaker.isOpen() && redisFallback.isActive()) {
+            lockAndCheck(resource, List.of(period));
+        }
+        claim(resource, List.of(period), false, () ->
+                redisReservationService.convertHold(holdId, clubMemberId, period.getStartDateTime(), period.getEndDateTime(), resource.getId()));
+    }
+
+    /**
+     * fence 가 지나기 전에는 다른 서버가 아직 Redis 만으로 점유하고 있을 수 있으므로 거절한다.
+     * 점유한 구간은 커밋된 뒤 Redis 가 복구되면 채운다.
+     */
+    private void claimWithoutRedis(Resource resource, List<Period> periods) {
+        if (!redisFallback.isFenced()) {
+            throw new ServiceException(RESERVATION_TEMPORARILY_UNAVAILABLE);
+        }
+        lockAndCheck(resource, periods);
+        redisFallback.claim(resource.getId(), periods, resource.isShared());
+    }
+
+    /**
+     * 리소스 row 락은 트랜잭션이 끝날 때 풀리므로, 락을 잡은 요청끼리는 커밋 순서대로 직렬화된다.
+     */
+    private void lockAndCheck(Resource resource, List<Period> periods) {
+        try {
+            resourceRepository.findByIdForUpdate(resource.getId())
+                    .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+        } catch (PessimisticLockingFailureException e) {
+            throw new ServiceException(RESERVATION_CONFLICT);
+        }
+        ReservedPeriods.checkIsAvailable(reservationRepository, resource, periods);
+    }
+
+    private void claim(Resource resource, List<Period> periods, boolean shared, BooleanSupplier claim) {
+        boolean claimed = redisCircuitBreaker.call(() -> {
+            if (!claim.getAsBoolean()) {
+                throw new ServiceException(RESERVATION_UNAVAILABLE);
+            }
+            return true;
+        }, () -> false);
+        if (!claimed) {
+            // 스크립트가 실행되었다면 슬롯이 남지만, 남은 슬롯은 예약을 막을 뿐 겹치게 하지는 않는다.
+            throw new ServiceException(RESERVATION_TEMPORARILY_UNAVAILABLE);
+        }
+        releaseOnRollback(resource.getId(), periods, shared);
+    }
+
+    /**
+     * 열려 있어 보내지 않은 해제는 트랜잭션이 커밋된 뒤 모아 두었다가 복구 시 다시 보낸다.
+     * 보냈다가 실패한 해제는 실행되었는지 알 수 없으므로 다시 보내지 않는다. (남은 슬롯은 예약을 막을 뿐이다.)
+     * @param completed : 트랜잭션이 이미 끝났으면 true
+     */
+    private void release(Map<Long, List<Period>> exclusivePeriods, Map<Long, List<Period>> sharedPeriods, boolean completed) {
+        if (redisCircuitBreaker.isOpen()) {
+            Runnable defer = () -> redisCircuitBreaker.deferRelease(exclusivePeriods, sharedPeriods);
+            if (completed) {
+                defer.run();
+            } else {
+                afterCommit(defer);
+            }
+            return;
+        }
+        redisCircuitBreaker.run(() -> redisReservationService.releaseSlots(exclusivePeriods, sharedPeriods),
+                () -> log.warn("slot release was not confirmed. exclusive : {}, shared : {}", exclusivePeriods.keySet(), sharedPeriods.keySet()));
+    }
+
+    /**
+     * 슬롯은 그날이 끝날 때까지 유지되므로, 점유 후 트랜잭션이 롤백되면 바로 해제한다.
+     */
+    private void releaseOnRollback(Long resourceId, List<Period> periods, boolean shared) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                if (shared) {
+                    release(Map.of(), Map.of(resourceId, periods), true);
+                } else {
+                    release(Map.of(resourceId, periods), Map.of(), true);
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.dp.dplanner.service.concurrency;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.service.exception.ServiceException;
+
+import java.util.List;
+
+import static com.dp.dplanner.exception.ErrorResult.REQUEST_IS_INVALID;
+
+/**
+ * 같은 시간에 동시에 들어온 예약 요청 중 하나만 저장되도록 막는 방법
+ * reservation.concurrency.strategy 로 선택한다.
+ * - redis (기본값) : Redis 슬롯 점유 스크립트
+ * - db-pessimistic : 리소스 row 비관적 락 후 DB 재검사
+ * - jvm-striped : 리소스별 JVM 락 후 DB 재검사 (서버가 한 대일 때만 안전)
+ */
+public interface ReservationConcurrencyStrategy {
+
+    /**
+     * 예약 구간을 점유한다. 다른 예약과 겹치거나 정원이 찼으면 RESERVATION_UNAVAILABLE
+     * 점유는 호출한 트랜잭션이 끝날 때까지 유효하고, 롤백되면 해제된다.
+     */
+    void acquire(Resource resource, List<Period> periods);
+
+    /**
+     * 취소/삭제/거절된 예약의 점유를 해제한다.
+     */
+    void release(List<Reservation> reservations);
+
+    /**
+     * hold (예약 입력 중 시간 잡아 두기) 를 지원하는지
+     */
+    default boolean supportsHold() {
+        return false;
+    }
+
+    /**
+     * 회원의 hold 를 예약 점유로 전환한다. hold 가 만료되었거나 구간이 다르면 RESERVATION_UNAVAILABLE
+     */
+    default void convertHold(String holdId, Long clubMemberId, Resource resource, Period period) {
+        throw new ServiceException(REQUEST_IS_INVALID);
+    }
+}
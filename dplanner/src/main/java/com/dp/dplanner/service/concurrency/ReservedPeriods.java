@@ -0,0 +1,30 @@
+package com.dp.dplanner.service.concurrency;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.service.exception.ServiceException;
+
+import java.util.List;
+
+import static com.dp.dplanner.exception.ErrorResult.RESERVATION_UNAVAILABLE;
+
+/**
+ * 락을 잡은 뒤 DB 에서 다시 검사한다. 락을 잡기 전에 커밋된 예약까지 보이므로 검사와 저장 사이에 끼어드는 요청이 없다.
+ */
+final class ReservedPeriods {
+
+    private ReservedPeriods() {
+    }
+
+    static void checkIsAvailable(ReservationRepository reservationRepository, Resource resource, List<Period> periods) {
+        for (Period period : periods) {
+            boolean unavailable = resource.isShared()
+                    ? reservationRepository.countMaxOverlapBetween(resource.getId(), period.getStartDateTime(), period.getEndDateTime()) >= resource.getCapacity()
+                    : reservationRepository.existsBetween(period.getStartDateTime(), period.getEndDateTime(), resource.getId());
+            if (unavailable) {
+                throw new ServiceException(RESERVATION_UNAVAILABLE);
+            }
+        }
+    }
+}
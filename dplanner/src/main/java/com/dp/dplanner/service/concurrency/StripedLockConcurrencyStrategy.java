@@ -0,0 +1,86 @@
+package com.dp.dplanner.service.concurrency;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.service.exception.ServiceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.dp.dplanner.exception.ErrorResult.RESERVATION_CONFLICT;
+
+/**
+ * 리소스 id 로 고른 JVM 락을 트랜잭션이 끝날 때까지 잡고 DB 에서 다시 검사한다.
+ * 네트워크 왕복이 없어 가장 빠르지만 같은 JVM 안의 요청끼리만 막으므로 서버가 한 대일 때만 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.concurrency.strategy", havingValue = "jvm-striped")
+public class StripedLockConcurrencyStrategy implements ReservationConcurrencyStrategy {
+
+    private static final int STRIPES = 64;
+
+    private final ReservationRepository reservationRepository;
+    private final ReentrantLock[] locks = newLocks();
+
+    @Value("${reservation.concurrency.lock-timeout-millis:3000}")
+    private long lockTimeoutMillis;
+
+    @Override
+    public void acquire(Resource resource, List<Period> periods) {
+        ReentrantLock lock = lockOf(resource.getId());
+        try {
+            if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ServiceException(RESERVATION_CONFLICT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(RESERVATION_CONFLICT);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                ReservedPeriods.checkIsAvailable(reservationRepository, resource, periods);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        // 커밋된 뒤에 풀어야 다음 요청의 재검사에 이 예약이 보인다.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        ReservedPeriods.checkIsAvailable(reservationRepository, resource, periods);
+    }
+
+    /**
+     * DB 의 예약이 곧 점유이므로 따로 해제할 것이 없다.
+     */
+    @Override
+    public void release(List<Reservation> reservations) {
+    }
+
+    ReentrantLock lockOf(Long resourceId) {
+        return locks[Math.floorMod(resourceId.hashCode(), STRIPES)];
+    }
+
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dp.dplanner.service.event;
+
+import com.dp.dplanner.domain.Lock;
+import com.dp.dplanner.domain.Period;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 락 변경 이벤트. LockService 에서 발행하고 커밋 이후 인덱스/캐시 등이 구독한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LockEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long lockId;
+    private final Long resourceId;
+    private final Long clubId;
+    private final LocalDateTime startDateTime;
+    private final LocalDateTime endDateTime;
+    private final String message;
+    // UPDATED 인 경우 변경 전 기간
+    private final LocalDateTime previousStartDateTime;
+    private final LocalDateTime previousEndDateTime;
+
+    public static LockEvent of(Type type, Lock lock) {
+        return new LockEvent(
+                type,
+                lock.getId(),
+                lock.getResource().getId(),
+                lock.getResource().getClub().getId(),
+                lock.getPeriod().getStartDateTime(),
+                lock.getPeriod().getEndDateTime(),
+                lock.getMessage(),
+                null,
+                null);
+    }
+
+    public static LockEvent updated(Lock lock, Period previousPeriod) {
+        return new LockEvent(
+                Type.UPDATED,
+                lock.getId(),
+                lock.getResource().getId(),
+                lock.getResource().getClub().getId(),
+                lock.getPeriod().getStartDateTime(),
+                lock.getPeriod().getEndDateTime(),
+                lock.getMessage(),
+                previousPeriod.getStartDateTime(),
+                previousPeriod.getEndDateTime());
+    }
+}
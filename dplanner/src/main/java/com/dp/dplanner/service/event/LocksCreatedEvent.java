@@ -0,0 +1,33 @@
+package com.dp.dplanner.service.event;
+
+import com.dp.dplanner.domain.Lock;
+import com.dp.dplanner.domain.Period;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 락을 한 번에 생성했을 때의 이벤트. 구독자는 락마다 처리하거나 (인덱스, push) 한 번에 처리한다. (Redis 슬롯)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LocksCreatedEvent {
+
+    private final List<LockEvent> events;
+
+    public static LocksCreatedEvent of(List<Lock> locks) {
+        return new LocksCreatedEvent(locks.stream().map(lock -> LockEvent.of(LockEvent.Type.CREATED, lock)).toList());
+    }
+
+    public Map<Long, List<Period>> getPeriodsByResource() {
+        Map<Long, List<Period>> periodsByResource = new LinkedHashMap<>();
+        events.forEach(event -> periodsByResource.computeIfAbsent(event.getResourceId(), id -> new ArrayList<>())
+                .add(new Period(event.getStartDateTime(), event.getEndDateTime())));
+        return periodsByResource;
+    }
+}
@@ -0,0 +1,63 @@
+package com.dp.dplanner.service.event;
+
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.ReservationStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 상태 변경 이벤트. ReservationService 에서 발행하고 커밋 이후 인덱스/캐시 등이 구독한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReservationEvent {
+
+    public enum Type {
+        CREATED, UPDATED, CONFIRMED, REJECTED, DELETED
+    }
+
+    private final Type type;
+    private final Long reservationId;
+    private final Long resourceId;
+    private final Long clubId;
+    private final LocalDateTime startDateTime;
+    private final LocalDateTime endDateTime;
+    // 이벤트 발생 시점의 예약 주인, (이벤트로 바뀐) 상태, 반납 여부
+    private final Long clubMemberId;
+    private final ReservationStatus status;
+    private final boolean returned;
+
+    public static ReservationEvent of(Type type, Reservation reservation) {
+        return new ReservationEvent(
+                type,
+                reservation.getId(),
+                reservation.getResource().getId(),
+                reservation.getResource().getClub().getId(),
+                reservation.getPeriod().getStartDateTime(),
+                reservation.getPeriod().getEndDateTime(),
+                reservation.getClubMember() == null ? null : reservation.getClubMember().getId(),
+                targetStatus(type, reservation),
+                reservation.isReturned());
+    }
+
+    /**
+     * 일괄 승인/거절은 update 쿼리로 상태를 바꾸므로 엔티티의 상태가 아직 이전 상태일 수 있다. 이벤트 종류로 바뀔 상태를 정한다.
+     */
+    private static ReservationStatus targetStatus(Type type, Reservation reservation) {
+        return switch (type) {
+            case CONFIRMED -> ReservationStatus.CONFIRMED;
+            case REJECTED -> ReservationStatus.REJECTED;
+            default -> reservation.getStatus();
+        };
+    }
+
+    /**
+     * 슬롯을 더 이상 점유하지 않는 이벤트인지 여부
+     */
+    public boolean isReleased() {
+        return type == Type.REJECTED || type == Type.DELETED;
+    }
+}
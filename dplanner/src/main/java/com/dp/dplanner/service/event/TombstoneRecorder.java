@@ -0,0 +1,34 @@
+package com.dp.dplanner.service.event;
+
+import com.dp.dplanner.domain.Tombstone;
+import com.dp.dplanner.domain.TombstoneType;
+import com.dp.dplanner.repository.TombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 예약/락 삭제 시 삭제 기록을 남긴다.
+ * 삭제와 같은 트랜잭션에서 저장되도록 커밋 직전에 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TombstoneRecorder {
+
+    private final TombstoneRepository tombstoneRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReservationEvent(ReservationEvent event) {
+        if (event.getType() == ReservationEvent.Type.DELETED) {
+            tombstoneRepository.save(new Tombstone(TombstoneType.RESERVATION, event.getReservationId(), event.getResourceId()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onLockEvent(LockEvent event) {
+        if (event.getType() == LockEvent.Type.DELETED) {
+            tombstoneRepository.save(new Tombstone(TombstoneType.LOCK, event.getLockId(), event.getResourceId()));
+        }
+    }
+}
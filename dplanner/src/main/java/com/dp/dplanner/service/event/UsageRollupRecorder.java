@@ -0,0 +1,118 @@
+package com.dp.dplanner.service.event;
+
+import com.dp.dplanner.domain.MemberUsage;
+import com.dp.dplanner.domain.ReservationStatus;
+import com.dp.dplanner.domain.ReservationUsage;
+import com.dp.dplanner.domain.ResourceUsage;
+import com.dp.dplanner.repository.MemberUsageRepository;
+import com.dp.dplanner.repository.ReservationUsageRepository;
+import com.dp.dplanner.repository.ResourceUsageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 예약 상태 변경 시 리소스/회원 이용 통계를 증감한다.
+ * 승인된 예약만 집계하며, 마지막으로 반영한 상태(ReservationUsage)를 빼고 새 상태를 더한다.
+ * 예약 변경과 같은 트랜잭션에서 반영되도록 커밋 직전에 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UsageRollupRecorder {
+
+    private final ResourceUsageRepository resourceUsageRepository;
+    private final MemberUsageRepository memberUsageRepository;
+    private final ReservationUsageRepository reservationUsageRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    @Transactional
+    public void onReservationEvent(ReservationEvent event) {
+        boolean counted = !event.isReleased() && event.getStatus() == ReservationStatus.CONFIRMED;
+        ReservationUsage previous = reservationUsageRepository.findById(event.getReservationId()).orElse(null);
+
+        if (previous != null && counted && previous.isSame(event.getClubMemberId(), event.isReturned())) {
+            return;
+        }
+        if (previous != null) {
+            apply(event, previous.getClubMemberId(), previous.isReturned(), -1);
+        }
+        if (counted) {
+            apply(event, event.getClubMemberId(), event.isReturned(), 1);
+            if (previous == null) {
+                reservationUsageRepository.save(new ReservationUsage(event.getReservationId(), event.getClubMemberId(), event.isReturned()));
+            } else {
+                previous.update(event.getClubMemberId(), event.isReturned());
+            }
+        } else if (previous != null) {
+            reservationUsageRepository.delete(previous);
+        }
+    }
+
+    /**
+     * 예약 시간을 시간 단위로 나누어 sign 만큼 더한다. 예약 수와 반납 수는 시작 시간/시작 일자에만 더한다.
+     */
+    private void apply(ReservationEvent event, Long clubMemberId, boolean returned, int sign) {
+        LocalDateTime start = event.getStartDateTime();
+        LocalDateTime end = event.getEndDateTime();
+        long returnedCount = returned ? sign : 0;
+
+        LocalDateTime startHour = start.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime hour = startHour;
+        while (hour.isBefore(end)) {
+            LocalDateTime next = hour.plusHours(1);
+            long minutes = minutesBetween(start.isAfter(hour) ? start : hour, end.isBefore(next) ? end : next);
+            boolean first = hour.equals(startHour);
+            incrementResource(event, hour.toLocalDate(), hour.getHour(), sign * minutes, first ? sign : 0, first ? returnedCount : 0);
+            hour = next;
+        }
+
+        LocalDate day = start.toLocalDate();
+        while (day.atStartOfDay().isBefore(end)) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            LocalDateTime dayEnd = day.plusDays(1).atStartOfDay();
+            long minutes = minutesBetween(start.isAfter(dayStart) ? start : dayStart, end.isBefore(dayEnd) ? end : dayEnd);
+            boolean first = day.equals(start.toLocalDate());
+            incrementMember(event, clubMemberId, day, sign * minutes, first ? sign : 0, first ? returnedCount : 0);
+            day = day.plusDays(1);
+        }
+    }
+
+    private void incrementResource(ReservationEvent event, LocalDate date, int hour, long minutes, long count, long returned) {
+        if (resourceUsageRepository.increment(event.getResourceId(), date, hour, minutes, count, returned) == 0) {
+            resourceUsageRepository.save(ResourceUsage.builder()
+                    .clubId(event.getClubId())
+                    .resourceId(event.getResourceId())
+                    .usageDate(date)
+                    .usageHour(hour)
+                    .reservedMinutes(minutes)
+                    .reservationCount(count)
+                    .returnedCount(returned)
+                    .build());
+        }
+    }
+
+    private void incrementMember(ReservationEvent event, Long clubMemberId, LocalDate date, long minutes, long count, long returned) {
+        if (memberUsageRepository.increment(event.getResourceId(), date, clubMemberId, minutes, count, returned) == 0) {
+            memberUsageRepository.save(MemberUsage.builder()
+                    .clubId(event.getClubId())
+                    .resourceId(event.getResourceId())
+                    .usageDate(date)
+                    .clubMemberId(clubMemberId)
+                    .reservedMinutes(minutes)
+                    .reservationCount(count)
+                    .returnedCount(returned)
+                    .build());
+        }
+    }
+
+    private static long minutesBetween(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end).toMinutes();
+    }
+}
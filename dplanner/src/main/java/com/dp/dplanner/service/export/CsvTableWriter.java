@@ -0,0 +1,57 @@
+package com.dp.dplanner.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV
+ * - Excel 에서 한글이 깨지지 않도록 UTF-8 BOM 을 먼저 쓴다.
+ * - =, +, -, @ 로 시작하는 문자열은 수식으로 실행되지 않도록 ' 를 붙인다.
+ */
+public class CsvTableWriter implements TableWriter {
+
+    private static final char BOM = '\uFEFF';
+    private static final String CRLF = "\r\n";
+
+    private final Writer writer;
+
+    public CsvTableWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(BOM);
+    }
+
+    @Override
+    public void writeRow(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            writer.write(value instanceof Number ? value.toString() : quote(value.toString()));
+        }
+        writer.write(CRLF);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String quote(String value) {
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
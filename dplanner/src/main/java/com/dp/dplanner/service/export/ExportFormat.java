@@ -0,0 +1,21 @@
+package com.dp.dplanner.service.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    public TableWriter open(OutputStream out) throws IOException {
+        return this == CSV ? new CsvTableWriter(out) : new XlsxTableWriter(out);
+    }
+}
@@ -0,0 +1,13 @@
+package com.dp.dplanner.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 내보낼 출력 스트림. 권한 검사가 끝난 뒤에 열어야 오류 응답에 다운로드 헤더가 섞이지 않는다.
+ */
+@FunctionalInterface
+public interface ExportTarget {
+
+    OutputStream open(ExportFormat format) throws IOException;
+}
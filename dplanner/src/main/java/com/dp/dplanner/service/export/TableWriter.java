@@ -0,0 +1,14 @@
+package com.dp.dplanner.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 표 형식 내보내기. 한 줄씩 바로 출력하고 이미 쓴 줄은 들고 있지 않는다.
+ * Number 는 숫자로, null 은 빈 칸으로, 나머지는 문자열로 쓴다.
+ */
+public interface TableWriter extends Closeable {
+
+    void writeRow(List<?> values) throws IOException;
+}
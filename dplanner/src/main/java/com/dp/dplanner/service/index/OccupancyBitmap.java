@@ -0,0 +1,132 @@
+package com.dp.dplanner.service.index;
+
+import com.dp.dplanner.domain.Period;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * [from, to) 구간을 slotMinutes 분 단위 슬롯으로 나눈 점유 bitmap.
+ * 예약/락/예약 가능 기간을 모두 점유로 표시한 뒤 비어 있는 슬롯을 이어 붙여 빈 시간대를 구한다.
+ * 슬롯 경계에 걸친 기간은 슬롯 전체를 점유한다.
+ * 정원이 있는 리소스는 슬롯별 예약 수를 세어 정원이 찬 슬롯만 점유로 표시한다.
+ */
+public final class OccupancyBitmap {
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final int slotMinutes;
+    private final int size;
+    private final int capacity;
+    private final BitSet occupied;
+    // 정원이 있을 때만 사용하는 슬롯별 예약 수
+    private final int[] counts;
+
+    private OccupancyBitmap(LocalDateTime from, LocalDateTime to, int slotMinutes, int capacity) {
+        this.from = from;
+        this.to = to;
+        this.slotMinutes = slotMinutes;
+        this.size = (int) ((Duration.between(from, to).toMinutes() + slotMinutes - 1) / slotMinutes);
+        this.capacity = capacity;
+        this.occupied = new BitSet(size);
+        this.counts = capacity > 1 ? new int[size] : null;
+    }
+
+    public static OccupancyBitmap of(LocalDateTime from, LocalDateTime to, int slotMinutes) {
+        return new OccupancyBitmap(from, to, slotMinutes, 1);
+    }
+
+    /**
+     * @param capacity : 한 슬롯에 동시에 들어갈 수 있는 예약 수. null 이면 1
+     */
+    public static OccupancyBitmap of(LocalDateTime from, LocalDateTime to, int slotMinutes, Integer capacity) {
+        return new OccupancyBitmap(from, to, slotMinutes, capacity == null ? 1 : capacity);
+    }
+
+    /**
+     * 예약 하나를 더한다. 정원이 없으면 occupy 와 같고, 있으면 예약 수가 정원에 닿은 슬롯만 점유한다.
+     */
+    public void reserve(LocalDateTime start, LocalDateTime end) {
+        if (counts == null) {
+            occupy(start, end);
+            return;
+        }
+        int fromSlot = Math.max(0, floorSlot(start));
+        int toSlot = Math.min(size, ceilSlot(end));
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            if (++counts[slot] >= capacity) {
+                occupied.set(slot);
+            }
+        }
+    }
+
+    /**
+     * 정원과 관계없이 점유한다. (락, 지난 시간, 예약 가능 기간 이후)
+     */
+    public void occupy(LocalDateTime start, LocalDateTime end) {
+        int fromSlot = Math.max(0, floorSlot(start));
+        int toSlot = Math.min(size, ceilSlot(end));
+        if (fromSlot < toSlot) {
+            occupied.set(fromSlot, toSlot);
+        }
+    }
+
+    public void occupyUntil(LocalDateTime end) {
+        occupy(from, end);
+    }
+
+    public void occupyFrom(LocalDateTime start) {
+        occupy(start, to);
+    }
+
+    /**
+     * 비어 있는 연속 구간 목록 (시작 시간 순)
+     */
+    public List<Period> freePeriods() {
+        List<Period> periods = new ArrayList<>();
+        int start = occupied.nextClearBit(0);
+        while (start < size) {
+            int next = occupied.nextSetBit(start);
+            int end = next < 0 ? size : Math.min(size, next);
+            periods.add(new Period(toTime(start), toTime(end)));
+            start = occupied.nextClearBit(end);
+        }
+        return periods;
+    }
+
+    /**
+     * [start, end) 가 모두 비어 있으면 그 구간을 포함하는 가장 큰 빈 구간, 하나라도 점유되어 있으면 null
+     */
+    public Period freePeriodContaining(LocalDateTime start, LocalDateTime end) {
+        int fromSlot = floorSlot(start);
+        int toSlot = ceilSlot(end);
+        if (fromSlot < 0 || toSlot > size || fromSlot >= toSlot) {
+            return null;
+        }
+        int next = occupied.nextSetBit(fromSlot);
+        if (next >= 0 && next < toSlot) {
+            return null;
+        }
+        int gapStart = fromSlot == 0 ? 0 : occupied.previousSetBit(fromSlot - 1) + 1;
+        int gapEnd = next < 0 ? size : Math.min(size, next);
+        return new Period(toTime(gapStart), toTime(gapEnd));
+    }
+
+    private int floorSlot(LocalDateTime time) {
+        long minutes = Duration.between(from, time).toMinutes();
+        return (int) Math.max(Integer.MIN_VALUE, Math.floorDiv(minutes, slotMinutes));
+    }
+
+    private int ceilSlot(LocalDateTime time) {
+        long minutes = Duration.between(from, time).toMinutes();
+        return (int) Math.min(Integer.MAX_VALUE, Math.floorDiv(minutes + slotMinutes - 1, slotMinutes));
+    }
+
+    private LocalDateTime toTime(int slot) {
+        LocalDateTime time = from.plusMinutes((long) slot * slotMinutes);
+        return time.isAfter(to) ? to : time;
+    }
+}
@@ -0,0 +1,282 @@
+package com.dp.dplanner.service.index;
+
+import com.dp.dplanner.repository.LockPeriodView;
+import com.dp.dplanner.repository.PeriodView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.dp.dplanner.adapter.dto.LockDto.Response;
+
+/**
+ * 리소스 하나의 예약/락 기간을 시작 시간 순으로 정렬한 배열로 보관하는 불변 타임라인. 락은 메시지도 함께 보관한다.
+ * 변경 시에는 새 인스턴스를 만들어 교체한다 (copy-on-write).
+ */
+public final class ResourceTimeline {
+
+    private final long loadedFrom;
+    private final long loadedAt;
+    private final Intervals reservations;
+    private final Intervals locks;
+
+    private ResourceTimeline(long loadedFrom, long loadedAt, Intervals reservations, Intervals locks) {
+        this.loadedFrom = loadedFrom;
+        this.loadedAt = loadedAt;
+        this.reservations = reservations;
+        this.locks = locks;
+    }
+
+    /**
+     * @param loadedFrom   : 이 시각 이후에 끝나는 기간만 적재되어 있음
+     * @param loadedAt     : 적재 시각 (epoch millis)
+     * @param locks        : LockPeriodView 이면 메시지도 함께 보관한다
+     */
+    public static ResourceTimeline of(LocalDateTime loadedFrom, long loadedAt, List<? extends PeriodView> reservations, List<? extends PeriodView> locks) {
+        return new ResourceTimeline(toEpoch(loadedFrom), loadedAt, Intervals.of(reservations), Intervals.of(locks));
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * 적재 범위 밖의 요청은 판단할 수 없으므로 false 를 반환한다.
+     */
+    public boolean hasReservationBetween(LocalDateTime start, LocalDateTime end) {
+        return covers(start) && reservations.overlaps(toEpoch(start), toEpoch(end));
+    }
+
+    public boolean hasLockBetween(LocalDateTime start, LocalDateTime end) {
+        return covers(start) && locks.overlaps(toEpoch(start), toEpoch(end));
+    }
+
+    /**
+     * [start, end) 와 겹치는 락을 시작 시간 순으로 반환한다. 적재 범위 밖의 요청은 판단할 수 없으므로 null 을 반환한다.
+     * @param cutoff : 이 시간 이후에 끝나는 락은 제외한다. null 이면 제외하지 않는다.
+     */
+    public List<Response> locksBetween(Long resourceId, LocalDateTime start, LocalDateTime end, LocalDateTime cutoff) {
+        if (!covers(start)) {
+            return null;
+        }
+        long from = toEpoch(start);
+        // cutoff 이후에 시작하는 락은 cutoff 이후에 끝나므로 범위의 상한을 함께 줄인다.
+        long to = cutoff == null ? toEpoch(end) : Math.min(toEpoch(end), toEpoch(cutoff));
+        long until = cutoff == null ? Long.MAX_VALUE : toEpoch(cutoff);
+
+        List<Response> responses = new ArrayList<>();
+        for (int i = locks.firstEndingAfter(from); i <= locks.lastStartingBefore(to); i++) {
+            if (locks.ends[i] > from && locks.ends[i] <= until) {
+                responses.add(Response.builder()
+                        .id(locks.ids[i])
+                        .resourceId(resourceId)
+                        .message(locks.messages[i])
+                        .startDateTime(toDateTime(locks.starts[i]))
+                        .endDateTime(toDateTime(locks.ends[i]))
+                        .build());
+            }
+        }
+        return responses;
+    }
+
+    public int reservationCount() {
+        return reservations.size();
+    }
+
+    public int lockCount() {
+        return locks.size();
+    }
+
+    public ResourceTimeline withReservation(Long id, LocalDateTime start, LocalDateTime end) {
+        return new ResourceTimeline(loadedFrom, loadedAt, reservations.without(id).with(id, toEpoch(start), toEpoch(end), null), locks);
+    }
+
+    public ResourceTimeline withoutReservation(Long id) {
+        return new ResourceTimeline(loadedFrom, loadedAt, reservations.without(id), locks);
+    }
+
+    public ResourceTimeline withLock(Long id, LocalDateTime start, LocalDateTime end, String message) {
+        return new ResourceTimeline(loadedFrom, loadedAt, reservations, locks.without(id).with(id, toEpoch(start), toEpoch(end), message));
+    }
+
+    public ResourceTimeline withoutLock(Long id) {
+        return new ResourceTimeline(loadedFrom, loadedAt, reservations, locks.without(id));
+    }
+
+    private boolean covers(LocalDateTime start) {
+        return toEpoch(start) >= loadedFrom;
+    }
+
+    private static long toEpoch(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * 시작 시간 기준 정렬 배열 + 종료 시간의 prefix max.
+     * [start, end) 와 겹치는 기간이 있는지는 start < end 인 마지막 원소까지의 최대 종료 시간으로 O(log n) 에 판단한다.
+     */
+    static final class Intervals {
+
+        private static final Intervals EMPTY = new Intervals(new long[0], new long[0], new long[0], new long[0], new String[0]);
+
+        private final long[] ids;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+        // 락 메시지, 예약은 null
+        private final String[] messages;
+
+        private Intervals(long[] ids, long[] starts, long[] ends, long[] maxEnds, String[] messages) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+            this.messages = messages;
+        }
+
+        static Intervals of(List<? extends PeriodView> periods) {
+            if (periods.isEmpty()) {
+                return EMPTY;
+            }
+            long[] ids = new long[periods.size()];
+            long[] starts = new long[periods.size()];
+            long[] ends = new long[periods.size()];
+            String[] messages = new String[periods.size()];
+            for (int i = 0; i < periods.size(); i++) {
+                PeriodView period = periods.get(i);
+                ids[i] = period.getId();
+                starts[i] = toEpoch(period.getStartDateTime());
+                ends[i] = toEpoch(period.getEndDateTime());
+                messages[i] = period instanceof LockPeriodView lock ? lock.getMessage() : null;
+            }
+            return sorted(ids, starts, ends, messages);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        boolean overlaps(long start, long end) {
+            int last = lastStartingBefore(end);
+            return last >= 0 && maxEnds[last] > start;
+        }
+
+        Intervals with(long id, long start, long end, String message) {
+            int at = lastStartingBefore(start + 1) + 1;
+            int n = ids.length;
+            long[] newIds = new long[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            String[] newMessages = new String[n + 1];
+            System.arraycopy(ids, 0, newIds, 0, at);
+            System.arraycopy(starts, 0, newStarts, 0, at);
+            System.arraycopy(ends, 0, newEnds, 0, at);
+            System.arraycopy(messages, 0, newMessages, 0, at);
+            newIds[at] = id;
+            newStarts[at] = start;
+            newEnds[at] = end;
+            newMessages[at] = message;
+            System.arraycopy(ids, at, newIds, at + 1, n - at);
+            System.arraycopy(starts, at, newStarts, at + 1, n - at);
+            System.arraycopy(ends, at, newEnds, at + 1, n - at);
+            System.arraycopy(messages, at, newMessages, at + 1, n - at);
+            return new Intervals(newIds, newStarts, newEnds, prefixMax(newEnds), newMessages);
+        }
+
+        Intervals without(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    long[] newIds = remove(ids, i);
+                    long[] newEnds = remove(ends, i);
+                    return new Intervals(newIds, remove(starts, i), newEnds, prefixMax(newEnds), remove(messages, i));
+                }
+            }
+            return this;
+        }
+
+        /**
+         * maxEnds[i] > time 을 만족하는 첫 인덱스, 없으면 길이
+         */
+        private int firstEndingAfter(long time) {
+            int low = 0;
+            int high = maxEnds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxEnds[mid] > time) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * starts[i] < time 을 만족하는 마지막 인덱스, 없으면 -1
+         */
+        private int lastStartingBefore(long time) {
+            int low = 0;
+            int high = starts.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < time) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        private static Intervals sorted(long[] ids, long[] starts, long[] ends, String[] messages) {
+            Integer[] order = new Integer[ids.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+            long[] sortedIds = new long[ids.length];
+            long[] sortedStarts = new long[ids.length];
+            long[] sortedEnds = new long[ids.length];
+            String[] sortedMessages = new String[ids.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedStarts[i] = starts[order[i]];
+                sortedEnds[i] = ends[order[i]];
+                sortedMessages[i] = messages[order[i]];
+            }
+            return new Intervals(sortedIds, sortedStarts, sortedEnds, prefixMax(sortedEnds), sortedMessages);
+        }
+
+        private static long[] prefixMax(long[] ends) {
+            long[] maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+            return maxEnds;
+        }
+
+        private static long[] remove(long[] source, int index) {
+            long[] result = new long[source.length - 1];
+            System.arraycopy(source, 0, result, 0, index);
+            System.arraycopy(source, index + 1, result, index, source.length - index - 1);
+            return result;
+        }
+
+        private static String[] remove(String[] source, int index) {
+            String[] result = new String[source.length - 1];
+            System.arraycopy(source, 0, result, 0, index);
+            System.arraycopy(source, index + 1, result, index, source.length - index - 1);
+            return result;
+        }
+    }
+}
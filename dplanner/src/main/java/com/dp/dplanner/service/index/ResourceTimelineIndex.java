@@ -0,0 +1,152 @@
+package com.dp.dplanner.service.index;
+
+import com.dp.dplanner.repository.LockRepository;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker;
+import com.dp.dplanner.service.event.LockEvent;
+import com.dp.dplanner.service.event.LocksCreatedEvent;
+import com.dp.dplanner.service.event.ReservationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+import static com.dp.dplanner.adapter.dto.LockDto.Response;
+
+/**
+ * 리소스별 예약/락 기간 인메모리 인덱스.
+ * 겹침 여부를 DB 조회 전에 빠르게 판단하기 위한 용도이며, 최종 판단은 항상 DB 쿼리가 한다. 락 목록 조회에도 사용한다.
+ * - true  : 인덱스 기준으로 이미 점유된 시간
+ * - false : 점유되지 않았거나 인덱스로 판단할 수 없음 -> DB 에서 확인
+ * 인덱스는 서버마다 따로 가지므로, 변경이 커밋되면 Redis 의 리소스별 버전을 올리고 조회할 때마다 버전을 비교한다.
+ * 버전이 다르면 (다른 서버에서 바뀌었으면) 다시 적재하고, Redis 를 사용할 수 없으면 인덱스로 판단하지 않는다.
+ * 버전 key 는 만료시키지 않는다. (만료 후 0 부터 다시 올리면 이전 버전과 같아질 수 있음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResourceTimelineIndex {
+
+    private static final String VERSION_KEY_PREFIX = "timeline:";
+
+    private final ReservationRepository reservationRepository;
+    private final LockRepository lockRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final Clock clock;
+
+    // Redis 버전을 올리지 못했을 때 다른 서버에서 바뀐 내용이 반영되는 최대 시간
+    @Value("${reservation.index.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final ConcurrentMap<Long, Entry> timelines = new ConcurrentHashMap<>();
+
+    public boolean hasReservationBetween(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        ResourceTimeline timeline = getTimeline(resourceId);
+        return timeline != null && timeline.hasReservationBetween(start, end);
+    }
+
+    public boolean hasLockBetween(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        ResourceTimeline timeline = getTimeline(resourceId);
+        return timeline != null && timeline.hasLockBetween(start, end);
+    }
+
+    /**
+     * [start, end) 와 겹치는 락을 시작 시간 순으로 반환한다. 인덱스로 판단할 수 없으면 null 을 반환한다. -> DB 에서 조회
+     * @param cutoff : 이 시간 이후에 끝나는 락은 제외한다. null 이면 제외하지 않는다.
+     */
+    public List<Response> getLocks(Long resourceId, LocalDateTime start, LocalDateTime end, LocalDateTime cutoff) {
+        ResourceTimeline timeline = getTimeline(resourceId);
+        return timeline == null ? null : timeline.locksBetween(resourceId, start, end, cutoff);
+    }
+
+    public void evict(Long resourceId) {
+        timelines.remove(resourceId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationEvent(ReservationEvent event) {
+        if (event.isReleased()) {
+            apply(event.getResourceId(), timeline -> timeline.withoutReservation(event.getReservationId()));
+        } else {
+            apply(event.getResourceId(), timeline ->
+                    timeline.withReservation(event.getReservationId(), event.getStartDateTime(), event.getEndDateTime()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLockEvent(LockEvent event) {
+        if (event.getType() == LockEvent.Type.DELETED) {
+            apply(event.getResourceId(), timeline -> timeline.withoutLock(event.getLockId()));
+        } else {
+            apply(event.getResourceId(), timeline ->
+                    timeline.withLock(event.getLockId(), event.getStartDateTime(), event.getEndDateTime(), event.getMessage()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocksCreated(LocksCreatedEvent event) {
+        event.getEvents().forEach(this::onLockEvent);
+    }
+
+    /**
+     * 버전을 올리고, 이 서버의 인덱스가 바로 이전 버전이면 다시 적재하지 않고 변경만 반영한다. 아니면 버린다.
+     */
+    private void apply(Long resourceId, UnaryOperator<ResourceTimeline> change) {
+        Long version = redisCircuitBreaker.call(() -> redisTemplate.opsForValue().increment(versionKey(resourceId)), () -> null);
+        if (version == null) {
+            log.warn("resource timeline version was not increased. resourceId : {}", resourceId);
+            timelines.remove(resourceId);
+            return;
+        }
+        timelines.computeIfPresent(resourceId, (id, entry) ->
+                entry.version() == version - 1 ? new Entry(version, change.apply(entry.timeline())) : null);
+    }
+
+    /**
+     * 적재 전에 읽은 버전으로 저장하므로, 적재 도중 바뀌었다면 다음 조회에서 버전이 달라 다시 적재한다.
+     */
+    private ResourceTimeline getTimeline(Long resourceId) {
+        Long version = redisCircuitBreaker.call(() -> currentVersion(resourceId), () -> null);
+        if (version == null) {
+            return null;
+        }
+        long now = clock.millis();
+        Entry entry = timelines.get(resourceId);
+        if (entry != null && entry.version() == version && now - entry.timeline().getLoadedAt() < ttlSeconds * 1000) {
+            return entry.timeline();
+        }
+
+        LocalDateTime loadedFrom = LocalDate.now(clock).atStartOfDay();
+        ResourceTimeline loaded = ResourceTimeline.of(
+                loadedFrom,
+                now,
+                reservationRepository.findPeriodsAfter(resourceId, loadedFrom),
+                lockRepository.findPeriodsAfter(resourceId, loadedFrom));
+        timelines.put(resourceId, new Entry(version, loaded));
+        log.debug("resource timeline loaded. resourceId : {}, reservations : {}, locks : {}", resourceId, loaded.reservationCount(), loaded.lockCount());
+        return loaded;
+    }
+
+    private long currentVersion(Long resourceId) {
+        String version = redisTemplate.opsForValue().get(versionKey(resourceId));
+        return version == null ? 0L : Long.parseLong(version);
+    }
+
+    private static String versionKey(Long resourceId) {
+        return VERSION_KEY_PREFIX + resourceId + ":version";
+    }
+
+    private record Entry(long version, ResourceTimeline timeline) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.dp.dplanner.service.push;
+
+import com.dp.dplanner.service.event.LockEvent;
+import com.dp.dplanner.service.event.ReservationEvent;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄러 화면에 보내는 변경 알림. 화면은 이 알림을 받으면 해당 기간만 다시 조회한다.
+ * kind   : RESERVATION, LOCK
+ * type   : ReservationEvent.Type / LockEvent.Type
+ * status : 예약인 경우 이벤트 발생 시점의 상태
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SchedulerPushMessage {
+
+    public static final String RESERVATION = "RESERVATION";
+    public static final String LOCK = "LOCK";
+
+    private String kind;
+    private String type;
+    private Long id;
+    private Long clubId;
+    private Long resourceId;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+    private String status;
+
+    public static SchedulerPushMessage of(ReservationEvent event) {
+        return SchedulerPushMessage.builder()
+                .kind(RESERVATION)
+                .type(event.getType().name())
+                .id(event.getReservationId())
+                .clubId(event.getClubId())
+                .resourceId(event.getResourceId())
+                .startDateTime(event.getStartDateTime())
+                .endDateTime(event.getEndDateTime())
+                .status(event.getStatus() == null ? null : event.getStatus().name())
+                .build();
+    }
+
+    public static SchedulerPushMessage of(LockEvent event) {
+        return SchedulerPushMessage.builder()
+                .kind(LOCK)
+                .type(event.getType().name())
+                .id(event.getLockId())
+                .clubId(event.getClubId())
+                .resourceId(event.getResourceId())
+                .startDateTime(event.getStartDateTime())
+                .endDateTime(event.getEndDateTime())
+                .build();
+    }
+}
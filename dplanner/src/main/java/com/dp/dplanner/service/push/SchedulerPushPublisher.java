@@ -0,0 +1,51 @@
+package com.dp.dplanner.service.push;
+
+import com.dp.dplanner.service.event.LockEvent;
+import com.dp.dplanner.service.event.LocksCreatedEvent;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 커밋된 예약/락 변경을 Redis 채널 scheduler:push:{clubId} 로 발행한다.
+ * 구독 연결이 어느 서버에 붙어 있든 모든 서버의 SchedulerPushService 가 받아서 자기 연결에 전달한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerPushPublisher {
+
+    public static final String CHANNEL_PREFIX = "scheduler:push:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationEvent(ReservationEvent event) {
+        publish(SchedulerPushMessage.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLockEvent(LockEvent event) {
+        publish(SchedulerPushMessage.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocksCreated(LocksCreatedEvent event) {
+        event.getEvents().forEach(this::onLockEvent);
+    }
+
+    private void publish(SchedulerPushMessage message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + message.getClubId(), objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 알림을 놓쳐도 화면을 다시 열면 조회되므로 예약 처리에는 영향을 주지 않는다.
+            log.warn("scheduler push publish failed. kind : {}, id : {}", message.getKind(), message.getId(), e);
+        }
+    }
+}
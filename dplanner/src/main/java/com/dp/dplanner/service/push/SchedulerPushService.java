@@ -0,0 +1,158 @@
+package com.dp.dplanner.service.push;
+
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.exception.ServiceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.dp.dplanner.exception.ErrorResult.*;
+
+/**
+ * 스케줄러 화면 실시간 갱신 (Server-Sent Events)
+ * - 이 서버에 붙은 구독 연결을 클럽 단위로 들고 있고, resourceId 를 지정한 연결에는 해당 리소스 알림만 보낸다.
+ * - Redis 채널 scheduler:push:* 를 구독해서 다른 서버에서 발행된 알림도 전달한다.
+ * - 프록시가 유휴 연결을 끊지 않도록 주기적으로 heartbeat 주석을 보내고, 보내기에 실패한 연결은 정리한다.
+ */
+@Slf4j
+@Service
+public class SchedulerPushService implements MessageListener {
+
+    private static final String CONNECTED = "connected";
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final ClubMemberRepository clubMemberRepository;
+    private final ResourceRepository resourceRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    @Value("${scheduler.push.timeout-millis:1800000}")
+    private long timeoutMillis;
+
+    public SchedulerPushService(ClubMemberRepository clubMemberRepository, ResourceRepository resourceRepository,
+                                ObjectMapper objectMapper, RedisMessageListenerContainer listenerContainer) {
+        this.clubMemberRepository = clubMemberRepository;
+        this.resourceRepository = resourceRepository;
+        this.objectMapper = objectMapper;
+        listenerContainer.addMessageListener(this, new PatternTopic(SchedulerPushPublisher.CHANNEL_PREFIX + "*"));
+    }
+
+    /**
+     * resourceId 가 null 이면 클럽 전체 리소스의 알림을 받는다.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(Long clubMemberId, Long resourceId) {
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        if (!clubMember.getIsConfirmed()) {
+            throw new ServiceException(CLUBMEMBER_NOT_CONFIRMED);
+        }
+        Long clubId = clubMember.getClub().getId();
+        if (resourceId != null) {
+            Resource resource = resourceRepository.findById(resourceId)
+                    .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+            if (!clubMember.isSameClub(resource.getClub().getId())) {
+                throw new ServiceException(DIFFERENT_CLUB_EXCEPTION);
+            }
+        }
+
+        SseEmitter emitter = createEmitter();
+        Subscription subscription = new Subscription(emitter, resourceId);
+        subscriptions.compute(clubId, (id, clubSubscriptions) -> {
+            Set<Subscription> set = clubSubscriptions == null ? ConcurrentHashMap.newKeySet() : clubSubscriptions;
+            set.add(subscription);
+            return set;
+        });
+        emitter.onCompletion(() -> remove(clubId, subscription));
+        emitter.onTimeout(() -> remove(clubId, subscription));
+        emitter.onError(e -> remove(clubId, subscription));
+
+        // 첫 이벤트를 보내서 응답 헤더가 바로 나가도록 한다.
+        send(clubId, subscription, SseEmitter.event().name(CONNECTED).data(CONNECTED));
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        SchedulerPushMessage push;
+        try {
+            push = objectMapper.readValue(body, SchedulerPushMessage.class);
+        } catch (IOException e) {
+            log.warn("scheduler push message is invalid. body : {}", body, e);
+            return;
+        }
+        dispatch(push, body);
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.push.heartbeat-millis:30000}")
+    public void heartbeat() {
+        subscriptions.forEach((clubId, clubSubscriptions) ->
+                clubSubscriptions.forEach(subscription -> send(clubId, subscription, SseEmitter.event().comment(HEARTBEAT))));
+    }
+
+    public int countSubscriptions(Long clubId) {
+        Set<Subscription> clubSubscriptions = subscriptions.get(clubId);
+        return clubSubscriptions == null ? 0 : clubSubscriptions.size();
+    }
+
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void dispatch(SchedulerPushMessage push, String body) {
+        Set<Subscription> clubSubscriptions = subscriptions.get(push.getClubId());
+        if (clubSubscriptions == null) {
+            return;
+        }
+        String eventName = push.getKind().toLowerCase();
+        for (Subscription subscription : clubSubscriptions) {
+            if (subscription.getResourceId() != null && !subscription.getResourceId().equals(push.getResourceId())) {
+                continue;
+            }
+            send(push.getClubId(), subscription, SseEmitter.event().name(eventName).data(body));
+        }
+    }
+
+    private void send(Long clubId, Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.getEmitter().send(event);
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊겼거나 이미 완료된 emitter
+            remove(clubId, subscription);
+        }
+    }
+
+    private void remove(Long clubId, Subscription subscription) {
+        subscriptions.computeIfPresent(clubId, (id, clubSubscriptions) -> {
+            clubSubscriptions.remove(subscription);
+            return clubSubscriptions.isEmpty() ? null : clubSubscriptions;
+        });
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Subscription {
+        private final SseEmitter emitter;
+        private final Long resourceId;
+    }
+}
@@ -4,9 +4,13 @@ import com.dp.dplanner.domain.Reservation;
 import com.dp.dplanner.domain.club.ClubMember;
 import com.dp.dplanner.domain.message.Message;
 import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.TombstoneRepository;
 import com.dp.dplanner.service.MessageService;
+import com.dp.dplanner.service.event.ReservationEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.annotation.Schedules;
 import org.springframework.stereotype.Component;
@@ -26,6 +30,11 @@ public class ScheduleTasks {
 
     private final MessageService messageService;
     private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TombstoneRepository tombstoneRepository;
+
+    @Value("${reservation.tombstone.retention-days:7}")
+    private long tombstoneRetentionDays;
 
     // 매일 8시마다 오늘 예약 알림
     @Scheduled(cron = "0 0 8 * * *")
@@ -164,6 +173,7 @@ public class ScheduleTasks {
 
             reservations.forEach(reservation -> {
                 reservation.reject("예약시간이 지나 자동으로 예약이 거절되었습니다");
+                eventPublisher.publishEvent(ReservationEvent.of(ReservationEvent.Type.REJECTED, reservation));
                 messageService.createPrivateMessage(List.of(reservation.getClubMember()),
                         Message.rejectMessage(
                                 Message.MessageContentBuildDto.builder().
@@ -181,4 +191,16 @@ public class ScheduleTasks {
         }
     }
 
+    // 매일 새벽 4시 보관 기간이 지난 삭제 기록 정리
+    @Scheduled(cron = "0 0 4 * * *")
+    public void task5() {
+        try{
+            int deleted = tombstoneRepository.deleteAllCreatedBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+
+            log.info("ScheduleTasks5, delete rows : {}  ", deleted);
+        }catch (RuntimeException ex){
+            log.error("ScheduleTasks5");
+        }
+    }
+
 }
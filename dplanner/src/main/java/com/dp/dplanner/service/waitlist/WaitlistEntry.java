@@ -0,0 +1,51 @@
+package com.dp.dplanner.service.waitlist;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 대기열 zset member : waitId:clubMemberId:시작 epoch 분:끝 epoch 분 (score : 등록 시간(ms))
+ */
+@Getter
+@RequiredArgsConstructor
+public class WaitlistEntry {
+
+    private final String waitId;
+    private final Long clubMemberId;
+    private final LocalDateTime startDateTime;
+    private final LocalDateTime endDateTime;
+    private final long enqueuedAt;
+
+    public String member() {
+        return member(waitId, clubMemberId, startDateTime, endDateTime);
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startDateTime.isBefore(end) && start.isBefore(endDateTime);
+    }
+
+    static String member(String waitId, Long clubMemberId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return waitId + ":" + clubMemberId + ":" + epochMinute(startDateTime) + ":" + epochMinute(endDateTime);
+    }
+
+    static WaitlistEntry parse(String member, double score) {
+        String[] parts = member.split(":");
+        return new WaitlistEntry(
+                parts[0],
+                Long.valueOf(parts[1]),
+                ofEpochMinute(Long.parseLong(parts[2])),
+                ofEpochMinute(Long.parseLong(parts[3])),
+                (long) score);
+    }
+
+    static long epochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime ofEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
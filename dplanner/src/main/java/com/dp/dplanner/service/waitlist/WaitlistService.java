@@ -0,0 +1,196 @@
+package com.dp.dplanner.service.waitlist;
+
+import com.dp.dplanner.adapter.dto.ReservationDto;
+import com.dp.dplanner.adapter.dto.WaitlistDto;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.domain.message.Message;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.LockRepository;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.MessageService;
+import com.dp.dplanner.service.ReservationService;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.dp.dplanner.service.exception.ServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.dp.dplanner.exception.ErrorResult.*;
+
+/**
+ * 예약 대기열
+ * 이미 찬 시간에 예약을 계속 다시 시도하는 대신 대기열에 한 번 등록해 두면,
+ * 겹치는 예약이 취소/삭제/거절될 때 등록 순서대로 예약 요청을 대신 생성하고 회원에게 알린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final ClubMemberRepository clubMemberRepository;
+    private final ResourceRepository resourceRepository;
+    private final ReservationRepository reservationRepository;
+    private final LockRepository lockRepository;
+    private final ReservationService reservationService;
+    private final MessageService messageService;
+    private final WaitlistStore waitlistStore;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Value("${reservation.waitlist.max-size:50}")
+    private int maxSize;
+
+    /**
+     * 지금 예약할 수 있는 시간이면 대기할 필요가 없으므로 REQUEST_IS_INVALID
+     */
+    @Transactional(readOnly = true)
+    public WaitlistDto.Response joinWaitlist(Long clubMemberId, ReservationDto.Create createDto) {
+        Long resourceId = createDto.getResourceId();
+        LocalDateTime startDateTime = createDto.getStartDateTime();
+        LocalDateTime endDateTime = createDto.getEndDateTime();
+
+        ClubMember clubMember = clubMemberRepository.findById(clubMemberId)
+                .orElseThrow(() -> new ServiceException(CLUBMEMBER_NOT_FOUND));
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new ServiceException(RESOURCE_NOT_FOUND));
+
+        if (!clubMember.getIsConfirmed()) {
+            throw new ServiceException(CLUBMEMBER_NOT_CONFIRMED);
+        }
+        if (!clubMember.isSameClub(resource.getClub().getId())) {
+            throw new ServiceException(DIFFERENT_CLUB_EXCEPTION);
+        }
+        if (startDateTime == null || endDateTime == null || !startDateTime.isBefore(endDateTime)
+                || !endDateTime.isAfter(LocalDateTime.now(clock)) || !isTaken(resource, startDateTime, endDateTime)) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+
+        // 대기열에서는 본인 예약만 신청한다.
+        createDto.setReservationOwnerId(clubMemberId);
+        createDto.setHoldId(null);
+        String waitId = waitlistStore.join(resourceId, clubMemberId, startDateTime, endDateTime, write(createDto), maxSize);
+        if (waitId == null) {
+            throw new ServiceException(RESERVATION_UNAVAILABLE);
+        }
+
+        Long rank = waitlistStore.rank(resourceId, new WaitlistEntry(waitId, clubMemberId, startDateTime, endDateTime, 0L));
+        return WaitlistDto.Response.builder()
+                .waitId(waitId)
+                .resourceId(resourceId)
+                .startDateTime(startDateTime)
+                .endDateTime(endDateTime)
+                .position(rank == null ? null : rank + 1)
+                .build();
+    }
+
+    /**
+     * 본인의 대기만 취소된다.
+     */
+    public void leaveWaitlist(Long clubMemberId, Long resourceId, String waitId) {
+        waitlistStore.leave(resourceId, clubMemberId, waitId);
+    }
+
+    /**
+     * 예약 슬롯이 해제되면 겹치는 대기를 등록 순서대로 예약 요청으로 올린다.
+     * 취소 요청이 대기열 처리를 기다리지 않도록 커밋 이후 비동기로 처리한다.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationEvent(ReservationEvent event) {
+        if (!event.isReleased()) {
+            return;
+        }
+        try {
+            promote(event.getResourceId(), event.getStartDateTime(), event.getEndDateTime());
+        } catch (RuntimeException e) {
+            // 대기열 처리에 실패해도 해제된 슬롯은 일반 예약으로 신청할 수 있다.
+            log.warn("waitlist promotion failed. resourceId : {}", event.getResourceId(), e);
+        }
+    }
+
+    private void promote(Long resourceId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        for (WaitlistEntry entry : waitlistStore.findOverlapping(resourceId, startDateTime, endDateTime)) {
+            String request = waitlistStore.take(resourceId, entry);
+            if (request == null) {
+                continue;
+            }
+            try {
+                ReservationDto.Response response = reservationService.createReservationFromWaitlist(entry.getClubMemberId(), read(request));
+                notifyPromoted(entry.getClubMemberId(), response);
+            } catch (ServiceException e) {
+                // 아직 다른 예약과 겹치면 원래 순서로 계속 기다린다. 그 외 (클럽 탈퇴, 예약 가능 기간 초과 등) 는 대기를 버린다.
+                // 락이 걸린 시간도 같은 에러지만 예약이 해제되어도 풀리지 않으므로 대기를 버리고 알린다.
+                if (e.getErrorResult() != RESERVATION_UNAVAILABLE) {
+                    continue;
+                }
+                if (lockRepository.existsBetween(entry.getStartDateTime(), entry.getEndDateTime(), resourceId)) {
+                    notifyLocked(resourceId, entry);
+                } else {
+                    waitlistStore.requeue(resourceId, entry, request);
+                }
+            }
+        }
+    }
+
+    private boolean isTaken(Resource resource, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (resource.isShared()) {
+            return reservationRepository.countMaxOverlapBetween(resource.getId(), startDateTime, endDateTime) >= resource.getCapacity();
+        }
+        return reservationRepository.existsBetween(startDateTime, endDateTime, resource.getId());
+    }
+
+    private void notifyPromoted(Long clubMemberId, ReservationDto.Response response) {
+        clubMemberRepository.findById(clubMemberId).ifPresent(clubMember ->
+                messageService.createPrivateMessage(List.of(clubMember),
+                        Message.waitlistPromotedMessage(
+                                Message.MessageContentBuildDto.builder().
+                                        clubMemberName(clubMember.getName()).
+                                        start(response.getStartDateTime()).
+                                        end(response.getEndDateTime()).
+                                        resourceName(response.getResourceName()).
+                                        info(String.valueOf(response.getReservationId())).
+                                        build())));
+    }
+
+    private void notifyLocked(Long resourceId, WaitlistEntry entry) {
+        String resourceName = resourceRepository.findById(resourceId).map(Resource::getName).orElse(null);
+        clubMemberRepository.findById(entry.getClubMemberId()).ifPresent(clubMember ->
+                messageService.createPrivateMessage(List.of(clubMember),
+                        Message.waitlistLockedMessage(
+                                Message.MessageContentBuildDto.builder().
+                                        clubMemberName(clubMember.getName()).
+                                        start(entry.getStartDateTime()).
+                                        end(entry.getEndDateTime()).
+                                        resourceName(resourceName).
+                                        info(entry.getWaitId()).
+                                        build())));
+    }
+
+    private String write(ReservationDto.Create createDto) {
+        try {
+            return objectMapper.writeValueAsString(createDto);
+        } catch (JsonProcessingException e) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+    }
+
+    private ReservationDto.Create read(String request) {
+        try {
+            return objectMapper.readValue(request, ReservationDto.Create.class);
+        } catch (JsonProcessingException e) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+    }
+}
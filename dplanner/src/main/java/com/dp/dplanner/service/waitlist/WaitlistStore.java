@@ -0,0 +1,171 @@
+package com.dp.dplanner.service.waitlist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 리소스별 예약 대기열
+ * - zset waitlist:{resourceId} : 등록 시간을 score 로 하는 대기 순서
+ * - hash waitlist:request:{resourceId} : waitId 별 예약 요청 (json)
+ * 등록/취소/꺼내기는 Lua 스크립트 한 번으로 zset 과 hash 를 함께 변경한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistStore {
+
+    private static final String KEY_PREFIX = "waitlist:";
+    private static final String REQUEST_KEY_PREFIX = "waitlist:request:";
+
+    /**
+     * KEYS : [1] 대기열 zset key, [2] 예약 요청 hash key
+     * ARGV : 현재 시간(ms), 현재 epoch 분, waitId, member 의 waitId 뒷부분 (:clubMemberId:시작:끝), 예약 요청, 최대 대기 수, ttl(ms)
+     * 끝난 구간의 대기는 먼저 지운다. 같은 회원이 같은 구간에 이미 대기 중이면 기존 waitId, 대기열이 가득 찼으면 "" 반환
+     */
+    private static final RedisScript<String> JOIN_SCRIPT = new DefaultRedisScript<>("""
+            for _, member in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+                local waitId, endMinute = string.match(member, '^([^:]+):.*:([^:]+)$')
+                if tonumber(endMinute) <= tonumber(ARGV[2]) then
+                    redis.call('ZREM', KEYS[1], member)
+                    redis.call('HDEL', KEYS[2], waitId)
+                elseif string.sub(member, -string.len(ARGV[4])) == ARGV[4] then
+                    return waitId
+                end
+            end
+            if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[6]) then
+                return ''
+            end
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[3] .. ARGV[4])
+            redis.call('HSET', KEYS[2], ARGV[3], ARGV[5])
+            for _, key in ipairs(KEYS) do
+                if redis.call('PTTL', key) < tonumber(ARGV[7]) then
+                    redis.call('PEXPIRE', key, ARGV[7])
+                end
+            end
+            return ARGV[3]
+            """, String.class);
+
+    /**
+     * KEYS : JOIN_SCRIPT 와 동일
+     * ARGV : member prefix (waitId:clubMemberId:), waitId
+     */
+    private static final RedisScript<Long> LEAVE_SCRIPT = new DefaultRedisScript<>("""
+            for _, member in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+                if string.sub(member, 1, string.len(ARGV[1])) == ARGV[1] then
+                    redis.call('ZREM', KEYS[1], member)
+                    redis.call('HDEL', KEYS[2], ARGV[2])
+                    return 1
+                end
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS : JOIN_SCRIPT 와 동일
+     * ARGV : member, waitId
+     * 대기를 지우고 예약 요청을 반환한다. 이미 다른 곳에서 꺼냈으면 nil
+     */
+    private static final RedisScript<String> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('ZREM', KEYS[1], ARGV[1]) == 0 then
+                return false
+            end
+            local request = redis.call('HGET', KEYS[2], ARGV[2])
+            redis.call('HDEL', KEYS[2], ARGV[2])
+            return request
+            """, String.class);
+
+    /**
+     * KEYS : JOIN_SCRIPT 와 동일
+     * ARGV : score, member, waitId, 예약 요청
+     */
+    private static final RedisScript<Long> REQUEUE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('HSET', KEYS[2], ARGV[3], ARGV[4])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Clock clock;
+
+    /**
+     * @return 대기 id. 대기열이 가득 찼으면 null
+     */
+    public String join(Long resourceId, Long clubMemberId, LocalDateTime startDateTime, LocalDateTime endDateTime, String request, int maxSize) {
+        long now = clock.millis();
+        String waitId = UUID.randomUUID().toString();
+        String suffix = WaitlistEntry.member("", clubMemberId, startDateTime, endDateTime);
+        // 대기는 예약 시간이 끝날 때까지만 의미가 있다.
+        long ttl = Math.max(1L, endDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() - now);
+
+        String result = redisTemplate.execute(JOIN_SCRIPT, keys(resourceId),
+                String.valueOf(now),
+                String.valueOf(WaitlistEntry.epochMinute(LocalDateTime.now(clock))),
+                waitId,
+                suffix,
+                request,
+                String.valueOf(maxSize),
+                String.valueOf(ttl));
+        return result == null || result.isEmpty() ? null : result;
+    }
+
+    public boolean leave(Long resourceId, Long clubMemberId, String waitId) {
+        Long result = redisTemplate.execute(LEAVE_SCRIPT, keys(resourceId), waitId + ":" + clubMemberId + ":", waitId);
+        return Long.valueOf(1L).equals(result);
+    }
+
+    /**
+     * 대기 순서 (0 부터). 대기 중이 아니면 null
+     */
+    public Long rank(Long resourceId, WaitlistEntry entry) {
+        return redisTemplate.opsForZSet().rank(KEY_PREFIX + resourceId, entry.member());
+    }
+
+    /**
+     * 구간과 겹치고 아직 끝나지 않은 대기를 등록 순서대로 반환한다.
+     */
+    public List<WaitlistEntry> findOverlapping(Long resourceId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        Set<ZSetOperations.TypedTuple<String>> members = redisTemplate.opsForZSet().rangeWithScores(KEY_PREFIX + resourceId, 0, -1);
+        List<WaitlistEntry> entries = new ArrayList<>();
+        if (members == null) {
+            return entries;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (ZSetOperations.TypedTuple<String> member : members) {
+            WaitlistEntry entry = WaitlistEntry.parse(member.getValue(), member.getScore() == null ? 0 : member.getScore());
+            if (entry.getEndDateTime().isAfter(now) && entry.overlaps(startDateTime, endDateTime)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 대기를 꺼내고 예약 요청을 반환한다. 이미 꺼내졌으면 null
+     */
+    public String take(Long resourceId, WaitlistEntry entry) {
+        return redisTemplate.execute(TAKE_SCRIPT, keys(resourceId), entry.member(), entry.getWaitId());
+    }
+
+    /**
+     * 꺼낸 대기를 원래 순서로 되돌린다.
+     */
+    public void requeue(Long resourceId, WaitlistEntry entry, String request) {
+        redisTemplate.execute(REQUEUE_SCRIPT, keys(resourceId),
+                String.valueOf(entry.getEnqueuedAt()), entry.member(), entry.getWaitId(), request);
+    }
+
+    private static List<String> keys(Long resourceId) {
+        return List.of(KEY_PREFIX + resourceId, REQUEST_KEY_PREFIX + resourceId);
+    }
+}
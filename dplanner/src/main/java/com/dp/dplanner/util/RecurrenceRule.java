@@ -0,0 +1,194 @@
+package com.dp.dplanner.util;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.service.exception.ServiceException;
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.dp.dplanner.exception.ErrorResult.REQUEST_IS_INVALID;
+
+/**
+ * RFC 5545 RRULE 의 일부를 지원하는 반복 규칙
+ * ex) FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,WE;COUNT=16
+ *     FREQ=DAILY;UNTIL=20231231
+ * - FREQ     : DAILY, WEEKLY, MONTHLY
+ * - INTERVAL : 반복 간격 (기본 1)
+ * - COUNT / UNTIL : 둘 중 하나는 필수
+ * - BYDAY    : WEEKLY 에서만 사용, 없으면 시작일의 요일
+ */
+@Getter
+public class RecurrenceRule {
+
+    public static final int MAX_OCCURRENCES = 200;
+
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+    private final Set<DayOfWeek> byDay;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until, Set<DayOfWeek> byDay) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+    }
+
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+
+        String value = rule.startsWith("RRULE:") ? rule.substring("RRULE:".length()) : rule;
+        try {
+            for (String part : value.split(";")) {
+                String[] pair = part.split("=", 2);
+                if (pair.length != 2) {
+                    throw new ServiceException(REQUEST_IS_INVALID);
+                }
+                switch (pair[0].trim().toUpperCase()) {
+                    case "FREQ" -> frequency = Frequency.valueOf(pair[1].trim().toUpperCase());
+                    case "INTERVAL" -> interval = Integer.parseInt(pair[1].trim());
+                    case "COUNT" -> count = Integer.parseInt(pair[1].trim());
+                    case "UNTIL" -> until = parseUntil(pair[1].trim());
+                    case "BYDAY" -> {
+                        for (String day : pair[1].split(",")) {
+                            byDay.add(toDayOfWeek(day.trim().toUpperCase()));
+                        }
+                    }
+                    default -> throw new ServiceException(REQUEST_IS_INVALID);
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+
+        if (frequency == null || interval < 1 || (count == null && until == null) || (count != null && count < 1)
+                || (!byDay.isEmpty() && frequency != Frequency.WEEKLY)) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+        return new RecurrenceRule(frequency, interval, count, until, byDay);
+    }
+
+    /**
+     * 첫 예약 시작 시간을 기준으로 반복 예약의 시작 시간 목록을 만든다.
+     * MAX_OCCURRENCES 를 넘으면 예외
+     */
+    public List<LocalDateTime> expand(LocalDateTime firstStart) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int step = 0; ; step++) {
+            List<LocalDateTime> candidates = candidates(firstStart, step);
+            if (candidates == null) {
+                return starts;
+            }
+            for (LocalDateTime candidate : candidates) {
+                if ((until != null && candidate.isAfter(until)) || (count != null && starts.size() == count)) {
+                    return starts;
+                }
+                if (starts.size() == MAX_OCCURRENCES) {
+                    throw new ServiceException(REQUEST_IS_INVALID);
+                }
+                starts.add(candidate);
+            }
+        }
+    }
+
+    /**
+     * 첫 번째 기간을 기준으로 같은 길이의 반복 기간 목록을 만든다. 반복된 기간끼리 겹치거나 하나도 없으면 예외
+     */
+    public List<Period> expand(Period firstPeriod) {
+        Duration duration = Duration.between(firstPeriod.getStartDateTime(), firstPeriod.getEndDateTime());
+
+        List<Period> periods = new ArrayList<>();
+        for (LocalDateTime start : expand(firstPeriod.getStartDateTime())) {
+            if (!periods.isEmpty() && periods.get(periods.size() - 1).getEndDateTime().isAfter(start)) {
+                throw new ServiceException(REQUEST_IS_INVALID);
+            }
+            periods.add(new Period(start, start.plus(duration)));
+        }
+        if (periods.isEmpty()) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+        return periods;
+    }
+
+    /**
+     * step 번째 반복 단위(일/주/월)에 해당하는 시작 시간들, 더 이상 없으면 null
+     */
+    private List<LocalDateTime> candidates(LocalDateTime firstStart, int step) {
+        // 존재하지 않는 날짜(ex. 31일)만 계속 건너뛰는 경우를 막기 위한 상한
+        if (step > MAX_OCCURRENCES * 12) {
+            return null;
+        }
+        long amount = (long) step * interval;
+        return switch (frequency) {
+            case DAILY -> List.of(firstStart.plusDays(amount));
+            case WEEKLY -> {
+                if (byDay.isEmpty()) {
+                    yield List.of(firstStart.plusWeeks(amount));
+                }
+                LocalDate weekStart = firstStart.toLocalDate()
+                        .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                        .plusWeeks(amount);
+                List<LocalDateTime> days = new ArrayList<>();
+                for (DayOfWeek dayOfWeek : byDay) {
+                    LocalDateTime candidate = weekStart.plusDays(dayOfWeek.ordinal()).atTime(firstStart.toLocalTime());
+                    if (!candidate.isBefore(firstStart)) {
+                        days.add(candidate);
+                    }
+                }
+                yield days;
+            }
+            case MONTHLY -> {
+                LocalDateTime candidate = firstStart.plusMonths(amount);
+                yield candidate.getDayOfMonth() == firstStart.getDayOfMonth() ? List.of(candidate) : List.of();
+            }
+        };
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        String trimmed = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        if (trimmed.contains("T")) {
+            return LocalDateTime.parse(trimmed, UNTIL_DATE_TIME);
+        }
+        return LocalDate.parse(trimmed, UNTIL_DATE).atTime(23, 59, 59);
+    }
+
+    private static DayOfWeek toDayOfWeek(String day) {
+        return switch (day) {
+            case "MO" -> DayOfWeek.MONDAY;
+            case "TU" -> DayOfWeek.TUESDAY;
+            case "WE" -> DayOfWeek.WEDNESDAY;
+            case "TH" -> DayOfWeek.THURSDAY;
+            case "FR" -> DayOfWeek.FRIDAY;
+            case "SA" -> DayOfWeek.SATURDAY;
+            case "SU" -> DayOfWeek.SUNDAY;
+            default -> throw new IllegalArgumentException(day);
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.dp.dplanner.util;
+
+import com.dp.dplanner.service.exception.ServiceException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static com.dp.dplanner.exception.ErrorResult.REQUEST_IS_INVALID;
+
+/**
+ * 예약 목록 keyset 페이지네이션 커서. (예약 시작 시간, id) 로 마지막으로 읽은 위치를 나타낸다.
+ * 클라이언트에는 base64 문자열로 전달하며, 빈 문자열은 첫 페이지를 의미한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReservationCursor {
+
+    // 내림차순 첫 페이지에서 사용하는 충분히 먼 미래 시간
+    private static final LocalDateTime MAX_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final LocalDateTime startDateTime;
+    private final Long id;
+
+    /**
+     * 오름차순 첫 페이지 : from 이상
+     */
+    public static ReservationCursor firstAscending(LocalDateTime from) {
+        return new ReservationCursor(from, Long.MIN_VALUE);
+    }
+
+    /**
+     * 내림차순 첫 페이지 : before 미만 (before 가 null 이면 전체)
+     */
+    public static ReservationCursor firstDescending(LocalDateTime before) {
+        return new ReservationCursor(before == null ? MAX_START : before, Long.MIN_VALUE);
+    }
+
+    public static ReservationCursor of(LocalDateTime startDateTime, Long id) {
+        return new ReservationCursor(startDateTime, id);
+    }
+
+    public static ReservationCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('_');
+            return new ReservationCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ServiceException(REQUEST_IS_INVALID);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((startDateTime + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
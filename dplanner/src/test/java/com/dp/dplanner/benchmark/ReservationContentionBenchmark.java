@@ -0,0 +1,240 @@
+package com.dp.dplanner.benchmark;
+
+import com.dp.dplanner.domain.Member;
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.ResourceType;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.ClubRepository;
+import com.dp.dplanner.repository.MemberRepository;
+import com.dp.dplanner.repository.PeriodView;
+import com.dp.dplanner.repository.RedisFallbackLeaseRepository;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.RedisReservationService;
+import com.dp.dplanner.service.concurrency.PessimisticLockConcurrencyStrategy;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker;
+import com.dp.dplanner.service.concurrency.RedisFallback;
+import com.dp.dplanner.service.concurrency.RedisSlotConcurrencyStrategy;
+import com.dp.dplanner.service.concurrency.ReservationConcurrencyStrategy;
+import com.dp.dplanner.service.concurrency.StripedLockConcurrencyStrategy;
+import com.dp.dplanner.service.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 시간에 N 개 스레드가 동시에 예약을 시도할 때 동시성 전략별 처리량, p99 지연, 중복 예약 수 비교.
+ * DB 는 H2 in-memory, Redis 는 스크립트 한 번이 원자적으로 실행되는 것을 흉내 낸 인메모리 슬롯 저장소를 쓴다.
+ * none 은 DB 검사만 하는 경우로, 검사와 저장 사이에 다른 요청이 끼어들어 중복 예약이 생기는 것을 보여 준다.
+ * H2 는 같은 조회를 다시 실행할 때 그 사이 변경이 없으면 이전 결과를 재사용하는데, 다른 세션의 커밋만으로는 결과가 갱신되지 않아
+ * 락을 잡은 뒤의 재검사가 커밋 전에 본 결과를 돌려줄 수 있으므로 OPTIMIZE_REUSE_RESULTS 를 끈다.
+ * 실행 : ./gradlew contentionBenchmark -Pbenchmark.threads=16 -Pbenchmark.rounds=50
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contention;LOCK_TIMEOUT=10000;OPTIMIZE_REUSE_RESULTS=FALSE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark.contention", matches = "true")
+public class ReservationContentionBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    ClubRepository clubRepository;
+    @Autowired
+    ClubMemberRepository clubMemberRepository;
+    @Autowired
+    ResourceRepository resourceRepository;
+    @Autowired
+    ReservationRepository reservationRepository;
+    @Autowired
+    RedisFallbackLeaseRepository redisFallbackLeaseRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    int threads = Integer.getInteger("benchmark.threads", 16);
+    int rounds = Integer.getInteger("benchmark.rounds", 50);
+
+    @Test
+    public void contention() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        StripedLockConcurrencyStrategy striped = new StripedLockConcurrencyStrategy(reservationRepository);
+        ReflectionTestUtils.setField(striped, "lockTimeoutMillis", 10_000L);
+
+        Map<String, ReservationConcurrencyStrategy> strategies = new LinkedHashMap<>();
+        strategies.put("none", new Unguarded());
+        RedisFallback redisFallback = new RedisFallback(redisFallbackLeaseRepository, Clock.systemDefaultZone());
+        ReflectionTestUtils.setField(redisFallback, "cacheMillis", 1000L);
+        strategies.put("redis", new RedisSlotConcurrencyStrategy(new InMemorySlotStore(), new RedisCircuitBreaker(Clock.systemDefaultZone()),
+                redisFallback, resourceRepository, reservationRepository));
+        strategies.put("db-pessimistic", new PessimisticLockConcurrencyStrategy(resourceRepository, reservationRepository));
+        strategies.put("jvm-striped", striped);
+
+        Club club = clubRepository.save(Club.builder().clubName("benchmark").build());
+        List<ClubMember> clubMembers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Member member = memberRepository.save(Member.builder().build());
+            clubMembers.add(clubMemberRepository.save(ClubMember.builder().member(member).club(club).build()));
+        }
+
+        System.out.printf("threads=%d rounds=%d%n", threads, rounds);
+        System.out.printf("%-16s %12s %10s %10s %12s%n", "strategy", "ops/s", "p50(ms)", "p99(ms)", "double-book");
+        for (Map.Entry<String, ReservationConcurrencyStrategy> entry : strategies.entrySet()) {
+            Resource resource = resourceRepository.save(Resource.builder().club(club).name(entry.getKey()).resourceType(ResourceType.PLACE).build());
+            Result result = run(transactionTemplate, entry.getValue(), resource, clubMembers);
+            System.out.printf("%-16s %12.1f %10.2f %10.2f %12d%n",
+                    entry.getKey(), result.throughput(), result.percentile(0.50), result.percentile(0.99), result.doubleBooked());
+
+            if (!entry.getKey().equals("none")) {
+                assertThat(result.doubleBooked()).as(entry.getKey()).isZero();
+            }
+        }
+    }
+
+    /**
+     * 라운드마다 새 시간 슬롯 하나를 모든 스레드가 동시에 예약한다. ReservationService.createReservation 과 같은 순서로
+     * DB 검사 -> 전략 점유 -> 저장을 한 트랜잭션에서 실행한다.
+     */
+    private Result run(TransactionTemplate transactionTemplate, ReservationConcurrencyStrategy strategy, Resource resource, List<ClubMember> clubMembers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        long started = System.nanoTime();
+        try {
+            for (int round = 0; round < rounds; round++) {
+                Period period = new Period(BASE.plusHours(round), BASE.plusHours(round + 1));
+                CountDownLatch gate = new CountDownLatch(1);
+                List<Future<?>> attempts = new ArrayList<>();
+                for (ClubMember clubMember : clubMembers) {
+                    attempts.add(executor.submit(() -> {
+                        gate.await();
+                        long begin = System.nanoTime();
+                        try {
+                            transactionTemplate.executeWithoutResult(status -> {
+                                if (reservationRepository.existsBetween(period.getStartDateTime(), period.getEndDateTime(), resource.getId())) {
+                                    return;
+                                }
+                                strategy.acquire(resource, List.of(period));
+                                reservationRepository.save(Reservation.builder().clubMember(clubMember).resource(resource).period(period).build());
+                            });
+                        } catch (ServiceException e) {
+                            // 다른 스레드가 먼저 예약한 경우
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - begin);
+                        return null;
+                    }));
+                }
+                gate.countDown();
+                for (Future<?> attempt : attempts) {
+                    attempt.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - started;
+
+        Map<LocalDateTime, Integer> booked = new HashMap<>();
+        for (PeriodView reserved : reservationRepository.findPeriodsBetween(resource.getId(), BASE, BASE.plusHours(rounds))) {
+            booked.merge(reserved.getStartDateTime(), 1, Integer::sum);
+        }
+        long doubleBooked = booked.values().stream().mapToLong(count -> count - 1).sum();
+        assertThat(failures.get()).as("예약 불가 이외의 오류").isZero();
+        return new Result(new ArrayList<>(latencies), elapsed, doubleBooked);
+    }
+
+    private record Result(List<Long> latencies, long elapsedNanos, long doubleBooked) {
+
+        double throughput() {
+            return latencies.size() / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentile(double percentile) {
+            List<Long> sorted = latencies.stream().sorted().toList();
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+
+    /**
+     * 검사 후 점유 없이 바로 저장하는 비교 기준
+     */
+    private static class Unguarded implements ReservationConcurrencyStrategy {
+
+        @Override
+        public void acquire(Resource resource, List<Period> periods) {
+        }
+
+        @Override
+        public void release(List<Reservation> reservations) {
+        }
+    }
+
+    /**
+     * Redis 를 대신하는 인메모리 슬롯 저장소. Redis 는 스크립트를 한 번에 하나씩 실행하므로 점유/해제를 직렬화해서 흉내 낸다.
+     */
+    private static class InMemorySlotStore extends RedisReservationService {
+
+        private final Map<Long, List<Period>> claimed = new HashMap<>();
+
+        InMemorySlotStore() {
+            super(null, Clock.systemDefaultZone());
+        }
+
+        @Override
+        public synchronized Boolean saveReservation(LocalDateTime startDateTime, LocalDateTime endDateTime, Long resourceId) {
+            return saveReservations(List.of(new Period(startDateTime, endDateTime)), resourceId);
+        }
+
+        @Override
+        public synchronized Boolean saveReservations(List<Period> periods, Long resourceId) {
+            List<Period> slots = claimed.computeIfAbsent(resourceId, id -> new ArrayList<>());
+            boolean overlaps = periods.stream().anyMatch(period -> slots.stream().anyMatch(slot ->
+                    slot.getStartDateTime().isBefore(period.getEndDateTime()) && period.getStartDateTime().isBefore(slot.getEndDateTime())));
+            if (overlaps) {
+                return false;
+            }
+            slots.addAll(periods);
+            return true;
+        }
+
+        @Override
+        public synchronized void releaseSlots(Map<Long, List<Period>> periodsByResource, Map<Long, List<Period>> sharedPeriods) {
+            periodsByResource.forEach((resourceId, periods) -> claimed.getOrDefault(resourceId, new ArrayList<>()).removeAll(periods));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.dp.dplanner.benchmark;
+
+import com.dp.dplanner.repository.PeriodView;
+import com.dp.dplanner.service.index.ResourceTimeline;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인메모리 타임라인 인덱스 vs 기존 JPQL 겹침 조건(ReservationRepository.existsBetween) 비교.
+ * DB 는 네트워크 왕복이 없는 H2 in-memory 이므로 실제 운영 DB 보다 유리한 조건이다.
+ * 실행 : ./gradlew jmh -Pjmh.include=ReservationOverlapBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationOverlapBenchmark {
+
+    private static final long RESOURCE_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // existsBetween 의 JPQL 이 생성하는 SQL 과 같은 조건
+    private static final String EXISTS_BETWEEN = "select exists (select 1 from reservation r " +
+            "where r.resource_id = ? and r.status != 'REJECTED' " +
+            "and ((r.start_date_time <= ? and ? < r.end_date_time) " +
+            "or (? <= r.start_date_time and r.start_date_time < ?)))";
+
+    @Param({"1000", "5000"})
+    int bookings;
+
+    ResourceTimeline timeline;
+    Connection connection;
+    PreparedStatement existsBetween;
+    LocalDateTime[] probes;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // 1시간 예약 + 1시간 공백이 반복되는 리소스
+        List<PeriodView> periods = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            periods.add(periodView((long) i, BASE.plusHours(2L * i), BASE.plusHours(2L * i + 1)));
+        }
+        timeline = ResourceTimeline.of(BASE, System.currentTimeMillis(), periods, new ArrayList<>());
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:overlap" + bookings + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table reservation (id bigint primary key, resource_id bigint, status varchar(255), " +
+                    "start_date_time timestamp(6), end_date_time timestamp(6))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("insert into reservation values (?, ?, 'CONFIRMED', ?, ?)")) {
+            for (PeriodView period : periods) {
+                insert.setLong(1, period.getId());
+                insert.setLong(2, RESOURCE_ID);
+                insert.setTimestamp(3, Timestamp.valueOf(period.getStartDateTime()));
+                insert.setTimestamp(4, Timestamp.valueOf(period.getEndDateTime()));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        existsBetween = connection.prepareStatement(EXISTS_BETWEEN);
+
+        // 겹치는 요청과 비어있는 시간 요청을 번갈아 조회
+        probes = new LocalDateTime[1024];
+        for (int i = 0; i < probes.length; i++) {
+            long hour = (long) (i * 7919 % bookings) * 2 + (i % 2);
+            probes[i] = BASE.plusHours(hour);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        existsBetween.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean timelineIndex() {
+        LocalDateTime start = nextProbe();
+        return timeline.hasReservationBetween(start, start.plusHours(1));
+    }
+
+    @Benchmark
+    public boolean jpqlPredicate() throws SQLException {
+        LocalDateTime start = nextProbe();
+        Timestamp from = Timestamp.valueOf(start);
+        Timestamp to = Timestamp.valueOf(start.plusHours(1));
+        existsBetween.setLong(1, RESOURCE_ID);
+        existsBetween.setTimestamp(2, from);
+        existsBetween.setTimestamp(3, from);
+        existsBetween.setTimestamp(4, from);
+        existsBetween.setTimestamp(5, to);
+        try (ResultSet resultSet = existsBetween.executeQuery()) {
+            resultSet.next();
+            return resultSet.getBoolean(1);
+        }
+    }
+
+    private LocalDateTime nextProbe() {
+        cursor = (cursor + 1) & (probes.length - 1);
+        return probes[cursor];
+    }
+
+    private static PeriodView periodView(Long id, LocalDateTime start, LocalDateTime end) {
+        return new PeriodView() {
+            public Long getId() {
+                return id;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return end;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReservationOverlapBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -13,6 +13,7 @@ import com.dp.dplanner.adapter.dto.ReservationDto;
 import com.dp.dplanner.adapter.dto.ReservationDto.Request;
 import com.dp.dplanner.exception.*;
 import com.dp.dplanner.service.ReservationService;
+import com.dp.dplanner.service.cache.SlotStoreWarmer;
 import com.dp.dplanner.service.exception.ServiceException;
 import com.nimbusds.jose.shaded.gson.Gson;
 import com.nimbusds.jose.shaded.gson.GsonBuilder;
@@ -58,6 +59,8 @@ public class ReservationControllerTest {
     @Mock
     private ReservationService reservationService;
     @Mock
+    private SlotStoreWarmer slotStoreWarmer;
+    @Mock
     private MockMvc mockMvc;
     @Mock
     private Gson gson;
@@ -70,7 +73,7 @@ public class ReservationControllerTest {
 
     @BeforeEach
     public void setUp() throws Throwable {
-        target = new ReservationController(reservationService);
+        target = new ReservationController(reservationService, slotStoreWarmer);
 
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter().nullSafe())
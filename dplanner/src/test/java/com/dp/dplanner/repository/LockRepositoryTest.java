@@ -6,6 +6,7 @@ import com.dp.dplanner.domain.Resource;
 import com.dp.dplanner.domain.ResourceType;
 import com.dp.dplanner.domain.club.Club;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -185,6 +186,31 @@ public class LockRepositoryTest {
 
 
 
+    @Test
+    @DisplayName("JDBC batch 로 여러 리소스의 락을 저장하고 리소스/시작 시간 목록으로 다시 조회")
+    public void insertAllInBatch() {
+        //given
+        Resource otherResource = Resource.builder().club(club).resourceType(ResourceType.PLACE).build();
+        testEntityManager.persist(otherResource);
+        testEntityManager.flush();
+        List<Lock> locks = List.of(
+                Lock.builder().resource(resource).period(new Period(start, end)).message("exam").build(),
+                Lock.builder().resource(otherResource).period(new Period(start, end)).message("exam").build(),
+                Lock.builder().resource(otherResource).period(new Period(start.plusDays(7), end.plusDays(7))).message("exam").build());
+
+        //when
+        lockRepository.insertAllInBatch(locks, LocalDateTime.of(2023, 8, 10, 9, 0));
+        List<Lock> findLocks = lockRepository.findAllByResourceIdInAndStartDateTimeIn(
+                List.of(resource.getId(), otherResource.getId()), List.of(start, start.plusDays(7)));
+
+        //then
+        assertThat(findLocks).hasSize(3);
+        assertThat(findLocks).allMatch(lock -> lock.getVersion() == 0 && lock.getCreatedDate().equals(LocalDateTime.of(2023, 8, 10, 9, 0)) && lock.getMessage().equals("exam"));
+        assertThat(lockRepository.findPeriodsBetweenByResourceIds(List.of(resource.getId(), otherResource.getId()), start.plusHours(1), start.plusHours(2)))
+                .extracting(ResourcePeriodView::getResourceId)
+                .containsExactlyInAnyOrder(resource.getId(), otherResource.getId());
+    }
+
     private void createLock(int startHour,int endHour) {
         LocalDateTime s = LocalDateTime.of(2023, 8, 11, startHour, 0, 0);
         LocalDateTime e = LocalDateTime.of(2023, 8, 11, endHour, 0, 0);
@@ -0,0 +1,37 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.RedisFallbackLease;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class RedisFallbackLeaseRepositoryTest {
+
+    @Autowired
+    RedisFallbackLeaseRepository redisFallbackLeaseRepository;
+
+    @Test
+    @DisplayName("lease 는 더 늦은 시각으로만 연장되고, row 가 없으면 연장되지 않는다")
+    public void extend() throws Exception {
+        //given
+        LocalDateTime until = LocalDateTime.of(2023, 8, 10, 10, 0, 30);
+        assertThat(redisFallbackLeaseRepository.extend(RedisFallbackLease.ID, until)).isEqualTo(0);
+        assertThat(redisFallbackLeaseRepository.findDegradedUntil(RedisFallbackLease.ID)).isEmpty();
+        redisFallbackLeaseRepository.save(new RedisFallbackLease(until));
+
+        //when
+        int earlier = redisFallbackLeaseRepository.extend(RedisFallbackLease.ID, until.minusSeconds(10));
+        int later = redisFallbackLeaseRepository.extend(RedisFallbackLease.ID, until.plusSeconds(10));
+
+        //then
+        assertThat(earlier).isEqualTo(0);
+        assertThat(later).isEqualTo(1);
+        assertThat(redisFallbackLeaseRepository.findDegradedUntil(RedisFallbackLease.ID)).contains(until.plusSeconds(10));
+    }
+}
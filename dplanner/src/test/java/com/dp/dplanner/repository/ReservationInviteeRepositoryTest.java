@@ -0,0 +1,72 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.*;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class ReservationInviteeRepositoryTest {
+
+    @Autowired
+    ReservationInviteeRepository reservationInviteeRepository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    Club club;
+    Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        club = Club.builder().build();
+        entityManager.persist(club);
+        ClubMember owner = persistClubMember();
+        Resource resource = Resource.builder().club(club).resourceType(ResourceType.PLACE).build();
+        entityManager.persist(resource);
+
+        reservation = Reservation.builder()
+                .clubMember(owner)
+                .resource(resource)
+                .period(new Period(LocalDateTime.of(2023, 8, 10, 10, 0), LocalDateTime.of(2023, 8, 10, 11, 0)))
+                .build();
+        entityManager.persist(reservation);
+    }
+
+    @Test
+    @DisplayName("JDBC batch 로 초대 회원을 저장하고 예약 id 로 조회")
+    public void insertAllInBatch() throws Exception {
+        //given
+        ClubMember invitee1 = persistClubMember();
+        ClubMember invitee2 = persistClubMember();
+        entityManager.flush();
+
+        //when
+        reservationInviteeRepository.insertAllInBatch(List.of(
+                ReservationInvitee.builder().reservation(reservation).clubMember(invitee1).build(),
+                ReservationInvitee.builder().reservation(reservation).clubMember(invitee2).build()));
+        entityManager.clear();
+
+        //then
+        List<ReservationInvitee> invitees = reservationInviteeRepository.findAllByReservationId(reservation.getId());
+        assertThat(invitees).extracting(invitee -> invitee.getClubMember().getId())
+                .containsExactlyInAnyOrder(invitee1.getId(), invitee2.getId());
+    }
+
+    private ClubMember persistClubMember() {
+        Member member = Member.builder().build();
+        ClubMember clubMember = ClubMember.builder().member(member).club(club).build();
+        entityManager.persist(member);
+        entityManager.persist(clubMember);
+        return clubMember;
+    }
+}
@@ -0,0 +1,107 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.adapter.dto.ReservationDto;
+import com.dp.dplanner.adapter.dto.ReservationInviteeDto;
+import com.dp.dplanner.domain.*;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.service.ReservationReadModel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ReservationReadModel.class)
+public class ReservationReadModelTest {
+
+    @Autowired
+    ReservationReadModel reservationReadModel;
+    @Autowired
+    TestEntityManager entityManager;
+
+    Statistics statistics;
+    List<Long> reservationIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Member member = Member.builder().build();
+        Club club = Club.builder().build();
+        ClubMember clubMember = ClubMember.builder().member(member).club(club).name("owner").build();
+        Resource resource = Resource.builder().club(club).name("room").resourceType(ResourceType.PLACE).build();
+        entityManager.persist(member);
+        entityManager.persist(club);
+        entityManager.persist(clubMember);
+        entityManager.persist(resource);
+
+        for (int i = 0; i < 50; i++) {
+            Member inviteeMember = Member.builder().build();
+            ClubMember invitee = ClubMember.builder().member(inviteeMember).club(club).name("invitee" + i).build();
+            entityManager.persist(inviteeMember);
+            entityManager.persist(invitee);
+
+            LocalDateTime start = LocalDateTime.of(2023, 8, 10, 0, 0).plusHours(i);
+            Reservation reservation = Reservation.builder()
+                    .clubMember(clubMember)
+                    .resource(resource)
+                    .title("title" + i)
+                    .period(new Period(start, start.plusHours(1)))
+                    .build();
+            entityManager.persist(reservation);
+            entityManager.persist(ReservationInvitee.builder().reservation(reservation).clubMember(invitee).build());
+            entityManager.persist(new Attachment(reservation, "url" + i, FileType.IMAGE));
+            reservationIds.add(reservation.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("예약/초대 회원/첨부파일을 projection 으로 조회해서 요청한 id 순서대로 응답을 만든다")
+    public void findResponses() throws Exception {
+        //when
+        List<ReservationDto.Response> responses = reservationReadModel.findResponses(List.of(reservationIds.get(2), reservationIds.get(0)));
+
+        //then
+        assertThat(responses).extracting(ReservationDto.Response::getTitle).containsExactly("title2", "title0");
+        ReservationDto.Response response = responses.get(0);
+        assertThat(response.getClubMemberName()).isEqualTo("owner");
+        assertThat(response.getResourceName()).isEqualTo("room");
+        assertThat(response.getStatus()).isEqualTo(ReservationStatus.REQUEST.name());
+        assertThat(response.getAttachmentsUrl()).containsExactly("url2");
+        assertThat(response.getInvitees()).extracting(ReservationInviteeDto::getClubMemberName).containsExactly("invitee2");
+    }
+
+    @Test
+    @DisplayName("조회하는 예약 수와 관계없이 실행되는 쿼리 수는 일정하다")
+    public void statementCountIsConstant() throws Exception {
+        //when
+        long smallPage = countStatements(reservationIds.subList(0, 5));
+        long largePage = countStatements(reservationIds);
+
+        //then
+        assertThat(smallPage).isEqualTo(3);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    private long countStatements(List<Long> ids) {
+        entityManager.clear();
+        statistics.clear();
+        List<ReservationDto.Response> responses = reservationReadModel.findResponses(ids);
+        assertThat(responses).hasSize(ids.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
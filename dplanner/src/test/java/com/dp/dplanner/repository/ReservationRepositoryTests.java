@@ -9,9 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -238,6 +241,28 @@ public class ReservationRepositoryTests {
         assertThat(result).isTrue();
     }
 
+    @Test
+    @DisplayName("구간 안에서 동시에 겹치는 예약 수의 최댓값 (10~12, 11~13, 11~12, 13~14 -> 10~14 : 3, 12~14 : 1, 14~15 : 0)")
+    public void countMaxOverlapBetween() throws Exception {
+        //given
+        persistReservation(10, 12);
+        persistReservation(11, 13);
+        persistReservation(11, 12);
+        persistReservation(13, 14);
+        Reservation rejected = persistReservation(12, 13);
+        rejected.reject("reject");
+
+        //when
+        long all = reservationRepository.countMaxOverlapBetween(resource.getId(), getTime(10), getTime(14));
+        long afternoon = reservationRepository.countMaxOverlapBetween(resource.getId(), getTime(12), getTime(14));
+        long empty = reservationRepository.countMaxOverlapBetween(resource.getId(), getTime(14), getTime(15));
+
+        //then
+        assertThat(all).isEqualTo(3);
+        assertThat(afternoon).as("거절된 예약은 세지 않는다").isEqualTo(1);
+        assertThat(empty).isEqualTo(0);
+    }
+
     @Test
     @DisplayName("주어진 기간 내에 특정 예약을 제외한 다른 예약이 있는지 검사")
     public void existsOthersBetween() throws Exception {
@@ -320,7 +345,218 @@ public class ReservationRepositoryTests {
         assertThat(findReservations).as("승인된 예약은 포함하지 않아야 한다.").doesNotContain(reservation4);
     }
 
+    @Test
+    @DisplayName("주어진 시간 이후에 끝나는 거절되지 않은 예약 기간 조회")
+    public void findPeriodsAfter() throws Exception {
+        //given
+        Reservation reservation1 = persistReservation(8, 10);
+        Reservation reservation2 = persistReservation(12, 14);
+        Reservation reservation3 = persistReservation(14, 16);
+        reservation3.reject("rejectMessage");
+        Reservation reservation4 = persistReservation(10, 12);
+        entityManager.flush();
+
+        //when
+        List<PeriodView> periods = reservationRepository.findPeriodsAfter(resource.getId(), getTime(10));
+
+        //then
+        assertThat(periods).extracting(PeriodView::getId)
+                .as("시작 시간 순으로 정렬되어야 하고 거절된 예약과 이미 끝난 예약은 포함하지 않아야 한다.")
+                .containsExactly(reservation4.getId(), reservation2.getId());
+        assertThat(periods.get(1).getStartDateTime()).isEqualTo(getTime(12));
+        assertThat(periods.get(1).getEndDateTime()).isEqualTo(getTime(14));
+    }
+
+
+    @Test
+    @DisplayName("JDBC batch 로 여러 예약을 저장하고, 같은 시간의 다른 회원 예약은 빼고 이번에 저장한 행만 다시 조회")
+    public void insertAllInBatch() throws Exception {
+        //given
+        Member otherMember = Member.builder().build();
+        ClubMember other = ClubMember.builder().member(otherMember).club(resource.getClub()).build();
+        entityManager.persist(otherMember);
+        entityManager.persist(other);
+        entityManager.persist(Reservation.builder().clubMember(other).resource(resource).period(new Period(getTime(8), getTime(10))).build());
+        List<Reservation> reservations = List.of(
+                Reservation.builder().clubMember(clubMember).resource(resource).period(new Period(getTime(8), getTime(10))).title("title").build(),
+                Reservation.builder().clubMember(clubMember).resource(resource).period(new Period(getTime(10), getTime(12))).title("title").build());
+        entityManager.flush();
+
+        //when
+        LocalDateTime createdDate = LocalDateTime.of(2023, 8, 1, 9, 0);
+        reservationRepository.insertAllInBatch(reservations, createdDate);
+        List<Reservation> findReservations = reservationRepository.findAllInsertedInBatch(
+                resource.getId(), clubMember.getId(), createdDate, List.of(getTime(8), getTime(10)));
+
+        //then
+        assertThat(findReservations).hasSize(2);
+        assertThat(findReservations).extracting(r -> r.getPeriod().getStartDateTime()).containsExactly(getTime(8), getTime(10));
+        assertThat(findReservations).allMatch(r -> r.getStatus() == ReservationStatus.REQUEST && r.getCreatedDate().equals(createdDate));
+        assertThat(findReservations).allMatch(r -> r.getClubMember().getId().equals(clubMember.getId()));
+        assertThat(reservationRepository.findPeriodsBetween(resource.getId(), getTime(9), getTime(11))).hasSize(3);
+        assertThat(reservationRepository.findPeriodsBetween(resource.getId(), getTime(12), getTime(13))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("커서 이후의 본인 예약과 초대된 예약을 (시작 시간, id) 순으로 조회")
+    public void findAfterCursor() throws Exception {
+        //given
+        Member otherMember = Member.builder().build();
+        ClubMember other = ClubMember.builder().member(otherMember).club(resource.getClub()).build();
+        entityManager.persist(otherMember);
+        entityManager.persist(other);
+
+        Reservation reservation1 = persistReservation(8, 10);
+        Reservation reservation2 = persistReservation(10, 12);
+        Reservation reservation3 = persistReservation(10, 11);
+        Reservation reservation4 = persistReservation(12, 14);
+        reservation4.reject("rejectMessage");
+        Reservation invited = Reservation.builder().clubMember(other).resource(resource).period(new Period(getTime(9), getTime(10))).build();
+        entityManager.persist(invited);
+        entityManager.persist(ReservationInvitee.builder().reservation(invited).clubMember(clubMember).build());
+        entityManager.flush();
+
+        //when
+        List<Reservation> firstPage = reservationRepository.findOwnedAfterCursor(clubMember.getId(), getTime(8), Long.MIN_VALUE, PageRequest.of(0, 2));
+        Reservation last = firstPage.get(firstPage.size() - 1);
+        List<Reservation> secondPage = reservationRepository.findOwnedAfterCursor(clubMember.getId(), last.getPeriod().getStartDateTime(), last.getId(), PageRequest.of(0, 2));
+        List<Reservation> invitedPage = reservationRepository.findInvitedAfterCursor(clubMember.getId(), getTime(8), Long.MIN_VALUE, PageRequest.of(0, 2));
+
+        //then
+        assertThat(firstPage).containsExactly(reservation1, reservation2);
+        assertThat(secondPage).as("같은 시작 시간은 id 순으로 이어지고 거절된 예약은 포함하지 않아야 한다.").containsExactly(reservation3);
+        assertThat(invitedPage).containsExactly(invited);
+    }
+
+    @Test
+    @DisplayName("커서 이전의 클럽 예약을 상태별로 최신순 조회")
+    public void findAdminBeforeCursor() throws Exception {
+        //given
+        Reservation reservation1 = persistReservation(8, 10);
+        Reservation reservation2 = persistReservation(10, 12);
+        Reservation reservation3 = persistReservation(12, 14);
+        reservation3.confirm();
+        entityManager.flush();
+
+        //when
+        List<Reservation> reservations = reservationRepository.findAdminBeforeCursor(
+                resource.getClub().getId(), ReservationStatus.REQUEST, getTime(12), Long.MIN_VALUE, PageRequest.of(0, 10));
+
+        //then
+        assertThat(reservations).containsExactly(reservation2, reservation1);
+    }
+
+    @Test
+    @DisplayName("일괄 상태 변경은 version 을 올린다")
+    public void updateStatusAllIncrementsVersion() throws Exception {
+        //given
+        Reservation reservation = persistReservation(8, 10);
+        entityManager.flush();
+        assertThat(reservation.getVersion()).isEqualTo(0L);
 
+        //when
+        reservationRepository.updateStatusAll(List.of(reservation.getId()), ReservationStatus.CONFIRMED, getTime(0));
+        entityManager.clear();
+
+        //then
+        Reservation findReservation = reservationRepository.findById(reservation.getId()).orElseThrow();
+        assertThat(findReservation.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        assertThat(findReservation.getVersion()).isEqualTo(1L);
+    }
+
+
+    @Test
+    @DisplayName("클럽을 지정하지 않으면 전체 클럽의 거절되지 않은 예약 기간을 stream 으로 조회")
+    public void streamPeriodsBetween() throws Exception {
+        //given
+        Reservation reservation1 = persistReservation(8, 10);
+        Reservation reservation2 = persistReservation(12, 14);
+        reservation2.reject("rejectMessage");
+        persistReservation(20, 22);
+        entityManager.flush();
+
+        //when
+        List<ResourcePeriodView> all;
+        try (Stream<ResourcePeriodView> periods = reservationRepository.streamPeriodsBetween(null, getTime(0), getTime(16))) {
+            all = periods.toList();
+        }
+        List<ResourcePeriodView> club;
+        try (Stream<ResourcePeriodView> periods = reservationRepository.streamPeriodsBetween(resource.getClub().getId(), getTime(0), getTime(16))) {
+            club = periods.toList();
+        }
+
+        //then
+        assertThat(all).extracting(ResourcePeriodView::getId).containsExactly(reservation1.getId());
+        assertThat(all.get(0).getResourceId()).isEqualTo(resource.getId());
+        assertThat(club).extracting(ResourcePeriodView::getId).containsExactly(reservation1.getId());
+    }
+
+
+    @Test
+    @DisplayName("본인/초대된 예약을 ICS 피드용으로 시작 시간 순 스트림 조회하고 개수로 버전을 확인")
+    public void streamMemberCalendar() throws Exception {
+        //given
+        Member otherMember = Member.builder().build();
+        ClubMember other = ClubMember.builder().member(otherMember).club(resource.getClub()).build();
+        entityManager.persist(otherMember);
+        entityManager.persist(other);
+
+        persistReservation(1, 2);
+        Reservation reservation = persistReservation(10, 12);
+        Reservation rejected = persistReservation(12, 14);
+        rejected.reject("rejectMessage");
+        Reservation invited = Reservation.builder().clubMember(other).resource(resource).title("invited").period(new Period(getTime(8), getTime(9))).build();
+        entityManager.persist(invited);
+        entityManager.persist(ReservationInvitee.builder().reservation(invited).clubMember(clubMember).build());
+        entityManager.flush();
+
+        //when
+        List<CalendarEntryView> entries;
+        try (Stream<CalendarEntryView> stream = reservationRepository.streamMemberCalendar(clubMember.getId(), getTime(3))) {
+            entries = stream.toList();
+        }
+        List<CalendarEntryView> resourceEntries;
+        try (Stream<CalendarEntryView> stream = reservationRepository.streamResourceCalendar(resource.getId(), getTime(3))) {
+            resourceEntries = stream.toList();
+        }
+        CalendarVersionView version = reservationRepository.findMemberCalendarVersion(clubMember.getId(), getTime(3));
+
+        //then
+        assertThat(entries).extracting(CalendarEntryView::getId)
+                .as("이미 끝난 예약과 거절된 예약은 포함하지 않아야 한다.")
+                .containsExactly(invited.getId(), reservation.getId());
+        assertThat(entries.get(0).getTitle()).isEqualTo("invited");
+        assertThat(entries.get(0).getResourceName()).isEqualTo(resource.getName());
+        assertThat(entries.get(0).getStatus()).isEqualTo(ReservationStatus.REQUEST);
+        assertThat(resourceEntries).hasSize(2);
+        assertThat(version.getCount()).isEqualTo(2L);
+        assertThat(reservationRepository.findResourceCalendarVersion(resource.getId(), getTime(20)).getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("클럽 예약을 JDBC 커서로 시작 시간 순으로 내보내고 상태로 거른다")
+    public void exportReservations() throws Exception {
+        //given
+        Reservation reservation1 = persistReservation(8, 10);
+        Reservation reservation2 = persistReservation(10, 12);
+        reservation2.confirm();
+        persistReservation(20, 22);
+        entityManager.persist(ReservationInvitee.builder().reservation(reservation2).clubMember(clubMember).build());
+        entityManager.flush();
+
+        //when
+        List<ReservationExportRow> all = new ArrayList<>();
+        reservationRepository.exportReservations(resource.getClub().getId(), null, getTime(0), getTime(16), all::add);
+        List<ReservationExportRow> confirmed = new ArrayList<>();
+        reservationRepository.exportReservations(resource.getClub().getId(), ReservationStatus.CONFIRMED, getTime(0), getTime(16), confirmed::add);
+
+        //then
+        assertThat(all).extracting(ReservationExportRow::getId).containsExactly(reservation1.getId(), reservation2.getId());
+        assertThat(all.get(0).getStartDateTime()).isEqualTo(getTime(8));
+        assertThat(all.get(0).getStatus()).isEqualTo("REQUEST");
+        assertThat(confirmed).extracting(ReservationExportRow::getId).containsExactly(reservation2.getId());
+        assertThat(confirmed.get(0).getInviteeCount()).isEqualTo(1L);
+    }
 
     private static LocalDateTime getTime(int hour) {
         return LocalDateTime.of(2023, 8, 10, hour, 0);
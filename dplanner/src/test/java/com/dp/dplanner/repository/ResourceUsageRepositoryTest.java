@@ -0,0 +1,132 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.Member;
+import com.dp.dplanner.domain.MemberUsage;
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.ResourceUsage;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.dp.dplanner.service.event.UsageRollupRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(UsageRollupRecorder.class)
+public class ResourceUsageRepositoryTest {
+
+    @Autowired
+    ResourceUsageRepository resourceUsageRepository;
+    @Autowired
+    MemberUsageRepository memberUsageRepository;
+    @Autowired
+    UsageRollupRecorder usageRollupRecorder;
+    @Autowired
+    TestEntityManager entityManager;
+
+    Long clubId = 1L;
+    Resource resource;
+    ClubMember clubMember;
+
+    @BeforeEach
+    void setUp() {
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", clubId);
+        resource = Resource.builder().club(club).build();
+        ReflectionTestUtils.setField(resource, "id", 10L);
+        clubMember = ClubMember.builder().member(Member.builder().build()).club(club).build();
+        ReflectionTestUtils.setField(clubMember, "id", 100L);
+    }
+
+    @Test
+    @DisplayName("승인된 예약은 시간 단위로 나누어 집계하고, 반납/삭제 시 이전 상태를 빼고 다시 집계한다")
+    public void rollupReservationChanges() throws Exception {
+        //given
+        Reservation reservation = createReservation(getTime(10, 30), getTime(12, 0));
+        reservation.confirm();
+
+        //when
+        usageRollupRecorder.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.CONFIRMED, reservation));
+        entityManager.flush();
+        entityManager.clear();
+
+        //then
+        List<ResourceUsage> usages = findResourceUsages();
+        assertThat(usages).extracting(ResourceUsage::getUsageHour).containsExactly(10, 11);
+        assertThat(usages).extracting(ResourceUsage::getReservedMinutes).containsExactly(30L, 60L);
+        assertThat(usages).extracting(ResourceUsage::getReservationCount).containsExactly(1L, 0L);
+
+        //when
+        reservation.returned("returned");
+        usageRollupRecorder.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.UPDATED, reservation));
+        entityManager.flush();
+        entityManager.clear();
+
+        //then
+        usages = findResourceUsages();
+        assertThat(usages).extracting(ResourceUsage::getReservedMinutes).containsExactly(30L, 60L);
+        assertThat(usages.get(0).getReturnedCount()).isEqualTo(1L);
+        List<MemberUsage> memberUsages = memberUsageRepository.findByClubIdBetween(clubId, getTime(0, 0).toLocalDate(), getTime(0, 0).toLocalDate());
+        assertThat(memberUsages).hasSize(1);
+        assertThat(memberUsages.get(0).getReservedMinutes()).isEqualTo(90L);
+        assertThat(memberUsages.get(0).getReturnedCount()).isEqualTo(1L);
+
+        //when
+        usageRollupRecorder.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.DELETED, reservation));
+        entityManager.flush();
+        entityManager.clear();
+
+        //then
+        assertThat(findResourceUsages()).allMatch(usage -> usage.getReservedMinutes() == 0 && usage.getReservationCount() == 0);
+    }
+
+    @Test
+    @DisplayName("승인 대기 중인 예약은 집계하지 않는다")
+    public void requestIsNotCounted() throws Exception {
+        //given
+        Reservation reservation = createReservation(getTime(10, 0), getTime(11, 0));
+
+        //when
+        usageRollupRecorder.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.CREATED, reservation));
+        entityManager.flush();
+
+        //then
+        assertThat(findResourceUsages()).isEmpty();
+    }
+
+    private List<ResourceUsage> findResourceUsages() {
+        LocalDate date = getTime(0, 0).toLocalDate();
+        return resourceUsageRepository.findByClubIdBetween(clubId, date, date).stream()
+                .sorted(Comparator.comparingInt(ResourceUsage::getUsageHour))
+                .toList();
+    }
+
+    private Reservation createReservation(LocalDateTime start, LocalDateTime end) {
+        Reservation reservation = Reservation.builder()
+                .clubMember(clubMember)
+                .resource(resource)
+                .period(new Period(start, end))
+                .build();
+        ReflectionTestUtils.setField(reservation, "id", 1000L);
+        return reservation;
+    }
+
+    private static LocalDateTime getTime(int hour, int minute) {
+        return LocalDateTime.of(2023, 8, 10, hour, minute);
+    }
+}
@@ -0,0 +1,37 @@
+package com.dp.dplanner.repository;
+
+import com.dp.dplanner.domain.Tombstone;
+import com.dp.dplanner.domain.TombstoneType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class TombstoneRepositoryTest {
+
+    @Autowired
+    TombstoneRepository tombstoneRepository;
+
+    @Test
+    @DisplayName("리소스의 since 이후 삭제 기록 조회, 보관 기간이 지난 기록 삭제")
+    public void findAllByResourceIdSince() throws Exception {
+        //given
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        tombstoneRepository.save(Tombstone.builder().targetType(TombstoneType.RESERVATION).targetId(1L).resourceId(10L).build());
+        tombstoneRepository.save(Tombstone.builder().targetType(TombstoneType.LOCK).targetId(2L).resourceId(20L).build());
+
+        //when
+        List<Tombstone> tombstones = tombstoneRepository.findAllByResourceIdSince(10L, before);
+
+        //then
+        assertThat(tombstones).extracting(Tombstone::getTargetId).containsExactly(1L);
+        assertThat(tombstoneRepository.findAllByResourceIdSince(10L, LocalDateTime.now().plusSeconds(1))).isEmpty();
+        assertThat(tombstoneRepository.deleteAllCreatedBefore(LocalDateTime.now().plusSeconds(1))).isEqualTo(2);
+    }
+}
@@ -0,0 +1,206 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.AvailabilityDto;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.ResourceType;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.domain.Member;
+import com.dp.dplanner.exception.BaseException;
+import com.dp.dplanner.repository.*;
+import com.dp.dplanner.service.exception.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.dp.dplanner.exception.ErrorResult.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityServiceTest {
+
+    @Mock
+    ClubMemberRepository clubMemberRepository;
+    @Mock
+    ResourceRepository resourceRepository;
+    @Mock
+    ReservationRepository reservationRepository;
+    @Mock
+    LockRepository lockRepository;
+
+    AvailabilityService availabilityService;
+
+    Club club;
+    ClubMember clubMember;
+    Resource resource;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(getTime(9).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        availabilityService = new AvailabilityService(clubMemberRepository, resourceRepository, reservationRepository, lockRepository, clock);
+        ReflectionTestUtils.setField(availabilityService, "slotWidth", 1);
+
+        club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        clubMember = ClubMember.builder().club(club).member(Member.builder().build()).build();
+        ReflectionTestUtils.setField(clubMember, "id", 11L);
+        resource = Resource.builder().club(club).name("room").bookableSpan(0L).build();
+        ReflectionTestUtils.setField(resource, "id", 111L);
+    }
+
+    @Test
+    @DisplayName("예약, 락, 과거 시간, bookableSpan 이후를 제외한 빈 시간대를 반환한다")
+    public void getAvailability() {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.of(resource));
+        given(reservationRepository.findPeriodsBetween(any(), any(), any())).willReturn(List.of(periodView(getTime(10), getTime(11).plusMinutes(30))));
+        given(lockRepository.findPeriodsBetween(any(), any(), any())).willReturn(List.of(periodView(getTime(13), getTime(14))));
+
+        //when
+        AvailabilityDto.Response response = availabilityService.getAvailability(clubMember.getId(), resource.getId(), getTime(0), getTime(0).plusDays(2));
+
+        //then
+        assertThat(response.getResourceId()).isEqualTo(resource.getId());
+        assertThat(response.getFreeIntervals()).extracting(AvailabilityDto.Interval::getStartDateTime)
+                .containsExactly(getTime(9), getTime(11).plusMinutes(30), getTime(14));
+        assertThat(response.getFreeIntervals()).extracting(AvailabilityDto.Interval::getEndDateTime)
+                .containsExactly(getTime(10), getTime(13), getTime(0).plusDays(1));
+    }
+
+    @Test
+    @DisplayName("정원이 있는 리소스는 겹치는 예약 수가 정원에 닿은 시간만 빈 시간대에서 제외한다")
+    public void getAvailabilityWithCapacity() {
+        //given
+        Resource shared = Resource.builder().club(club).name("shared").bookableSpan(0L).capacity(2).build();
+        ReflectionTestUtils.setField(shared, "id", 222L);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findById(shared.getId())).willReturn(Optional.of(shared));
+        given(reservationRepository.findPeriodsBetween(any(), any(), any())).willReturn(List.of(
+                periodView(getTime(10), getTime(12)),
+                periodView(getTime(11), getTime(13))));
+        given(lockRepository.findPeriodsBetween(any(), any(), any())).willReturn(List.of());
+
+        //when
+        AvailabilityDto.Response response = availabilityService.getAvailability(clubMember.getId(), shared.getId(), getTime(9), getTime(18));
+
+        //then
+        assertThat(response.getFreeIntervals()).extracting(AvailabilityDto.Interval::getStartDateTime)
+                .containsExactly(getTime(9), getTime(12));
+        assertThat(response.getFreeIntervals()).extracting(AvailabilityDto.Interval::getEndDateTime)
+                .containsExactly(getTime(11), getTime(18));
+    }
+
+    @Test
+    @DisplayName("클럽 전체 조회는 예약/락을 클럽 단위로 한 번씩만 조회한다")
+    public void getClubAvailability() {
+        //given
+        Resource other = Resource.builder().club(club).name("other").build();
+        ReflectionTestUtils.setField(other, "id", 222L);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findByClubId(club.getId())).willReturn(List.of(resource, other));
+        given(reservationRepository.findPeriodsBetweenByClubId(any(), any(), any())).willReturn(List.of(resourcePeriodView(222L, getTime(10), getTime(12))));
+        given(lockRepository.findPeriodsBetweenByClubId(any(), any(), any())).willReturn(new ArrayList<>());
+
+        //when
+        List<AvailabilityDto.Response> responses = availabilityService.getClubAvailability(clubMember.getId(), club.getId(), getTime(9), getTime(18));
+
+        //then
+        assertThat(responses).hasSize(2);
+        assertThat(responses.get(0).getFreeIntervals()).hasSize(1);
+        assertThat(responses.get(1).getFreeIntervals()).extracting(AvailabilityDto.Interval::getStartDateTime)
+                .containsExactly(getTime(9), getTime(12));
+        verify(reservationRepository, never()).findPeriodsBetween(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("요청 시간에 비어 있는 리소스를 빈 구간이 꼭 맞는 순서로 반환한다")
+    public void searchFreeResources() {
+        //given
+        Resource tight = Resource.builder().club(club).name("tight").resourceType(ResourceType.PLACE).build();
+        ReflectionTestUtils.setField(tight, "id", 222L);
+        Resource busy = Resource.builder().club(club).name("busy").resourceType(ResourceType.PLACE).build();
+        ReflectionTestUtils.setField(busy, "id", 333L);
+        Resource thing = Resource.builder().club(club).name("thing").resourceType(ResourceType.THING).build();
+        ReflectionTestUtils.setField(thing, "id", 444L);
+        ReflectionTestUtils.setField(resource, "resourceType", ResourceType.PLACE);
+
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findByClubId(club.getId())).willReturn(List.of(resource, tight, busy, thing));
+        given(reservationRepository.findPeriodsBetweenByClubId(club.getId(), getTime(0), getTime(0).plusDays(1))).willReturn(List.of(
+                resourcePeriodView(222L, getTime(10), getTime(12)),
+                resourcePeriodView(222L, getTime(15), getTime(16)),
+                resourcePeriodView(333L, getTime(13).plusMinutes(30), getTime(14))));
+        given(lockRepository.findPeriodsBetweenByClubId(club.getId(), getTime(0), getTime(0).plusDays(1))).willReturn(new ArrayList<>());
+
+        //when
+        List<AvailabilityDto.FreeResource> freeResources = availabilityService.searchFreeResources(
+                clubMember.getId(), club.getId(), getTime(13), getTime(14), ResourceType.PLACE);
+
+        //then
+        assertThat(freeResources).extracting(AvailabilityDto.FreeResource::getResourceId).containsExactly(222L, resource.getId());
+        assertThat(freeResources.get(0).getSlackMinutes()).isEqualTo(120);
+        assertThat(freeResources.get(0).getFreeInterval().getStartDateTime()).isEqualTo(getTime(12));
+        assertThat(freeResources.get(0).getFreeInterval().getEndDateTime()).isEqualTo(getTime(15));
+    }
+
+    @Test
+    @DisplayName("다른 클럽 리소스를 조회하면 DIFFERENT_CLUB_EXCEPTION")
+    public void getAvailabilityOtherClub() {
+        //given
+        Club otherClub = Club.builder().build();
+        ReflectionTestUtils.setField(otherClub, "id", 2L);
+        Resource otherClubResource = Resource.builder().club(otherClub).build();
+        ReflectionTestUtils.setField(otherClubResource, "id", 333L);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findById(otherClubResource.getId())).willReturn(Optional.of(otherClubResource));
+
+        //when
+        BaseException exception = assertThrows(ServiceException.class,
+                () -> availabilityService.getAvailability(clubMember.getId(), otherClubResource.getId(), getTime(9), getTime(18)));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(DIFFERENT_CLUB_EXCEPTION);
+    }
+
+    private static PeriodView periodView(LocalDateTime start, LocalDateTime end) {
+        return resourcePeriodView(null, start, end);
+    }
+
+    private static ResourcePeriodView resourcePeriodView(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        return new ResourcePeriodView() {
+            public Long getResourceId() {
+                return resourceId;
+            }
+
+            public Long getId() {
+                return 1L;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return end;
+            }
+        };
+    }
+
+    private static LocalDateTime getTime(int hour) {
+        return LocalDateTime.of(2023, 8, 10, hour, 0);
+    }
+}
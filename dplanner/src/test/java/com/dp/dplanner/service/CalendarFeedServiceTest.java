@@ -0,0 +1,219 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.CalendarFeedDto;
+import com.dp.dplanner.domain.Member;
+import com.dp.dplanner.domain.ReservationStatus;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.CalendarEntryView;
+import com.dp.dplanner.repository.CalendarVersionView;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.exception.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.dp.dplanner.exception.ErrorResult.DIFFERENT_CLUB_EXCEPTION;
+import static com.dp.dplanner.exception.ErrorResult.INVALID_TOKEN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CalendarFeedServiceTest {
+
+    @Mock
+    ClubMemberRepository clubMemberRepository;
+    @Mock
+    ResourceRepository resourceRepository;
+    @Mock
+    ReservationRepository reservationRepository;
+
+    CalendarFeedService calendarFeedService;
+    ClubMember clubMember;
+    Resource resource;
+    LocalDateTime now = LocalDateTime.of(2023, 8, 10, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        calendarFeedService = new CalendarFeedService(clubMemberRepository, resourceRepository, reservationRepository, clock);
+        ReflectionTestUtils.setField(calendarFeedService, "secret", "secret");
+        ReflectionTestUtils.setField(calendarFeedService, "pastDays", 30L);
+
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        clubMember = ClubMember.builder().member(Member.builder().build()).club(club).name("member").build();
+        clubMember.confirm();
+        ReflectionTestUtils.setField(clubMember, "id", 10L);
+        resource = Resource.builder().club(club).name("room").build();
+        ReflectionTestUtils.setField(resource, "id", 100L);
+    }
+
+    @Test
+    @DisplayName("발급한 토큰으로 회원을 확인하고, 변조된 토큰은 INVALID_TOKEN")
+    public void authenticate() {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        CalendarFeedDto.Response feed = calendarFeedService.getFeed(clubMember.getId());
+
+        //when
+        Long clubMemberId = calendarFeedService.authenticate(feed.getToken());
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> calendarFeedService.authenticate(clubMember.getId() + ".tampered"));
+
+        //then
+        assertThat(clubMemberId).isEqualTo(clubMember.getId());
+        assertThat(feed.getMemberFeedPath()).isEqualTo("/ics/" + feed.getToken() + "/reservations.ics");
+        assertThat(exception.getErrorResult()).isEqualTo(INVALID_TOKEN);
+    }
+
+    @Test
+    @DisplayName("토큰을 재발급하면 이전 토큰은 INVALID_TOKEN")
+    public void reissueFeed() {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        CalendarFeedDto.Response before = calendarFeedService.getFeed(clubMember.getId());
+
+        //when
+        CalendarFeedDto.Response after = calendarFeedService.reissueFeed(clubMember.getId());
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> calendarFeedService.authenticate(before.getToken()));
+
+        //then
+        assertThat(after.getToken()).isNotEqualTo(before.getToken());
+        assertThat(calendarFeedService.authenticate(after.getToken())).isEqualTo(clubMember.getId());
+        assertThat(exception.getErrorResult()).isEqualTo(INVALID_TOKEN);
+    }
+
+    @Test
+    @DisplayName("예약 개수나 마지막 수정 시각이 바뀌면 ETag 가 바뀐다")
+    public void getMemberFeedTag() {
+        //given
+        LocalDateTime from = now.toLocalDate().minusDays(30).atStartOfDay();
+        given(reservationRepository.findMemberCalendarVersion(clubMember.getId(), from))
+                .willReturn(version(2L, now), version(3L, now), version(3L, now.plusMinutes(1)));
+
+        //when
+        String tag1 = calendarFeedService.getMemberFeedTag(clubMember.getId());
+        String tag2 = calendarFeedService.getMemberFeedTag(clubMember.getId());
+        String tag3 = calendarFeedService.getMemberFeedTag(clubMember.getId());
+
+        //then
+        assertThat(tag1).startsWith("\"").endsWith("\"");
+        assertThat(tag1).isNotEqualTo(tag2);
+        assertThat(tag2).isNotEqualTo(tag3);
+        assertThat(calendarFeedService.getMemberFeedTag(clubMember.getId())).isEqualTo(tag3);
+    }
+
+    @Test
+    @DisplayName("스트림으로 읽은 예약을 UTC 시간과 이스케이프된 텍스트로 VEVENT 로 쓴다")
+    public void writeMemberFeed() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        LocalDateTime start = LocalDateTime.of(2023, 8, 11, 10, 0);
+        given(reservationRepository.streamMemberCalendar(eq(clubMember.getId()), any())).willReturn(Stream.of(
+                entry(1L, "회의, 준비; 1차", "a".repeat(100), start, ReservationStatus.CONFIRMED)));
+        StringWriter writer = new StringWriter();
+
+        //when
+        calendarFeedService.writeMemberFeed(clubMember.getId(), writer);
+
+        //then
+        String ics = writer.toString();
+        String utcStart = start.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime().toString()
+                .replace("-", "").replace(":", "");
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(ics).contains("UID:reservation-1@dplanner\r\n");
+        assertThat(ics).contains("DTSTART:" + utcStart + "00Z\r\n");
+        assertThat(ics).contains("SUMMARY:회의\\, 준비\\; 1차 (room)\r\n");
+        assertThat(ics).contains("STATUS:CONFIRMED\r\n");
+        assertThat(ics.lines()).as("75 octet 을 넘는 줄은 접어서 써야 한다").allMatch(line -> line.length() <= 75);
+        assertThat(ics).contains("\r\n a");
+    }
+
+    @Test
+    @DisplayName("다른 클럽의 리소스 피드는 DIFFERENT_CLUB_EXCEPTION")
+    public void getResourceFeedTagOfOtherClub() {
+        //given
+        Club otherClub = Club.builder().build();
+        ReflectionTestUtils.setField(otherClub, "id", 2L);
+        Resource otherResource = Resource.builder().club(otherClub).build();
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findById(200L)).willReturn(Optional.of(otherResource));
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> calendarFeedService.getResourceFeedTag(clubMember.getId(), 200L));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(DIFFERENT_CLUB_EXCEPTION);
+    }
+
+    private static CalendarVersionView version(Long count, LocalDateTime lastModifiedDate) {
+        return new CalendarVersionView() {
+            public Long getCount() {
+                return count;
+            }
+
+            public LocalDateTime getLastModifiedDate() {
+                return lastModifiedDate;
+            }
+        };
+    }
+
+    private static CalendarEntryView entry(Long id, String title, String usage, LocalDateTime start, ReservationStatus status) {
+        return new CalendarEntryView() {
+            public Long getVersion() {
+                return 0L;
+            }
+
+            public String getTitle() {
+                return title;
+            }
+
+            public String getUsage() {
+                return usage;
+            }
+
+            public ReservationStatus getStatus() {
+                return status;
+            }
+
+            public LocalDateTime getLastModifiedDate() {
+                return null;
+            }
+
+            public String getResourceName() {
+                return "room";
+            }
+
+            public Long getId() {
+                return id;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return start.plusHours(1);
+            }
+        };
+    }
+}
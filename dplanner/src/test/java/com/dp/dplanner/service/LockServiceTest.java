@@ -8,7 +8,10 @@ import com.dp.dplanner.domain.club.Club;
 import com.dp.dplanner.domain.club.ClubMember;
 import com.dp.dplanner.exception.BaseException;
 import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourcePeriodView;
+import com.dp.dplanner.service.event.LocksCreatedEvent;
 import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.index.ResourceTimelineIndex;
 import com.dp.dplanner.repository.ClubMemberRepository;
 import com.dp.dplanner.repository.LockRepository;
 import com.dp.dplanner.repository.ResourceRepository;
@@ -16,12 +19,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +53,14 @@ public class LockServiceTest {
     ResourceRepository resourceRepository;
     @Mock
     ClubMemberRepository clubMemberRepository;
+    @Mock
+    ResourceTimelineIndex resourceTimelineIndex;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Mock
+    Clock clock;
+    @Captor
+    ArgumentCaptor<List<Lock>> captor;
     @InjectMocks
     LockService lockService;
 
@@ -81,6 +97,8 @@ public class LockServiceTest {
                 .build();
         ReflectionTestUtils.setField(resource,"id",resourceId);
 
+        lenient().when(clock.instant()).thenReturn(LocalDateTime.of(2023, 8, 10, 0, 0).atZone(ZoneId.systemDefault()).toInstant());
+        lenient().when(clock.getZone()).thenReturn(ZoneId.systemDefault());
     }
 
     @Test
@@ -398,6 +416,7 @@ public class LockServiceTest {
                 .build();
         when(resourceRepository.findById(resourceId)).thenReturn(Optional.ofNullable(resource));
         when(clubMemberRepository.findById(clubMemberId)).thenReturn(Optional.ofNullable(clubMember));
+        when(resourceTimelineIndex.getLocks(eq(resourceId), eq(period.getStartDateTime()), eq(period.getEndDateTime()), any())).thenReturn(null);
         when(lockRepository.findBetween(any(LocalDateTime.class), any(LocalDateTime.class), anyLong())).thenReturn(Arrays.asList(lock1, lock2, lock3, lock4));
         List<Response> responseList = lockService.getLocks(clubMemberId,resourceId, period);
 
@@ -407,6 +426,24 @@ public class LockServiceTest {
 
     }
 
+    @Test
+    @DisplayName("인덱스로 판단할 수 있으면 DB 를 조회하지 않고 인덱스의 락 목록을 반환한다")
+    public void LockService_getLocks_FromIndex() {
+
+        LocalDateTime start = LocalDateTime.of(2023,8,10,12,0,0);
+        Period period = new Period(start, start.plusDays(7));
+        Response indexed = Response.builder().id(1L).resourceId(resourceId).startDateTime(start).endDateTime(start.plusDays(1)).build();
+        ReflectionTestUtils.setField(resource, "bookableSpan", 7L);
+
+        when(resourceRepository.findById(resourceId)).thenReturn(Optional.ofNullable(resource));
+        when(clubMemberRepository.findById(clubMemberId)).thenReturn(Optional.ofNullable(clubMember));
+        when(resourceTimelineIndex.getLocks(eq(resourceId), eq(period.getStartDateTime()), eq(period.getEndDateTime()), any())).thenReturn(List.of(indexed));
+        List<Response> responseList = lockService.getLocks(clubMemberId, resourceId, period);
+
+        assertThat(responseList).containsExactly(indexed);
+        verify(lockRepository, never()).findBetween(any(), any(), any());
+    }
+
     @Test
     public void LockService_getLocks_checkIfClubMemberAndResourceOfLockIsSameClub_ThrowException() {
 
@@ -428,7 +465,100 @@ public class LockServiceTest {
 
     }
 
+    @Test
+    @DisplayName("여러 리소스에 반복 락을 만들면 겹침을 한 번씩 조회해서 검사하고 리소스 x 반복 수 만큼 batch 로 저장한다")
+    public void LockService_createLocks_InsertAllInBatch() {
+        //given 매주 월요일 3번
+        Resource otherResource = Resource.builder().club(club).build();
+        ReflectionTestUtils.setField(otherResource, "id", resourceId + 1);
+        LocalDateTime start = LocalDateTime.of(2023, 8, 14, 9, 0);
+        CreateBulk createDto = CreateBulk.builder()
+                .resourceIds(List.of(resourceId, resourceId + 1))
+                .startDateTime(start)
+                .endDateTime(start.plusHours(3))
+                .recurrence("FREQ=WEEKLY;COUNT=3")
+                .message("exam")
+                .build();
+        when(resourceRepository.findAllById(List.of(resourceId, resourceId + 1))).thenReturn(List.of(resource, otherResource));
+        when(clubMemberRepository.findById(clubMemberId)).thenReturn(Optional.ofNullable(clubMember));
+        when(lockRepository.findPeriodsBetweenByResourceIds(any(), any(), any())).thenReturn(List.of());
+        when(reservationRepository.findPeriodsBetweenByResourceIds(any(), any(), any()))
+                .thenReturn(List.of(resourcePeriodView(resourceId, start.plusHours(3), start.plusHours(4))));
+
+        //when
+        lockService.createLocks(clubMemberId, createDto);
+
+        //then
+        verify(lockRepository, times(1)).insertAllInBatch(captor.capture(), eq(LocalDateTime.of(2023, 8, 10, 0, 0)));
+        assertThat(captor.getValue()).hasSize(6);
+        assertThat(captor.getValue()).extracting(lock -> lock.getPeriod().getStartDateTime())
+                .containsOnly(start, start.plusWeeks(1), start.plusWeeks(2));
+        verify(lockRepository, times(1)).findPeriodsBetweenByResourceIds(List.of(resourceId, resourceId + 1), start, start.plusWeeks(2).plusHours(3));
+        verify(lockRepository, times(1)).findAllByResourceIdInAndStartDateTimeIn(
+                List.of(resourceId, resourceId + 1), List.of(start, start.plusWeeks(1), start.plusWeeks(2)));
+        verify(eventPublisher, times(1)).publishEvent(any(LocksCreatedEvent.class));
+        verify(lockRepository, never()).findBetween(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("한 리소스의 한 반복이라도 기존 락과 겹치면 아무 락도 저장하지 않는다")
+    public void LockService_createLocks_ThrowException_PeriodOverlap() {
+        //given
+        Resource otherResource = Resource.builder().club(club).build();
+        ReflectionTestUtils.setField(otherResource, "id", resourceId + 1);
+        LocalDateTime start = LocalDateTime.of(2023, 8, 14, 9, 0);
+        CreateBulk createDto = CreateBulk.builder()
+                .resourceIds(List.of(resourceId, resourceId + 1))
+                .startDateTime(start)
+                .endDateTime(start.plusHours(3))
+                .recurrence("FREQ=WEEKLY;COUNT=3")
+                .build();
+        when(resourceRepository.findAllById(List.of(resourceId, resourceId + 1))).thenReturn(List.of(resource, otherResource));
+        when(clubMemberRepository.findById(clubMemberId)).thenReturn(Optional.ofNullable(clubMember));
+        when(lockRepository.findPeriodsBetweenByResourceIds(any(), any(), any()))
+                .thenReturn(List.of(resourcePeriodView(resourceId + 1, start.plusWeeks(2).plusHours(2), start.plusWeeks(2).plusHours(5))));
+
+        //when
+        BaseException exception = assertThrows(ServiceException.class, () -> lockService.createLocks(clubMemberId, createDto));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(PERIOD_OVERLAPPED_EXCEPTION);
+        verify(lockRepository, never()).insertAllInBatch(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("없는 리소스가 섞여 있으면 RESOURCE_NOT_FOUND")
+    public void LockService_createLocks_ThrowException_ResourceNotFound() {
+        CreateBulk createDto = CreateBulk.builder()
+                .resourceIds(List.of(resourceId, resourceId + 1))
+                .startDateTime(LocalDateTime.of(2023, 8, 14, 9, 0))
+                .endDateTime(LocalDateTime.of(2023, 8, 14, 12, 0))
+                .build();
+        when(resourceRepository.findAllById(List.of(resourceId, resourceId + 1))).thenReturn(List.of(resource));
 
-}
+        BaseException exception = assertThrows(ServiceException.class, () -> lockService.createLocks(clubMemberId, createDto));
+
+        assertThat(exception.getErrorResult()).isEqualTo(RESOURCE_NOT_FOUND);
+    }
 
+    private static ResourcePeriodView resourcePeriodView(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        return new ResourcePeriodView() {
+            public Long getResourceId() {
+                return resourceId;
+            }
 
+            public Long getId() {
+                return 1L;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.util.RecurrenceRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RecurrenceRuleTest {
+
+    // 2023-08-07 : 월요일
+    LocalDateTime monday = LocalDateTime.of(2023, 8, 7, 18, 0);
+
+    @Test
+    @DisplayName("매주 월, 수 반복 COUNT 만큼 생성")
+    public void weeklyByDay() {
+        List<LocalDateTime> starts = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=4").expand(monday);
+
+        assertThat(starts).containsExactly(monday, monday.plusDays(2), monday.plusWeeks(1), monday.plusWeeks(1).plusDays(2));
+    }
+
+    @Test
+    @DisplayName("기간으로 반복하면 첫 기간과 같은 길이의 기간 목록을 만들고, 반복된 기간끼리 겹치면 예외")
+    public void expandPeriods() {
+        List<Period> periods = RecurrenceRule.parse("FREQ=DAILY;COUNT=2").expand(new Period(monday, monday.plusHours(2)));
+
+        assertThat(periods).extracting(Period::getEndDateTime).containsExactly(monday.plusHours(2), monday.plusDays(1).plusHours(2));
+        assertThrows(ServiceException.class,
+                () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2").expand(new Period(monday, monday.plusHours(25))));
+    }
+
+    @Test
+    @DisplayName("시작일 이전 요일은 첫 주에 포함하지 않는다")
+    public void weeklyByDaySkipsBeforeStart() {
+        LocalDateTime wednesday = monday.plusDays(2);
+
+        List<LocalDateTime> starts = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=2").expand(wednesday);
+
+        assertThat(starts).containsExactly(wednesday, monday.plusWeeks(1));
+    }
+
+    @Test
+    @DisplayName("격주 반복, UNTIL 날짜까지 포함")
+    public void weeklyIntervalUntil() {
+        List<LocalDateTime> starts = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;INTERVAL=2;UNTIL=20230904").expand(monday);
+
+        assertThat(starts).containsExactly(monday, monday.plusWeeks(2), monday.plusWeeks(4));
+    }
+
+    @Test
+    @DisplayName("매월 반복은 해당 일자가 없는 달을 건너뛴다")
+    public void monthlySkipsMissingDay() {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 31, 10, 0);
+
+        List<LocalDateTime> starts = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=3").expand(start);
+
+        assertThat(starts).containsExactly(start, LocalDateTime.of(2023, 3, 31, 10, 0), LocalDateTime.of(2023, 5, 31, 10, 0));
+    }
+
+    @Test
+    @DisplayName("COUNT, UNTIL 이 없거나 형식이 잘못되면 예외")
+    public void invalidRule() {
+        assertThrows(ServiceException.class, () -> RecurrenceRule.parse("FREQ=DAILY"));
+        assertThrows(ServiceException.class, () -> RecurrenceRule.parse("FREQ=YEARLY;COUNT=2"));
+        assertThrows(ServiceException.class, () -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO;COUNT=2"));
+        assertThrows(ServiceException.class, () -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=0;COUNT=2"));
+        assertThrows(ServiceException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=1000").expand(monday));
+    }
+}
@@ -0,0 +1,182 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.RedisFallbackLease;
+import com.dp.dplanner.repository.RedisFallbackLeaseRepository;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker.DeferredSlots;
+import com.dp.dplanner.service.concurrency.RedisFallback;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisFallbackTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final LocalDateTime START = LocalDateTime.of(2023, 8, 10, 10, 0);
+
+    @Mock
+    RedisFallbackLeaseRepository redisFallbackLeaseRepository;
+    @Mock
+    Clock clock;
+
+    RedisFallback redisFallback;
+    long now;
+    Period period = new Period(START, START.plusHours(1));
+
+    @BeforeEach
+    void setUp() {
+        now = START.atZone(ZONE).toInstant().toEpochMilli();
+        lenient().when(clock.millis()).thenAnswer(invocation -> now);
+        lenient().when(clock.getZone()).thenReturn(ZONE);
+        redisFallback = new RedisFallback(redisFallbackLeaseRepository, clock);
+        ReflectionTestUtils.setField(redisFallback, "leaseSeconds", 30L);
+        ReflectionTestUtils.setField(redisFallback, "fenceSeconds", 15L);
+        ReflectionTestUtils.setField(redisFallback, "cacheMillis", 1000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("lease 가 남아 있으면 fallback 중이고, cacheMillis 동안은 DB 를 다시 읽지 않는다")
+    public void isActiveCached() {
+        //given
+        given(redisFallbackLeaseRepository.findDegradedUntil(RedisFallbackLease.ID))
+                .willReturn(Optional.of(START.plusSeconds(1)))
+                .willReturn(Optional.of(START.plusSeconds(1)));
+
+        //when & then
+        assertThat(redisFallback.isActive()).isTrue();
+        now += 500;
+        assertThat(redisFallback.isActive()).isTrue();
+        then(redisFallbackLeaseRepository).should(times(1)).findDegradedUntil(RedisFallbackLease.ID);
+
+        now += 500;
+        assertThat(redisFallback.isActive()).as("lease 가 끝났다").isFalse();
+        then(redisFallbackLeaseRepository).should(times(2)).findDegradedUntil(RedisFallbackLease.ID);
+    }
+
+    @Test
+    @DisplayName("lease 를 읽지 못하면 fallback 중인 것으로 본다")
+    public void isActiveWhenUnreadable() {
+        //given
+        given(redisFallbackLeaseRepository.findDegradedUntil(RedisFallbackLease.ID)).willThrow(new QueryTimeoutException("timeout"));
+
+        //when & then
+        assertThat(redisFallback.isActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("lease 를 연장한 뒤 fence 가 지나야 DB 만으로 점유할 수 있고, 연장하지 않아 lease 가 fence 보다 적게 남으면 다시 막는다")
+    public void fenceAfterRenew() {
+        //given
+        given(redisFallbackLeaseRepository.extend(eq(RedisFallbackLease.ID), any())).willReturn(1);
+
+        //when
+        redisFallback.renew();
+
+        //then
+        then(redisFallbackLeaseRepository).should().extend(RedisFallbackLease.ID, START.plusSeconds(30));
+        assertThat(redisFallback.isFenced()).isFalse();
+        now += 15_000;
+        assertThat(redisFallback.isFenced()).isTrue();
+        now += 1;
+        assertThat(redisFallback.isFenced()).as("남은 lease 가 fence 보다 짧다").isFalse();
+    }
+
+    @Test
+    @DisplayName("lease 가 끝날 뻔한 뒤에 연장하면 다른 서버가 모르는 사이가 있었을 수 있으므로 fence 부터 다시 기다린다")
+    public void fenceRestartsAfterLapse() {
+        //given
+        given(redisFallbackLeaseRepository.extend(eq(RedisFallbackLease.ID), any())).willReturn(1);
+        redisFallback.renew();
+        now += 15_000;
+        redisFallback.renew();
+        assertThat(redisFallback.isFenced()).as("lease 가 남아 있는 동안 연장하면 fence 는 그대로").isTrue();
+
+        //when
+        now += 29_500;
+        redisFallback.renew();
+
+        //then
+        assertThat(redisFallback.isFenced()).isFalse();
+        now += 15_000;
+        assertThat(redisFallback.isFenced()).isTrue();
+    }
+
+    @Test
+    @DisplayName("lease row 가 없으면 만들고, 연장하지 못하면 fence 를 시작하지 않는다")
+    public void renewCreatesLease() {
+        //given
+        given(redisFallbackLeaseRepository.extend(eq(RedisFallbackLease.ID), any())).willReturn(0);
+        given(redisFallbackLeaseRepository.existsById(RedisFallbackLease.ID)).willReturn(false);
+
+        //when
+        redisFallback.renew();
+
+        //then
+        then(redisFallbackLeaseRepository).should().save(any(RedisFallbackLease.class));
+
+        //given
+        RedisFallback unavailable = new RedisFallback(redisFallbackLeaseRepository, clock);
+        ReflectionTestUtils.setField(unavailable, "fenceSeconds", 15L);
+        given(redisFallbackLeaseRepository.extend(eq(RedisFallbackLease.ID), any())).willThrow(new QueryTimeoutException("timeout"));
+
+        //when
+        unavailable.renew();
+        now += 60_000;
+
+        //then
+        assertThat(unavailable.isFenced()).isFalse();
+    }
+
+    @Test
+    @DisplayName("DB 로 점유한 구간은 커밋된 뒤에 모으고 롤백되면 버리며, 트랜잭션이 끝날 때까지는 채울 것이 남은 것으로 본다")
+    public void claimAfterCommit() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        redisFallback.claim(1L, List.of(period), false);
+        redisFallback.claim(2L, List.of(period), true);
+
+        //then
+        assertThat(redisFallback.hasUnflushedClaims()).isTrue();
+        assertThat(redisFallback.drainClaims().isEmpty()).isTrue();
+
+        //when
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        //then
+        DeferredSlots claims = redisFallback.drainClaims();
+        assertThat(claims.exclusivePeriods()).isEqualTo(Map.of(1L, List.of(period)));
+        assertThat(claims.sharedPeriods()).isEmpty();
+        assertThat(redisFallback.hasUnflushedClaims()).isFalse();
+    }
+}
@@ -0,0 +1,333 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Lock;
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.service.event.LockEvent;
+import com.dp.dplanner.service.event.LocksCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisReservationServiceTest {
+
+    @Mock
+    RedisTemplate<String, String> redisTemplate;
+    @Mock
+    Clock clock;
+    @InjectMocks
+    RedisReservationService redisReservationService;
+    @Captor
+    ArgumentCaptor<RedisCallback<Object>> callback;
+
+    Long resourceId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(redisReservationService, "defaultTime", 60);
+        ReflectionTestUtils.setField(redisReservationService, "holdSeconds", 300L);
+        lenient().when(clock.getZone()).thenReturn(ZoneId.of("Asia/Seoul"));
+    }
+
+    @Test
+    @DisplayName("30분 단위 예약은 분 단위 슬롯으로 나뉜다")
+    public void slotRangesInMinutes() {
+        List<RedisReservationService.SlotRange> ranges = redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 10, 30), LocalDateTime.of(2023, 8, 10, 11, 0), resourceId);
+
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0).getKey()).isEqualTo("slot:1:20230810");
+        assertThat(ranges.get(0).getFromSlot()).isEqualTo(630);
+        assertThat(ranges.get(0).getToSlot()).isEqualTo(660);
+    }
+
+    @Test
+    @DisplayName("자정을 넘는 예약은 일자별 key 로 나뉘고, 자정에 끝나면 다음 날 key 는 만들지 않는다")
+    public void slotRangesAcrossDays() {
+        List<RedisReservationService.SlotRange> ranges = redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 23, 0), LocalDateTime.of(2023, 8, 11, 1, 0), resourceId);
+
+        assertThat(ranges).extracting(RedisReservationService.SlotRange::getKey).containsExactly("slot:1:20230810", "slot:1:20230811");
+        assertThat(ranges.get(0).getToSlot()).isEqualTo(1440);
+        assertThat(ranges.get(1).getFromSlot()).isEqualTo(0);
+        assertThat(ranges.get(1).getToSlot()).isEqualTo(60);
+
+        assertThat(redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 23, 0), LocalDateTime.of(2023, 8, 11, 0, 0), resourceId)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("맞닿은 예약은 같은 슬롯을 점유하지 않는다")
+    public void slotRangesAdjacent() {
+        List<RedisReservationService.SlotRange> first = redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 10, 10), LocalDateTime.of(2023, 8, 10, 10, 40), resourceId);
+        List<RedisReservationService.SlotRange> second = redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 10, 40), LocalDateTime.of(2023, 8, 10, 11, 5), resourceId);
+
+        assertThat(first.get(0).getFromSlot()).isEqualTo(610);
+        assertThat(first.get(0).getToSlot()).isEqualTo(640);
+        assertThat(second.get(0).getFromSlot()).isEqualTo(640);
+        assertThat(second.get(0).getToSlot()).isEqualTo(665);
+    }
+
+    @Test
+    @DisplayName("분 경계에 맞지 않거나 1분보다 짧은 예약은 바깥쪽 분 슬롯까지 넓혀 점유한다")
+    public void slotRangesRoundOutward() {
+        List<RedisReservationService.SlotRange> shortPeriod = redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 10, 10, 10), LocalDateTime.of(2023, 8, 10, 10, 10, 40), resourceId);
+        List<RedisReservationService.SlotRange> unaligned = redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 10, 10, 30), LocalDateTime.of(2023, 8, 10, 10, 40, 0, 1), resourceId);
+        List<RedisReservationService.SlotRange> beforeMidnight = redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 23, 59, 30), LocalDateTime.of(2023, 8, 10, 23, 59, 45), resourceId);
+
+        assertThat(shortPeriod).hasSize(1);
+        assertThat(shortPeriod.get(0).getFromSlot()).isEqualTo(610);
+        assertThat(shortPeriod.get(0).getToSlot()).isEqualTo(611);
+        assertThat(unaligned.get(0).getFromSlot()).isEqualTo(610);
+        assertThat(unaligned.get(0).getToSlot()).isEqualTo(641);
+        assertThat(beforeMidnight.get(0).getFromSlot()).isEqualTo(1439);
+        assertThat(beforeMidnight.get(0).getToSlot()).isEqualTo(1440);
+    }
+
+    @Test
+    @DisplayName("일자별 key 는 clock 의 시간대 기준으로 그날이 끝날 때 만료된다")
+    public void slotRangesExpireAtEndOfDayInClockZone() {
+        List<RedisReservationService.SlotRange> ranges = redisReservationService.slotRanges(
+                LocalDateTime.of(2023, 8, 10, 10, 0), LocalDateTime.of(2023, 8, 10, 11, 0), resourceId);
+
+        assertThat(ranges.get(0).getExpireAt())
+                .isEqualTo(LocalDateTime.of(2023, 8, 11, 0, 0).atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("10시간 예약도 스크립트 한 번으로 점유한다")
+    public void saveReservationInOneCall() {
+        given(redisTemplate.execute(anyScript(), anyList(), any(Object[].class))).willReturn(1L);
+
+        Boolean result = redisReservationService.saveReservation(
+                LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 18, 0), resourceId);
+
+        assertThat(result).isTrue();
+        verify(redisTemplate, times(1)).execute(anyScript(), eq(List.of("hold:1", "slot:1:20230810")), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("hold 는 만료 시간을 score 로 hold zset 에 추가하고 hold id 를 반환한다")
+    public void hold() {
+        given(clock.millis()).willReturn(1_000L);
+        AtomicReference<Object[]> args = new AtomicReference<>();
+        given(redisTemplate.execute(anyScript(), eq(List.of("hold:1", "slot:1:20230810")), any(Object[].class)))
+                .willAnswer(invocation -> {
+                    args.set((Object[]) invocation.getRawArguments()[2]);
+                    return 1L;
+                });
+
+        String holdId = redisReservationService.hold(
+                2L, LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0), resourceId);
+
+        assertThat(holdId).isNotNull();
+        assertThat(args.get()[0]).isEqualTo("301000");
+        assertThat((String) args.get()[2]).startsWith(holdId + ":2:");
+    }
+
+    @Test
+    @DisplayName("다른 hold 나 예약과 겹쳐 hold 를 추가하지 못하면 null 을 반환한다")
+    public void holdUnavailable() {
+        given(redisTemplate.execute(anyScript(), anyList(), any(Object[].class))).willReturn(0L);
+
+        String holdId = redisReservationService.hold(
+                2L, LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0), resourceId);
+
+        assertThat(holdId).isNull();
+    }
+
+    @Test
+    @DisplayName("hold 전환은 본인 hold member 를 넘겨 점유 스크립트를 실행한다")
+    public void convertHold() {
+        AtomicReference<Object[]> args = new AtomicReference<>();
+        given(redisTemplate.execute(anyScript(), eq(List.of("hold:1", "slot:1:20230810")), any(Object[].class)))
+                .willAnswer(invocation -> {
+                    args.set((Object[]) invocation.getRawArguments()[2]);
+                    return 1L;
+                });
+
+        Boolean result = redisReservationService.convertHold("abc", 2L,
+                LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0), resourceId);
+
+        assertThat(result).isTrue();
+        assertThat((String) args.get()[2]).startsWith("abc:2:");
+        assertThat(args.get()[3]).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("여러 리소스의 예약 슬롯도 스크립트 한 번으로 해제한다")
+    public void deleteReservationsInOneCall() {
+        redisReservationService.deleteReservations(Map.of(
+                1L, List.of(new Period(LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0))),
+                2L, List.of(new Period(LocalDateTime.of(2023, 8, 11, 8, 0), LocalDateTime.of(2023, 8, 11, 9, 0)))));
+
+        verify(redisTemplate, times(1)).execute(anyScript(),
+                argThat(keys -> keys.containsAll(List.of("slot:1:20230810", "slot:2:20230811"))), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("정원이 있는 리소스는 counting slot key 에 정원을 넘겨 점유한다")
+    public void saveSharedReservations() {
+        AtomicReference<Object[]> args = new AtomicReference<>();
+        given(redisTemplate.execute(anyScript(), eq(List.of("slotcount:1:20230810")), any(Object[].class)))
+                .willAnswer(invocation -> {
+                    args.set((Object[]) invocation.getRawArguments()[2]);
+                    return 1L;
+                });
+
+        Boolean result = redisReservationService.saveSharedReservations(
+                List.of(new Period(LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0))), resourceId, 8);
+
+        assertThat(result).isTrue();
+        assertThat(List.of(args.get()).subList(1, 4)).containsExactly("8", "480", "540");
+    }
+
+    @Test
+    @DisplayName("정원이 있는 리소스를 적재할 때는 슬롯별 점유 수를 세고 점유 수가 같은 연속 슬롯을 묶는다")
+    public void fillSharedReservations() {
+        AtomicReference<Object[]> args = new AtomicReference<>();
+        given(redisTemplate.execute(anyScript(), anyList(), any(Object[].class)))
+                .willAnswer(invocation -> {
+                    args.set((Object[]) invocation.getRawArguments()[2]);
+                    return 1L;
+                });
+
+        redisReservationService.fillSharedReservations(Map.of(resourceId, List.of(
+                new Period(LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 10, 0)),
+                new Period(LocalDateTime.of(2023, 8, 10, 9, 0), LocalDateTime.of(2023, 8, 10, 11, 0)))));
+
+        verify(redisTemplate, times(1)).execute(anyScript(),
+                eq(List.of("slotcount:1:20230810", "slotcount:1:20230810", "slotcount:1:20230810")), any(Object[].class));
+        assertThat(args.get()).hasSize(12);
+        assertThat(List.of(args.get()[0], args.get()[1], args.get()[2])).containsExactly("480", "540", "1");
+        assertThat(List.of(args.get()[4], args.get()[5], args.get()[6])).containsExactly("540", "600", "2");
+        assertThat(List.of(args.get()[8], args.get()[9], args.get()[10])).containsExactly("600", "660", "1");
+    }
+
+    @Test
+    @DisplayName("락 변경 이벤트는 락 bitmap 에서 이전 구간 해제와 새 구간 적재를 pipeline 으로 한 번에 보낸다")
+    public void onLockUpdated() {
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        Resource resource = Resource.builder().club(club).build();
+        ReflectionTestUtils.setField(resource, "id", resourceId);
+        Lock lock = Lock.builder().resource(resource)
+                .period(new Period(LocalDateTime.of(2023, 8, 11, 8, 0), LocalDateTime.of(2023, 8, 11, 9, 0))).build();
+
+        redisReservationService.onLockEvent(LockEvent.updated(lock,
+                new Period(LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0))));
+
+        assertThat(pipelinedKeys()).containsExactly(List.of("lockslot:1:20230810"), List.of("lockslot:1:20230811"));
+        verify(redisTemplate, never()).execute(anyScript(), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("한 번에 생성된 락은 리소스에 상관없이 스크립트 한 번으로 채운다")
+    public void onLocksCreated() {
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        List<Lock> locks = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            Resource resource = Resource.builder().club(club).build();
+            ReflectionTestUtils.setField(resource, "id", id);
+            locks.add(Lock.builder().resource(resource)
+                    .period(new Period(LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0))).build());
+        }
+
+        redisReservationService.onLocksCreated(LocksCreatedEvent.of(locks));
+
+        verify(redisTemplate, times(1)).execute(anyScript(),
+                eq(List.of("lockslot:1:20230810", "lockslot:2:20230810")), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("정원이 없는 리소스와 있는 리소스의 슬롯을 함께 해제하면 두 스크립트를 pipeline 으로 한 번에 보낸다")
+    public void releaseSlotsPipelined() {
+        redisReservationService.releaseSlots(
+                Map.of(1L, List.of(new Period(LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0)))),
+                Map.of(2L, List.of(new Period(LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 11, 1, 0)))));
+
+        assertThat(pipelinedKeys()).containsExactly(
+                List.of("slot:1:20230810"),
+                List.of("slotcount:2:20230810", "slotcount:2:20230811"));
+        verify(redisTemplate, never()).execute(anyScript(), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("한 종류의 슬롯만 해제하면 pipeline 없이 스크립트 한 번으로 실행한다")
+    public void releaseSlotsSingleScript() {
+        redisReservationService.releaseSlots(
+                Map.of(1L, List.of(new Period(LocalDateTime.of(2023, 8, 10, 8, 0), LocalDateTime.of(2023, 8, 10, 9, 0)))),
+                Map.of());
+
+        verify(redisTemplate, times(1)).execute(anyScript(), eq(List.of("slot:1:20230810")), any(Object[].class));
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    /**
+     * executePipelined 로 넘긴 callback 을 mock connection 에 실행해서 EVAL 마다 넘긴 key 목록을 돌려준다.
+     */
+    private List<List<String>> pipelinedKeys() {
+        verify(redisTemplate, times(1)).executePipelined(callback.capture());
+
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scriptingCommands = mock(RedisScriptingCommands.class);
+        given(connection.scriptingCommands()).willReturn(scriptingCommands);
+        List<List<String>> keys = new ArrayList<>();
+        given(scriptingCommands.eval(any(byte[].class), eq(ReturnType.INTEGER), anyInt(), any(byte[][].class)))
+                .willAnswer(invocation -> {
+                    int numKeys = invocation.getArgument(2);
+                    byte[][] keysAndArgs = (byte[][]) invocation.getRawArguments()[3];
+                    List<String> evalKeys = new ArrayList<>();
+                    for (int i = 0; i < numKeys; i++) {
+                        evalKeys.add(new String(keysAndArgs[i], StandardCharsets.UTF_8));
+                    }
+                    keys.add(evalKeys);
+                    return null;
+                });
+        callback.getValue().doInRedis(connection);
+        return keys;
+    }
+
+    private static <T> RedisScript<T> anyScript() {
+        return any();
+    }
+}
@@ -0,0 +1,327 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.concurrency.PessimisticLockConcurrencyStrategy;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker;
+import com.dp.dplanner.service.concurrency.RedisFallback;
+import com.dp.dplanner.service.concurrency.RedisSlotConcurrencyStrategy;
+import com.dp.dplanner.service.concurrency.StripedLockConcurrencyStrategy;
+import com.dp.dplanner.service.exception.ServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.dp.dplanner.exception.ErrorResult.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationConcurrencyStrategyTest {
+
+    @Mock
+    ResourceRepository resourceRepository;
+    @Mock
+    ReservationRepository reservationRepository;
+    @Mock
+    RedisReservationService redisReservationService;
+    @Mock
+    RedisFallback redisFallback;
+
+    Resource resource;
+    Period period = new Period(getTime(10), getTime(11));
+
+    @BeforeEach
+    void setUp() {
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        resource = Resource.builder().club(club).name("room").build();
+        ReflectionTestUtils.setField(resource, "id", 100L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("리소스 row 에 락을 잡은 뒤 DB 에서 다시 검사하고, 이미 예약이 있으면 RESERVATION_UNAVAILABLE")
+    public void pessimisticLockRecheck() {
+        //given
+        PessimisticLockConcurrencyStrategy strategy = new PessimisticLockConcurrencyStrategy(resourceRepository, reservationRepository);
+        given(resourceRepository.findByIdForUpdate(resource.getId())).willReturn(Optional.of(resource));
+        given(reservationRepository.existsBetween(period.getStartDateTime(), period.getEndDateTime(), resource.getId())).willReturn(true);
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class, () -> strategy.acquire(resource, List.of(period)));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        then(resourceRepository).should().findByIdForUpdate(resource.getId());
+    }
+
+    @Test
+    @DisplayName("리소스 row 락을 기다리다 시간이 지나면 RESERVATION_CONFLICT")
+    public void pessimisticLockTimeout() {
+        //given
+        PessimisticLockConcurrencyStrategy strategy = new PessimisticLockConcurrencyStrategy(resourceRepository, reservationRepository);
+        given(resourceRepository.findByIdForUpdate(resource.getId())).willThrow(new PessimisticLockingFailureException("timeout"));
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class, () -> strategy.acquire(resource, List.of(period)));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_CONFLICT);
+        then(reservationRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("JVM 락은 트랜잭션이 끝날 때까지 유지되어 같은 리소스의 다른 요청은 기다리다 RESERVATION_CONFLICT")
+    public void stripedLockHeldUntilCompletion() {
+        //given
+        StripedLockConcurrencyStrategy strategy = new StripedLockConcurrencyStrategy(reservationRepository);
+        ReflectionTestUtils.setField(strategy, "lockTimeoutMillis", 50L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        strategy.acquire(resource, List.of(period));
+
+        //then
+        assertThat(acquireInOtherThread(strategy, resource)).isEqualTo(RESERVATION_CONFLICT);
+
+        //when
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        //then
+        assertThat(acquireInOtherThread(strategy, resource)).isNull();
+    }
+
+    @Test
+    @DisplayName("JVM 락을 잡은 뒤 정원이 찬 것이 확인되면 RESERVATION_UNAVAILABLE")
+    public void stripedLockSharedResourceFull() {
+        //given
+        Resource shared = Resource.builder().club(resource.getClub()).capacity(2).build();
+        ReflectionTestUtils.setField(shared, "id", 200L);
+        StripedLockConcurrencyStrategy strategy = new StripedLockConcurrencyStrategy(reservationRepository);
+        ReflectionTestUtils.setField(strategy, "lockTimeoutMillis", 50L);
+        given(reservationRepository.countMaxOverlapBetween(shared.getId(), period.getStartDateTime(), period.getEndDateTime())).willReturn(2L);
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class, () -> strategy.acquire(shared, List.of(period)));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        assertThat(acquireInOtherThread(strategy, shared)).as("트랜잭션 밖에서는 검사 후 바로 락을 푼다").isEqualTo(RESERVATION_UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Redis 오류가 이어지면 circuit breaker 가 열리고, 다른 서버가 fallback lease 를 볼 때까지는 Redis 도 DB 락도 쓰지 않고 거절한다")
+    public void redisFailureRejectsClaim() {
+        //given
+        RedisCircuitBreaker redisCircuitBreaker = redisCircuitBreaker();
+        RedisSlotConcurrencyStrategy strategy = new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker, redisFallback, resourceRepository, reservationRepository);
+        given(redisReservationService.saveReservation(period.getStartDateTime(), period.getEndDateTime(), resource.getId()))
+                .willThrow(new QueryTimeoutException("timeout"));
+
+        //when
+        ServiceException first = assertThrows(ServiceException.class, () -> strategy.acquire(resource, List.of(period)));
+        ServiceException second = assertThrows(ServiceException.class, () -> strategy.acquire(resource, List.of(period)));
+
+        //then
+        assertThat(first.getErrorResult()).isEqualTo(RESERVATION_TEMPORARILY_UNAVAILABLE);
+        assertThat(second.getErrorResult()).isEqualTo(RESERVATION_TEMPORARILY_UNAVAILABLE);
+        assertThat(redisCircuitBreaker.isOpen()).isTrue();
+        assertThat(strategy.supportsHold()).isFalse();
+        then(redisReservationService).should(times(1)).saveReservation(any(), any(), any());
+        then(resourceRepository).shouldHaveNoInteractions();
+        assertThat(redisCircuitBreaker.isRecoveryDue()).as("openSeconds 가 지나기 전에는 복구하지 않는다").isFalse();
+    }
+
+    @Test
+    @DisplayName("열려 있고 fence 가 지났으면 리소스 row 락을 잡고 DB 에서 다시 검사해 점유하고, 커밋 후 Redis 에 채우도록 기록한다")
+    public void redisOpenClaimsWithRowLock() {
+        //given
+        RedisCircuitBreaker redisCircuitBreaker = redisCircuitBreaker();
+        redisCircuitBreaker.reopen(RedisCircuitBreaker.DeferredSlots.empty());
+        RedisSlotConcurrencyStrategy strategy = new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker, redisFallback, resourceRepository, reservationRepository);
+        given(redisFallback.isFenced()).willReturn(true);
+        given(resourceRepository.findByIdForUpdate(resource.getId())).willReturn(Optional.of(resource));
+
+        //when
+        strategy.acquire(resource, List.of(period));
+
+        //then
+        InOrder inOrder = inOrder(resourceRepository, reservationRepository, redisFallback);
+        inOrder.verify(resourceRepository).findByIdForUpdate(resource.getId());
+        inOrder.verify(reservationRepository).existsBetween(period.getStartDateTime(), period.getEndDateTime(), resource.getId());
+        inOrder.verify(redisFallback).claim(resource.getId(), List.of(period), false);
+        then(redisReservationService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("열려 있는 동안 DB 에서 다시 검사해 이미 예약이 있으면 RESERVATION_UNAVAILABLE 이고 점유를 기록하지 않는다")
+    public void redisOpenRowLockRecheck() {
+        //given
+        RedisCircuitBreaker redisCircuitBreaker = redisCircuitBreaker();
+        redisCircuitBreaker.reopen(RedisCircuitBreaker.DeferredSlots.empty());
+        RedisSlotConcurrencyStrategy strategy = new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker, redisFallback, resourceRepository, reservationRepository);
+        given(redisFallback.isFenced()).willReturn(true);
+        given(resourceRepository.findByIdForUpdate(resource.getId())).willReturn(Optional.of(resource));
+        given(reservationRepository.existsBetween(period.getStartDateTime(), period.getEndDateTime(), resource.getId())).willReturn(true);
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class, () -> strategy.acquire(resource, List.of(period)));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        then(redisFallback).should(never()).claim(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 DB 락으로 점유하고 있으면 정상 서버도 row 락을 잡고 DB 에서 검사한 뒤 Redis 로 점유한다")
+    public void fallbackActiveLocksBeforeRedisClaim() {
+        //given
+        RedisSlotConcurrencyStrategy strategy = new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker(), redisFallback, resourceRepository, reservationRepository);
+        given(redisFallback.isActive()).willReturn(true);
+        given(resourceRepository.findByIdForUpdate(resource.getId())).willReturn(Optional.of(resource));
+        given(redisReservationService.saveReservation(period.getStartDateTime(), period.getEndDateTime(), resource.getId())).willReturn(true);
+
+        //when
+        strategy.acquire(resource, List.of(period));
+
+        //then
+        InOrder inOrder = inOrder(resourceRepository, reservationRepository, redisReservationService);
+        inOrder.verify(resourceRepository).findByIdForUpdate(resource.getId());
+        inOrder.verify(reservationRepository).existsBetween(period.getStartDateTime(), period.getEndDateTime(), resource.getId());
+        inOrder.verify(redisReservationService).saveReservation(period.getStartDateTime(), period.getEndDateTime(), resource.getId());
+        then(redisFallback).should(never()).claim(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 DB 락으로 점유하고 있으면 hold 를 전환할 때도 row 락을 잡고 DB 에서 검사한다")
+    public void fallbackActiveChecksHoldConversion() {
+        //given
+        RedisSlotConcurrencyStrategy strategy = new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker(), redisFallback, resourceRepository, reservationRepository);
+        given(redisFallback.isActive()).willReturn(true);
+        given(resourceRepository.findByIdForUpdate(resource.getId())).willReturn(Optional.of(resource));
+        given(reservationRepository.existsBetween(period.getStartDateTime(), period.getEndDateTime(), resource.getId())).willReturn(true);
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> strategy.convertHold("hold", 1L, resource, period));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        then(redisReservationService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("hold 를 전환하다 Redis 오류가 나면 겹침 검사 없이 점유하지 않고 거절한다")
+    public void redisFailureRejectsHoldConversion() {
+        //given
+        RedisCircuitBreaker redisCircuitBreaker = redisCircuitBreaker();
+        RedisSlotConcurrencyStrategy strategy = new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker, redisFallback, resourceRepository, reservationRepository);
+        given(redisReservationService.convertHold("hold", 1L, period.getStartDateTime(), period.getEndDateTime(), resource.getId()))
+                .willThrow(new QueryTimeoutException("timeout"));
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> strategy.convertHold("hold", 1L, resource, period));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_TEMPORARILY_UNAVAILABLE);
+        then(resourceRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("열려 있는 동안의 해제는 보내지 않고 커밋된 뒤에 모아 두며, 롤백되면 버린다")
+    public void releaseDeferredUntilCommit() {
+        //given
+        RedisCircuitBreaker redisCircuitBreaker = redisCircuitBreaker();
+        redisCircuitBreaker.reopen(RedisCircuitBreaker.DeferredSlots.empty());
+        RedisSlotConcurrencyStrategy strategy = new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker, redisFallback, resourceRepository, reservationRepository);
+        Reservation reservation = Reservation.builder().resource(resource).period(period).build();
+
+        //when
+        TransactionSynchronizationManager.initSynchronization();
+        strategy.release(List.of(reservation));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        strategy.release(List.of(reservation));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        //then
+        then(redisReservationService).shouldHaveNoInteractions();
+        RedisCircuitBreaker.DeferredSlots releases = redisCircuitBreaker.startRecovery();
+        assertThat(releases.exclusivePeriods()).isEqualTo(Map.of(resource.getId(), List.of(period)));
+        assertThat(releases.sharedPeriods()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("보냈다가 실패한 해제는 실행되었는지 알 수 없으므로 다시 보내지 않는다")
+    public void failedReleaseNotDeferred() {
+        //given
+        RedisCircuitBreaker redisCircuitBreaker = redisCircuitBreaker();
+        RedisSlotConcurrencyStrategy strategy = new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker, redisFallback, resourceRepository, reservationRepository);
+        Reservation reservation = Reservation.builder().resource(resource).period(period).build();
+        willThrow(new QueryTimeoutException("timeout")).given(redisReservationService).releaseSlots(anyMap(), anyMap());
+
+        //when
+        strategy.release(List.of(reservation));
+
+        //then
+        assertThat(redisCircuitBreaker.isOpen()).isTrue();
+        assertThat(redisCircuitBreaker.startRecovery().isEmpty()).isTrue();
+    }
+
+    private static RedisCircuitBreaker redisCircuitBreaker() {
+        RedisCircuitBreaker redisCircuitBreaker = new RedisCircuitBreaker(Clock.fixed(Instant.EPOCH, ZoneId.systemDefault()));
+        ReflectionTestUtils.setField(redisCircuitBreaker, "failureThreshold", 1);
+        ReflectionTestUtils.setField(redisCircuitBreaker, "openSeconds", 10L);
+        return redisCircuitBreaker;
+    }
+
+    private Object acquireInOtherThread(StripedLockConcurrencyStrategy strategy, Resource target) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                strategy.acquire(target, List.of(period));
+                return null;
+            } catch (ServiceException e) {
+                return e.getErrorResult();
+            }
+        }).join();
+    }
+
+    private static LocalDateTime getTime(int hour) {
+        return LocalDateTime.of(2023, 8, 10, hour, 0);
+    }
+}
@@ -0,0 +1,137 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Member;
+import com.dp.dplanner.domain.ReservationStatus;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.ReservationExportRow;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.export.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static com.dp.dplanner.exception.ErrorResult.REQUEST_IS_INVALID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationExportServiceTest {
+
+    @Mock
+    ClubMemberRepository clubMemberRepository;
+    @Mock
+    ReservationRepository reservationRepository;
+
+    ReservationExportService reservationExportService;
+    ClubMember clubMember;
+    LocalDate from = LocalDate.of(2023, 3, 1);
+    LocalDate to = LocalDate.of(2023, 6, 30);
+
+    @BeforeEach
+    void setUp() {
+        reservationExportService = new ReservationExportService(clubMemberRepository, reservationRepository);
+
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        clubMember = ClubMember.builder().member(Member.builder().build()).club(club).name("admin").build();
+        ReflectionTestUtils.setField(clubMember, "id", 10L);
+    }
+
+    @Test
+    @DisplayName("커서에서 읽은 예약을 한 줄씩 CSV 로 쓰고, 쉼표/따옴표/수식 문자를 처리한다")
+    public void exportCsv() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        willAnswer(invocation -> {
+            Consumer<ReservationExportRow> consumer = invocation.getArgument(4);
+            consumer.accept(row(1L, "회의, \"정기\""));
+            consumer.accept(row(2L, "=SUM(A1)"));
+            return null;
+        }).given(reservationRepository).exportReservations(eq(1L), isNull(), eq(from.atStartOfDay()), eq(to.plusDays(1).atStartOfDay()), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        int count = reservationExportService.exportReservations(clubMember.getId(), from, to, null, ExportFormat.CSV, format -> out);
+
+        //then
+        String csv = out.toString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(csv).startsWith("\uFEFF예약 id,");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).isEqualTo("1,room,member,\"회의, \"\"정기\"\"\",,2023-03-02 10:00,2023-03-02 12:00,CONFIRMED,N,Y,,,2,2023-03-01 09:00");
+        assertThat(lines[2]).startsWith("2,room,member,'=SUM(A1),");
+    }
+
+    @Test
+    @DisplayName("XLSX 는 inline string 셀로 시트를 쓴다")
+    public void exportXlsx() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        willAnswer(invocation -> {
+            Consumer<ReservationExportRow> consumer = invocation.getArgument(4);
+            consumer.accept(row(1L, "<title> & more"));
+            return null;
+        }).given(reservationRepository).exportReservations(eq(1L), eq(ReservationStatus.CONFIRMED), any(), any(), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        reservationExportService.exportReservations(clubMember.getId(), from, to, ReservationStatus.CONFIRMED, ExportFormat.XLSX, format -> out);
+
+        //then
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertThat(entries).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels");
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("<row r=\"2\"><c r=\"A2\"><v>1</v></c>");
+        assertThat(sheet).contains("&lt;title&gt; &amp; more");
+        assertThat(sheet).contains("<c r=\"M2\"><v>2</v></c>");
+        assertThat(sheet).endsWith("</sheetData></worksheet>");
+    }
+
+    @Test
+    @DisplayName("시작일이 종료일보다 늦으면 REQUEST_IS_INVALID")
+    public void exportInvalidPeriod() {
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reservationExportService.exportReservations(clubMember.getId(), to, from, null, ExportFormat.CSV, format -> new ByteArrayOutputStream()));
+
+        assertThat(exception.getErrorResult()).isEqualTo(REQUEST_IS_INVALID);
+        then(reservationRepository).shouldHaveNoInteractions();
+    }
+
+    private static ReservationExportRow row(Long id, String title) {
+        LocalDateTime start = LocalDateTime.of(2023, 3, 2, 10, 0);
+        return new ReservationExportRow(id, "room", "member", title, null, start, start.plusHours(2), "CONFIRMED",
+                false, true, null, null, 2, LocalDateTime.of(2023, 3, 1, 9, 0));
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
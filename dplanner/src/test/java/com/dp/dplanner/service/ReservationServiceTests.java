@@ -2,19 +2,30 @@ package com.dp.dplanner.service;
 
 import com.dp.dplanner.domain.*;
 import com.dp.dplanner.domain.club.*;
+import com.dp.dplanner.domain.message.Message;
 import com.dp.dplanner.adapter.dto.ReservationDto;
 import com.dp.dplanner.exception.*;
 import com.dp.dplanner.repository.*;
+import com.dp.dplanner.service.cache.SchedulerCache;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker;
+import com.dp.dplanner.service.concurrency.RedisFallback;
+import com.dp.dplanner.service.concurrency.RedisSlotConcurrencyStrategy;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.dp.dplanner.service.event.UsageRollupRecorder;
 import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.index.ResourceTimelineIndex;
+import com.dp.dplanner.util.ReservationCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Clock;
@@ -34,6 +45,13 @@ import static org.mockito.BDDMockito.*;
 @ExtendWith(MockitoExtension.class)
 public class ReservationServiceTests {
 
+    @Captor
+    ArgumentCaptor<List<Reservation>> reservationsCaptor;
+    @Captor
+    ArgumentCaptor<List<ClubMember>> recipientsCaptor;
+    @Captor
+    ArgumentCaptor<List<Message>> messagesCaptor;
+
     @Mock
     Clock clock;
     @Mock
@@ -50,6 +68,18 @@ public class ReservationServiceTests {
     ReservationInviteeRepository reservationInviteeRepository;
     @Mock
     RedisReservationService redisReservationService;
+    @Mock
+    RedisFallback redisFallback;
+    @Mock
+    ResourceTimelineIndex resourceTimelineIndex;
+    @Mock
+    SchedulerCache schedulerCache;
+    @Mock
+    ReservationReadModel reservationReadModel;
+    @Mock
+    TombstoneRepository tombstoneRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     ReservationService reservationService;
@@ -85,6 +115,11 @@ public class ReservationServiceTests {
                 .build();
 
         fixedNow = LocalDateTime.of(2023, 8, 5, 0, 0);
+        RedisCircuitBreaker redisCircuitBreaker = new RedisCircuitBreaker(clock);
+        ReflectionTestUtils.setField(redisCircuitBreaker, "failureThreshold", 3);
+        ReflectionTestUtils.setField(reservationService, "redisCircuitBreaker", redisCircuitBreaker);
+        ReflectionTestUtils.setField(reservationService, "reservationConcurrencyStrategy",
+                new RedisSlotConcurrencyStrategy(redisReservationService, redisCircuitBreaker, redisFallback, resourceRepository, reservationRepository));
     }
 
 
@@ -146,7 +181,7 @@ public class ReservationServiceTests {
         ClubMember invitee = sameClubMember;
         //given
         given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
-        given(clubMemberRepository.findById(invitee.getId())).willReturn(Optional.ofNullable(invitee));
+        given(clubMemberRepository.findAllById(List.of(invitee.getId()))).willReturn(List.of(invitee));
         given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
         given(reservationRepository.save(any(Reservation.class))).willReturn(reservation);
         given(redisReservationService.saveReservation(any(), any(), any())).willReturn(true);
@@ -168,6 +203,7 @@ public class ReservationServiceTests {
         assertThat(responseDto.getEndDateTime()).as("예약 종료 시간이 일치해야 한다").isEqualTo(createDto.getEndDateTime());
         assertThat(responseDto.getInvitees().size()).as("초대한 맴버가 존재해야 한다").isEqualTo(1);
         assertThat(responseDto.getInvitees().get(0).getClubMemberId()).as("초대한 맴버의 아이디가 일치해야 한다").isEqualTo(invitee.getId());
+        verify(reservationInviteeRepository, times(1)).insertAllInBatch(anyList());
     }
 
     @Test
@@ -255,6 +291,133 @@ public class ReservationServiceTests {
 
     }
 
+    @Test
+    @DisplayName("정원이 있는 리소스는 겹치는 예약이 정원보다 적으면 counting slot 을 점유하고 예약을 생성한다")
+    public void createReservationOnSharedResource() throws Exception {
+        //given
+        ReflectionTestUtils.setField(resource, "capacity", 8);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(reservationRepository.save(any(Reservation.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(reservationRepository.countMaxOverlapBetween(resource.getId(), getTime(20), getTime(21))).willReturn(7L);
+        given(redisReservationService.saveSharedReservations(List.of(getPeriod(20, 21)), resource.getId(), 8)).willReturn(true);
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+
+        //when
+        ReservationDto.Create createDto = getCreateDto(
+                resource.getId(), "reservation", "usage", true, getTime(20), getTime(21),clubMember.getId());
+        ReservationDto.Response responseDto = reservationService.createReservation(clubMember.getId(), createDto);
+
+        //then
+        assertThat(responseDto.getStatus()).isEqualTo(REQUEST.name());
+        verify(reservationRepository, never()).existsBetween(any(), any(), any());
+        verify(redisReservationService, never()).saveReservation(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("정원이 있는 리소스에 겹치는 예약이 이미 정원만큼 있으면 RESERVATION_UNAVAILABLE")
+    public void createReservationOnFullSharedResourceThenException() throws Exception {
+        //given
+        ReflectionTestUtils.setField(resource, "capacity", 8);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(reservationRepository.countMaxOverlapBetween(resource.getId(), getTime(20), getTime(21))).willReturn(8L);
+
+        //when
+        ReservationDto.Create createDto = getCreateDto(
+                resource.getId(), "reservation", "usage", true, getTime(20), getTime(21),clubMember.getId());
+
+        //then
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reservationService.createReservation(clubMember.getId(), createDto));
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        verify(redisReservationService, never()).saveSharedReservations(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("hold 가 있으면 DB 를 다시 조회하지 않고 hold 를 예약으로 전환한다")
+    public void createReservationWithHold() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(reservationRepository.save(any(Reservation.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(redisReservationService.convertHold("hold", clubMember.getId(), getTime(20), getTime(21), resource.getId())).willReturn(true);
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+
+        //when
+        ReservationDto.Create createDto = getCreateDto(
+                resource.getId(), "reservation", "usage", false, getTime(20), getTime(21),clubMember.getId());
+        createDto.setHoldId("hold");
+        ReservationDto.Response responseDto = reservationService.createReservation(clubMember.getId(), createDto);
+
+        //then
+        assertThat(responseDto.getStatus()).isEqualTo(REQUEST.name());
+        verify(reservationRepository, never()).existsBetween(any(), any(), any());
+        verify(redisReservationService, never()).saveReservation(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("hold 가 만료되어 전환할 수 없으면 RESERVATION_UNAVAILABLE")
+    public void createReservationWithExpiredHoldThenException() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(redisReservationService.convertHold(any(), any(), any(), any(), any())).willReturn(false);
+
+        //when
+        ReservationDto.Create createDto = getCreateDto(
+                resource.getId(), "reservation", "usage", false, getTime(20), getTime(21),clubMember.getId());
+        createDto.setHoldId("hold");
+
+        //then
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reservationService.createReservation(clubMember.getId(), createDto));
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    @DisplayName("예약 입력 중인 시간을 hold 로 잡아 둘 수 있다")
+    public void holdReservation() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(redisReservationService.hold(clubMember.getId(), getTime(20), getTime(21), resource.getId())).willReturn("hold");
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+
+        //when
+        ReservationDto.HoldRequest holdDto = ReservationDto.HoldRequest.builder()
+                .resourceId(resource.getId()).startDateTime(getTime(20)).endDateTime(getTime(21)).build();
+        ReservationDto.HoldResponse response = reservationService.holdReservation(clubMember.getId(), holdDto);
+
+        //then
+        assertThat(response.getHoldId()).isEqualTo("hold");
+        assertThat(response.getResourceId()).isEqualTo(resource.getId());
+    }
+
+    @Test
+    @DisplayName("다른 회원이 hold 중인 시간은 hold 할 수 없다")
+    public void holdReservationWhenHeldThenException() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(redisReservationService.hold(any(), any(), any(), any())).willReturn(null);
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+
+        //when
+        ReservationDto.HoldRequest holdDto = ReservationDto.HoldRequest.builder()
+                .resourceId(resource.getId()).startDateTime(getTime(20)).endDateTime(getTime(21)).build();
+
+        //then
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reservationService.holdReservation(clubMember.getId(), holdDto));
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+    }
+
     @Test
     @DisplayName("요청한 시간에 다른 예약이 있으면 RESERVATION_UNAVAILABLE")
     public void createReservationWhenPeriodOverlappedThenException() throws Exception {
@@ -479,9 +642,11 @@ public class ReservationServiceTests {
         Long reservationId = 1L;
         Reservation reservation = createDefaultReservation(resource, clubMember);
         reservation.clearInvitee();
-        reservation.getReservationInvitees().add(new ReservationInvitee(reservation, null)); // 기존 Reservation에 등록된 invitee 있다고 가정
+        ReservationInvitee removedInvitee = new ReservationInvitee(reservation, otherClubMember); // 기존 Reservation에 등록된 invitee 있다고 가정
+        new ReservationInvitee(reservation, invitee);
         given(reservationRepository.findById(reservationId)).willReturn(Optional.ofNullable(reservation));
-        given(clubMemberRepository.findById(invitee.getId())).willReturn(Optional.ofNullable(invitee));
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(clubMemberRepository.findAllById(List.of(invitee.getId()))).willReturn(List.of(invitee));
         //when
         ReservationDto.Update updateDto = getUpdateDto(
                 reservationId, resource.getId(), "newTitle", "newUsage",
@@ -496,7 +661,8 @@ public class ReservationServiceTests {
         assertThat(responseDto.getStartDateTime()).as("예약 시작 시간이 일치해야 한다").isEqualTo(updateDto.getStartDateTime());
         assertThat(responseDto.getEndDateTime()).as("예약 종료 시간이 일치해야 한다").isEqualTo(updateDto.getEndDateTime());
         assertThat(responseDto.getInvitees().size()).as("예약 invitee가 update 요청과 일치해야 한다").isEqualTo(1);
-        verify(reservationInviteeRepository, times(1)).deleteReservationInviteeByReservationId(reservationId);
+        verify(reservationInviteeRepository, times(1)).deleteAllInBatch(List.of(removedInvitee));
+        verify(reservationInviteeRepository, times(1)).insertAllInBatch(List.of());
     }
 
     @Test
@@ -926,6 +1092,8 @@ public class ReservationServiceTests {
     @DisplayName("관리자는 승인대기 상태의 예약을 승인할 수 있다.")
     public void confirmAllReservationsByAdmin() throws Exception {
         //given
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
         clubMember.changeRole(ClubRole.ADMIN);
         given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
 
@@ -946,14 +1114,15 @@ public class ReservationServiceTests {
         reservationService.confirmAllReservations(clubMember.getId(), requestDto);
 
         //then
-        assertThat(createReservation.getStatus()).as("예약은 승인완료 상태여야 한다").isEqualTo(CONFIRMED);
-        assertThat(updateReservation.getStatus()).as("예약은 승인완료 상태여야 한다").isEqualTo(CONFIRMED);
+        verify(reservationRepository, times(1)).updateStatusAll(eq(reservationIds), eq(CONFIRMED), eq(fixedNow));
     }
 
     @Test
     @DisplayName("권한이 있는 매니저는 승인대기 상태의 예약을 승인할 수 있다.")
     public void confirmAllReservationsByManagerHasSCHEDULE_ALL() throws Exception {
         //given
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
         clubMember.changeRole(ClubRole.MANAGER);
         clubMember.updateClubAuthority(clubAuthority);
         given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
@@ -975,8 +1144,84 @@ public class ReservationServiceTests {
         reservationService.confirmAllReservations(clubMember.getId(), requestDto);
 
         //then
-        assertThat(createReservation.getStatus()).as("예약은 승인완료 상태여야 한다").isEqualTo(CONFIRMED);
-        assertThat(updateReservation.getStatus()).as("예약은 승인완료 상태여야 한다").isEqualTo(CONFIRMED);
+        verify(reservationRepository, times(1)).updateStatusAll(eq(reservationIds), eq(CONFIRMED), any());
+    }
+
+    @Test
+    @DisplayName("같은 회원의 예약 여러 건을 승인하면 알림은 회원별로 한 건만 보낸다.")
+    public void confirmAllReservationsGroupsNotifications() throws Exception {
+        //given
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+        clubMember.changeRole(ClubRole.ADMIN);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+
+        List<Long> reservationIds = new ArrayList<>(List.of(1L, 2L, 3L));
+        Reservation reservation1 = createReservation(resource, sameClubMember, getPeriod(8, 9), "title", "usage", false);
+        Reservation reservation2 = createReservation(resource, sameClubMember, getPeriod(9, 10), "title", "usage", false);
+        Reservation reservation3 = createReservation(resource, clubMember, getPeriod(10, 11), "title", "usage", false);
+        given(reservationRepository.findAllById(reservationIds)).willReturn(List.of(reservation1, reservation2, reservation3));
+
+        //when
+        reservationService.confirmAllReservations(clubMember.getId(), ReservationDto.Request.ofList(reservationIds));
+
+        //then
+        verify(messageService, times(1)).createPrivateMessages(recipientsCaptor.capture(), messagesCaptor.capture());
+        assertThat(recipientsCaptor.getValue()).containsExactly(sameClubMember, clubMember);
+        assertThat(messagesCaptor.getValue().get(0).getContent()).isEqualTo("예약 2건이 승인되었습니다.");
+        verify(eventPublisher, times(3)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("일괄 승인한 예약은 엔티티 상태가 그대로여도 승인된 예약으로 이용 통계에 집계된다.")
+    public void confirmAllReservationsCountedInUsage() throws Exception {
+        //given
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+        clubMember.changeRole(ClubRole.ADMIN);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        List<Long> reservationIds = new ArrayList<>(List.of(1L));
+        Reservation reservation = createReservation(resource, sameClubMember, getPeriod(8, 9), "title", "usage", false);
+        given(reservationRepository.findAllById(reservationIds)).willReturn(List.of(reservation));
+
+        ResourceUsageRepository resourceUsageRepository = mock(ResourceUsageRepository.class);
+        MemberUsageRepository memberUsageRepository = mock(MemberUsageRepository.class);
+        ReservationUsageRepository reservationUsageRepository = mock(ReservationUsageRepository.class);
+        UsageRollupRecorder usageRollupRecorder = new UsageRollupRecorder(resourceUsageRepository, memberUsageRepository, reservationUsageRepository);
+
+        //when
+        reservationService.confirmAllReservations(clubMember.getId(), ReservationDto.Request.ofList(reservationIds));
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        ReservationEvent event = (ReservationEvent) events.getValue();
+        usageRollupRecorder.onReservationEvent(event);
+
+        //then
+        assertThat(reservation.getStatus()).isEqualTo(REQUEST);
+        assertThat(event.getStatus()).isEqualTo(CONFIRMED);
+        verify(resourceUsageRepository).increment(resource.getId(), getPeriod(8, 9).getStartDateTime().toLocalDate(), 8, 60L, 1L, 0L);
+        verify(reservationUsageRepository).save(any(ReservationUsage.class));
+    }
+
+    @Test
+    @DisplayName("승인할 예약끼리 같은 리소스에서 시간이 겹치면 RESERVATION_UNAVAILABLE")
+    public void confirmAllOverlappedReservationsThenException() throws Exception {
+        //given
+        clubMember.changeRole(ClubRole.ADMIN);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+
+        List<Long> reservationIds = new ArrayList<>(List.of(1L, 2L));
+        Reservation reservation1 = createReservation(resource, sameClubMember, getPeriod(8, 10), "title", "usage", false);
+        Reservation reservation2 = createReservation(resource, sameClubMember, getPeriod(9, 11), "title", "usage", false);
+        given(reservationRepository.findAllById(reservationIds)).willReturn(List.of(reservation1, reservation2));
+
+        //when
+        BaseException exception = assertThrows(ServiceException.class,
+                () -> reservationService.confirmAllReservations(clubMember.getId(), ReservationDto.Request.ofList(reservationIds)));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        verify(reservationRepository, never()).updateStatusAll(any(), any(), any());
     }
 
     @Test
@@ -1046,6 +1291,23 @@ public class ReservationServiceTests {
     }
 
 
+    @Test
+    @DisplayName("빈 목록을 일괄 승인/거절하면 아무것도 변경하지 않는다")
+    public void confirmAndRejectAllWithEmptyList() throws Exception {
+        //given
+        clubMember.changeRole(ClubRole.ADMIN);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+
+        //when
+        reservationService.confirmAllReservations(clubMember.getId(), List.of());
+        reservationService.rejectAllReservations(clubMember.getId(), List.of());
+
+        //then
+        verify(reservationRepository, never()).updateStatusAll(any(), any(), any());
+        verify(reservationRepository, never()).rejectAll(any(), any(), any());
+        verify(messageService, never()).createPrivateMessages(any(), any());
+    }
+
     /**
      * rejectAllReservations
      */
@@ -1053,6 +1315,8 @@ public class ReservationServiceTests {
     @DisplayName("관리자는 승인 대기중인 예약을 거절할 수 있다.")
     public void rejectAllByAdmin() throws Exception {
         //given
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
         clubMember.changeRole(ClubRole.ADMIN);
         given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
 
@@ -1073,8 +1337,8 @@ public class ReservationServiceTests {
         reservationService.rejectAllReservations(clubMember.getId(), requestDto);
 
         //then
-        assertThat(createReservation.getStatus()).isEqualTo(REJECTED).as("거절된 예약은 REJECTED 상태여야 한다");
-        assertThat(updateReservation.getStatus()).isEqualTo(REJECTED).as("거절된 예약은 REJECTED 상태여야 한다");
+        verify(reservationRepository, times(1)).rejectAll(eq(reservationIds), any(), eq(fixedNow));
+        verify(redisReservationService, times(1)).releaseSlots(anyMap(), anyMap());
 //        List<Reservation> deletedReservations = captureFromMockRepositoryWhenDeleteAll();
 //        assertThat(deletedReservations).as("거절된 예약 요청은 삭제되어야 한다")
 //                .containsExactlyInAnyOrder(createReservation, updateReservation);
@@ -1084,6 +1348,8 @@ public class ReservationServiceTests {
     @DisplayName("권한이 있는 매니저는 승인 대기중인 예약을 거절할 수 있다.")
     public void rejectAllByManagerHasSCHEDULE_ALL() throws Exception {
         //given
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
         clubMember.changeRole(ClubRole.MANAGER);
         clubMember.updateClubAuthority(clubAuthority);
         given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
@@ -1105,8 +1371,8 @@ public class ReservationServiceTests {
         reservationService.rejectAllReservations(clubMember.getId(), requestDto);
 
         //then
-        assertThat(createReservation.getStatus()).isEqualTo(REJECTED);
-        assertThat(updateReservation.getStatus()).isEqualTo(REJECTED);
+        verify(reservationRepository, times(1)).rejectAll(eq(reservationIds), any(), any());
+        verify(redisReservationService, times(1)).releaseSlots(anyMap(), anyMap());
 //        List<Reservation> deletedReservations = captureFromMockRepositoryWhenDeleteAll();
 //        assertThat(deletedReservations).as("거절된 예약 요청은 삭제되어야 한다")
 //                .containsExactlyInAnyOrder(createReservation, updateReservation);
@@ -1281,6 +1547,7 @@ public class ReservationServiceTests {
         List<Reservation> reservations = List.of(confirmed, unconfirmed);
 
         given(reservationRepository.findAllBetween(any(), any(), eq(resource.getId()))).willReturn(reservations);
+        givenReadModelBuildsFromEntities();
 
         //when
         ReservationDto.Request requestDto = ReservationDto.Request.builder()
@@ -1387,6 +1654,189 @@ public class ReservationServiceTests {
                 .isEqualTo(DIFFERENT_CLUB_EXCEPTION);
     }
 
+    /**
+     * createReservationSeries
+     */
+    @Test
+    @DisplayName("일반 회원은 반복 예약을 한 번에 요청할 수 있고, 관리자에게는 메시지가 한 번만 전송된다.")
+    public void createReservationSeriesByUser() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(reservationRepository.findPeriodsBetween(any(), any(), any())).willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsBetween(any(), any(), any())).willReturn(new ArrayList<>());
+        given(redisReservationService.saveReservations(any(), any())).willReturn(true);
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+
+        ReservationDto.CreateSeries createDto = getCreateSeriesDto(getTime(20), getTime(21), "FREQ=DAILY;COUNT=3");
+        List<Reservation> saved = List.of(
+                createReservation(resource, clubMember, new Period(getTime(20), getTime(21)), "title", "usage", false),
+                createReservation(resource, clubMember, new Period(getTime(20).plusDays(1), getTime(21).plusDays(1)), "title", "usage", false),
+                createReservation(resource, clubMember, new Period(getTime(20).plusDays(2), getTime(21).plusDays(2)), "title", "usage", false));
+        given(reservationRepository.findAllInsertedInBatch(any(), any(), any(), any())).willReturn(saved);
+
+        //when
+        List<ReservationDto.Response> responses = reservationService.createReservationSeries(clubMember.getId(), createDto);
+
+        //then
+        then(reservationRepository).should(times(1)).insertAllInBatch(reservationsCaptor.capture(), eq(fixedNow));
+        assertThat(reservationsCaptor.getValue()).extracting(r -> r.getPeriod().getStartDateTime())
+                .containsExactly(getTime(20), getTime(20).plusDays(1), getTime(20).plusDays(2));
+        assertThat(reservationsCaptor.getValue()).allMatch(r -> r.getStatus() == REQUEST);
+        assertThat(reservationsCaptor.getValue()).allMatch(r -> "A294DB".equals(r.getColor()));
+        then(reservationRepository).should(times(1)).findAllInsertedInBatch(eq(resource.getId()), eq(clubMember.getId()), eq(fixedNow), any());
+        assertThat(responses).hasSize(3);
+        then(reservationRepository).should(times(1)).findPeriodsBetween(resource.getId(), getTime(20), getTime(21).plusDays(2));
+        then(reservationRepository).should(never()).existsBetween(any(), any(), any());
+        then(messageService).should(times(1)).createPrivateMessage(any(), any());
+    }
+
+    @Test
+    @DisplayName("반복 예약 중 하나라도 기존 예약과 겹치면 RESERVATION_UNAVAILABLE 이고 저장하지 않는다.")
+    public void createReservationSeriesConflictThenException() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+        given(reservationRepository.findPeriodsBetween(any(), any(), any())).willReturn(List.of(new PeriodView() {
+            public Long getId() {
+                return 1L;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return getTime(20).plusDays(1);
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return getTime(22).plusDays(1);
+            }
+        }));
+        given(lockRepository.findPeriodsBetween(any(), any(), any())).willReturn(new ArrayList<>());
+
+        ReservationDto.CreateSeries createDto = getCreateSeriesDto(getTime(20), getTime(21), "FREQ=DAILY;COUNT=3");
+
+        //when
+        BaseException exception = assertThrows(ServiceException.class,
+                () -> reservationService.createReservationSeries(clubMember.getId(), createDto));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        then(reservationRepository).should(never()).insertAllInBatch(any(), any());
+    }
+
+    @Test
+    @DisplayName("정원이 있는 리소스의 반복 예약은 끝과 시작이 맞닿은 예약을 동시에 겹친 것으로 세지 않는다.")
+    public void createReservationSeriesOnSharedResourceWithAdjacentReservations() throws Exception {
+        //given
+        ReflectionTestUtils.setField(resource, "capacity", 2);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+        given(reservationRepository.findPeriodsBetween(any(), any(), any())).willReturn(List.of(
+                periodView(1L, getTime(20), getTime(20).plusMinutes(30)),
+                periodView(2L, getTime(20).plusMinutes(30), getTime(21)),
+                periodView(3L, getTime(19).plusDays(1), getTime(20).plusDays(1).plusMinutes(30))));
+        given(lockRepository.findPeriodsBetween(any(), any(), any())).willReturn(new ArrayList<>());
+        given(redisReservationService.saveSharedReservations(any(), any(), anyInt())).willReturn(true);
+        given(reservationRepository.findAllInsertedInBatch(any(), any(), any(), any())).willReturn(new ArrayList<>());
+
+        ReservationDto.CreateSeries createDto = getCreateSeriesDto(getTime(20), getTime(21), "FREQ=DAILY;COUNT=2");
+
+        //when
+        reservationService.createReservationSeries(clubMember.getId(), createDto);
+
+        //then
+        then(reservationRepository).should(times(1)).insertAllInBatch(reservationsCaptor.capture(), eq(fixedNow));
+        assertThat(reservationsCaptor.getValue()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("정원이 있는 리소스의 반복 예약 중 한 시점이라도 겹치는 예약이 정원만큼 있으면 RESERVATION_UNAVAILABLE")
+    public void createReservationSeriesOnFullSharedResourceThenException() throws Exception {
+        //given
+        ReflectionTestUtils.setField(resource, "capacity", 2);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+        given(reservationRepository.findPeriodsBetween(any(), any(), any())).willReturn(List.of(
+                periodView(1L, getTime(20), getTime(20).plusMinutes(30)),
+                periodView(2L, getTime(20).plusMinutes(30), getTime(21)),
+                periodView(3L, getTime(19).plusDays(1), getTime(20).plusDays(1).plusMinutes(30)),
+                periodView(4L, getTime(20).plusDays(1).plusMinutes(15), getTime(22).plusDays(1))));
+        given(lockRepository.findPeriodsBetween(any(), any(), any())).willReturn(new ArrayList<>());
+
+        ReservationDto.CreateSeries createDto = getCreateSeriesDto(getTime(20), getTime(21), "FREQ=DAILY;COUNT=2");
+
+        //when
+        BaseException exception = assertThrows(ServiceException.class,
+                () -> reservationService.createReservationSeries(clubMember.getId(), createDto));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_UNAVAILABLE);
+        then(reservationRepository).should(never()).insertAllInBatch(any(), any());
+    }
+
+    /**
+     * findAllReservationsForSchedulerSince
+     */
+    @Test
+    @DisplayName("since 이후 변경된 예약과 락, 삭제/거절된 예약 id 를 반환한다.")
+    public void findAllReservationsForSchedulerSince() throws Exception {
+        //given
+        LocalDateTime since = fixedNow.minusHours(1);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+        ReflectionTestUtils.setField(reservationService, "tombstoneRetentionDays", 7L);
+
+        Reservation modified = createDefaultReservation(resource, clubMember);
+        ReflectionTestUtils.setField(modified, "id", 1L);
+        Reservation rejected = createDefaultReservation(resource, clubMember);
+        ReflectionTestUtils.setField(rejected, "id", 2L);
+        rejected.reject("reject");
+        given(reservationRepository.findAllModifiedSince(resource.getId(), since)).willReturn(List.of(modified, rejected));
+        givenReadModelBuildsFromEntities();
+        given(lockRepository.findAllModifiedSince(resource.getId(), since)).willReturn(new ArrayList<>());
+        given(tombstoneRepository.findAllByResourceIdSince(resource.getId(), since)).willReturn(List.of(
+                Tombstone.builder().targetType(TombstoneType.RESERVATION).targetId(3L).resourceId(resource.getId()).build(),
+                Tombstone.builder().targetType(TombstoneType.LOCK).targetId(4L).resourceId(resource.getId()).build()));
+
+        //when
+        ReservationDto.DeltaResponse response = reservationService.findAllReservationsForSchedulerSince(
+                clubMember.getId(), ReservationDto.Request.builder().resourceId(resource.getId()).build(), since);
+
+        //then
+        assertThat(response.isResetRequired()).isFalse();
+        assertThat(response.getReservations()).extracting(ReservationDto.Response::getReservationId).containsExactly(1L);
+        assertThat(response.getDeletedReservationIds()).containsExactly(2L, 3L);
+        assertThat(response.getDeletedLockIds()).containsExactly(4L);
+        assertThat(response.getWatermark()).isBefore(fixedNow);
+    }
+
+    @Test
+    @DisplayName("since 가 삭제 기록 보관 기간보다 오래되면 resetRequired 를 반환한다.")
+    public void findAllReservationsForSchedulerSinceTooOld() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.ofNullable(resource));
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+        ReflectionTestUtils.setField(reservationService, "tombstoneRetentionDays", 7L);
+
+        //when
+        ReservationDto.DeltaResponse response = reservationService.findAllReservationsForSchedulerSince(
+                clubMember.getId(), ReservationDto.Request.builder().resourceId(resource.getId()).build(), fixedNow.minusDays(8));
+
+        //then
+        assertThat(response.isResetRequired()).isTrue();
+        then(reservationRepository).should(never()).findAllModifiedSince(any(), any());
+    }
+
     @Test
     public void testBookableSpan() throws Exception
     {
@@ -1406,6 +1856,55 @@ public class ReservationServiceTests {
         assert !endDate2.isAfter(limit2);
     }
 
+    /**
+     * cursor pagination
+     */
+    @Test
+    @DisplayName("다가오는 예약은 본인 예약과 초대된 예약을 시작 시간 순으로 병합하고 다음 커서를 반환한다.")
+    public void findMyReservationsUpComingByCursor() throws Exception {
+        //given
+        Reservation owned1 = createReservation(resource, clubMember, getPeriod(8, 9), "title", "usage", false);
+        Reservation invited = createReservation(resource, sameClubMember, getPeriod(10, 11), "title", "usage", false);
+        Reservation owned2 = createReservation(resource, clubMember, getPeriod(12, 13), "title", "usage", false);
+        ReflectionTestUtils.setField(owned1, "id", 1L);
+        ReflectionTestUtils.setField(invited, "id", 2L);
+        ReflectionTestUtils.setField(owned2, "id", 3L);
+
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+        given(clock.instant()).willReturn(fixedNow.atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+        given(reservationRepository.findOwnedAfterCursor(eq(clubMember.getId()), eq(fixedNow), eq(Long.MIN_VALUE), any()))
+                .willReturn(List.of(owned1, owned2));
+        given(reservationRepository.findInvitedAfterCursor(eq(clubMember.getId()), eq(fixedNow), eq(Long.MIN_VALUE), any()))
+                .willReturn(List.of(invited, owned1));
+        givenReadModelBuildsFromEntities();
+
+        //when
+        ReservationDto.CursorResponse response = reservationService.findMyReservationsUpComing(clubMember.getId(), null, 2);
+
+        //then
+        assertThat(response.getContent()).extracting(ReservationDto.Response::getReservationId).containsExactly(1L, 2L);
+        assertThat(response.isHasNext()).isTrue();
+
+        ReservationCursor nextCursor = ReservationCursor.decode(response.getNextCursor());
+        assertThat(nextCursor.getStartDateTime()).isEqualTo(getTime(10));
+        assertThat(nextCursor.getId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 조회하면 REQUEST_IS_INVALID")
+    public void findMyReservationsByInvalidCursor() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.ofNullable(clubMember));
+
+        //when
+        BaseException exception = assertThrows(ServiceException.class,
+                () -> reservationService.findMyReservationsPrevious(clubMember.getId(), "not-a-cursor", 10));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(REQUEST_IS_INVALID);
+    }
+
 
     /**
      * Argument capture method
@@ -1465,6 +1964,10 @@ public class ReservationServiceTests {
                 LocalDateTime.now(), LocalDateTime.now().plusHours(1), false);
     }
 
+    private void givenReadModelBuildsFromEntities() {
+        given(reservationReadModel.toResponses(anyList())).willAnswer(invocation -> ReservationDto.Response.ofList(invocation.getArgument(0)));
+    }
+
     private Reservation createDefaultReservation(Resource resource, ClubMember clubMember) {
         return createReservation(
                 resource, clubMember, getPeriod(20, 21), "title", "usage", false);
@@ -1500,6 +2003,19 @@ public class ReservationServiceTests {
                 .build();
     }
 
+    private ReservationDto.CreateSeries getCreateSeriesDto(LocalDateTime start, LocalDateTime end, String recurrence) {
+
+        return ReservationDto.CreateSeries.builder()
+                .reservationOwnerId(clubMember.getId())
+                .resourceId(resource.getId())
+                .title("title")
+                .usage("usage")
+                .startDateTime(start)
+                .endDateTime(end)
+                .recurrence(recurrence)
+                .build();
+    }
+
     private static ReservationDto.Update getUpdateDto(
             Long reservationId, Long resourceId, String title, String usage,
             boolean sharing, LocalDateTime start, LocalDateTime end) {
@@ -1514,4 +2030,20 @@ public class ReservationServiceTests {
                 .endDateTime(end)
                 .build();
     }
+
+    private static PeriodView periodView(Long id, LocalDateTime start, LocalDateTime end) {
+        return new PeriodView() {
+            public Long getId() {
+                return id;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return end;
+            }
+        };
+    }
 }
@@ -0,0 +1,328 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Lock;
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.repository.LockPeriodView;
+import com.dp.dplanner.repository.LockRepository;
+import com.dp.dplanner.repository.PeriodView;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker;
+import com.dp.dplanner.service.event.LockEvent;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.dp.dplanner.service.index.ResourceTimelineIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.dp.dplanner.adapter.dto.LockDto.Response;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceTimelineIndexTest {
+
+    @Mock
+    ReservationRepository reservationRepository;
+    @Mock
+    LockRepository lockRepository;
+    @Mock
+    RedisTemplate<String, String> redisTemplate;
+    @Mock
+    ValueOperations<String, String> valueOperations;
+
+    ResourceTimelineIndex resourceTimelineIndex;
+    Resource resource;
+    Long resourceId = 1L;
+    // Redis 의 리소스별 버전 key
+    Map<String, Long> versions = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(getTime(0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        resourceTimelineIndex = new ResourceTimelineIndex(reservationRepository, lockRepository, redisTemplate, new RedisCircuitBreaker(clock), clock);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.get(anyString())).thenAnswer(invocation -> {
+            Long version = versions.get(invocation.<String>getArgument(0));
+            return version == null ? null : String.valueOf(version);
+        });
+        lenient().when(valueOperations.increment(anyString())).thenAnswer(invocation -> versions.merge(invocation.getArgument(0), 1L, Long::sum));
+        ReflectionTestUtils.setField(resourceTimelineIndex, "ttlSeconds", 60L);
+
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        resource = Resource.builder().club(club).build();
+        ReflectionTestUtils.setField(resource, "id", resourceId);
+    }
+
+    @Test
+    @DisplayName("적재된 예약과 겹치는 시간이면 true, 겹치지 않으면 false")
+    public void hasReservationBetween() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(
+                List.of(periodView(1L, getTime(10), getTime(12)), periodView(2L, getTime(15), getTime(16))));
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+
+        //then
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(11), getTime(13))).isTrue();
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(9), getTime(10))).isFalse();
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(12), getTime(15))).isFalse();
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(8), getTime(20))).isTrue();
+        assertThat(resourceTimelineIndex.hasLockBetween(resourceId, getTime(8), getTime(20))).isFalse();
+
+        verify(reservationRepository, times(1)).findPeriodsAfter(eq(resourceId), any());
+    }
+
+    @Test
+    @DisplayName("긴 예약 뒤에 시작하는 짧은 예약이 있어도 긴 예약과의 겹침을 찾는다")
+    public void hasReservationBetweenNestedPeriods() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(
+                List.of(periodView(1L, getTime(1), getTime(20)), periodView(2L, getTime(2), getTime(3))));
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+
+        //then
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(18), getTime(19))).isTrue();
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(20), getTime(21))).isFalse();
+    }
+
+    @Test
+    @DisplayName("예약 이벤트가 발생하면 다시 적재하지 않고 인덱스를 갱신한다")
+    public void applyReservationEvent() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(10), getTime(11))).isFalse();
+
+        Reservation reservation = Reservation.builder().resource(resource).period(new Period(getTime(10), getTime(11))).build();
+        ReflectionTestUtils.setField(reservation, "id", 5L);
+
+        //when
+        resourceTimelineIndex.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.CREATED, reservation));
+
+        //then
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(10), getTime(11))).isTrue();
+
+        //when
+        resourceTimelineIndex.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.REJECTED, reservation));
+
+        //then
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(10), getTime(11))).isFalse();
+        verify(reservationRepository, times(1)).findPeriodsAfter(eq(resourceId), any());
+    }
+
+    @Test
+    @DisplayName("락 이벤트가 발생하면 인덱스를 갱신한다")
+    public void applyLockEvent() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(List.of(lockView(3L, getTime(1), getTime(2))));
+        assertThat(resourceTimelineIndex.hasLockBetween(resourceId, getTime(1), getTime(2))).isTrue();
+
+        Lock lock = Lock.builder().resource(resource).period(new Period(getTime(5), getTime(6))).build();
+        ReflectionTestUtils.setField(lock, "id", 3L);
+
+        //when
+        resourceTimelineIndex.onLockEvent(LockEvent.updated(lock, new Period(getTime(1), getTime(2))));
+
+        //then
+        assertThat(resourceTimelineIndex.hasLockBetween(resourceId, getTime(1), getTime(2))).isFalse();
+        assertThat(resourceTimelineIndex.hasLockBetween(resourceId, getTime(5), getTime(6))).isTrue();
+    }
+
+    @Test
+    @DisplayName("적재 범위 이전의 요청은 인덱스로 판단하지 않는다")
+    public void requestBeforeLoadedRange() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(
+                List.of(periodView(1L, getTime(0), getTime(5))));
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+
+        //then
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(0).minusDays(1), getTime(1))).isFalse();
+    }
+
+
+    @Test
+    @DisplayName("다른 서버에서 버전을 올리면 ttl 이 지나지 않았어도 다시 적재한다")
+    public void reloadWhenChangedOnOtherServer() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any()))
+                .willReturn(List.of(periodView(1L, getTime(10), getTime(11))))
+                .willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(10), getTime(11))).isTrue();
+
+        //when 다른 서버에서 예약이 삭제됨
+        versions.merge("timeline:" + resourceId + ":version", 1L, Long::sum);
+
+        //then
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(10), getTime(11))).isFalse();
+        verify(reservationRepository, times(2)).findPeriodsAfter(eq(resourceId), any());
+    }
+
+    @Test
+    @DisplayName("이 서버의 인덱스가 이전 버전이 아니면 변경을 반영하지 않고 버린다")
+    public void evictWhenVersionSkipped() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        assertThat(resourceTimelineIndex.hasLockBetween(resourceId, getTime(5), getTime(6))).isFalse();
+        versions.merge("timeline:" + resourceId + ":version", 1L, Long::sum);
+
+        Lock lock = Lock.builder().resource(resource).period(new Period(getTime(5), getTime(6))).build();
+        ReflectionTestUtils.setField(lock, "id", 3L);
+
+        //when
+        resourceTimelineIndex.onLockEvent(LockEvent.of(LockEvent.Type.CREATED, lock));
+        resourceTimelineIndex.hasLockBetween(resourceId, getTime(5), getTime(6));
+
+        //then
+        verify(lockRepository, times(2)).findPeriodsAfter(eq(resourceId), any());
+    }
+
+    @Test
+    @DisplayName("Redis 를 사용할 수 없으면 버전을 확인할 수 없으므로 인덱스로 판단하지 않는다")
+    public void redisUnavailable() {
+        //given
+        given(valueOperations.get(anyString())).willThrow(new RedisConnectionFailureException("down"));
+
+        //then
+        assertThat(resourceTimelineIndex.hasReservationBetween(resourceId, getTime(10), getTime(11))).isFalse();
+        verifyNoInteractions(reservationRepository, lockRepository);
+    }
+
+    @Test
+    @DisplayName("조회 구간과 겹치는 락을 시작 시간 순으로 메시지와 함께 반환한다")
+    public void getLocks() {
+        //given 긴 락 안에 짧은 락이 있는 경우
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(List.of(
+                lockView(1L, getTime(11), getTime(18)),
+                lockView(2L, getTime(12), getTime(13)),
+                lockView(3L, getTime(15), getTime(16)),
+                lockView(4L, getTime(20), getTime(21))));
+
+        //when
+        List<Response> first = resourceTimelineIndex.getLocks(resourceId, getTime(14), getTime(20), null);
+        List<Response> second = resourceTimelineIndex.getLocks(resourceId, getTime(13), getTime(22), null);
+
+        //then
+        assertThat(first).extracting(Response::getId).containsExactly(1L, 3L);
+        assertThat(second).extracting(Response::getId).containsExactly(1L, 3L, 4L);
+        assertThat(second.get(2).getStartDateTime()).isEqualTo(getTime(20));
+        assertThat(second.get(2).getMessage()).isEqualTo("message4");
+        assertThat(second).extracting(Response::getResourceId).containsOnly(resourceId);
+        verify(lockRepository, times(1)).findPeriodsAfter(eq(resourceId), any());
+    }
+
+    @Test
+    @DisplayName("cutoff 이후에 끝나는 락은 제외한다")
+    public void getLocksWithCutoff() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(List.of(
+                lockView(1L, getTime(11), getTime(12)),
+                lockView(2L, getTime(13), getTime(15)),
+                lockView(3L, getTime(16), getTime(17))));
+
+        //when
+        List<Response> locks = resourceTimelineIndex.getLocks(resourceId, getTime(0), getTime(23), getTime(14));
+
+        //then
+        assertThat(locks).extracting(Response::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("락 이벤트의 메시지를 반영하고, 다른 서버에서 바뀌면 다시 적재한 락 목록을 반환한다")
+    public void getLocksAfterChange() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>()).willReturn(List.of());
+        assertThat(resourceTimelineIndex.getLocks(resourceId, getTime(0), getTime(23), null)).isEmpty();
+
+        Lock lock = Lock.builder().resource(resource).period(new Period(getTime(5), getTime(6))).message("exam").build();
+        ReflectionTestUtils.setField(lock, "id", 3L);
+
+        //when
+        resourceTimelineIndex.onLockEvent(LockEvent.of(LockEvent.Type.CREATED, lock));
+        List<Response> created = resourceTimelineIndex.getLocks(resourceId, getTime(0), getTime(23), null);
+        versions.merge("timeline:" + resourceId + ":version", 1L, Long::sum);
+        List<Response> deletedOnOtherServer = resourceTimelineIndex.getLocks(resourceId, getTime(0), getTime(23), null);
+
+        //then
+        assertThat(created).extracting(Response::getMessage).containsExactly("exam");
+        assertThat(deletedOnOtherServer).isEmpty();
+    }
+
+    @Test
+    @DisplayName("적재 범위 이전부터 시작하거나 Redis 를 사용할 수 없으면 락 목록을 판단하지 않는다")
+    public void getLocksUnavailable() {
+        //given
+        given(reservationRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+        given(lockRepository.findPeriodsAfter(eq(resourceId), any())).willReturn(new ArrayList<>());
+
+        //then
+        assertThat(resourceTimelineIndex.getLocks(resourceId, getTime(0).minusDays(1), getTime(1), null)).isNull();
+
+        given(valueOperations.get(anyString())).willThrow(new RedisConnectionFailureException("down"));
+        assertThat(resourceTimelineIndex.getLocks(resourceId, getTime(0), getTime(1), null)).isNull();
+    }
+
+    private static LockPeriodView lockView(Long id, LocalDateTime start, LocalDateTime end) {
+        return new LockPeriodView() {
+            public Long getId() {
+                return id;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return end;
+            }
+
+            public String getMessage() {
+                return "message" + id;
+            }
+        };
+    }
+
+    private static PeriodView periodView(Long id, LocalDateTime start, LocalDateTime end) {
+        return new PeriodView() {
+            public Long getId() {
+                return id;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return end;
+            }
+        };
+    }
+
+    private static LocalDateTime getTime(int hour) {
+        return LocalDateTime.of(2023, 8, 10, hour, 0);
+    }
+}
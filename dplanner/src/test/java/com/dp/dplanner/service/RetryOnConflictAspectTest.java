@@ -0,0 +1,72 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.exception.BaseException;
+import com.dp.dplanner.service.aop.annotation.RetryOnConflict;
+import com.dp.dplanner.service.aop.aspect.RetryOnConflictAspect;
+import com.dp.dplanner.service.exception.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static com.dp.dplanner.exception.ErrorResult.RESERVATION_CONFLICT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RetryOnConflictAspectTest {
+
+    ConflictingService target;
+    ConflictingService proxy;
+
+    @BeforeEach
+    void setUp() {
+        target = new ConflictingService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new RetryOnConflictAspect());
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("낙관적 락 충돌이 발생하면 다시 실행한다")
+    public void retryUntilSuccess() {
+        //given
+        target.failures = 2;
+
+        //when
+        String result = proxy.update();
+
+        //then
+        assertThat(result).isEqualTo("updated");
+        assertThat(target.calls).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("최대 실행 횟수를 넘으면 RESERVATION_CONFLICT")
+    public void retryExhausted() {
+        //given
+        target.failures = 10;
+
+        //when
+        BaseException exception = assertThrows(ServiceException.class, () -> proxy.update());
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(RESERVATION_CONFLICT);
+        assertThat(target.calls).isEqualTo(3);
+    }
+
+    static class ConflictingService {
+        int failures;
+        int calls;
+
+        @RetryOnConflict(backoffMillis = 1)
+        public String update() {
+            calls++;
+            if (calls <= failures) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "updated";
+        }
+    }
+}
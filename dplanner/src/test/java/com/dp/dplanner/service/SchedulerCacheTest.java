@@ -0,0 +1,129 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.ReservationDto;
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.service.cache.SchedulerCache;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulerCacheTest {
+
+    @Mock
+    RedisTemplate<String, String> redisTemplate;
+    @Mock
+    ValueOperations<String, String> valueOperations;
+
+    SchedulerCache schedulerCache;
+    SimpleMeterRegistry meterRegistry;
+    ObjectMapper objectMapper;
+    Long resourceId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        meterRegistry = new SimpleMeterRegistry();
+        schedulerCache = new SchedulerCache(redisTemplate, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(schedulerCache, "ttlSeconds", 600L);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("캐시에 없으면 한 주를 조회해서 현재 version key 에 저장하고, 요청 기간과 겹치는 예약만 반환한다")
+    public void miss() throws Exception {
+        //given 2023-08-07 월요일
+        given(valueOperations.get("scheduler:1:20230807:version")).willReturn("3");
+        given(valueOperations.get("scheduler:1:20230807:3")).willReturn(null);
+        AtomicInteger loaded = new AtomicInteger();
+
+        //when
+        List<ReservationDto.Response> responses = schedulerCache.get(resourceId, getTime(10, 0), getTime(10, 23),
+                (from, to) -> {
+                    loaded.incrementAndGet();
+                    assertThat(from).isEqualTo(getTime(7, 0));
+                    assertThat(to).isEqualTo(getTime(14, 0));
+                    return List.of(response(1L, getTime(8, 10), getTime(8, 11)), response(2L, getTime(10, 10), getTime(10, 11)));
+                });
+
+        //then
+        assertThat(loaded.get()).isEqualTo(1);
+        assertThat(responses).extracting(ReservationDto.Response::getReservationId).containsExactly(2L);
+        then(redisTemplate).should().execute(anyScript(), eq(List.of("scheduler:1:20230807:version", "scheduler:1:20230807:3")),
+                eq("3"), anyString(), eq("600000"), eq("1200000"));
+        assertThat(meterRegistry.counter("reservation.scheduler.cache", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시에 있으면 DB 를 조회하지 않는다")
+    public void hit() throws Exception {
+        //given
+        String cached = objectMapper.writeValueAsString(List.of(response(1L, getTime(8, 10), getTime(8, 11))));
+        given(valueOperations.get("scheduler:1:20230807:version")).willReturn(null);
+        given(valueOperations.get("scheduler:1:20230807:0")).willReturn(cached);
+
+        //when
+        List<ReservationDto.Response> responses = schedulerCache.get(resourceId, getTime(7, 0), getTime(14, 0),
+                (from, to) -> {
+                    throw new IllegalStateException("must not load");
+                });
+
+        //then
+        assertThat(responses).extracting(ReservationDto.Response::getReservationId).containsExactly(1L);
+        assertThat(responses.get(0).getStartDateTime()).isEqualTo(getTime(8, 10));
+        assertThat(meterRegistry.counter("reservation.scheduler.cache", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("예약 이벤트가 발생하면 예약이 걸친 주의 version 만 스크립트 한 번으로 올리고 만료 시간을 설정한다")
+    public void invalidate() {
+        //given 일요일 ~ 월요일에 걸친 예약
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        Resource resource = Resource.builder().club(club).build();
+        ReflectionTestUtils.setField(resource, "id", resourceId);
+        Reservation reservation = Reservation.builder().resource(resource).period(new Period(getTime(13, 22), getTime(14, 2))).build();
+
+        //when
+        schedulerCache.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.CREATED, reservation));
+
+        //then
+        then(redisTemplate).should(times(1)).execute(anyScript(),
+                eq(List.of("scheduler:1:20230807:version", "scheduler:1:20230814:version")), eq("1200000"));
+        then(valueOperations).shouldHaveNoInteractions();
+    }
+
+    private static <T> RedisScript<T> anyScript() {
+        return any();
+    }
+
+    private static ReservationDto.Response response(Long id, LocalDateTime start, LocalDateTime end) {
+        return ReservationDto.Response.builder().reservationId(id).startDateTime(start).endDateTime(end).build();
+    }
+
+    private static LocalDateTime getTime(int day, int hour) {
+        return LocalDateTime.of(2023, 8, day, hour, 0);
+    }
+}
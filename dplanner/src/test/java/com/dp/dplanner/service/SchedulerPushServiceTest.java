@@ -0,0 +1,158 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Member;
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.push.SchedulerPushPublisher;
+import com.dp.dplanner.service.push.SchedulerPushService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.dp.dplanner.exception.ErrorResult.DIFFERENT_CLUB_EXCEPTION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulerPushServiceTest {
+
+    @Mock
+    ClubMemberRepository clubMemberRepository;
+    @Mock
+    ResourceRepository resourceRepository;
+    @Mock
+    RedisMessageListenerContainer listenerContainer;
+    @Mock
+    RedisTemplate<String, String> redisTemplate;
+
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    List<RecordingEmitter> emitters = new ArrayList<>();
+    SchedulerPushService schedulerPushService;
+    SchedulerPushPublisher schedulerPushPublisher;
+    Club club;
+    ClubMember clubMember;
+    Resource resource;
+    Resource otherResource;
+
+    @BeforeEach
+    void setUp() {
+        schedulerPushService = new SchedulerPushService(clubMemberRepository, resourceRepository, objectMapper, listenerContainer) {
+            @Override
+            protected SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        schedulerPushPublisher = new SchedulerPushPublisher(redisTemplate, objectMapper);
+
+        club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        clubMember = ClubMember.builder().member(Member.builder().build()).club(club).build();
+        clubMember.confirm();
+        ReflectionTestUtils.setField(clubMember, "id", 10L);
+        resource = Resource.builder().club(club).build();
+        ReflectionTestUtils.setField(resource, "id", 100L);
+        otherResource = Resource.builder().club(club).build();
+        ReflectionTestUtils.setField(otherResource, "id", 200L);
+    }
+
+    @Test
+    @DisplayName("커밋된 예약 변경을 클럽 채널로 발행하고, 받은 알림은 구독한 리소스의 연결에만 보낸다")
+    public void publishAndDispatch() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.of(resource));
+        schedulerPushService.subscribe(clubMember.getId(), null);
+        schedulerPushService.subscribe(clubMember.getId(), resource.getId());
+
+        Reservation reservation = Reservation.builder().clubMember(clubMember).resource(otherResource)
+                .period(new Period(LocalDateTime.of(2023, 8, 10, 10, 0), LocalDateTime.of(2023, 8, 10, 12, 0))).build();
+        ReflectionTestUtils.setField(reservation, "id", 1000L);
+
+        //when
+        schedulerPushPublisher.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.CREATED, reservation));
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        then(redisTemplate).should().convertAndSend(eq("scheduler:push:1"), body.capture());
+        schedulerPushService.onMessage(new DefaultMessage("scheduler:push:1".getBytes(), body.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        //then
+        assertThat(body.getValue()).contains("\"kind\":\"RESERVATION\"", "\"type\":\"CREATED\"", "\"resourceId\":200", "\"startDateTime\":\"2023-08-10T10:00:00\"");
+        assertThat(emitters.get(0).sent).hasSize(2);
+        assertThat(emitters.get(0).sent.get(1)).contains("event:reservation", "\"id\":1000");
+        assertThat(emitters.get(1).sent).as("다른 리소스를 구독한 연결에는 보내지 않는다").hasSize(1);
+    }
+
+    @Test
+    @DisplayName("보내기에 실패한 연결은 정리한다")
+    public void removeBrokenSubscription() {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        schedulerPushService.subscribe(clubMember.getId(), null);
+        emitters.get(0).broken = true;
+
+        //when
+        schedulerPushService.heartbeat();
+
+        //then
+        assertThat(schedulerPushService.countSubscriptions(club.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 클럽의 리소스는 구독할 수 없다")
+    public void subscribeOtherClubResource() {
+        //given
+        Club otherClub = Club.builder().build();
+        ReflectionTestUtils.setField(otherClub, "id", 2L);
+        Resource resourceOfOtherClub = Resource.builder().club(otherClub).build();
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findById(300L)).willReturn(Optional.of(resourceOfOtherClub));
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class, () -> schedulerPushService.subscribe(clubMember.getId(), 300L));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(DIFFERENT_CLUB_EXCEPTION);
+        assertThat(emitters).isEmpty();
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+        final List<String> sent = new ArrayList<>();
+        boolean broken = false;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("broken pipe");
+            }
+            sent.add(builder.build().stream().map(data -> data.getData().toString()).collect(Collectors.joining()));
+        }
+    }
+}
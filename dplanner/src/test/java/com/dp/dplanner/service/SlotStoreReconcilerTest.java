@@ -0,0 +1,151 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.service.cache.SlotStoreReconciler;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker;
+import com.dp.dplanner.service.concurrency.RedisCircuitBreaker.DeferredSlots;
+import com.dp.dplanner.service.concurrency.RedisFallback;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SlotStoreReconcilerTest {
+
+    @Mock
+    RedisReservationService redisReservationService;
+    @Mock
+    RedisTemplate<String, String> redisTemplate;
+    @Mock
+    RedisFallback redisFallback;
+
+    RedisCircuitBreaker redisCircuitBreaker;
+    SlotStoreReconciler slotStoreReconciler;
+    Period period = new Period(LocalDateTime.of(2023, 8, 10, 10, 0), LocalDateTime.of(2023, 8, 10, 11, 0));
+
+    @BeforeEach
+    void setUp() {
+        redisCircuitBreaker = new RedisCircuitBreaker(Clock.fixed(Instant.EPOCH, ZoneId.systemDefault()));
+        ReflectionTestUtils.setField(redisCircuitBreaker, "openSeconds", 0L);
+        slotStoreReconciler = new SlotStoreReconciler(redisCircuitBreaker, redisFallback, redisReservationService, redisTemplate);
+        lenient().when(redisFallback.drainClaims()).thenReturn(DeferredSlots.empty());
+    }
+
+    @Test
+    @DisplayName("장애 동안 DB 로 점유한 구간을 먼저 채우고, 보내지 못한 해제를 다시 보낸 뒤 circuit breaker 를 닫는다. key 를 지우지 않는다")
+    public void reconcile() {
+        //given
+        redisCircuitBreaker.reopen(new DeferredSlots(Map.of(1L, List.of(period)), Map.of(2L, List.of(period))));
+        given(redisFallback.drainClaims()).willReturn(new DeferredSlots(Map.of(3L, List.of(period)), Map.of(2L, List.of(period))));
+
+        //when
+        slotStoreReconciler.reconcile();
+
+        //then
+        InOrder inOrder = inOrder(redisReservationService);
+        inOrder.verify(redisReservationService).fillReservations(Map.of(3L, List.of(period)));
+        inOrder.verify(redisReservationService).saveSharedReservations(List.of(period), 2L, Integer.MAX_VALUE);
+        inOrder.verify(redisReservationService).releaseSlots(Map.of(1L, List.of(period)), Map.of(2L, List.of(period)));
+        verifyNoMoreInteractions(redisReservationService);
+        verify(redisFallback).renew();
+        assertThat(redisCircuitBreaker.isOpen()).isFalse();
+        assertThat(redisCircuitBreaker.isRecoveryDue()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redis 가 아직 응답하지 않으면 해제를 되돌리고 다시 연다")
+    public void reconcileUnavailable() {
+        //given
+        redisCircuitBreaker.reopen(new DeferredSlots(Map.of(1L, List.of(period)), Map.of()));
+        given(redisTemplate.execute(ArgumentMatchers.<RedisCallback<String>>any())).willThrow(new RedisConnectionFailureException("down"));
+
+        //when
+        slotStoreReconciler.reconcile();
+
+        //then
+        verifyNoInteractions(redisReservationService);
+        verify(redisFallback, never()).drainClaims();
+        assertThat(redisCircuitBreaker.isOpen()).isTrue();
+        assertThat(redisCircuitBreaker.startRecovery().exclusivePeriods()).isEqualTo(Map.of(1L, List.of(period)));
+    }
+
+    @Test
+    @DisplayName("해제를 보내다 실패하면 일부가 실행되었을 수 있으므로 되돌리지 않고 다시 연다")
+    public void reconcileReleaseFailure() {
+        //given
+        redisCircuitBreaker.reopen(new DeferredSlots(Map.of(1L, List.of(period)), Map.of()));
+        willThrow(new RedisConnectionFailureException("down")).given(redisReservationService).releaseSlots(anyMap(), anyMap());
+
+        //when
+        slotStoreReconciler.reconcile();
+
+        //then
+        assertThat(redisCircuitBreaker.isOpen()).isTrue();
+        assertThat(redisCircuitBreaker.startRecovery().isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("DB 로 점유한 구간을 채우다 실패하면 되돌리고, 보내지 않은 해제도 되돌린 뒤 다시 연다")
+    public void reconcileClaimFillFailure() {
+        //given
+        DeferredSlots claims = new DeferredSlots(Map.of(3L, List.of(period)), Map.of());
+        redisCircuitBreaker.reopen(new DeferredSlots(Map.of(1L, List.of(period)), Map.of()));
+        given(redisFallback.drainClaims()).willReturn(claims);
+        willThrow(new RedisConnectionFailureException("down")).given(redisReservationService).fillReservations(anyMap());
+
+        //when
+        slotStoreReconciler.reconcile();
+
+        //then
+        verify(redisFallback).addClaims(claims);
+        verify(redisReservationService, never()).releaseSlots(anyMap(), anyMap());
+        assertThat(redisCircuitBreaker.isOpen()).isTrue();
+        assertThat(redisCircuitBreaker.startRecovery().exclusivePeriods()).isEqualTo(Map.of(1L, List.of(period)));
+    }
+
+    @Test
+    @DisplayName("복구한 뒤에 커밋된 DB 점유는 채울 때까지 lease 를 연장하며 채운다")
+    public void reconcileClaimsAfterRecovery() {
+        //given
+        given(redisFallback.hasUnflushedClaims()).willReturn(true);
+        given(redisFallback.drainClaims()).willReturn(new DeferredSlots(Map.of(3L, List.of(period)), Map.of()));
+
+        //when
+        slotStoreReconciler.reconcile();
+
+        //then
+        verify(redisFallback).renew();
+        verify(redisReservationService).fillReservations(Map.of(3L, List.of(period)));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("장애가 없으면 아무것도 하지 않는다")
+    public void reconcileNothing() {
+        //when
+        slotStoreReconciler.reconcile();
+
+        //then
+        verifyNoInteractions(redisReservationService, redisTemplate);
+        verify(redisFallback, never()).renew();
+    }
+}
@@ -0,0 +1,152 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.LockRepository;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourcePeriodView;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.cache.SlotStoreWarmer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SlotStoreWarmerTest {
+
+    @Mock
+    ReservationRepository reservationRepository;
+    @Mock
+    LockRepository lockRepository;
+    @Mock
+    ResourceRepository resourceRepository;
+    @Mock
+    ClubMemberRepository clubMemberRepository;
+    @Mock
+    RedisReservationService redisReservationService;
+    @Captor
+    ArgumentCaptor<Map<Long, List<Period>>> captor;
+
+    SlotStoreWarmer slotStoreWarmer;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(getTime(0, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        slotStoreWarmer = new SlotStoreWarmer(reservationRepository, lockRepository, resourceRepository, clubMemberRepository, redisReservationService, clock);
+        ReflectionTestUtils.setField(slotStoreWarmer, "enabled", true);
+        ReflectionTestUtils.setField(slotStoreWarmer, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("리소스의 bookableSpan 이내의 예약만 batchSize 개씩 나누어 적재한다")
+    public void warmUpWithinBookableSpan() {
+        //given
+        given(resourceRepository.findAll()).willReturn(List.of(createResource(1L, 1L), createResource(2L, 7L)));
+        given(reservationRepository.streamPeriodsBetween(isNull(), eq(getTime(0, 0)), eq(getTime(8, 0)))).willReturn(Stream.of(
+                view(1L, getTime(0, 10), getTime(0, 11)),
+                view(1L, getTime(1, 10), getTime(1, 11)),
+                view(1L, getTime(3, 10), getTime(3, 11)),
+                view(2L, getTime(6, 10), getTime(6, 11))));
+        given(lockRepository.streamPeriodsBetween(isNull(), any(), any())).willReturn(Stream.of(view(2L, getTime(2, 0), getTime(3, 0))));
+
+        //when
+        slotStoreWarmer.warmUpOnStartup();
+
+        //then
+        verify(redisReservationService, times(2)).fillReservations(captor.capture());
+        assertThat(captor.getAllValues().get(0).get(1L)).hasSize(2);
+        assertThat(captor.getAllValues().get(1).get(2L)).hasSize(1);
+        assertThat(captor.getAllValues().get(1)).doesNotContainKey(1L);
+        verify(redisReservationService, times(1)).fillLocks(Map.of(2L, List.of(new Period(getTime(2, 0), getTime(3, 0)))));
+    }
+
+    @Test
+    @DisplayName("정원이 있는 리소스의 예약은 batch 와 상관없이 리소스별로 모아 점유 수로 적재한다")
+    public void warmUpSharedResource() {
+        //given
+        Resource shared = createResource(3L, 7L);
+        ReflectionTestUtils.setField(shared, "capacity", 8);
+        given(resourceRepository.findAll()).willReturn(List.of(createResource(1L, 7L), shared));
+        given(reservationRepository.streamPeriodsBetween(isNull(), any(), any())).willReturn(Stream.of(
+                view(3L, getTime(0, 10), getTime(0, 12)),
+                view(1L, getTime(0, 10), getTime(0, 11)),
+                view(3L, getTime(0, 11), getTime(0, 13)),
+                view(3L, getTime(1, 10), getTime(1, 11))));
+        given(lockRepository.streamPeriodsBetween(isNull(), any(), any())).willReturn(Stream.of());
+
+        //when
+        slotStoreWarmer.warmUpOnStartup();
+
+        //then
+        verify(redisReservationService, times(1)).fillReservations(Map.of(1L, List.of(new Period(getTime(0, 10), getTime(0, 11)))));
+        verify(redisReservationService, times(1)).fillSharedReservations(Map.of(3L, List.of(
+                new Period(getTime(0, 10), getTime(0, 12)),
+                new Period(getTime(0, 11), getTime(0, 13)),
+                new Period(getTime(1, 10), getTime(1, 11)))));
+    }
+
+    @Test
+    @DisplayName("적재에 실패해도 예외를 던지지 않는다")
+    public void warmUpFailureIsIgnored() {
+        //given
+        given(resourceRepository.findAll()).willReturn(List.of(createResource(1L, 1L)));
+        given(reservationRepository.streamPeriodsBetween(any(), any(), any())).willReturn(Stream.of(view(1L, getTime(0, 10), getTime(0, 11))));
+        willThrow(new IllegalStateException()).given(redisReservationService).fillReservations(anyMap());
+
+        //when
+        slotStoreWarmer.warmUpOnStartup();
+
+        //then
+        verify(redisReservationService, never()).fillLocks(anyMap());
+    }
+
+    private static Resource createResource(Long id, Long bookableSpan) {
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        Resource resource = Resource.builder().club(club).bookableSpan(bookableSpan).build();
+        ReflectionTestUtils.setField(resource, "id", id);
+        return resource;
+    }
+
+    private static ResourcePeriodView view(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        return new ResourcePeriodView() {
+            public Long getResourceId() {
+                return resourceId;
+            }
+
+            public Long getId() {
+                return null;
+            }
+
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+
+            public LocalDateTime getEndDateTime() {
+                return end;
+            }
+        };
+    }
+
+    private static LocalDateTime getTime(int day, int hour) {
+        return LocalDateTime.of(2023, 8, 10, 0, 0).plusDays(day).plusHours(hour);
+    }
+}
@@ -0,0 +1,115 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.UsageStatsDto;
+import com.dp.dplanner.domain.Member;
+import com.dp.dplanner.domain.MemberUsage;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.ResourceUsage;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.MemberUsageRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.repository.ResourceUsageRepository;
+import com.dp.dplanner.service.exception.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static com.dp.dplanner.exception.ErrorResult.REQUEST_IS_INVALID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UsageStatsServiceTest {
+
+    @Mock
+    ClubMemberRepository clubMemberRepository;
+    @Mock
+    ResourceRepository resourceRepository;
+    @Mock
+    ResourceUsageRepository resourceUsageRepository;
+    @Mock
+    MemberUsageRepository memberUsageRepository;
+
+    UsageStatsService usageStatsService;
+    Club club;
+    ClubMember clubMember;
+    Resource resource;
+    LocalDate today = LocalDate.of(2023, 8, 10);
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(today.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        usageStatsService = new UsageStatsService(clubMemberRepository, resourceRepository, resourceUsageRepository, memberUsageRepository, clock);
+
+        club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        clubMember = ClubMember.builder().member(Member.builder().build()).club(club).name("member").build();
+        ReflectionTestUtils.setField(clubMember, "id", 10L);
+        resource = Resource.builder().club(club).name("room").build();
+        ReflectionTestUtils.setField(resource, "id", 100L);
+    }
+
+    @Test
+    @DisplayName("집계 테이블로 이용률, 미반납 비율, 피크 시간, 많이 이용한 회원을 계산한다")
+    public void getUsageStats() {
+        //given
+        LocalDate yesterday = today.minusDays(1);
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(clubMemberRepository.findAllById(any())).willReturn(List.of(clubMember));
+        given(resourceRepository.findByClubId(club.getId())).willReturn(List.of(resource));
+        given(resourceUsageRepository.findByClubIdBetween(club.getId(), yesterday, today)).willReturn(List.of(
+                resourceUsage(yesterday, 9, 60, 2, 1),
+                resourceUsage(yesterday, 10, 120, 0, 0),
+                resourceUsage(today, 14, 90, 1, 0)));
+        given(memberUsageRepository.findByClubIdBetween(club.getId(), yesterday, today)).willReturn(List.of(
+                MemberUsage.builder().resourceId(resource.getId()).clubMemberId(clubMember.getId()).usageDate(yesterday)
+                        .reservedMinutes(270).reservationCount(3).returnedCount(1).build()));
+
+        //when
+        List<UsageStatsDto.Response> response = usageStatsService.getUsageStats(clubMember.getId(), yesterday, today);
+
+        //then
+        assertThat(response).hasSize(1);
+        UsageStatsDto.Response stats = response.get(0);
+        assertThat(stats.getReservedMinutes()).isEqualTo(270);
+        assertThat(stats.getUtilization()).isEqualTo(270.0 / (2 * 24 * 60));
+        assertThat(stats.getReservationCount()).isEqualTo(3);
+        assertThat(stats.getNoShowRate()).as("오늘 시작한 예약은 미반납 비율에 포함하지 않는다").isEqualTo(0.5);
+        assertThat(stats.getPeakHours()).containsExactly(10, 14, 9);
+        assertThat(stats.getTopMembers()).extracting(UsageStatsDto.MemberStats::getClubMemberName).containsExactly("member");
+    }
+
+    @Test
+    @DisplayName("조회 기간이 1년을 넘으면 REQUEST_IS_INVALID")
+    public void getUsageStatsTooLongPeriod() {
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> usageStatsService.getUsageStats(clubMember.getId(), today.minusYears(2), today));
+
+        assertThat(exception.getErrorResult()).isEqualTo(REQUEST_IS_INVALID);
+    }
+
+    private ResourceUsage resourceUsage(LocalDate date, int hour, long minutes, long count, long returned) {
+        return ResourceUsage.builder()
+                .clubId(club.getId())
+                .resourceId(resource.getId())
+                .usageDate(date)
+                .usageHour(hour)
+                .reservedMinutes(minutes)
+                .reservationCount(count)
+                .returnedCount(returned)
+                .build();
+    }
+}
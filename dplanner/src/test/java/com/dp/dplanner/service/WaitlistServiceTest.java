@@ -0,0 +1,209 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.adapter.dto.ReservationDto;
+import com.dp.dplanner.adapter.dto.WaitlistDto;
+import com.dp.dplanner.domain.Member;
+import com.dp.dplanner.domain.Period;
+import com.dp.dplanner.domain.Reservation;
+import com.dp.dplanner.domain.Resource;
+import com.dp.dplanner.domain.club.Club;
+import com.dp.dplanner.domain.club.ClubMember;
+import com.dp.dplanner.domain.message.Message;
+import com.dp.dplanner.repository.ClubMemberRepository;
+import com.dp.dplanner.repository.LockRepository;
+import com.dp.dplanner.repository.ReservationRepository;
+import com.dp.dplanner.repository.ResourceRepository;
+import com.dp.dplanner.service.event.ReservationEvent;
+import com.dp.dplanner.service.exception.ServiceException;
+import com.dp.dplanner.service.waitlist.WaitlistEntry;
+import com.dp.dplanner.service.waitlist.WaitlistService;
+import com.dp.dplanner.service.waitlist.WaitlistStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static com.dp.dplanner.exception.ErrorResult.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WaitlistServiceTest {
+
+    @Mock
+    ClubMemberRepository clubMemberRepository;
+    @Mock
+    ResourceRepository resourceRepository;
+    @Mock
+    ReservationRepository reservationRepository;
+    @Mock
+    LockRepository lockRepository;
+    @Mock
+    ReservationService reservationService;
+    @Mock
+    MessageService messageService;
+    @Mock
+    WaitlistStore waitlistStore;
+
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    WaitlistService waitlistService;
+    ClubMember clubMember;
+    Resource resource;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(getTime(0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        waitlistService = new WaitlistService(clubMemberRepository, resourceRepository, reservationRepository, lockRepository,
+                reservationService, messageService, waitlistStore, objectMapper, clock);
+        ReflectionTestUtils.setField(waitlistService, "maxSize", 50);
+
+        Club club = Club.builder().build();
+        ReflectionTestUtils.setField(club, "id", 1L);
+        clubMember = ClubMember.builder().member(Member.builder().build()).club(club).name("member").build();
+        ReflectionTestUtils.setField(clubMember, "id", 10L);
+        clubMember.confirm();
+        resource = Resource.builder().club(club).name("room").build();
+        ReflectionTestUtils.setField(resource, "id", 100L);
+    }
+
+    @Test
+    @DisplayName("이미 예약된 시간에는 본인 예약으로 대기를 등록하고 대기 순서를 반환한다")
+    public void joinWaitlist() throws Exception {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.of(resource));
+        given(reservationRepository.existsBetween(getTime(10), getTime(11), resource.getId())).willReturn(true);
+        given(waitlistStore.join(eq(resource.getId()), eq(clubMember.getId()), eq(getTime(10)), eq(getTime(11)), anyString(), eq(50)))
+                .willReturn("wait");
+        given(waitlistStore.rank(eq(resource.getId()), any(WaitlistEntry.class))).willReturn(2L);
+
+        //when
+        ReservationDto.Create createDto = createDto(getTime(10), getTime(11));
+        createDto.setReservationOwnerId(99L);
+        WaitlistDto.Response response = waitlistService.joinWaitlist(clubMember.getId(), createDto);
+
+        //then
+        assertThat(response.getWaitId()).isEqualTo("wait");
+        assertThat(response.getPosition()).isEqualTo(3L);
+        ArgumentCaptor<String> request = ArgumentCaptor.forClass(String.class);
+        verify(waitlistStore).join(any(), any(), any(), any(), request.capture(), anyInt());
+        assertThat(objectMapper.readValue(request.getValue(), ReservationDto.Create.class).getReservationOwnerId())
+                .isEqualTo(clubMember.getId());
+    }
+
+    @Test
+    @DisplayName("지금 예약할 수 있는 시간이면 대기할 수 없다")
+    public void joinWaitlistWhenAvailableThenException() {
+        //given
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.of(resource));
+        given(reservationRepository.existsBetween(getTime(10), getTime(11), resource.getId())).willReturn(false);
+
+        //when
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> waitlistService.joinWaitlist(clubMember.getId(), createDto(getTime(10), getTime(11))));
+
+        //then
+        assertThat(exception.getErrorResult()).isEqualTo(REQUEST_IS_INVALID);
+        verify(waitlistStore, never()).join(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("예약이 취소되면 겹치는 대기를 순서대로 예약 요청으로 올리고, 아직 겹치는 대기는 다시 줄 세운다")
+    public void promoteOnRelease() throws Exception {
+        //given
+        WaitlistEntry first = new WaitlistEntry("first", clubMember.getId(), getTime(10), getTime(11), 1L);
+        WaitlistEntry second = new WaitlistEntry("second", 20L, getTime(10), getTime(12), 2L);
+        String firstRequest = objectMapper.writeValueAsString(createDto(getTime(10), getTime(11)));
+        String secondRequest = objectMapper.writeValueAsString(createDto(getTime(10), getTime(12)));
+        given(waitlistStore.findOverlapping(resource.getId(), getTime(10), getTime(12))).willReturn(List.of(first, second));
+        given(waitlistStore.take(resource.getId(), first)).willReturn(firstRequest);
+        given(waitlistStore.take(resource.getId(), second)).willReturn(secondRequest);
+        given(reservationService.createReservationFromWaitlist(eq(clubMember.getId()), any())).willReturn(
+                ReservationDto.Response.builder().reservationId(1000L).resourceName("room")
+                        .startDateTime(getTime(10)).endDateTime(getTime(11)).build());
+        given(reservationService.createReservationFromWaitlist(eq(20L), any())).willThrow(new ServiceException(RESERVATION_UNAVAILABLE));
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+        given(lockRepository.existsBetween(getTime(10), getTime(12), resource.getId())).willReturn(false);
+
+        //when
+        waitlistService.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.DELETED, reservation(getTime(10), getTime(12))));
+
+        //then
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(messageService).createPrivateMessage(eq(List.of(clubMember)), message.capture());
+        assertThat(message.getValue().getTitle()).isEqualTo(Message.RESERVATION_WAITLIST_PROMOTED);
+        assertThat(message.getValue().getInfo()).isEqualTo("1000");
+        verify(waitlistStore).requeue(resource.getId(), second, secondRequest);
+        verify(waitlistStore, never()).requeue(resource.getId(), first, firstRequest);
+    }
+
+    @Test
+    @DisplayName("대기하던 시간에 락이 걸려 있으면 다시 줄 세우지 않고 대기를 버린 뒤 알린다")
+    public void dropLockedOnRelease() throws Exception {
+        //given
+        WaitlistEntry entry = new WaitlistEntry("locked", clubMember.getId(), getTime(10), getTime(11), 1L);
+        String request = objectMapper.writeValueAsString(createDto(getTime(10), getTime(11)));
+        given(waitlistStore.findOverlapping(resource.getId(), getTime(10), getTime(12))).willReturn(List.of(entry));
+        given(waitlistStore.take(resource.getId(), entry)).willReturn(request);
+        given(reservationService.createReservationFromWaitlist(eq(clubMember.getId()), any())).willThrow(new ServiceException(RESERVATION_UNAVAILABLE));
+        given(lockRepository.existsBetween(getTime(10), getTime(11), resource.getId())).willReturn(true);
+        given(resourceRepository.findById(resource.getId())).willReturn(Optional.of(resource));
+        given(clubMemberRepository.findById(clubMember.getId())).willReturn(Optional.of(clubMember));
+
+        //when
+        waitlistService.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.DELETED, reservation(getTime(10), getTime(12))));
+
+        //then
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(messageService).createPrivateMessage(eq(List.of(clubMember)), message.capture());
+        assertThat(message.getValue().getTitle()).isEqualTo(Message.RESERVATION_WAITLIST_LOCKED);
+        verify(waitlistStore, never()).requeue(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("슬롯을 해제하지 않는 이벤트는 대기열을 조회하지 않는다")
+    public void ignoreNotReleasedEvent() {
+        //when
+        waitlistService.onReservationEvent(ReservationEvent.of(ReservationEvent.Type.CREATED, reservation(getTime(10), getTime(12))));
+
+        //then
+        verifyNoInteractions(waitlistStore);
+    }
+
+    private Reservation reservation(LocalDateTime start, LocalDateTime end) {
+        Reservation reservation = Reservation.builder()
+                .clubMember(clubMember)
+                .resource(resource)
+                .period(new Period(start, end))
+                .build();
+        ReflectionTestUtils.setField(reservation, "id", 500L);
+        return reservation;
+    }
+
+    private ReservationDto.Create createDto(LocalDateTime start, LocalDateTime end) {
+        return ReservationDto.Create.builder()
+                .resourceId(resource.getId())
+                .reservationOwnerId(clubMember.getId())
+                .title("title")
+                .startDateTime(start)
+                .endDateTime(end)
+                .build();
+    }
+
+    private static LocalDateTime getTime(int hour) {
+        return LocalDateTime.of(2023, 8, 10, hour, 0);
+    }
+}
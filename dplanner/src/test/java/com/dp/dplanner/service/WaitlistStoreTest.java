@@ -0,0 +1,96 @@
+package com.dp.dplanner.service;
+
+import com.dp.dplanner.service.waitlist.WaitlistEntry;
+import com.dp.dplanner.service.waitlist.WaitlistStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class WaitlistStoreTest {
+
+    @Mock
+    RedisTemplate<String, String> redisTemplate;
+    @Mock
+    ZSetOperations<String, String> zSetOperations;
+
+    WaitlistStore waitlistStore;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(getTime(9).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        waitlistStore = new WaitlistStore(redisTemplate, clock);
+    }
+
+    @Test
+    @DisplayName("대기 등록은 회원/구간을 member 에 담아 스크립트 한 번으로 zset 과 hash 에 저장한다")
+    public void join() {
+        AtomicReference<Object[]> args = new AtomicReference<>();
+        given(redisTemplate.execute(anyScript(), eq(List.of("waitlist:1", "waitlist:request:1")), any(Object[].class)))
+                .willAnswer(invocation -> {
+                    args.set((Object[]) invocation.getRawArguments()[2]);
+                    return ((Object[]) invocation.getRawArguments()[2])[2];
+                });
+
+        String waitId = waitlistStore.join(1L, 2L, getTime(10), getTime(11), "{}", 50);
+
+        WaitlistEntry entry = new WaitlistEntry(waitId, 2L, getTime(10), getTime(11), 0L);
+        assertThat(waitId + args.get()[3]).isEqualTo(entry.member());
+        assertThat(args.get()[4]).isEqualTo("{}");
+        assertThat(args.get()[5]).isEqualTo("50");
+        assertThat(args.get()[6]).isEqualTo(String.valueOf(2 * 60 * 60 * 1000L));
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차 스크립트가 빈 문자열을 반환하면 null")
+    public void joinFull() {
+        given(redisTemplate.execute(anyScript(), anyList(), any(Object[].class))).willReturn("");
+
+        assertThat(waitlistStore.join(1L, 2L, getTime(10), getTime(11), "{}", 50)).isNull();
+    }
+
+    @Test
+    @DisplayName("겹치고 아직 끝나지 않은 대기만 등록 순서대로 반환한다")
+    public void findOverlapping() {
+        Set<ZSetOperations.TypedTuple<String>> members = new LinkedHashSet<>(List.of(
+                new DefaultTypedTuple<>(new WaitlistEntry("a", 2L, getTime(10), getTime(11), 0L).member(), 1.0),
+                new DefaultTypedTuple<>(new WaitlistEntry("b", 3L, getTime(12), getTime(13), 0L).member(), 2.0),
+                new DefaultTypedTuple<>(new WaitlistEntry("c", 4L, getTime(7), getTime(8), 0L).member(), 3.0),
+                new DefaultTypedTuple<>(new WaitlistEntry("d", 5L, getTime(10), getTime(12), 0L).member(), 4.0)));
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.rangeWithScores("waitlist:1", 0, -1)).willReturn(members);
+
+        List<WaitlistEntry> entries = waitlistStore.findOverlapping(1L, getTime(10), getTime(12));
+
+        assertThat(entries).extracting(WaitlistEntry::getWaitId).containsExactly("a", "d");
+        assertThat(entries.get(0).getStartDateTime()).isEqualTo(getTime(10));
+        assertThat(entries.get(1).getEnqueuedAt()).isEqualTo(4L);
+    }
+
+    private static <T> RedisScript<T> anyScript() {
+        return any();
+    }
+
+    private static LocalDateTime getTime(int hour) {
+        return LocalDateTime.of(2023, 8, 10, hour, 0);
+    }
+}